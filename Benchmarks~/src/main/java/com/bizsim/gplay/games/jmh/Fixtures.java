@@ -0,0 +1,90 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.jmh;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Benchmark inputs. Kept identical to the on-device BridgeBenchmarks so results line up. */
+final class Fixtures {
+    private Fixtures() { }
+
+    static List<AchievementData> achievements(int count) {
+        List<AchievementData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean incremental = i % 3 == 0;
+            list.add(new AchievementData("CgkIq5Tf0ZUeEAIQ" + i, "Achievement number " + i,
+                    "Complete the objective for achievement " + i + " without using any continues",
+                    i % 4 == 0 ? AchievementData.STATE_UNLOCKED : AchievementData.STATE_REVEALED,
+                    incremental ? AchievementData.TYPE_INCREMENTAL : AchievementData.TYPE_STANDARD,
+                    incremental ? i % 10 : 0, incremental ? 10 : 0, 50, 1700000000000L + i,
+                    "content://com.google.android.gms.games/images/achievement/revealed/" + i,
+                    "content://com.google.android.gms.games/images/achievement/unlocked/" + i));
+        }
+        return list;
+    }
+
+    static List<ScoreData> scores(int count) {
+        List<ScoreData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long score = 1000000L - i * 1234L;
+            list.add(new ScoreData("g" + (10000000000L + i), "Player " + i, score, String.format("%,d", score),
+                    i + 1, i % 5 == 0 ? "tag" : null, 1700000000000L + i,
+                    "content://com.google.android.gms.games/images/avatar/" + i));
+        }
+        return list;
+    }
+
+    static byte[] payload(int size, Random random) {
+        byte[] payload = new byte[size];
+        random.nextBytes(payload);
+        return payload;
+    }
+
+    /** An autosave: a few scattered kilobytes rewritten and one kilobyte inserted. */
+    static byte[] autosave(byte[] payload, Random random) {
+        byte[] inserted = new byte[1024];
+        random.nextBytes(inserted);
+        int at = payload.length / 3;
+        byte[] edited = new byte[payload.length + inserted.length];
+        System.arraycopy(payload, 0, edited, 0, at);
+        System.arraycopy(inserted, 0, edited, at, inserted.length);
+        System.arraycopy(payload, at, edited, at + inserted.length, payload.length - at);
+        for (int i = 0; i < 8; i++) {
+            int start = random.nextInt(edited.length - 256);
+            for (int j = 0; j < 256; j++) edited[start + j] ^= (byte) random.nextInt(256);
+        }
+        return edited;
+    }
+
+    static OpenSnapshot openFakeSnapshot(FakeGamesBackend backend) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<OpenSnapshot> opened = new AtomicReference<>();
+        backend.snapshots().open("bench", true, new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                opened.set(result.snapshot);
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                done.countDown();
+            }
+        });
+        done.await(5, TimeUnit.SECONDS);
+        if (opened.get() == null) throw new IllegalStateException("Fake snapshot did not open");
+        return opened.get();
+    }
+}
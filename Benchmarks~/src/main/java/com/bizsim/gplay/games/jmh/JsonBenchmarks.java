@@ -0,0 +1,112 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.jmh;
+
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** BridgeJson payloads at the sizes the on-device json.* and handle.* benchmarks use. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmarks {
+    @State(Scope.Benchmark)
+    public static class Achievements {
+        @Param({ "50", "200" })
+        public int count;
+
+        List<AchievementData> list;
+
+        @Setup
+        public void setUp() {
+            list = Fixtures.achievements(count);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Scores {
+        @Param({ "25", "100" })
+        public int count;
+
+        List<ScoreData> list;
+
+        @Setup
+        public void setUp() {
+            list = Fixtures.scores(count);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Values {
+        final SnapshotMeta snapshot = new SnapshotMeta("save_slot_1", 1700000000000L, 5400000L,
+                "Chapter 3 - The Northern Pass", "content://com.google.android.gms.games/images/cover/save_slot_1");
+        final StatsData stats = new StatsData(12.5f, 2, 3, 48, 0.62f, 0.15f, -1f, -1f);
+    }
+
+    @Benchmark
+    public String achievements(Achievements state) throws Exception {
+        return BridgeJson.serializeAchievements(state.list);
+    }
+
+    @Benchmark
+    public String scores(Scores state) throws Exception {
+        return BridgeJson.serializeScores(state.list);
+    }
+
+    @Benchmark
+    public String snapshot(Values values) throws Exception {
+        return BridgeJson.serializeSnapshot(values.snapshot);
+    }
+
+    @Benchmark
+    public String event() throws Exception {
+        return BridgeJson.serializeEvent("CgkIq5Tf0ZUeEAIQAQ", "Enemies Defeated",
+                "Total number of enemies defeated", 12345, "", true).toString();
+    }
+
+    @Benchmark
+    public String events50() throws Exception {
+        JSONArray arr = new JSONArray();
+        for (int i = 0; i < 50; i++) {
+            arr.put(BridgeJson.serializeEvent("CgkIq5Tf0ZUeEAIQ" + i, "Event " + i,
+                    "Counts something the player did", i * 17L, "", true));
+        }
+        return arr.toString();
+    }
+
+    @Benchmark
+    public String stats(Values values) throws Exception {
+        return BridgeJson.serializeStats(values.stats);
+    }
+
+    @Benchmark
+    public String handleParse() {
+        return BridgeJson.parseSnapshotHandle("snapshot:save_slot_1");
+    }
+
+    @Benchmark
+    public String handleFormat() {
+        return BridgeJson.snapshotHandle("save_slot_1");
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.jmh;
+
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+import com.bizsim.gplay.games.cloudsave.SnapshotDelta;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot payload I/O through the fake backend and SnapshotDelta diff and apply, at the
+ * on-device snapshot.* and delta.* sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmarks {
+    @Param({ "65536", "524288", "3145728" })
+    public int size;
+
+    private FakeGamesBackend backend;
+    private OpenSnapshot snapshot;
+    private byte[] payload;
+    private byte[] edited;
+    private byte[] delta;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        backend = new FakeGamesBackend(42);
+        snapshot = Fixtures.openFakeSnapshot(backend);
+        payload = Fixtures.payload(size, random);
+        edited = Fixtures.autosave(payload, random);
+        delta = SnapshotDelta.diff(payload, edited);
+    }
+
+    @TearDown
+    public void tearDown() {
+        backend.shutdown();
+    }
+
+    @Benchmark
+    public void write() throws Exception {
+        snapshot.writeBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] read() throws Exception {
+        snapshot.writeBytes(payload);
+        return snapshot.readFully();
+    }
+
+    @Benchmark
+    public byte[] deltaDiff() {
+        return SnapshotDelta.diff(payload, edited);
+    }
+
+    @Benchmark
+    public byte[] deltaApply() throws Exception {
+        return SnapshotDelta.apply(payload, delta);
+    }
+}
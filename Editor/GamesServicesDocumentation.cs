@@ -122,12 +122,14 @@ namespace BizSim.GPlay.Games.Editor
                     "• Task RevealAchievementAsync(string achievementId)\n" +
                     "• Task ShowAchievementsUIAsync()\n" +
                     "• Task<List<GamesAchievement>> LoadAchievementsAsync(bool forceReload)\n" +
-                    "• Task UnlockMultipleAsync(List<string> achievementIds)\n\n" +
+                    "• Task UnlockMultipleAsync(List<string> achievementIds)\n" +
+                    "• Task<AchievementIconAtlas> LoadIconAtlasAsync()\n\n" +
                     "Events:\n" +
                     "• OnAchievementUnlocked(string achievementId)\n" +
                     "• OnAchievementIncremented(string achievementId, int currentSteps)\n" +
                     "• OnAchievementRevealed(string achievementId)\n" +
-                    "• OnAchievementError(GamesAchievementError)\n\n" +
+                    "• OnAchievementError(GamesAchievementError)\n" +
+                    "• OnIconAtlasReady(AchievementIconAtlas)\n\n" +
                     "See: Runtime/Achievements/",
                     "OK");
             }
@@ -158,7 +160,13 @@ namespace BizSim.GPlay.Games.Editor
                     "• Task<SnapshotHandle> OpenSnapshotAsync(string filename, bool createIfNotFound)\n" +
                     "• Task<byte[]> ReadSnapshotAsync(SnapshotHandle handle)\n" +
                     "• Task CommitSnapshotAsync(SnapshotHandle handle, byte[] data, string description, long playedTimeMillis, byte[] coverImage)\n" +
-                    "• Task DeleteSnapshotAsync(string filename)\n\n" +
+                    "• Task<SnapshotCommitSession> BeginCommitAsync(SnapshotHandle handle) - AppendAsync chunks, then FinishAsync(metadata)\n" +
+                    "• Task DeleteSnapshotAsync(string filename)\n" +
+                    "• Task<LoadedSnapshot> OpenAndReadAsync(string filename) / ShowSavedGamesUIAndLoadAsync() - one native round-trip\n\n" +
+                    "Mirror API:\n" +
+                    "• Task<LoadedSnapshot> LoadMirroredAsync(string filename) - on-device copy, synced in the background\n" +
+                    "• Task SaveMirroredAsync(string filename, byte[] data, SaveGameMetadata metadata)\n" +
+                    "• Task<MirrorSyncResult> SyncMirrorAsync() / ResolveMirrorConflictAsync(string filename, bool keepLocal)\n\n" +
                     "Convenience API:\n" +
                     "• Task SaveAsync(string filename, byte[] data, string description)\n" +
                     "• Task<byte[]> LoadAsync(string filename)\n\n" +
@@ -166,7 +174,8 @@ namespace BizSim.GPlay.Games.Editor
                     "• OnSnapshotOpened(SnapshotHandle)\n" +
                     "• OnSnapshotCommitted(string filename)\n" +
                     "• OnConflictDetected(SavedGameConflict) - IMPORTANT: Call conflict.ResolveAsync() within 60s\n" +
-                    "• OnCloudSaveError(GamesCloudSaveError)\n\n" +
+                    "• OnCloudSaveError(GamesCloudSaveError)\n" +
+                    "• OnMirrorSynced(MirrorSyncResult)\n\n" +
                     "⚠️ REQUIRED METADATA: Cover image, description, timestamp (Quality Checklist 6.1)\n\n" +
                     "See: Runtime/CloudSave/",
                     "OK");
@@ -193,6 +202,22 @@ namespace BizSim.GPlay.Games.Editor
                     "See: Runtime/Stats/",
                     "OK");
             }
+
+            if (GUILayout.Button("Session Sync (IGamesSessionProvider)", GUILayout.Height(25)))
+            {
+                EditorUtility.DisplayDialog("Session Sync API",
+                    "IGamesSessionProvider - Post-Sign-In Loads\n\n" +
+                    "Methods:\n" +
+                    "• Task<SessionSyncResult> SyncSessionAsync(SessionSyncSpec spec)\n\n" +
+                    "Loads achievements, player stats, events, snapshot metadata and player-centered scores " +
+                    "for any number of leaderboards concurrently under one deadline.\n\n" +
+                    "SessionSyncResult:\n" +
+                    "• Loaded data (empty when a load failed or timed out)\n" +
+                    "• components - status, elapsedMillis and error per load\n" +
+                    "• criticalPath, elapsedMillis, complete\n\n" +
+                    "See: Runtime/Session/",
+                    "OK");
+            }
         }
 
         private void DrawComplianceSection()
@@ -134,7 +134,8 @@ namespace BizSim.GPlay.Games.Editor
             "ILeaderboardCallback",
             "ICloudSaveCallback",
             "IStatsCallback",
-            "IEventsCallback"
+            "IEventsCallback",
+            "ISessionCallback"
         };
 
         private bool CheckProGuardRules(out string issue)
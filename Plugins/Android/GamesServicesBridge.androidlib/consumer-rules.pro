@@ -10,50 +10,51 @@
 -keepclassmembers interface com.bizsim.gplay.games.callbacks.IAuthCallback {
     void onAuthSuccess(java.lang.String, java.lang.String, java.lang.String);
     void onAuthFailure(int, java.lang.String);
-    void onServerSideAccessSuccess(java.lang.String);
-    void onServerSideAccessFailure(int, java.lang.String);
-    void onServerSideAccessWithScopesSuccess(java.lang.String, java.lang.String);
-    void onServerSideAccessWithScopesFailure(int, java.lang.String);
+    void onProvisionalIdentity(java.lang.String, java.lang.String, java.lang.String);
+    void onProvisionalIdentityRevoked(int, java.lang.String);
+    void onServerAuthCodeReady(java.lang.String, java.lang.String, java.lang.String);
+    void onServerAuthCodeFailed(java.lang.String, int, java.lang.String);
 }
 
 -keep class com.google.android.gms.games.gamessignin.AuthResponse { *; }
 -keep class com.google.android.gms.games.gamessignin.AuthScope { *; }
 
 -keepclassmembers interface com.bizsim.gplay.games.achievements.IAchievementCallback {
-    void onAchievementUnlocked(java.lang.String);
-    void onAchievementIncremented(java.lang.String, int, int);
-    void onAchievementRevealed(java.lang.String);
-    void onAchievementsLoaded(java.lang.String);
-    void onAchievementsUIClosed();
-    void onAchievementError(int, java.lang.String, java.lang.String);
+    void onAchievementUnlocked(java.lang.String, java.lang.String);
+    void onAchievementIncremented(java.lang.String, java.lang.String, int, int);
+    void onAchievementRevealed(java.lang.String, java.lang.String);
+    void onAchievementsLoaded(java.lang.String, java.lang.String);
+    void onMultipleUnlocked(java.lang.String, java.lang.String);
+    void onAchievementsUIClosed(java.lang.String);
+    void onAchievementError(java.lang.String, int, java.lang.String, java.lang.String);
 }
 
 -keepclassmembers interface com.bizsim.gplay.games.leaderboards.ILeaderboardCallback {
-    void onScoreSubmitted(java.lang.String, long);
-    void onScoresLoaded(java.lang.String, java.lang.String);
-    void onLeaderboardUIClosed();
-    void onLeaderboardError(int, java.lang.String, java.lang.String);
+    void onScoreSubmitted(java.lang.String, java.lang.String, long);
+    void onScoresLoaded(java.lang.String, java.lang.String, java.lang.String);
+    void onLeaderboardUIClosed(java.lang.String);
+    void onLeaderboardError(java.lang.String, int, java.lang.String, java.lang.String);
 }
 
 -keepclassmembers interface com.bizsim.gplay.games.cloudsave.ICloudSaveCallback {
-    void onSnapshotOpened(java.lang.String, java.lang.String, boolean);
-    void onSnapshotRead(java.lang.String, byte[]);
-    void onSnapshotCommitted(java.lang.String);
-    void onSnapshotDeleted(java.lang.String);
-    void onSavedGamesUIResult(java.lang.String);
-    void onConflictDetected(java.lang.String, java.lang.String, byte[], byte[]);
-    void onCloudSaveError(int, java.lang.String, java.lang.String);
+    void onSnapshotOpened(java.lang.String, java.lang.String, java.lang.String, boolean);
+    void onSnapshotRead(java.lang.String, java.lang.String, byte[]);
+    void onSnapshotCommitted(java.lang.String, java.lang.String);
+    void onSnapshotDeleted(java.lang.String, java.lang.String);
+    void onSavedGamesUIResult(java.lang.String, java.lang.String);
+    void onConflictDetected(java.lang.String, java.lang.String, java.lang.String, java.lang.String, byte[], byte[]);
+    void onCloudSaveError(java.lang.String, int, java.lang.String, java.lang.String);
 }
 
 -keepclassmembers interface com.bizsim.gplay.games.stats.IStatsCallback {
-    void onStatsLoaded(java.lang.String);
-    void onStatsError(int, java.lang.String);
+    void onStatsLoaded(java.lang.String, java.lang.String);
+    void onStatsError(java.lang.String, int, java.lang.String);
 }
 
 -keepclassmembers interface com.bizsim.gplay.games.events.IEventsCallback {
-    void onEventsLoaded(java.lang.String);
-    void onEventLoaded(java.lang.String);
-    void onEventsError(int, java.lang.String);
+    void onEventsLoaded(java.lang.String, java.lang.String);
+    void onEventLoaded(java.lang.String, java.lang.String);
+    void onEventsError(java.lang.String, int, java.lang.String);
 }
 
 # Google Play Games SDK v2 (accessed via JNI from bridge classes)
@@ -0,0 +1,475 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Printer;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+import com.bizsim.gplay.games.cloudsave.SnapshotDelta;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * On-device micro-benchmarks for the bridge's CPU and allocation cost: JSON serialization at
+ * realistic sizes, snapshot payload reads and writes from 64 KB to 3 MB, delta diff and apply
+ * over the same payloads, handle parsing and batched callback fan-out. Inputs come from the fake backend's value types, so no Play Games
+ * connection is needed.
+ *
+ * Each benchmark is warmed up, then run for a fixed time. The result reports throughput,
+ * time per op, allocated bytes per op and GC count, read from ART's runtime stats. The
+ * allocation figure is process-wide and counted in TLAB-sized chunks, so it is approximate.
+ * Run with the device otherwise idle; the callback benchmarks encode into their own buffer
+ * and never touch the live queue. Results are logged and sent as instrumentation status.
+ *
+ * Instrumentation arguments: {@code benchmarkFilter} (name prefix), {@code benchmarkMeasureMs},
+ * and {@code benchmarkBaseline}, a device path to an earlier result; with a baseline the run
+ * fails if any benchmark is more than {@code benchmarkTolerance} (default 0.1) worse.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BridgeBenchmarks {
+    private static final String TAG = "BizSimGames.Bench";
+    private static final long WARMUP_MS = 300;
+    private static final long DEFAULT_MEASURE_MS = 1000;
+    private static final int[] PAYLOAD_SIZES = { 64 * 1024, 512 * 1024, 3 * 1024 * 1024 };
+
+    interface Body {
+        Object run() throws Exception;
+    }
+
+    private static final class Benchmark {
+        final String name;
+        final Body body;
+
+        Benchmark(String name, Body body) {
+            this.name = name;
+            this.body = body;
+        }
+    }
+
+    private static volatile int sink;
+
+    @Test
+    public void hotPaths() throws Exception {
+        Bundle args = InstrumentationRegistry.getArguments();
+        String current = run(args.getString("benchmarkFilter"), parseLong(args.getString("benchmarkMeasureMs")));
+        report("benchmarks", current);
+
+        String baselinePath = args.getString("benchmarkBaseline");
+        if (baselinePath == null) return;
+        String tolerance = args.getString("benchmarkTolerance");
+        JSONObject diff = new JSONObject(compare(readFile(baselinePath), current,
+                tolerance != null ? Double.parseDouble(tolerance) : 0.1));
+        report("benchmarkDiff", diff.toString());
+        assertEquals(diff.toString(), 0, diff.getInt("regressions"));
+    }
+
+    @Test
+    public void loadDelivery() throws Exception {
+        report("mainThreadCost", mainThreadCost(200, 20));
+    }
+
+    /** Runs every benchmark whose name starts with {@code filter} (all when null or empty). */
+    static String run(String filter, long measureMillis) throws Exception {
+        long measureMs = measureMillis > 0 ? measureMillis : DEFAULT_MEASURE_MS;
+
+        JSONArray results = new JSONArray();
+        for (Benchmark benchmark : benchmarks()) {
+            if (filter != null && !filter.isEmpty() && !benchmark.name.startsWith(filter)) continue;
+            results.put(measure(benchmark, measureMs));
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("v", 1);
+        obj.put("device", Build.MANUFACTURER + " " + Build.MODEL);
+        obj.put("sdk", Build.VERSION.SDK_INT);
+        obj.put("measureMs", measureMs);
+        obj.put("results", results);
+        return obj.toString();
+    }
+
+    /**
+     * Compares a run with a baseline produced by {@link #run}. A benchmark regresses when its
+     * time or allocation per op exceeds the baseline by more than {@code tolerance} (0.1 = 10%).
+     */
+    static String compare(String baselineJson, String currentJson, double tolerance) throws Exception {
+        Map<String, JSONObject> baseline = new HashMap<>();
+        JSONArray baseResults = new JSONObject(baselineJson).getJSONArray("results");
+        for (int i = 0; i < baseResults.length(); i++) {
+            JSONObject result = baseResults.getJSONObject(i);
+            baseline.put(result.getString("name"), result);
+        }
+
+        JSONArray diffs = new JSONArray();
+        int regressions = 0;
+        JSONArray current = new JSONObject(currentJson).getJSONArray("results");
+        for (int i = 0; i < current.length(); i++) {
+            JSONObject now = current.getJSONObject(i);
+            JSONObject base = baseline.get(now.getString("name"));
+            if (base == null) continue;
+
+            double timeRatio = ratio(now.getDouble("nsPerOp"), base.getDouble("nsPerOp"));
+            double allocRatio = ratio(now.getDouble("bytesPerOp"), base.getDouble("bytesPerOp"));
+            boolean regressed = timeRatio > 1 + tolerance || allocRatio > 1 + tolerance;
+            if (regressed) regressions++;
+
+            JSONObject diff = new JSONObject();
+            diff.put("name", now.getString("name"));
+            diff.put("timeRatio", timeRatio);
+            diff.put("allocRatio", allocRatio);
+            diff.put("regressed", regressed);
+            diffs.put(diff);
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("regressions", regressions);
+        obj.put("results", diffs);
+        return obj.toString();
+    }
+
+    /**
+     * Frame-time benchmark for load results. Delivers {@code loads} achievement loads of
+     * {@code count} entries twice: once walked, encoded and delivered on the main looper (the
+     * old listener path), and once on a worker with only the final hand-off posted to the main
+     * looper (the decode path). For each, reports the main looper's busy time per load and its
+     * longest message, which bounds the hitch a rendered frame would take. Busy time comes from
+     * the main looper's dispatch log, so it includes anything else the main thread runs; keep
+     * the app idle and call from a background thread.
+     */
+    static String mainThreadCost(int count, int loads) throws Exception {
+        List<AchievementData> source = achievements(Math.max(1, count));
+        int runs = Math.max(1, loads);
+        Handler main = new Handler(Looper.getMainLooper());
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("v", 1);
+            obj.put("device", Build.MANUFACTURER + " " + Build.MODEL);
+            obj.put("achievements", source.size());
+            obj.put("loads", runs);
+            obj.put("mainThread", deliveryCost(source, runs, main, null));
+            obj.put("decodeThread", deliveryCost(source, runs, main, worker));
+            return obj.toString();
+        } finally {
+            worker.shutdown();
+        }
+    }
+
+    private static JSONObject deliveryCost(List<AchievementData> source, int loads, Handler main,
+                                           ExecutorService worker) throws Exception {
+        LooperBusy busy = new LooperBusy();
+        Looper.getMainLooper().setMessageLogging(busy);
+        try {
+            for (int i = 0; i < loads; i++) {
+                String requestId = "req-" + i;
+                CountDownLatch done = new CountDownLatch(1);
+                Runnable load = () -> {
+                    try {
+                        String json = BridgeJson.serializeAchievements(walk(source));
+                        consume(CallbackQueue.encodeRecord("bench", "onAchievementsLoaded",
+                                new Object[] { requestId, json }));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (worker != null) {
+                        main.post(done::countDown);
+                    } else {
+                        done.countDown();
+                    }
+                };
+                if (worker != null) {
+                    worker.execute(load);
+                } else {
+                    main.post(load);
+                }
+                if (!done.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("Load did not complete");
+            }
+
+            // Read the totals from the main thread once the last load's message has finished.
+            CountDownLatch read = new CountDownLatch(1);
+            long[] totals = new long[2];
+            main.post(() -> {
+                totals[0] = busy.totalNanos;
+                totals[1] = busy.maxNanos;
+                read.countDown();
+            });
+            read.await(10, TimeUnit.SECONDS);
+
+            JSONObject obj = new JSONObject();
+            obj.put("busyUsPerLoad", totals[0] / 1000.0 / loads);
+            obj.put("maxMessageUs", totals[1] / 1000.0);
+            return obj;
+        } finally {
+            Looper.getMainLooper().setMessageLogging(null);
+        }
+    }
+
+    /** Stands in for a buffer walk: one value object copied out per entry. */
+    private static List<AchievementData> walk(List<AchievementData> source) {
+        List<AchievementData> copy = new ArrayList<>(source.size());
+        for (AchievementData a : source) {
+            copy.add(new AchievementData(a.achievementId, a.name, a.description, a.state, a.type,
+                    a.currentSteps, a.totalSteps, a.xpValue, a.lastUpdatedTimestamp,
+                    a.revealedImageUri, a.unlockedImageUri));
+        }
+        return copy;
+    }
+
+    /** Sums main-looper message durations from the looper's ">>>>> Dispatching" / "<<<<< Finished" log. */
+    private static final class LooperBusy implements Printer {
+        private long startedAt;
+        volatile long totalNanos;
+        volatile long maxNanos;
+
+        @Override
+        public void println(String line) {
+            if (line.startsWith(">>>>>")) {
+                startedAt = System.nanoTime();
+            } else if (line.startsWith("<<<<<") && startedAt != 0) {
+                long took = System.nanoTime() - startedAt;
+                startedAt = 0;
+                totalNanos += took;
+                if (took > maxNanos) maxNanos = took;
+            }
+        }
+    }
+
+    private static JSONObject measure(Benchmark benchmark, long measureMs) throws Exception {
+        long warmupEnd = SystemClock.elapsedRealtime() + WARMUP_MS;
+        while (SystemClock.elapsedRealtime() < warmupEnd) {
+            consume(benchmark.body.run());
+        }
+
+        long gcBefore = runtimeStat("art.gc.gc-count");
+        long bytesBefore = runtimeStat("art.gc.bytes-allocated");
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(measureMs);
+        long ops = 0;
+        long now;
+        do {
+            consume(benchmark.body.run());
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        long bytesAfter = runtimeStat("art.gc.bytes-allocated");
+        long gcAfter = runtimeStat("art.gc.gc-count");
+
+        double elapsedNs = now - started;
+        JSONObject obj = new JSONObject();
+        obj.put("name", benchmark.name);
+        obj.put("ops", ops);
+        obj.put("opsPerSec", ops * 1e9 / elapsedNs);
+        obj.put("nsPerOp", elapsedNs / ops);
+        obj.put("bytesPerOp", bytesBefore >= 0 && bytesAfter >= 0 ? (double) (bytesAfter - bytesBefore) / ops : -1);
+        obj.put("gcCount", gcBefore >= 0 && gcAfter >= 0 ? gcAfter - gcBefore : -1);
+        return obj;
+    }
+
+    private static List<Benchmark> benchmarks() throws Exception {
+        Random random = new Random(42);
+        List<Benchmark> list = new ArrayList<>();
+
+        for (int count : new int[] { 50, 200 }) {
+            List<AchievementData> achievements = achievements(count);
+            list.add(new Benchmark("json.achievements." + count, () -> BridgeJson.serializeAchievements(achievements)));
+        }
+        for (int count : new int[] { 25, 100 }) {
+            List<ScoreData> scores = scores(count);
+            list.add(new Benchmark("json.scores." + count, () -> BridgeJson.serializeScores(scores)));
+        }
+
+        SnapshotMeta meta = new SnapshotMeta("save_slot_1", 1700000000000L, 5400000L,
+                "Chapter 3 - The Northern Pass", "content://com.google.android.gms.games/images/cover/save_slot_1");
+        list.add(new Benchmark("json.snapshot", () -> BridgeJson.serializeSnapshot(meta)));
+        list.add(new Benchmark("json.event", () -> BridgeJson.serializeEvent("CgkIq5Tf0ZUeEAIQAQ", "Enemies Defeated",
+                "Total number of enemies defeated", 12345, "", true).toString()));
+        list.add(new Benchmark("json.events.50", () -> {
+            JSONArray arr = new JSONArray();
+            for (int i = 0; i < 50; i++) {
+                arr.put(BridgeJson.serializeEvent("CgkIq5Tf0ZUeEAIQ" + i, "Event " + i,
+                        "Counts something the player did", i * 17L, "", true));
+            }
+            return arr.toString();
+        }));
+        StatsData stats = new StatsData(12.5f, 2, 3, 48, 0.62f, 0.15f, -1f, -1f);
+        list.add(new Benchmark("json.stats", () -> BridgeJson.serializeStats(stats)));
+
+        list.add(new Benchmark("handle.parse", () -> BridgeJson.parseSnapshotHandle("snapshot:save_slot_1")));
+        list.add(new Benchmark("handle.format", () -> BridgeJson.snapshotHandle("save_slot_1")));
+
+        OpenSnapshot snapshot = openFakeSnapshot();
+        for (int size : PAYLOAD_SIZES) {
+            byte[] payload = new byte[size];
+            random.nextBytes(payload);
+            String label = (size / 1024) + "k";
+            list.add(new Benchmark("snapshot.write." + label, () -> {
+                snapshot.writeBytes(payload);
+                return null;
+            }));
+            list.add(new Benchmark("snapshot.read." + label, () -> {
+                snapshot.writeBytes(payload);
+                return snapshot.readFully();
+            }));
+            list.add(new Benchmark("callbacks.bytes." + label, () ->
+                    CallbackQueue.encodeRecord("bench", "onSnapshotRead", new Object[] { "req-1", "save_slot_1", payload })));
+
+            // An autosave: a few scattered kilobytes rewritten and one kilobyte inserted.
+            byte[] edited = autosave(payload, random);
+            byte[] delta = SnapshotDelta.diff(payload, edited);
+            list.add(new Benchmark("delta.diff." + label, () -> SnapshotDelta.diff(payload, edited)));
+            list.add(new Benchmark("delta.apply." + label, () -> SnapshotDelta.apply(payload, delta)));
+        }
+
+        String scoresJson = BridgeJson.serializeScores(scores(25));
+        list.add(new Benchmark("callbacks.fanout.100", () -> {
+            StringBuilder batch = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                batch.append(CallbackQueue.encodeRecord("bench", "onScoresLoaded",
+                        new Object[] { "req-" + i, "CgkIq5Tf0ZUeEAIQAg", scoresJson }));
+            }
+            return batch.toString();
+        }));
+
+        return list;
+    }
+
+    private static byte[] autosave(byte[] payload, Random random) {
+        byte[] inserted = new byte[1024];
+        random.nextBytes(inserted);
+        int at = payload.length / 3;
+        byte[] edited = new byte[payload.length + inserted.length];
+        System.arraycopy(payload, 0, edited, 0, at);
+        System.arraycopy(inserted, 0, edited, at, inserted.length);
+        System.arraycopy(payload, at, edited, at + inserted.length, payload.length - at);
+        for (int i = 0; i < 8; i++) {
+            int start = random.nextInt(edited.length - 256);
+            for (int j = 0; j < 256; j++) edited[start + j] ^= (byte) random.nextInt(256);
+        }
+        return edited;
+    }
+
+    private static List<AchievementData> achievements(int count) {
+        List<AchievementData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean incremental = i % 3 == 0;
+            list.add(new AchievementData("CgkIq5Tf0ZUeEAIQ" + i, "Achievement number " + i,
+                    "Complete the objective for achievement " + i + " without using any continues",
+                    i % 4 == 0 ? AchievementData.STATE_UNLOCKED : AchievementData.STATE_REVEALED,
+                    incremental ? AchievementData.TYPE_INCREMENTAL : AchievementData.TYPE_STANDARD,
+                    incremental ? i % 10 : 0, incremental ? 10 : 0, 50, 1700000000000L + i,
+                    "content://com.google.android.gms.games/images/achievement/revealed/" + i,
+                    "content://com.google.android.gms.games/images/achievement/unlocked/" + i));
+        }
+        return list;
+    }
+
+    private static List<ScoreData> scores(int count) {
+        List<ScoreData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long score = 1000000L - i * 1234L;
+            list.add(new ScoreData("g" + (10000000000L + i), "Player " + i, score, String.format("%,d", score),
+                    i + 1, i % 5 == 0 ? "tag" : null, 1700000000000L + i,
+                    "content://com.google.android.gms.games/images/avatar/" + i));
+        }
+        return list;
+    }
+
+    private static OpenSnapshot openFakeSnapshot() throws Exception {
+        FakeGamesBackend backend = new FakeGamesBackend(42);
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            AtomicReference<OpenSnapshot> opened = new AtomicReference<>();
+            backend.snapshots().open("bench", true, new BackendCallback<OpenResult>() {
+                @Override
+                public void onSuccess(OpenResult result) {
+                    opened.set(result.snapshot);
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    done.countDown();
+                }
+            });
+            done.await(5, TimeUnit.SECONDS);
+            if (opened.get() == null) throw new IllegalStateException("Fake snapshot did not open");
+            return opened.get();
+        } finally {
+            backend.shutdown();
+        }
+    }
+
+    private static void report(String key, String json) {
+        Log.i(TAG, key + ": " + json);
+        Bundle status = new Bundle();
+        status.putString(key, json);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, status);
+    }
+
+    private static long parseLong(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+
+    private static String readFile(String path) throws Exception {
+        try (InputStream in = new FileInputStream(path)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) out.write(buffer, 0, read);
+            return out.toString("UTF-8");
+        }
+    }
+
+    private static void consume(Object value) {
+        if (value != null) sink += value.hashCode();
+    }
+
+    private static long runtimeStat(String name) {
+        String value = Debug.getRuntimeStat(name);
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static double ratio(double now, double base) {
+        return base > 0 ? now / base : 1;
+    }
+}
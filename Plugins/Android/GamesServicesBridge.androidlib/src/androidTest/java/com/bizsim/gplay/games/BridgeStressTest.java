@@ -0,0 +1,239 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.os.SystemClock;
+
+import androidx.activity.ComponentActivity;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.bizsim.gplay.games.achievements.AchievementBridge;
+import com.bizsim.gplay.games.achievements.IAchievementCallback;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+import com.bizsim.gplay.games.cloudsave.CloudSaveBridge;
+import com.bizsim.gplay.games.cloudsave.ICloudSaveCallback;
+import com.bizsim.gplay.games.events.EventsBridge;
+import com.bizsim.gplay.games.events.IEventsCallback;
+import com.bizsim.gplay.games.leaderboards.ILeaderboardCallback;
+import com.bizsim.gplay.games.leaderboards.LeaderboardBridge;
+import com.bizsim.gplay.games.stats.IStatsCallback;
+import com.bizsim.gplay.games.stats.StatsBridge;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instrumented stress check that every public bridge method can be called from any thread.
+ * Fresh achievement, leaderboard, cloud save, events and stats bridges are hammered by
+ * {@code THREADS} worker threads at once, each firing {@code OPS_PER_THREAD} mixed calls against
+ * a {@link FakeGamesBackend}. Every request must be answered exactly once, by a result or an
+ * error (a rate-limit or timeout error counts as an answer).
+ *
+ * The run reports answered, missing and duplicate answers, error answers and exceptions
+ * thrown out of bridge methods; it passes with zero missing, duplicates and exceptions.
+ * Run it with {@code connectedAndroidTest} from an exported Gradle project.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BridgeStressTest {
+    private static final long ANSWER_TIMEOUT_MS = 60_000;
+    private static final int KINDS = 9;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 250;
+
+    @Test
+    public void everyRequestIsAnsweredOnce() throws Exception {
+        FakeGamesBackend backend = new FakeGamesBackend(42);
+        GamesBackends.install(backend);
+        try (ActivityScenario<ComponentActivity> scenario = ActivityScenario.launch(ComponentActivity.class)) {
+            AtomicReference<Activity> activity = new AtomicReference<>();
+            scenario.onActivity(activity::set);
+
+            JSONObject result = new JSONObject(run(activity.get(), THREADS, OPS_PER_THREAD));
+            assertTrue(result.toString(), result.getLong("answered") > 0);
+            assertEquals(result.toString(), 0, result.getLong("missing"));
+            assertEquals(result.toString(), 0, result.getLong("duplicates"));
+            assertEquals(result.toString(), 0, result.getLong("exceptions"));
+        } finally {
+            GamesBackends.install(null);
+            backend.shutdown();
+        }
+    }
+
+    /** Calls fresh bridges against the installed backend; they are shut down before it returns. */
+    private static String run(Activity activity, int threads, int opsPerThread) throws Exception {
+        int workers = Math.max(1, threads);
+        int ops = Math.max(1, opsPerThread);
+
+        Answers answers = new Answers();
+        AchievementBridge achievements = new AchievementBridge(activity);
+        LeaderboardBridge leaderboards = new LeaderboardBridge(activity);
+        CloudSaveBridge cloudSave = new CloudSaveBridge(activity);
+        EventsBridge events = new EventsBridge(activity);
+        StatsBridge stats = new StatsBridge(activity);
+        achievements.setCallback(answers.proxy(IAchievementCallback.class));
+        leaderboards.setCallback(answers.proxy(ILeaderboardCallback.class));
+        cloudSave.setCallback(answers.proxy(ICloudSaveCallback.class));
+        events.setCallback(answers.proxy(IEventsCallback.class));
+        stats.setCallback(answers.proxy(IStatsCallback.class));
+
+        AtomicLong exceptions = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(workers);
+        long startedAt = SystemClock.elapsedRealtime();
+        try {
+            for (int t = 0; t < workers; t++) {
+                final int worker = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < ops; i++) {
+                            String requestId = "stress-" + worker + "-" + i;
+                            try {
+                                call(worker, i, requestId, answers, achievements, leaderboards, cloudSave, events, stats);
+                            } catch (Exception e) {
+                                exceptions.incrementAndGet();
+                                answers.forget(requestId);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                }, "BizSimGames-Stress-" + t);
+                thread.start();
+            }
+            start.countDown();
+            finished.await();
+            events.flushEvents();
+
+            long deadline = SystemClock.elapsedRealtime() + ANSWER_TIMEOUT_MS;
+            while (answers.missing() > 0 && SystemClock.elapsedRealtime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            JSONObject obj = new JSONObject();
+            obj.put("threads", workers);
+            obj.put("ops", answers.expected.size());
+            obj.put("answered", answers.answered.get());
+            obj.put("duplicates", answers.duplicates.get());
+            obj.put("missing", answers.missing());
+            obj.put("errors", answers.errors.get());
+            obj.put("exceptions", exceptions.get());
+            obj.put("elapsedMs", SystemClock.elapsedRealtime() - startedAt);
+            return obj.toString();
+        } finally {
+            achievements.shutdown();
+            leaderboards.shutdown();
+            cloudSave.shutdown();
+            events.shutdown();
+            stats.shutdown();
+        }
+    }
+
+    private static void call(int worker, int i, String requestId, Answers answers,
+                             AchievementBridge achievements, LeaderboardBridge leaderboards,
+                             CloudSaveBridge cloudSave, EventsBridge events, StatsBridge stats) {
+        String slot = "stress_" + (i % 4);
+        switch ((worker + i) % KINDS) {
+            case 0:
+                answers.expect(requestId);
+                achievements.unlockAchievement(requestId, slot);
+                break;
+            case 1:
+                answers.expect(requestId);
+                achievements.incrementAchievement(requestId, slot, 1);
+                break;
+            case 2:
+                answers.expect(requestId);
+                achievements.loadAchievements(requestId, i % 2 == 0);
+                break;
+            case 3:
+                answers.expect(requestId);
+                leaderboards.submitScore(requestId, slot, worker * 1000L + i, null);
+                break;
+            case 4:
+                answers.expect(requestId);
+                leaderboards.loadTopScores(requestId, slot, 2, 0, 10);
+                break;
+            case 5:
+                answers.expect(requestId);
+                cloudSave.openSnapshot(requestId, "stress-" + worker, true);
+                break;
+            case 6:
+                answers.expect(requestId);
+                cloudSave.commitSnapshot(requestId, "snapshot:stress-" + worker, new byte[256],
+                        "stress", i, null);
+                break;
+            case 7:
+                events.incrementEvent(slot, 1);
+                answers.expect(requestId);
+                events.loadEvents(requestId, i % 2 == 0);
+                break;
+            default:
+                answers.expect(requestId);
+                stats.loadPlayerStats(requestId, i % 3 == 0);
+                break;
+        }
+    }
+
+    /** Counts answers per request ID across every callback interface. */
+    private static final class Answers {
+        final Set<String> expected = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        final AtomicLong answered = new AtomicLong();
+        final AtomicLong duplicates = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+
+        void expect(String requestId) {
+            expected.add(requestId);
+        }
+
+        void forget(String requestId) {
+            expected.remove(requestId);
+        }
+
+        long missing() {
+            long missing = 0;
+            for (String requestId : expected) {
+                if (!counts.containsKey(requestId)) missing++;
+            }
+            return missing;
+        }
+
+        <T> T proxy(Class<T> type) {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (p, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.getName().equals("equals") ? p == args[0] : method.invoke(this, args);
+                }
+                Object first = args != null && args.length > 0 ? args[0] : null;
+                if (!(first instanceof String) || !expected.contains(first)) return null;
+                if (method.getName().endsWith("Error")) errors.incrementAndGet();
+                if (counts.computeIfAbsent((String) first, k -> new AtomicInteger()).incrementAndGet() == 1) {
+                    answered.incrementAndGet();
+                } else {
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            });
+            return type.cast(proxy);
+        }
+    }
+}
@@ -3,31 +3,30 @@
 package com.bizsim.gplay.games;
 
 import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SignInBackend;
+import com.bizsim.gplay.games.backend.SignInBackend.PlayerProfile;
 import com.bizsim.gplay.games.callbacks.IAuthCallback;
-import com.google.android.gms.games.AuthenticationResult;
-import com.google.android.gms.games.GamesSignInClient;
-import com.google.android.gms.games.PlayGames;
-import com.google.android.gms.games.PlayGamesSdk;
-import com.google.android.gms.games.Player;
-import com.google.android.gms.games.PlayersClient;
-import com.google.android.gms.games.gamessignin.AuthResponse;
-import com.google.android.gms.games.gamessignin.AuthScope;
-import com.google.android.gms.tasks.Task;
-
-import org.json.JSONArray;
+
 import org.json.JSONException;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * JNI bridge for Google Play Games authentication (PGS v2).
- * Wraps GamesSignInClient and provides C#-friendly callbacks.
+ * Wraps the sign-in backend and provides C#-friendly callbacks.
  */
 public class AuthBridge {
     private static final String TAG = "AuthBridge";
+    private static final String SERVICE = "auth";
 
     // Error codes (match C# AuthErrorType)
     private static final int ERROR_USER_CANCELLED = 1;
@@ -35,16 +34,42 @@ public class AuthBridge {
     private static final int ERROR_SIGN_IN_REQUIRED = 3;
     private static final int ERROR_SIGN_IN_FAILED = 4;
     private static final int ERROR_TIMEOUT = -1;
+    // GoogleSignInStatusCodes.SIGN_IN_CANCELLED
+    private static final int STATUS_SIGN_IN_CANCELLED = 12501;
+    private static final BridgeMetrics.Operation SIGN_IN = BridgeMetrics.operation("auth.signIn");
+    private static final BridgeMetrics.Operation LOAD_PLAYER = BridgeMetrics.operation("auth.loadPlayer");
+
+    /**
+     * Notified on the main thread after sign-in and profile fetch succeed.
+     * Used by other bridges to start post-sign-in prefetches.
+     */
+    public interface SignInListener {
+        void onSignedIn(String playerId);
+    }
+
+    private static final List<SignInListener> signInListeners = new CopyOnWriteArrayList<>();
+
+    private static final String PREFS_NAME = "bizsim_games_auth";
+    private static final String KEY_PLAYER_ID = "lastPlayerId";
+    private static final String KEY_DISPLAY_NAME = "lastDisplayName";
+    private static final String KEY_AVATAR_URI = "lastAvatarUri";
 
     private static AuthBridge instance;
     private final Activity activity;
-    private IAuthCallback callback;
-    private GamesSignInClient signInClient;
+    private final SharedPreferences prefs;
+    private volatile IAuthCallback callback;
+    private final SignInBackend signIn;
+    private final AuthCodeBroker authCodeBroker;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private volatile boolean optimisticSignIn;
+    private final AtomicReference<String> provisionalPlayerId = new AtomicReference<>();
 
     private AuthBridge(Activity activity) {
         this.activity = activity;
-        PlayGamesSdk.initialize(activity);
-        this.signInClient = PlayGames.getGamesSignInClient(activity);
+        MemoryGovernor.install(activity);
+        this.signIn = GamesBackends.get(activity).signIn();
+        this.authCodeBroker = new AuthCodeBroker(signIn);
+        this.prefs = activity.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         Log.d(TAG, "AuthBridge initialized");
     }
 
@@ -58,18 +83,48 @@ public class AuthBridge {
         return instance;
     }
 
+    public void warmUp() {
+        signIn.warmUp();
+    }
+
+    public static void addSignInListener(SignInListener listener) {
+        if (listener != null && !signInListeners.contains(listener)) {
+            signInListeners.add(listener);
+        }
+    }
+
+    public static void removeSignInListener(SignInListener listener) {
+        signInListeners.remove(listener);
+    }
+
     /**
      * Sets callback for authentication events (called from C# via AuthCallbackProxy).
      */
     public void setCallback(IAuthCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(IAuthCallback.class, callback);
         Log.d(TAG, "Callback set: " + (callback != null));
     }
 
+    /**
+     * Enables optimistic sign-in: signIn() immediately reports the last verified identity via
+     * onProvisionalIdentity, which is later confirmed by onAuthSuccess or withdrawn by
+     * onProvisionalIdentityRevoked.
+     */
+    public void setOptimisticSignIn(boolean enabled) {
+        this.optimisticSignIn = enabled;
+        Log.d(TAG, "Optimistic sign-in: " + enabled);
+    }
+
+    public void clearCachedIdentity() {
+        prefs.edit().clear().apply();
+    }
+
     /**
      * Attempts to sign in the player (PGS v2 automatic + manual flow).
      * First call: Silent auth (no UI if previously signed in).
      * Subsequent calls: Shows Google Play sign-in UI.
+     * The profile fetch is started alongside sign-in; if PGS has already authenticated the
+     * player at launch it completes without a second serial round-trip.
      */
     public void signIn() {
         if (callback == null) {
@@ -77,145 +132,266 @@ public class AuthBridge {
             return;
         }
 
-        Log.d(TAG, "Calling GamesSignInClient.signIn()");
+        provisionalPlayerId.set(null);
+        if (optimisticSignIn) {
+            deliverProvisionalIdentity();
+        }
 
-        Task<AuthenticationResult> signInTask = signInClient.signIn();
+        Log.d(TAG, "Calling GamesSignInClient.signIn()");
 
-        signInTask.addOnSuccessListener(activity, result -> {
-            if (result.isAuthenticated()) {
-                Log.d(TAG, "Sign-in successful, fetching player profile");
-                fetchPlayerProfile();
-            } else {
-                Log.w(TAG, "Sign-in required but not authenticated");
-                callback.onAuthFailure(ERROR_SIGN_IN_REQUIRED, "User not signed in");
+        final long started = SIGN_IN.start();
+        final SpeculativeProfile speculativeProfile = new SpeculativeProfile();
+        signIn.loadCurrentPlayer(speculativeProfile);
+
+        signIn.signIn(new BackendCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean authenticated) {
+                if (authenticated) {
+                    SIGN_IN.success(started);
+                    Log.d(TAG, "Sign-in successful, resolving player profile");
+                    speculativeProfile.whenDone(profile -> {
+                        if (profile != null) {
+                            onPlayerProfile(profile);
+                        } else {
+                            fetchPlayerProfile();
+                        }
+                    });
+                } else {
+                    SIGN_IN.failure(started);
+                    Log.w(TAG, "Sign-in required but not authenticated");
+                    failSignIn(ERROR_SIGN_IN_REQUIRED, "User not signed in");
+                }
             }
-        });
 
-        signInTask.addOnFailureListener(activity, exception -> {
-            Log.e(TAG, "Sign-in failed: " + exception.getMessage());
+            @Override
+            public void onFailure(Exception exception) {
+                SIGN_IN.failure(started);
+                Log.e(TAG, "Sign-in failed: " + exception.getMessage());
 
-            // Map exception to error code
-            int errorCode = ERROR_SIGN_IN_FAILED;
-            String message = exception.getMessage();
-
-            if (message != null) {
-                if (message.contains("SIGN_IN_CANCELLED") || message.contains("12501")) {
-                    errorCode = ERROR_USER_CANCELLED;
-                } else if (message.contains("NETWORK_ERROR") || message.contains("7:")) {
-                    errorCode = ERROR_NO_CONNECTION;
-                }
+                String message = exception.getMessage();
+                failSignIn(errorCodeFor(exception), message != null ? message : "Sign-in failed");
             }
-
-            callback.onAuthFailure(errorCode, message != null ? message : "Sign-in failed");
         });
     }
 
     /**
-     * Requests a server-side access auth code for backend integration.
-     * PGS v2: GamesSignInClient.requestServerSideAccess(clientId, forceRefresh)
-     * @param serverClientId OAuth 2.0 Web Client ID from Google Cloud Console
-     * @param forceRefresh If true, forces a new refresh token
+     * Profile fetch started alongside sign-in. A failed fetch completes with null, which
+     * falls back to a second fetch once sign-in succeeds.
      */
-    public void requestServerSideAccess(String serverClientId, boolean forceRefresh) {
-        if (callback == null) {
-            Log.e(TAG, "requestServerSideAccess() called but callback is null");
-            return;
+    private static final class SpeculativeProfile implements BackendCallback<PlayerProfile> {
+        private boolean done;
+        private PlayerProfile profile;
+        private Consumer<PlayerProfile> consumer;
+
+        @Override
+        public void onSuccess(PlayerProfile result) {
+            complete(result);
         }
 
-        Log.d(TAG, "Requesting server-side access (clientId=" + serverClientId + ", forceRefresh=" + forceRefresh + ")");
+        @Override
+        public void onFailure(Exception error) {
+            complete(null);
+        }
+
+        private void complete(PlayerProfile result) {
+            Consumer<PlayerProfile> target;
+            synchronized (this) {
+                done = true;
+                profile = result;
+                target = consumer;
+            }
+            if (target != null) target.accept(result);
+        }
 
-        signInClient.requestServerSideAccess(serverClientId, forceRefresh)
-                .addOnSuccessListener(activity, serverAuthCode -> {
-                    Log.d(TAG, "Server-side access granted");
-                    callback.onServerSideAccessSuccess(serverAuthCode);
-                })
-                .addOnFailureListener(activity, exception -> {
-                    Log.e(TAG, "Server-side access failed: " + exception.getMessage());
-                    callback.onServerSideAccessFailure(ERROR_SIGN_IN_FAILED,
-                            exception.getMessage() != null ? exception.getMessage() : "Server-side access failed");
-                });
+        void whenDone(Consumer<PlayerProfile> target) {
+            PlayerProfile result;
+            synchronized (this) {
+                if (!done) {
+                    consumer = target;
+                    return;
+                }
+                result = profile;
+            }
+            target.accept(result);
+        }
     }
 
-    public void requestServerSideAccessWithScopes(String serverClientId, boolean forceRefresh, String scopesJson) {
+    /**
+     * Requests a server auth code and returns a request ID that correlates the
+     * onServerAuthCodeReady / onServerAuthCodeFailed callback with this call.
+     * Each caller receives its own one-time code from its own round-trip; concurrent identical
+     * requests run in parallel. A code prefetched after sign-in is served to the first matching
+     * request.
+     * @param scopesJson JSON array of scope names, or null/empty for no extra scopes
+     */
+    public String requestServerAuthCode(String serverClientId, boolean forceRefresh, String scopesJson) {
+        String requestId = authCodeBroker.nextRequestId();
         if (callback == null) {
-            Log.e(TAG, "requestServerSideAccessWithScopes() called but callback is null");
-            return;
+            Log.e(TAG, "requestServerAuthCode() called but callback is null");
+            return requestId;
         }
 
-        Log.d(TAG, "Requesting server-side access with scopes (clientId=" + serverClientId +
-                ", forceRefresh=" + forceRefresh + ", scopes=" + scopesJson + ")");
-
-        List<AuthScope> scopes = new ArrayList<>();
+        AuthCodeBroker.Scopes scopes;
         try {
-            JSONArray arr = new JSONArray(scopesJson);
-            for (int i = 0; i < arr.length(); i++) {
-                String scopeName = arr.getString(i);
-                switch (scopeName) {
-                    case "EMAIL":
-                        scopes.add(AuthScope.EMAIL);
-                        break;
-                    case "PROFILE":
-                        scopes.add(AuthScope.PROFILE);
-                        break;
-                    case "OPEN_ID":
-                        scopes.add(AuthScope.OPEN_ID);
-                        break;
-                    default:
-                        Log.w(TAG, "Unknown auth scope: " + scopeName);
-                        break;
-                }
-            }
+            scopes = authCodeBroker.parseScopes(scopesJson);
         } catch (JSONException e) {
             Log.e(TAG, "Failed to parse scopes JSON: " + e.getMessage());
-            callback.onServerSideAccessWithScopesFailure(ERROR_SIGN_IN_FAILED, "Invalid scopes JSON: " + e.getMessage());
-            return;
+            String message = "Invalid scopes JSON: " + e.getMessage();
+            activity.runOnUiThread(() -> {
+                IAuthCallback cb = callback;
+                if (cb != null) cb.onServerAuthCodeFailed(requestId, ERROR_SIGN_IN_FAILED, message);
+            });
+            return requestId;
         }
 
-        signInClient.requestServerSideAccess(serverClientId, forceRefresh, scopes)
-                .addOnSuccessListener(activity, authResponse -> {
-                    String authCode = authResponse.getAuthCode();
-                    List<AuthScope> grantedScopes = authResponse.getGrantedScopes();
+        deadlines.begin(requestId);
+        authCodeBroker.request(requestId, serverClientId, forceRefresh, scopes, authCodeWaiter);
+        return requestId;
+    }
 
-                    JSONArray grantedArray = new JSONArray();
-                    if (grantedScopes != null) {
-                        for (AuthScope scope : grantedScopes) {
-                            if (scope.equals(AuthScope.EMAIL)) grantedArray.put("EMAIL");
-                            else if (scope.equals(AuthScope.PROFILE)) grantedArray.put("PROFILE");
-                            else if (scope.equals(AuthScope.OPEN_ID)) grantedArray.put("OPEN_ID");
-                        }
-                    }
+    /** Abandons a pending server auth code request; a code that lands later goes to the next waiter. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        IAuthCallback cb = callback;
+        if (cb != null) {
+            cb.onServerAuthCodeFailed(requestId, ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms");
+        }
+    }
 
-                    Log.d(TAG, "Server-side access with scopes granted (scopes=" + grantedArray + ")");
-                    callback.onServerSideAccessWithScopesSuccess(authCode, grantedArray.toString());
-                })
-                .addOnFailureListener(activity, exception -> {
-                    Log.e(TAG, "Server-side access with scopes failed: " + exception.getMessage());
-                    callback.onServerSideAccessWithScopesFailure(ERROR_SIGN_IN_FAILED,
-                            exception.getMessage() != null ? exception.getMessage() : "Server-side access with scopes failed");
-                });
+    /**
+     * Configures an auth code to be fetched in the background after each successful sign-in.
+     * Pass a null client ID to disable.
+     */
+    public void setAuthCodePrefetch(String serverClientId, String scopesJson) {
+        try {
+            authCodeBroker.setPrefetch(serverClientId, authCodeBroker.parseScopes(scopesJson));
+            Log.d(TAG, "Auth code prefetch " + (serverClientId != null ? "enabled" : "disabled"));
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to parse prefetch scopes JSON: " + e.getMessage());
+        }
     }
 
     /**
      * Fetches current player profile after successful sign-in.
      */
     private void fetchPlayerProfile() {
-        PlayersClient playersClient = PlayGames.getPlayersClient(activity);
-        Task<Player> playerTask = playersClient.getCurrentPlayer();
-
-        playerTask.addOnSuccessListener(activity, player -> {
-            String playerId = player.getPlayerId();
-            String displayName = player.getDisplayName();
-            String avatarUri = player.getHiResImageUri() != null ?
-                player.getHiResImageUri().toString() : null;
+        Resilience.retrying(SERVICE, LOAD_PLAYER, signIn::loadCurrentPlayer, new BackendCallback<PlayerProfile>() {
+            @Override
+            public void onSuccess(PlayerProfile profile) {
+                if (profile != null) {
+                    onPlayerProfile(profile);
+                } else {
+                    failSignIn(ERROR_SIGN_IN_FAILED, "Authentication succeeded but no player profile was returned");
+                }
+            }
 
-            Log.d(TAG, "Player profile fetched: " + displayName + " (" + playerId + ")");
-            callback.onAuthSuccess(playerId, displayName, avatarUri);
+            @Override
+            public void onFailure(Exception exception) {
+                Log.e(TAG, "Failed to fetch player profile: " + exception.getMessage());
+                failSignIn(errorCodeFor(exception),
+                    "Authentication succeeded but profile fetch failed: " + exception.getMessage());
+            }
         });
+    }
 
-        playerTask.addOnFailureListener(activity, exception -> {
-            Log.e(TAG, "Failed to fetch player profile: " + exception.getMessage());
-            callback.onAuthFailure(ERROR_SIGN_IN_FAILED,
-                "Authentication succeeded but profile fetch failed: " + exception.getMessage());
-        });
+    /** Maps a sign-in backend failure to the C# AuthErrorType codes by its status code. */
+    static int errorCodeFor(Exception error) {
+        int status = BackendException.statusCodeOf(error);
+        if (status == BackendException.CANCELED || status == STATUS_SIGN_IN_CANCELLED) return ERROR_USER_CANCELLED;
+        if (status == BackendException.SIGN_IN_REQUIRED) return ERROR_SIGN_IN_REQUIRED;
+        if (BackendException.isTransient(status)) return ERROR_NO_CONNECTION;
+        return ERROR_SIGN_IN_FAILED;
+    }
+
+    private void onPlayerProfile(PlayerProfile player) {
+        String playerId = player.playerId;
+        String displayName = player.displayName;
+        String avatarUri = player.avatarUri;
+
+        Log.d(TAG, "Player profile fetched: " + displayName + " (" + playerId + ")");
+
+        prefs.edit()
+                .putString(KEY_PLAYER_ID, playerId)
+                .putString(KEY_DISPLAY_NAME, displayName)
+                .putString(KEY_AVATAR_URI, avatarUri)
+                .apply();
+
+        IAuthCallback cb = callback;
+        String provisional = provisionalPlayerId.getAndSet(null);
+        if (provisional != null && !provisional.equals(playerId)) {
+            Log.w(TAG, "Signed-in player differs from provisional identity");
+            if (cb != null) {
+                cb.onProvisionalIdentityRevoked(ERROR_SIGN_IN_FAILED, "Signed-in player differs from cached identity");
+            }
+        }
+
+        if (cb != null) {
+            cb.onAuthSuccess(playerId, displayName, avatarUri);
+        }
+        authCodeBroker.onSignedIn();
+        notifySignedIn(playerId);
+    }
+
+    private final AuthCodeBroker.Waiter authCodeWaiter = new AuthCodeBroker.Waiter() {
+        @Override
+        public void onSuccess(String requestId, String authCode, String grantedScopesJson) {
+            IAuthCallback cb = callback;
+            if (cb != null) {
+                cb.onServerAuthCodeReady(requestId, authCode, grantedScopesJson);
+            }
+        }
+
+        @Override
+        public void onFailure(String requestId, int errorCode, String errorMessage) {
+            IAuthCallback cb = callback;
+            if (cb != null) {
+                cb.onServerAuthCodeFailed(requestId, errorCode, errorMessage);
+            }
+        }
+
+        @Override
+        public boolean isWaiting(String requestId) {
+            return deadlines.isLive(requestId);
+        }
+    };
+
+    private void deliverProvisionalIdentity() {
+        String playerId = prefs.getString(KEY_PLAYER_ID, null);
+        if (playerId == null) {
+            Log.d(TAG, "No cached identity for optimistic sign-in");
+            return;
+        }
+
+        provisionalPlayerId.set(playerId);
+        Log.d(TAG, "Delivering provisional identity: " + playerId);
+        IAuthCallback cb = callback;
+        if (cb != null) {
+            cb.onProvisionalIdentity(playerId,
+                    prefs.getString(KEY_DISPLAY_NAME, null),
+                    prefs.getString(KEY_AVATAR_URI, null));
+        }
+    }
+
+    private void failSignIn(int errorCode, String message) {
+        IAuthCallback cb = callback;
+        boolean hadProvisional = provisionalPlayerId.getAndSet(null) != null;
+        if (cb == null) return;
+        if (hadProvisional) {
+            cb.onProvisionalIdentityRevoked(errorCode, message);
+        }
+        cb.onAuthFailure(errorCode, message);
+    }
+
+    private static void notifySignedIn(String playerId) {
+        for (SignInListener listener : signInListeners) {
+            try {
+                listener.onSignedIn(playerId);
+            } catch (Exception e) {
+                Log.e(TAG, "Sign-in listener failed", e);
+            }
+        }
     }
 }
@@ -0,0 +1,287 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.SignInBackend;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broker for server auth codes.
+ *
+ * Auth codes are one-time, so each requestServerSideAccess call (a flight) serves exactly one
+ * caller. Requests for the same client ID, refresh flag and scopes are queued per key, and a
+ * new flight starts only when the queue holds more callers than flights already running: a
+ * request joins a prefetch or a flight whose caller gave up, and concurrent callers get
+ * parallel flights rather than one after another. Whichever flight lands first serves the
+ * oldest waiting caller. Transient failures are retried by {@link Resilience} inside the
+ * flight; a flight that still fails fails one caller. An optional prefetch after sign-in keeps
+ * one code ready for the first request. Callers that timed out or cancelled are skipped, so
+ * their code goes to the next waiter or is kept as a prefetch.
+ */
+final class AuthCodeBroker {
+    private static final String TAG = "AuthBridge";
+    private static final long PREFETCH_TTL_MS = 4 * 60 * 1000;
+    private static final BridgeMetrics.Operation SERVER_AUTH_CODE = BridgeMetrics.operation("auth.serverAuthCode");
+
+    private static final List<String> KNOWN_SCOPES = Arrays.asList("EMAIL", "PROFILE", "OPEN_ID");
+
+    interface Waiter {
+        void onSuccess(String requestId, String authCode, String grantedScopesJson);
+        void onFailure(String requestId, int errorCode, String errorMessage);
+
+        /** False once the caller has timed out or cancelled; its turn for a code is skipped. */
+        default boolean isWaiting(String requestId) {
+            return true;
+        }
+    }
+
+    static final class Scopes {
+        final List<String> list;
+        final String key;
+
+        Scopes(List<String> list, String key) {
+            this.list = list;
+            this.key = key;
+        }
+    }
+
+    private static final class Request {
+        final String requestId;
+        final Waiter waiter;
+
+        Request(String requestId, Waiter waiter) {
+            this.requestId = requestId;
+            this.waiter = waiter;
+        }
+    }
+
+    private static final class Prefetched {
+        final String authCode;
+        final String grantedScopesJson;
+        final long fetchedAt;
+
+        Prefetched(String authCode, String grantedScopesJson) {
+            this.authCode = authCode;
+            this.grantedScopesJson = grantedScopesJson;
+            this.fetchedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    private final SignInBackend signIn;
+    private final ConcurrentHashMap<String, Scopes> parsedScopes = new ConcurrentHashMap<>();
+    private final AtomicLong requestCounter = new AtomicLong();
+
+    /** Callers waiting for a code for one key, and the flights running for them. */
+    private static final class Queue {
+        final List<Request> waiters = new ArrayList<>();
+        int flights;
+    }
+
+    private final Map<String, Queue> inFlight = new HashMap<>();
+    private final Map<String, Prefetched> prefetched = new HashMap<>();
+
+    private String prefetchClientId;
+    private Scopes prefetchScopes;
+
+    AuthCodeBroker(SignInBackend signIn) {
+        this.signIn = signIn;
+    }
+
+    /**
+     * Parses and caches a scopes JSON array. Returns null for a null or empty string, which
+     * selects the scope-less requestServerSideAccess overload.
+     */
+    Scopes parseScopes(String scopesJson) throws JSONException {
+        if (scopesJson == null || scopesJson.isEmpty()) return null;
+
+        Scopes cached = parsedScopes.get(scopesJson);
+        if (cached != null) return cached;
+
+        JSONArray arr = new JSONArray(scopesJson);
+        List<String> list = new ArrayList<>(arr.length());
+        for (int i = 0; i < arr.length(); i++) {
+            String scopeName = arr.getString(i);
+            if (!KNOWN_SCOPES.contains(scopeName)) {
+                Log.w(TAG, "Unknown auth scope: " + scopeName);
+            } else if (!list.contains(scopeName)) {
+                list.add(scopeName);
+            }
+        }
+        List<String> names = new ArrayList<>(list);
+        Collections.sort(names);
+
+        Scopes scopes = new Scopes(Collections.unmodifiableList(list), names.toString());
+        parsedScopes.put(scopesJson, scopes);
+        return scopes;
+    }
+
+    String nextRequestId() {
+        return "auth-" + requestCounter.incrementAndGet();
+    }
+
+    void request(String requestId, String serverClientId, boolean forceRefresh, Scopes scopes, Waiter waiter) {
+        String key = key(serverClientId, forceRefresh, scopes);
+        Request request = new Request(requestId, waiter);
+
+        Prefetched ready = null;
+        boolean startFlight = false;
+        synchronized (this) {
+            if (!forceRefresh) {
+                ready = prefetched.remove(key);
+                if (ready != null && SystemClock.elapsedRealtime() - ready.fetchedAt > PREFETCH_TTL_MS) {
+                    ready = null;
+                }
+            }
+
+            if (ready == null) {
+                Queue queue = inFlight.get(key);
+                if (queue == null) {
+                    queue = new Queue();
+                    inFlight.put(key, queue);
+                }
+                queue.waiters.add(request);
+                startFlight = queue.waiters.size() > queue.flights;
+                if (startFlight) queue.flights++;
+            }
+        }
+
+        if (ready != null) {
+            Log.d(TAG, "Serving prefetched auth code (" + requestId + ")");
+            waiter.onSuccess(requestId, ready.authCode, ready.grantedScopesJson);
+        } else if (startFlight) {
+            startFlight(key, serverClientId, forceRefresh, scopes);
+        } else {
+            Log.d(TAG, "Joined in-flight auth code request (" + requestId + ")");
+        }
+    }
+
+    void setPrefetch(String serverClientId, Scopes scopes) {
+        synchronized (this) {
+            prefetchClientId = serverClientId;
+            prefetchScopes = scopes;
+            prefetched.clear();
+        }
+    }
+
+    void onSignedIn() {
+        String clientId;
+        Scopes scopes;
+        boolean startFlight = false;
+        String key = null;
+        synchronized (this) {
+            prefetched.clear();
+            clientId = prefetchClientId;
+            scopes = prefetchScopes;
+            if (clientId != null && !MemoryGovernor.shouldDefer()) {
+                key = key(clientId, false, scopes);
+                if (!inFlight.containsKey(key)) {
+                    Queue queue = new Queue();
+                    queue.flights = 1;
+                    inFlight.put(key, queue);
+                    startFlight = true;
+                }
+            }
+        }
+
+        if (startFlight) {
+            Log.d(TAG, "Prefetching server auth code after sign-in");
+            startFlight(key, clientId, false, scopes);
+        }
+    }
+
+    private void startFlight(String key, String serverClientId, boolean forceRefresh, Scopes scopes) {
+        final long started = SERVER_AUTH_CODE.start();
+        Resilience.retrying("auth", SERVER_AUTH_CODE,
+                cb -> signIn.requestServerSideAccess(serverClientId, forceRefresh, scopes != null ? scopes.list : null, cb),
+                new BackendCallback<SignInBackend.ServerAccess>() {
+                    @Override
+                    public void onSuccess(SignInBackend.ServerAccess access) {
+                        SERVER_AUTH_CODE.success(started);
+                        land(key, access.authCode, grantedScopesJson(access.grantedScopes));
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        SERVER_AUTH_CODE.failure(started);
+                        fail(key, e);
+                    }
+                });
+    }
+
+    private void land(String key, String authCode, String grantedScopesJson) {
+        Request first;
+        synchronized (this) {
+            first = endFlight(key);
+            if (first == null) {
+                prefetched.put(key, new Prefetched(authCode, grantedScopesJson));
+                Log.d(TAG, "Server auth code prefetched");
+                return;
+            }
+        }
+
+        Log.d(TAG, "Server auth code ready (" + first.requestId + ")");
+        first.waiter.onSuccess(first.requestId, authCode, grantedScopesJson);
+    }
+
+    private void fail(String key, Exception e) {
+        Request first;
+        synchronized (this) {
+            first = endFlight(key);
+        }
+
+        String message = e.getMessage() != null ? e.getMessage() : "Server-side access failed";
+        Log.e(TAG, "Server-side access failed: " + message);
+        if (first == null) return;
+
+        first.waiter.onFailure(first.requestId, AuthBridge.errorCodeFor(e), message);
+    }
+
+    /**
+     * Counts one flight for the key as finished and takes the oldest caller still waiting,
+     * dropping callers that gave up. Returns null if none is left. Call while synchronized.
+     */
+    private Request endFlight(String key) {
+        Queue queue = inFlight.get(key);
+        if (queue == null) return null;
+
+        queue.flights--;
+        Request first = null;
+        while (first == null && !queue.waiters.isEmpty()) {
+            Request next = queue.waiters.remove(0);
+            if (next.waiter.isWaiting(next.requestId)) first = next;
+        }
+        if (queue.flights <= 0 && queue.waiters.isEmpty()) {
+            inFlight.remove(key);
+        }
+        return first;
+    }
+
+    private static String key(String serverClientId, boolean forceRefresh, Scopes scopes) {
+        return serverClientId + "|" + forceRefresh + "|" + (scopes != null ? scopes.key : "-");
+    }
+
+    static String grantedScopesJson(List<String> grantedScopes) {
+        JSONArray grantedArray = new JSONArray();
+        if (grantedScopes != null) {
+            for (String name : grantedScopes) {
+                grantedArray.put(name);
+            }
+        }
+        return grantedArray.toString();
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * JSON payloads handed to Unity, and snapshot handle encoding. Field names must match the
+ * C# data classes read with {@code JsonUtility}. Kept in one place so the bridges and the
+ * benchmarks measure the same code.
+ */
+public final class BridgeJson {
+    private static final String SNAPSHOT_HANDLE_PREFIX = "snapshot:";
+
+    private BridgeJson() { }
+
+    public static String serializeAchievements(List<AchievementData> achievements) throws Exception {
+        JSONArray array = new JSONArray();
+
+        for (AchievementData achievement : achievements) {
+            JSONObject obj = new JSONObject();
+
+            obj.put("achievementId", achievement.achievementId);
+            obj.put("name", achievement.name);
+            obj.put("description", achievement.description);
+            obj.put("state", achievement.state);
+            obj.put("type", achievement.type);
+            obj.put("currentSteps", achievement.currentSteps);
+            obj.put("totalSteps", achievement.totalSteps);
+            obj.put("xpValue", achievement.xpValue);
+            obj.put("unlockedTimestamp", achievement.lastUpdatedTimestamp);
+            obj.put("revealedIconUrl", achievement.revealedImageUri != null ? achievement.revealedImageUri : "");
+            obj.put("unlockedIconUrl", achievement.unlockedImageUri != null ? achievement.unlockedImageUri : "");
+
+            array.put(obj);
+        }
+
+        return array.toString();
+    }
+
+    public static String serializeScores(List<ScoreData> scores) throws Exception {
+        JSONArray array = new JSONArray();
+
+        for (ScoreData score : scores) {
+            JSONObject obj = new JSONObject();
+            obj.put("playerId", score.playerId != null ? score.playerId : "");
+            obj.put("displayName", score.displayName != null ? score.displayName : "");
+            obj.put("score", score.rawScore);
+            obj.put("formattedScore", score.displayScore);
+            obj.put("rank", score.rank);
+            obj.put("scoreTag", score.scoreTag != null ? score.scoreTag : "");
+            obj.put("timestampMillis", score.timestampMillis);
+            obj.put("avatarUrl", score.avatarUri != null ? score.avatarUri : "");
+            array.put(obj);
+        }
+
+        return array.toString();
+    }
+
+    public static String serializeSnapshot(SnapshotMeta metadata) throws Exception {
+        JSONObject obj = new JSONObject();
+
+        obj.put("filename", metadata.uniqueName);
+        obj.put("nativeHandle", snapshotHandle(metadata.uniqueName));
+        obj.put("lastModifiedTimestamp", metadata.lastModifiedTimestamp);
+        obj.put("playedTimeMillis", metadata.playedTime);
+        obj.put("description", metadata.description);
+
+        if (metadata.coverImageUri != null) {
+            obj.put("coverImageUri", metadata.coverImageUri);
+        }
+
+        return obj.toString();
+    }
+
+    public static JSONObject serializeEvent(String eventId, String name, String description, long value,
+                                            String imageUri, boolean visible) throws Exception {
+        JSONObject obj = new JSONObject();
+        obj.put("eventId", eventId);
+        obj.put("name", name);
+        obj.put("description", description);
+        obj.put("value", value);
+        obj.put("imageUri", imageUri);
+        obj.put("isVisible", visible);
+        return obj;
+    }
+
+    public static String serializeStats(StatsData stats) throws Exception {
+        JSONObject obj = new JSONObject();
+
+        obj.put("avgSessionLengthMinutes", stats.averageSessionLength);
+        obj.put("daysSinceLastPlayed", stats.daysSinceLastPlayed);
+        obj.put("numberOfPurchases", stats.numberOfPurchases);
+        obj.put("numberOfSessions", stats.numberOfSessions);
+        obj.put("sessionPercentile", stats.sessionPercentile);
+        obj.put("spendPercentile", stats.spendPercentile);
+        // Deprecated in v2 (always return UNSET_VALUE) but included for compatibility
+        obj.put("churnProbability", stats.churnProbability);
+        obj.put("highSpenderProbability", stats.highSpenderProbability);
+
+        return obj.toString();
+    }
+
+    public static String snapshotHandle(String filename) {
+        return SNAPSHOT_HANDLE_PREFIX + filename;
+    }
+
+    /** Filename from a {@code <kind>:<filename>} handle, or null if the handle is malformed. */
+    public static String parseSnapshotHandle(String handle) {
+        if (handle == null) return null;
+
+        int colon = handle.indexOf(':');
+        if (colon < 0 || colon == handle.length() - 1) return null;
+
+        int end = handle.indexOf(':', colon + 1);
+        return handle.substring(colon + 1, end < 0 ? handle.length() : end);
+    }
+}
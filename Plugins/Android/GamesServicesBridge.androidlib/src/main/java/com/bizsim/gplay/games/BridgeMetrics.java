@@ -0,0 +1,182 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide latency and outcome metrics for bridge operations.
+ *
+ * Each bridge holds its {@link Operation}s in static fields, so recording is a handful of
+ * lock-free atomic updates with no lookup or allocation. Latencies go into a log-linear
+ * histogram (16 sub-buckets per power of two, about 6% relative error) in microseconds.
+ *
+ * {@link #getMetricsSnapshot()} returns compact JSON: per operation the success and failure
+ * counts, retries, bytes moved, sum/max/p50/p90/p99 in microseconds, and the non-empty histogram
+ * buckets as a flat [index, count, ...] array. Bucket lower bounds follow from
+ * {@code subBucketBits}, so the raw histograms can be merged server-side.
+ */
+public final class BridgeMetrics {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+    private static final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private BridgeMetrics() {}
+
+    public static Operation operation(String name) {
+        Operation op = operations.get(name);
+        if (op != null) return op;
+        Operation created = new Operation(name);
+        op = operations.putIfAbsent(name, created);
+        return op != null ? op : created;
+    }
+
+    public static final class Operation {
+        private final String name;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder sumMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        /** Start timestamp to pass to {@link #success} or {@link #failure}. */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        public void success(long startNanos) {
+            successes.increment();
+            recordLatency(startNanos);
+        }
+
+        public void failure(long startNanos) {
+            failures.increment();
+            recordLatency(startNanos);
+        }
+
+        /** Counts a repeated attempt made by {@link Resilience}. */
+        public void retry() {
+            retries.increment();
+        }
+
+        public void addBytes(long count) {
+            if (count > 0) bytes.add(count);
+        }
+
+        private void recordLatency(long startNanos) {
+            long micros = Math.max(0, (System.nanoTime() - startNanos) / 1000);
+            buckets.incrementAndGet(bucketIndex(micros));
+            sumMicros.add(micros);
+
+            long max = maxMicros.get();
+            while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+                max = maxMicros.get();
+            }
+        }
+
+        private void reset() {
+            successes.reset();
+            failures.reset();
+            retries.reset();
+            bytes.reset();
+            sumMicros.reset();
+            maxMicros.set(0);
+            for (int i = 0; i < BUCKET_COUNT; i++) buckets.set(i, 0);
+        }
+
+        private JSONObject toJson() throws Exception {
+            long[] counts = new long[BUCKET_COUNT];
+            long total = 0;
+            JSONArray histogram = new JSONArray();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+                if (counts[i] == 0) continue;
+                total += counts[i];
+                histogram.put(i).put(counts[i]);
+            }
+
+            JSONObject obj = new JSONObject();
+            obj.put("op", name);
+            obj.put("ok", successes.sum());
+            obj.put("err", failures.sum());
+            obj.put("retry", retries.sum());
+            obj.put("bytes", bytes.sum());
+            obj.put("sumUs", sumMicros.sum());
+            obj.put("maxUs", maxMicros.get());
+            obj.put("p50Us", percentile(counts, total, 0.50));
+            obj.put("p90Us", percentile(counts, total, 0.90));
+            obj.put("p99Us", percentile(counts, total, 0.99));
+            obj.put("h", histogram);
+            return obj;
+        }
+    }
+
+    public static String getMetricsSnapshot() {
+        try {
+            JSONArray ops = new JSONArray();
+            for (Map.Entry<String, Operation> entry : new TreeMap<>(operations).entrySet()) {
+                ops.put(entry.getValue().toJson());
+            }
+
+            JSONObject obj = new JSONObject();
+            obj.put("v", 1);
+            obj.put("subBucketBits", SUB_BUCKET_BITS);
+            obj.put("ops", ops);
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    public static void resetMetrics() {
+        for (Operation op : operations.values()) op.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= (1L << (MAX_EXPONENT + 1))) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+
+        int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & (SUB_BUCKET_COUNT - 1);
+        return (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return bucketLowerBound(i);
+        }
+        return bucketLowerBound(counts.length - 1);
+    }
+}
@@ -0,0 +1,139 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.util.Base64;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Batched callback delivery. {@link #install} gives a bridge a callback that records each
+ * invocation here instead of crossing into Unity, and Unity collects everything recorded so
+ * far with one {@link #drain} call per frame.
+ *
+ * A batch is a flat sequence of fields, each written as {@code <type><length>:<payload>}:
+ * {@code r} starts a record (payload is the argument count), followed by the service and
+ * method names as strings and then the arguments. Types: {@code s} string, {@code n} null,
+ * {@code i} int, {@code l} long, {@code z} boolean, {@code b} Base64 bytes.
+ */
+public final class CallbackQueue {
+    private static final String TAG = "BizSimGames.Callbacks";
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+
+    private static final Object lock = new Object();
+    private static StringBuilder pending = new StringBuilder();
+    private static int pendingCount;
+
+    static {
+        // Between drains the buffer holds nothing, so its capacity can always be given back.
+        MemoryGovernor.register("callbackBuffer", MemoryGovernor.PRIORITY_BUFFERS, pressure -> {
+            synchronized (lock) {
+                if (pendingCount > 0 || pending.capacity() == 0) return 0;
+                long bytes = pending.capacity() * 2L;
+                pending = new StringBuilder();
+                return bytes;
+            }
+        });
+    }
+
+    private CallbackQueue() { }
+
+    /** Replaces the bridge's callback with one that queues invocations under {@code service}. */
+    public static void install(Object bridge, String service) throws Exception {
+        Method setCallback = findSetCallback(bridge.getClass());
+        Class<?> callbackType = setCallback.getParameterTypes()[0];
+
+        Object callback = Proxy.newProxyInstance(callbackType.getClassLoader(), new Class<?>[] { callbackType },
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals": return proxy == args[0];
+                            case "hashCode": return System.identityHashCode(proxy);
+                            default: return "CallbackQueue[" + service + "]";
+                        }
+                    }
+                    append(service, method.getName(), args);
+                    return null;
+                });
+
+        setCallback.invoke(bridge, callback);
+        Log.d(TAG, "Batched delivery installed for " + service);
+    }
+
+    /** Returns every invocation recorded since the last drain, or null when there are none. */
+    public static String drain() {
+        synchronized (lock) {
+            if (pendingCount == 0) return null;
+
+            String batch = pending.toString();
+            pendingCount = 0;
+            // Scaled per drain: this class can load before the governor reads the memory class.
+            if (pending.capacity() > MemoryGovernor.scaled(RETAINED_CAPACITY)) {
+                pending = new StringBuilder();
+            } else {
+                pending.setLength(0);
+            }
+            return batch;
+        }
+    }
+
+    public static int pendingCount() {
+        synchronized (lock) {
+            return pendingCount;
+        }
+    }
+
+    private static Method findSetCallback(Class<?> bridgeClass) throws NoSuchMethodException {
+        for (Method method : bridgeClass.getMethods()) {
+            if (method.getName().equals("setCallback") && method.getParameterTypes().length == 1
+                    && method.getParameterTypes()[0].isInterface()) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(bridgeClass.getName() + ".setCallback");
+    }
+
+    private static void append(String service, String method, Object[] args) {
+        String record = encodeRecord(service, method, args);
+        synchronized (lock) {
+            pending.append(record);
+            pendingCount++;
+        }
+    }
+
+    static String encodeRecord(String service, String method, Object[] args) {
+        int argc = args != null ? args.length : 0;
+        StringBuilder sb = new StringBuilder();
+        field(sb, 'r', String.valueOf(argc));
+        field(sb, 's', service);
+        field(sb, 's', method);
+        for (int i = 0; i < argc; i++) {
+            sb.append(encode(args[i]));
+        }
+        return sb.toString();
+    }
+
+    private static String encode(Object value) {
+        StringBuilder sb = new StringBuilder();
+        if (value == null) {
+            field(sb, 'n', "");
+        } else if (value instanceof Integer) {
+            field(sb, 'i', value.toString());
+        } else if (value instanceof Long) {
+            field(sb, 'l', value.toString());
+        } else if (value instanceof Boolean) {
+            field(sb, 'z', ((Boolean) value) ? "1" : "0");
+        } else if (value instanceof byte[]) {
+            field(sb, 'b', Base64.encodeToString((byte[]) value, Base64.NO_WRAP));
+        } else {
+            field(sb, 's', value.toString());
+        }
+        return sb.toString();
+    }
+
+    private static void field(StringBuilder sb, char type, String payload) {
+        sb.append(type).append(payload.length()).append(':').append(payload);
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.app.Activity;
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.GamesBackend;
+import com.bizsim.gplay.games.backend.play.PlayGamesBackend;
+
+/**
+ * Chooses the backend every bridge talks to. Defaults to the real Play Games clients; an
+ * installed backend (for example the test fixtures' {@code FakeGamesBackend} in an instrumented
+ * test) replaces it for bridges created afterwards.
+ */
+public final class GamesBackends {
+    private static final String TAG = "BizSimGames.Init";
+
+    private static GamesBackend installed;
+    private static PlayGamesBackend play;
+
+    private GamesBackends() {}
+
+    /** Pass null to go back to Play Games. Bridges already created keep their backend. */
+    public static synchronized void install(GamesBackend backend) {
+        installed = backend;
+        Log.d(TAG, "Backend: " + (backend != null ? backend.getClass().getSimpleName() : "Play Games"));
+    }
+
+    public static synchronized GamesBackend get(Activity activity) {
+        if (installed != null) return installed;
+        if (play == null || play.getActivity() != activity) {
+            play = new PlayGamesBackend(activity);
+        }
+        return play;
+    }
+}
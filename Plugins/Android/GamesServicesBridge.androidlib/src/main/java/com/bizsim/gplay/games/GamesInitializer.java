@@ -0,0 +1,160 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.games.PlayGamesSdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Staged start-up for the Play Games bridges.
+ *
+ * Stage order: PlayGamesSdk.initialize, then the auth client (AuthBridge), then every other
+ * client and ActivityResultLauncher on first use. Clients can optionally be warmed up on a
+ * background thread. Each stage is timed so the bridge's share of start-up is visible via
+ * {@link #getStageTimings()}.
+ */
+public final class GamesInitializer {
+    private static final String TAG = "BizSimGames.Init";
+
+    public interface Factory<T> {
+        T create();
+    }
+
+    private static final long originMs = SystemClock.elapsedRealtime();
+    private static final List<JSONObject> timings = new ArrayList<>();
+    private static final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-Init");
+        t.setDaemon(true);
+        return t;
+    });
+    private static volatile boolean sdkInitialized;
+
+    private GamesInitializer() {}
+
+    /**
+     * Stage 1. Initializes the Play Games SDK once per process. Safe to call from any bridge.
+     */
+    public static void initializeSdk(Context context) {
+        if (sdkInitialized) return;
+        synchronized (GamesInitializer.class) {
+            if (sdkInitialized) return;
+            timed("sdk.initialize", () -> {
+                PlayGamesSdk.initialize(context.getApplicationContext());
+                return null;
+            });
+            sdkInitialized = true;
+        }
+    }
+
+    public static <T> T timed(String stage, Factory<T> factory) {
+        long startMs = SystemClock.elapsedRealtime();
+        long start = System.nanoTime();
+        try {
+            return factory.create();
+        } finally {
+            record(stage, startMs - originMs, (System.nanoTime() - start) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Creates a lazily initialized Play Games client. The SDK is initialized first if needed.
+     */
+    public static <T> Lazy<T> lazyClient(Context context, String stage, Factory<T> factory) {
+        return new Lazy<>(stage, () -> {
+            initializeSdk(context);
+            return factory.create();
+        });
+    }
+
+    public static <T> Lazy<T> lazy(String stage, Factory<T> factory) {
+        return new Lazy<>(stage, factory);
+    }
+
+    /**
+     * Returns recorded stages as a JSON array of {stage, thread, startMs, durationMs}.
+     * startMs is relative to the first use of the bridge in this process.
+     */
+    public static String getStageTimings() {
+        synchronized (timings) {
+            return new JSONArray(timings).toString();
+        }
+    }
+
+    private static void record(String stage, long startMs, double durationMs) {
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("stage", stage);
+            obj.put("thread", Thread.currentThread().getName());
+            obj.put("startMs", startMs);
+            obj.put("durationMs", durationMs);
+            synchronized (timings) {
+                timings.add(obj);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to record stage timing: " + stage);
+        }
+        Log.d(TAG, "Stage " + stage + " took " + durationMs + " ms");
+    }
+
+    /**
+     * Value created on first {@link #get()} and timed as its own stage.
+     */
+    public static final class Lazy<T> {
+        private final String stage;
+        private final Factory<T> factory;
+        private volatile T value;
+
+        private Lazy(String stage, Factory<T> factory) {
+            this.stage = stage;
+            this.factory = factory;
+        }
+
+        public T get() {
+            T current = value;
+            if (current != null) return current;
+            synchronized (this) {
+                if (value == null) {
+                    value = timed(stage, factory);
+                }
+                return value;
+            }
+        }
+
+        public T getIfCreated() {
+            return value;
+        }
+
+        /**
+         * Creates the value on the background init thread if it does not exist yet.
+         */
+        public void warmUp() {
+            if (value != null) return;
+            if (MemoryGovernor.shouldDefer()) {
+                Log.d(TAG, "Warm-up skipped for " + stage + " under memory pressure");
+                return;
+            }
+            try {
+                warmUpExecutor.execute(() -> {
+                    try {
+                        get();
+                    } catch (Exception e) {
+                        Log.w(TAG, "Warm-up failed for " + stage + ": " + e.getMessage());
+                    }
+                });
+            } catch (Exception e) {
+                Log.w(TAG, "Warm-up rejected for " + stage);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.SystemClock;
+import android.util.Log;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-pressure governor for the bridge layer, registered once per process as a
+ * {@link ComponentCallbacks2}.
+ *
+ * On {@code onTrimMemory} the level is mapped to a {@link Pressure} and every registered
+ * {@link Trimmable} is asked, lowest priority number first, to drop what it can rebuild; the
+ * bytes each reports are totalled in {@link #getStats()}. While pressure is {@link Pressure#LOW}
+ * or worse, non-critical work such as client warm-up and the auth code prefetch is skipped
+ * ({@link #shouldDefer()}), cloud save IO runs on one thread ({@link #ioConcurrency()}) and
+ * snapshot cover images are decoded at half size, or not at all at {@link Pressure#CRITICAL}.
+ * Android sends no all-clear, so pressure falls back to {@link Pressure#NONE} once no trim has
+ * arrived for {@code RECOVERY_MS}.
+ *
+ * Budgets scale with {@code ActivityManager.getMemoryClass()} through {@link #scaled}: the
+ * callback buffer kept between drains, and the icon atlas page size and load count. Callers
+ * scale at the point of use, since {@link #install} may run after their classes load.
+ */
+public final class MemoryGovernor implements ComponentCallbacks2 {
+    private static final String TAG = "BizSimGames.Memory";
+    private static final int REFERENCE_MEMORY_CLASS_MB = 256;
+    private static final long RECOVERY_MS = 60_000;
+
+    /** Priorities: lower numbers are trimmed first. */
+    public static final int PRIORITY_BUFFERS = 0;
+    public static final int PRIORITY_CACHES = 10;
+
+    public enum Pressure {
+        NONE,
+        /** Running moderately low, or the app's UI was hidden. */
+        MODERATE,
+        /** Running low, or in the background and next in line to be killed. */
+        LOW,
+        /** Running critically low, or about to be killed. */
+        CRITICAL
+    }
+
+    /** A cache or buffer that can be released under pressure. */
+    public interface Trimmable {
+        /** Releases what can be rebuilt at this pressure; returns the approximate bytes freed. */
+        long trim(Pressure pressure);
+    }
+
+    private static final class Registration {
+        final String name;
+        final int priority;
+        final Trimmable trimmable;
+        long reclaimedBytes;
+
+        Registration(String name, int priority, Trimmable trimmable) {
+            this.name = name;
+            this.priority = priority;
+            this.trimmable = trimmable;
+        }
+    }
+
+    private static final Object lock = new Object();
+    private static final List<Registration> registrations = new ArrayList<>();
+    private static MemoryGovernor instance;
+    private static volatile int memoryClassMb = REFERENCE_MEMORY_CLASS_MB;
+    private static volatile Pressure pressure = Pressure.NONE;
+    private static volatile long pressureAt;
+
+    private static long trims;
+    private static long reclaimedBytes;
+    private static long lastReclaimedBytes;
+    private static int lastLevel = -1;
+
+    private MemoryGovernor() { }
+
+    /** Registers the governor with the application and reads the memory class. Safe to call repeatedly. */
+    public static void install(Context context) {
+        synchronized (lock) {
+            if (instance != null) return;
+            instance = new MemoryGovernor();
+        }
+        Context app = context.getApplicationContext();
+        ActivityManager am = (ActivityManager) app.getSystemService(Context.ACTIVITY_SERVICE);
+        if (am != null && am.getMemoryClass() > 0) {
+            memoryClassMb = am.getMemoryClass();
+        }
+        app.registerComponentCallbacks(instance);
+        Log.d(TAG, "Installed, memory class " + memoryClassMb + " MB");
+    }
+
+    /** Adds a trimmable; lower {@code priority} values are trimmed first. */
+    public static void register(String name, int priority, Trimmable trimmable) {
+        synchronized (lock) {
+            int at = 0;
+            while (at < registrations.size() && registrations.get(at).priority <= priority) at++;
+            registrations.add(at, new Registration(name, priority, trimmable));
+        }
+    }
+
+    public static void unregister(Trimmable trimmable) {
+        synchronized (lock) {
+            for (int i = registrations.size() - 1; i >= 0; i--) {
+                if (registrations.get(i).trimmable == trimmable) registrations.remove(i);
+            }
+        }
+    }
+
+    public static Pressure pressure() {
+        Pressure current = pressure;
+        if (current != Pressure.NONE && SystemClock.elapsedRealtime() - pressureAt > RECOVERY_MS) {
+            pressure = current = Pressure.NONE;
+            Log.d(TAG, "Memory pressure cleared");
+        }
+        return current;
+    }
+
+    /** True while non-critical work (warm-up, prefetch) should be skipped. */
+    public static boolean shouldDefer() {
+        return pressure().compareTo(Pressure.LOW) >= 0;
+    }
+
+    /** IO threads cloud save may use: two on large-heap devices, one otherwise or under pressure. */
+    public static int ioConcurrency() {
+        if (shouldDefer()) return 1;
+        return memoryClassMb >= REFERENCE_MEMORY_CLASS_MB ? 2 : 1;
+    }
+
+    /**
+     * Scales a budget chosen for a 256 MB memory class to this device, between a quarter and
+     * four times {@code base}.
+     */
+    public static int scaled(int base) {
+        long value = (long) base * memoryClassMb / REFERENCE_MEMORY_CLASS_MB;
+        return (int) Math.max(base / 4, Math.min((long) base * 4, value));
+    }
+
+    public static int memoryClassMb() {
+        return memoryClassMb;
+    }
+
+    /** Trims as if Android had sent {@code level}; for testing and manual relief. Returns bytes freed. */
+    public static long trimNow(int level) {
+        return trim(level);
+    }
+
+    /** Pressure, trim counts and bytes reclaimed per cache as JSON. */
+    public static String getStats() {
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("memoryClassMb", memoryClassMb);
+            obj.put("pressure", pressure().name().toLowerCase());
+            synchronized (lock) {
+                obj.put("trims", trims);
+                obj.put("lastLevel", lastLevel);
+                obj.put("reclaimedBytes", reclaimedBytes);
+                obj.put("lastReclaimedBytes", lastReclaimedBytes);
+                Map<String, Long> byCache = new LinkedHashMap<>();
+                for (Registration registration : registrations) {
+                    Long sum = byCache.get(registration.name);
+                    byCache.put(registration.name, (sum != null ? sum : 0) + registration.reclaimedBytes);
+                }
+                JSONObject caches = new JSONObject();
+                for (Map.Entry<String, Long> entry : byCache.entrySet()) {
+                    caches.put(entry.getKey(), entry.getValue());
+                }
+                obj.put("caches", caches);
+            }
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    static Pressure pressureFor(int level) {
+        if (level >= TRIM_MEMORY_COMPLETE || level == TRIM_MEMORY_RUNNING_CRITICAL) return Pressure.CRITICAL;
+        if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_LOW) return Pressure.LOW;
+        return Pressure.MODERATE;
+    }
+
+    private static long trim(int level) {
+        Pressure next = pressureFor(level);
+        Pressure current = pressure();
+        pressureAt = SystemClock.elapsedRealtime();
+        if (next.compareTo(current) > 0) pressure = next;
+
+        List<Registration> targets;
+        synchronized (lock) {
+            targets = new ArrayList<>(registrations);
+        }
+
+        long freed = 0;
+        for (Registration registration : targets) {
+            long bytes;
+            try {
+                bytes = Math.max(0, registration.trimmable.trim(next));
+            } catch (Exception e) {
+                Log.w(TAG, "Trim failed for " + registration.name + ": " + e.getMessage());
+                continue;
+            }
+            freed += bytes;
+            synchronized (lock) {
+                registration.reclaimedBytes += bytes;
+            }
+        }
+
+        synchronized (lock) {
+            trims++;
+            lastLevel = level;
+            reclaimedBytes += freed;
+            lastReclaimedBytes = freed;
+        }
+        Log.i(TAG, "Trim level " + level + " (" + next + "): reclaimed " + freed + " bytes");
+        return freed;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        trim(level);
+    }
+
+    @Override
+    public void onLowMemory() {
+        trim(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) { }
+}
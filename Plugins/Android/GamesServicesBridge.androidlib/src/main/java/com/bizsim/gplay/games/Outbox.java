@@ -0,0 +1,502 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.app.Activity;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.GamesBackend;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend;
+
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable outbox for achievement unlocks and increments and leaderboard scores.
+ *
+ * Each change is appended to a log file before the caller is answered and merged in memory
+ * per target: unlocks are idempotent, increments are summed, and only the best pending score
+ * per leaderboard is kept. A drainer replays pending entries with the server-confirmed calls
+ * (unlockImmediate, incrementImmediate, submitScoreImmediate) while a network is available
+ * and a player is signed in, and appends an acknowledgement for what each call confirmed.
+ * At most {@code MAX_IN_FLIGHT} calls are outstanding, at background priority in
+ * {@link RateGovernor}, so a long offline backlog does not crowd out interactive calls.
+ * Once the log holds several times more records than there are live entries it is rewritten
+ * with one record per entry.
+ *
+ * Delivery is at least once. A call that fails transiently, or whose answer is lost to a crash
+ * before its acknowledgement is written, is sent again on a later pass. For unlocks and scores
+ * that is harmless; an increment whose first call did reach the server is counted twice, which
+ * at worst unlocks the achievement early, since the server caps steps at the total.
+ *
+ * Log records are JSON lines: {@code {"o":"add"|"ack","k":"u"|"i"|"s","id":..,"v":..,"t":..}}.
+ * Event increments are not routed here: they are coalesced and checkpointed by the events
+ * bridge, and the SDK has no confirmed increment for events.
+ */
+public final class Outbox {
+    private static final String TAG = "BizSimGames.Outbox";
+    private static final String LOG_FILE = "bizsim_outbox.log";
+    private static final int COMPACT_MIN_RECORDS = 256;
+    private static final int COMPACT_RATIO = 4;
+    private static final long DEFAULT_RETRY_DELAY_MS = 30_000;
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private static final String KIND_UNLOCK = "u";
+    private static final String KIND_INCREMENT = "i";
+    private static final String KIND_SCORE = "s";
+
+    private static Outbox instance;
+
+    private static final class Entry {
+        final String kind;
+        final String id;
+        long value;
+        String tag;
+        boolean inFlight;
+
+        Entry(String kind, String id, long value, String tag) {
+            this.kind = kind;
+            this.id = id;
+            this.value = value;
+            this.tag = tag;
+        }
+    }
+
+    private final AchievementsBackend achievements;
+    private final LeaderboardsBackend leaderboards;
+    private final File logFile;
+    private final long retryDelayMs;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-Outbox");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private OutputStream log;
+    private int logRecords;
+    private volatile boolean online = true;
+    private boolean awaitingSignIn;
+    private boolean retryScheduled;
+
+    private long drained;
+    private long failed;
+    private long dropped;
+    private long compactions;
+
+    private Outbox(Activity activity, GamesBackend backend) {
+        this(new File(activity.getFilesDir(), LOG_FILE), backend, DEFAULT_RETRY_DELAY_MS);
+        watchConnectivity(activity);
+        AuthBridge.addSignInListener(playerId -> onSignedIn());
+        drain();
+    }
+
+    /** Restores the log without watching connectivity or sign-in; the caller starts draining. */
+    Outbox(File logFile, GamesBackend backend, long retryDelayMs) {
+        this.achievements = backend.achievements();
+        this.leaderboards = backend.leaderboards();
+        this.logFile = logFile;
+        this.retryDelayMs = retryDelayMs;
+        restore();
+    }
+
+    public static synchronized Outbox get(Activity activity) {
+        if (instance == null) {
+            instance = new Outbox(activity, GamesBackends.get(activity));
+        }
+        return instance;
+    }
+
+    /** Drained and pending counts as JSON; "{}" before the outbox is first used. */
+    public static String getStats() {
+        Outbox outbox;
+        synchronized (Outbox.class) {
+            outbox = instance;
+        }
+        return outbox != null ? outbox.statsJson() : "{}";
+    }
+
+    public void unlock(String achievementId) {
+        synchronized (this) {
+            Entry entry = entries.get(key(KIND_UNLOCK, achievementId));
+            if (entry != null) return;
+            entries.put(key(KIND_UNLOCK, achievementId), new Entry(KIND_UNLOCK, achievementId, 1, null));
+            append("add", KIND_UNLOCK, achievementId, 1, null);
+        }
+        drain();
+    }
+
+    public void increment(String achievementId, int steps) {
+        if (steps <= 0) return;
+        synchronized (this) {
+            Entry entry = entries.get(key(KIND_INCREMENT, achievementId));
+            if (entry == null) {
+                entries.put(key(KIND_INCREMENT, achievementId), new Entry(KIND_INCREMENT, achievementId, steps, null));
+            } else {
+                entry.value += steps;
+            }
+            append("add", KIND_INCREMENT, achievementId, steps, null);
+        }
+        drain();
+    }
+
+    public void submitScore(String leaderboardId, long score, String scoreTag) {
+        synchronized (this) {
+            Entry entry = entries.get(key(KIND_SCORE, leaderboardId));
+            if (entry != null && entry.value >= score) return;
+            if (entry == null) {
+                entries.put(key(KIND_SCORE, leaderboardId), new Entry(KIND_SCORE, leaderboardId, score, scoreTag));
+            } else {
+                entry.value = score;
+                entry.tag = scoreTag;
+            }
+            append("add", KIND_SCORE, leaderboardId, score, scoreTag);
+        }
+        drain();
+    }
+
+    /** Steps queued for an achievement that the server has not confirmed yet. */
+    public synchronized long pendingSteps(String achievementId) {
+        Entry entry = entries.get(key(KIND_INCREMENT, achievementId));
+        return entry != null ? entry.value : 0;
+    }
+
+    /** Schedules a drain pass; a no-op while offline or waiting for sign-in. */
+    public void drain() {
+        try {
+            drainer.execute(this::drainNow);
+        } catch (Exception e) {
+            Log.w(TAG, "Drain rejected, outbox shut down");
+        }
+    }
+
+    private void drainNow() {
+        List<Entry> batch = new ArrayList<>();
+        synchronized (this) {
+            if (!online || awaitingSignIn) return;
+            int inFlight = 0;
+            for (Entry entry : entries.values()) {
+                if (entry.inFlight) inFlight++;
+            }
+            for (Entry entry : entries.values()) {
+                if (inFlight >= MAX_IN_FLIGHT) break;
+                if (!entry.inFlight) {
+                    entry.inFlight = true;
+                    inFlight++;
+                    batch.add(entry);
+                }
+            }
+        }
+
+        for (Entry entry : batch) {
+            apply(entry);
+        }
+    }
+
+    private void apply(Entry entry) {
+        final long sent;
+        final String tag;
+        synchronized (this) {
+            sent = KIND_INCREMENT.equals(entry.kind) ? Math.min(entry.value, Integer.MAX_VALUE) : entry.value;
+            tag = entry.tag;
+        }
+
+        switch (entry.kind) {
+            case KIND_UNLOCK:
+                Resilience.retrying("achievements", RateGovernor.Priority.BACKGROUND, null,
+                        cb -> achievements.unlockImmediate(entry.id, cb), new Confirmation<Void>(entry, sent));
+                break;
+            case KIND_INCREMENT:
+                // Not retried in place, so one pass never stacks repeats of the same steps. A
+                // transient failure leaves them pending for the next pass (at least once).
+                Resilience.once("achievements", RateGovernor.Priority.BACKGROUND,
+                        cb -> achievements.incrementImmediate(entry.id, (int) sent, cb), new Confirmation<Boolean>(entry, sent));
+                break;
+            default:
+                Resilience.retrying("leaderboards", RateGovernor.Priority.BACKGROUND, null,
+                        cb -> leaderboards.submitScoreImmediate(entry.id, sent, tag, cb), new Confirmation<Void>(entry, sent));
+                break;
+        }
+    }
+
+    private final class Confirmation<T> implements BackendCallback<T> {
+        private final Entry entry;
+        private final long sent;
+
+        Confirmation(Entry entry, long sent) {
+            this.entry = entry;
+            this.sent = sent;
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            drainer.execute(() -> confirm(entry, sent));
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            drainer.execute(() -> reject(entry, e));
+        }
+    }
+
+    private void confirm(Entry entry, long sent) {
+        synchronized (this) {
+            entry.inFlight = false;
+            drained++;
+            append("ack", entry.kind, entry.id, sent, null);
+            if (settle(entry, sent)) {
+                entries.remove(key(entry.kind, entry.id));
+            }
+            maybeCompact();
+            if (retryScheduled) return;
+        }
+        drainNow();
+    }
+
+    private void reject(Entry entry, Exception e) {
+        int status = BackendException.statusCodeOf(e);
+        synchronized (this) {
+            entry.inFlight = false;
+            failed++;
+
+            if (status == BackendException.SIGN_IN_REQUIRED) {
+                awaitingSignIn = true;
+                Log.d(TAG, "Outbox waiting for sign-in");
+            } else if (BackendException.isTransient(status)) {
+                scheduleRetry();
+            } else {
+                Log.e(TAG, "Dropping outbox entry " + entry.kind + ":" + entry.id + " (status " + status + ")", e);
+                dropped++;
+                entries.remove(key(entry.kind, entry.id));
+                append("ack", entry.kind, entry.id, entry.value, null);
+            }
+        }
+    }
+
+    /** Applies a confirmed amount; returns true if nothing is left to send for the entry. */
+    private static boolean settle(Entry entry, long confirmed) {
+        switch (entry.kind) {
+            case KIND_INCREMENT:
+                entry.value -= confirmed;
+                return entry.value <= 0;
+            case KIND_SCORE:
+                return entry.value <= confirmed;
+            default:
+                return true;
+        }
+    }
+
+    private void scheduleRetry() {
+        if (retryScheduled) return;
+        retryScheduled = true;
+        drainer.schedule(() -> {
+            synchronized (this) {
+                retryScheduled = false;
+            }
+            drainNow();
+        }, retryDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    void onSignedIn() {
+        synchronized (this) {
+            awaitingSignIn = false;
+        }
+        drain();
+    }
+
+    void shutdown() {
+        drainer.shutdownNow();
+        synchronized (this) {
+            closeLog();
+        }
+    }
+
+    private void watchConnectivity(Context context) {
+        try {
+            ConnectivityManager connectivity =
+                    (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+            online = connectivity.getActiveNetwork() != null;
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    online = true;
+                    drain();
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    online = false;
+                }
+            });
+        } catch (Exception e) {
+            Log.w(TAG, "Connectivity callbacks unavailable, assuming online", e);
+            online = true;
+        }
+    }
+
+    // Log
+
+    private void restore() {
+        if (!logFile.exists()) return;
+
+        int records = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(logFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                try {
+                    replay(new JSONObject(line));
+                    records++;
+                } catch (Exception e) {
+                    // A torn final line from a crash mid-append; everything before it is intact.
+                    Log.w(TAG, "Skipping unreadable outbox record");
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read outbox log", e);
+        }
+
+        synchronized (this) {
+            logRecords = records;
+            if (records > entries.size()) compact();
+        }
+        Log.d(TAG, "Restored " + entries.size() + " pending outbox entries");
+    }
+
+    private void replay(JSONObject record) {
+        String op = record.getString("o");
+        String kind = record.getString("k");
+        String id = record.getString("id");
+        long value = record.optLong("v", 0);
+        String tag = record.has("t") ? record.optString("t") : null;
+        String key = key(kind, id);
+
+        Entry entry = entries.get(key);
+        if ("ack".equals(op)) {
+            if (entry != null && settle(entry, value)) entries.remove(key);
+            return;
+        }
+        if (entry == null) {
+            entries.put(key, new Entry(kind, id, value, tag));
+        } else if (KIND_INCREMENT.equals(kind)) {
+            entry.value += value;
+        } else if (KIND_SCORE.equals(kind) && value > entry.value) {
+            entry.value = value;
+            entry.tag = tag;
+        }
+    }
+
+    private void append(String op, String kind, String id, long value, String tag) {
+        try {
+            if (log == null) log = new FileOutputStream(logFile, true);
+            log.write(encode(op, kind, id, value, tag));
+            log.flush();
+            logRecords++;
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to append outbox record", e);
+        }
+    }
+
+    private void maybeCompact() {
+        if (logRecords >= COMPACT_MIN_RECORDS && logRecords > COMPACT_RATIO * entries.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        File tmp = new File(logFile.getPath() + ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                for (Entry entry : entries.values()) {
+                    out.write(encode("add", entry.kind, entry.id, entry.value, entry.tag));
+                }
+                out.getFD().sync();
+            }
+            closeLog();
+            if (!tmp.renameTo(logFile)) throw new IOException("Failed to replace " + logFile.getName());
+            logRecords = entries.size();
+            compactions++;
+        } catch (Exception e) {
+            Log.e(TAG, "Outbox compaction failed", e);
+        }
+    }
+
+    private void closeLog() {
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to close outbox log", e);
+        }
+        log = null;
+    }
+
+    private static byte[] encode(String op, String kind, String id, long value, String tag) throws Exception {
+        JSONObject record = new JSONObject();
+        record.put("o", op);
+        record.put("k", kind);
+        record.put("id", id);
+        record.put("v", value);
+        if (tag != null && !tag.isEmpty()) record.put("t", tag);
+        return (record.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String key(String kind, String id) {
+        return kind + ":" + id;
+    }
+
+    synchronized String statsJson() {
+        int unlocks = 0;
+        int increments = 0;
+        int scores = 0;
+        long steps = 0;
+        for (Entry entry : entries.values()) {
+            switch (entry.kind) {
+                case KIND_UNLOCK: unlocks++; break;
+                case KIND_INCREMENT: increments++; steps += entry.value; break;
+                default: scores++; break;
+            }
+        }
+
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("pending", entries.size());
+            obj.put("pendingUnlocks", unlocks);
+            obj.put("pendingIncrements", increments);
+            obj.put("pendingSteps", steps);
+            obj.put("pendingScores", scores);
+            obj.put("drained", drained);
+            obj.put("failed", failed);
+            obj.put("dropped", dropped);
+            obj.put("compactions", compactions);
+            obj.put("logRecords", logRecords);
+            obj.put("online", online);
+            obj.put("awaitingSignIn", awaitingSignIn);
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+}
@@ -0,0 +1,364 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.util.Log;
+
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate governor shared by every Play Games client call.
+ *
+ * A call needs one token from the global bucket and one from its service's bucket. When both
+ * have a token and nothing of equal or higher priority is waiting, the call runs at once on the
+ * caller's thread. Otherwise it waits in a bounded queue for its priority class and is released
+ * on the governor thread as tokens refill; {@link Priority#INTERACTIVE} calls are always
+ * released before {@link Priority#BACKGROUND} ones, and a call blocked only by its own
+ * service's bucket does not hold up other services. A call arriving at a full queue, or still
+ * queued after {@code maxQueueMs}, is rejected so the caller can back off.
+ *
+ * {@link Resilience} acquires a token before every attempt, so retries are governed too.
+ * Queue waits are recorded as the {@code governor.interactive} and {@code governor.background}
+ * operations in {@link BridgeMetrics}; {@link #getStats()} reports tokens and queue depths.
+ */
+public final class RateGovernor {
+    private static final String TAG = "BizSimGames.Governor";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public enum Priority {
+        /** Player-facing calls: loads, UI, requests a caller is awaiting. */
+        INTERACTIVE,
+        /** Work nobody is waiting on: outbox drains, event flushes. */
+        BACKGROUND
+    }
+
+    private static final class Bucket {
+        double perSecond;
+        double burst;
+        double tokens;
+        long refilledAt;
+
+        Bucket(double perSecond, int burst) {
+            set(perSecond, burst);
+            this.tokens = this.burst;
+            this.refilledAt = System.nanoTime();
+        }
+
+        void set(double perSecond, int burst) {
+            this.perSecond = perSecond;
+            this.burst = Math.max(1, burst);
+            this.tokens = Math.min(tokens, this.burst);
+        }
+
+        boolean unlimited() {
+            return perSecond <= 0;
+        }
+
+        void refill(long now) {
+            if (!unlimited()) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * perSecond / NANOS_PER_SECOND);
+            }
+            refilledAt = now;
+        }
+
+        boolean available() {
+            return unlimited() || tokens >= 1;
+        }
+
+        void take() {
+            if (!unlimited()) tokens -= 1;
+        }
+
+        long nanosUntilToken() {
+            if (available()) return 0;
+            return (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / perSecond);
+        }
+    }
+
+    private static final class Waiter {
+        final String service;
+        final Priority priority;
+        final Runnable granted;
+        final Runnable rejected;
+        final long queuedAt;
+
+        Waiter(String service, Priority priority, Runnable granted, Runnable rejected, long queuedAt) {
+            this.service = service;
+            this.priority = priority;
+            this.granted = granted;
+            this.rejected = rejected;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static final Object lock = new Object();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-Governor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final BridgeMetrics.Operation[] QUEUE_OPS = {
+            BridgeMetrics.operation("governor.interactive"),
+            BridgeMetrics.operation("governor.background"),
+    };
+
+    private static double servicePerSecond = 5;
+    private static int serviceBurst = 10;
+    private static int maxQueued = 64;
+    private static long maxQueueMs = 10_000;
+
+    private static final Bucket global = new Bucket(10, 20);
+    private static final Map<String, Bucket> services = new HashMap<>();
+    private static final Map<String, Boolean> serviceOverrides = new HashMap<>();
+    private static final List<ArrayDeque<Waiter>> queues = Arrays.asList(new ArrayDeque<Waiter>(), new ArrayDeque<Waiter>());
+
+    private static long granted;
+    private static long delayed;
+    private static long rejected;
+    private static long expired;
+    private static long drainAt = Long.MAX_VALUE;
+
+    private RateGovernor() { }
+
+    /**
+     * Sets the global rate, the default per-service rate and the queue bounds. A rate of zero or
+     * less removes that limit. Services given their own rate with {@link #setServiceRate} keep it.
+     */
+    public static void configure(double globalPerSecond, int globalBurst, double servicePerSecond,
+                                 int serviceBurst, int maxQueued, long maxQueueMs) {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            global.refill(now);
+            global.set(globalPerSecond, globalBurst);
+            RateGovernor.servicePerSecond = servicePerSecond;
+            RateGovernor.serviceBurst = Math.max(1, serviceBurst);
+            RateGovernor.maxQueued = Math.max(0, maxQueued);
+            RateGovernor.maxQueueMs = Math.max(0, maxQueueMs);
+            for (Map.Entry<String, Bucket> entry : services.entrySet()) {
+                if (serviceOverrides.containsKey(entry.getKey())) continue;
+                entry.getValue().refill(now);
+                entry.getValue().set(servicePerSecond, RateGovernor.serviceBurst);
+            }
+        }
+        Log.d(TAG, "Configured: global " + globalPerSecond + "/s burst " + globalBurst + ", per service "
+                + servicePerSecond + "/s burst " + serviceBurst + ", queue " + maxQueued + " / " + maxQueueMs + " ms");
+        scheduleDrain(0);
+    }
+
+    /** Gives one service (e.g. "cloudsave") its own rate instead of the default. */
+    public static void setServiceRate(String service, double perSecond, int burst) {
+        synchronized (lock) {
+            Bucket bucket = bucket(service);
+            bucket.refill(System.nanoTime());
+            bucket.set(perSecond, burst);
+            serviceOverrides.put(service, Boolean.TRUE);
+        }
+        Log.d(TAG, "Rate for " + service + ": " + perSecond + "/s burst " + burst);
+        scheduleDrain(0);
+    }
+
+    /**
+     * Runs {@code onGranted} once a token is available for the service, or {@code onRejected} if
+     * the call cannot be queued or waits too long. Exactly one of the two runs.
+     */
+    public static void acquire(String service, Priority priority, Runnable onGranted, Runnable onRejected) {
+        long now = System.nanoTime();
+        boolean grantedNow = false;
+        boolean queueFull = false;
+        synchronized (lock) {
+            if (grantNow(service, priority, now)) {
+                granted++;
+                grantedNow = true;
+            } else {
+                ArrayDeque<Waiter> queue = queues.get(priority.ordinal());
+                if (queue.size() >= maxQueued) {
+                    rejected++;
+                    queueFull = true;
+                } else {
+                    queue.add(new Waiter(service, priority, onGranted, onRejected, now));
+                    delayed++;
+                }
+            }
+        }
+
+        BridgeMetrics.Operation queueOp = QUEUE_OPS[priority.ordinal()];
+        if (grantedNow) {
+            queueOp.success(now);
+            onGranted.run();
+        } else if (queueFull) {
+            Log.w(TAG, "Rejecting " + service + " call, " + priority + " queue is full");
+            queueOp.failure(now);
+            onRejected.run();
+        } else {
+            scheduleDrain(0);
+        }
+    }
+
+    /**
+     * Takes a token without waiting; false if none is available or earlier calls are queued.
+     * For callers that keep their own backlog, such as the event accumulator.
+     */
+    public static boolean tryAcquire(String service, Priority priority) {
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (!grantNow(service, priority, now)) return false;
+            granted++;
+        }
+        QUEUE_OPS[priority.ordinal()].success(now);
+        return true;
+    }
+
+    /** Token and queue state as JSON, e.g. {"granted":120,"delayed":14,"queued":{...},"services":{...}}. */
+    public static String getStats() {
+        try {
+            JSONObject obj = new JSONObject();
+            synchronized (lock) {
+                long now = System.nanoTime();
+                global.refill(now);
+                obj.put("granted", granted);
+                obj.put("delayed", delayed);
+                obj.put("rejected", rejected);
+                obj.put("expired", expired);
+                obj.put("globalTokens", tokensOf(global));
+
+                JSONObject queued = new JSONObject();
+                queued.put("interactive", queues.get(Priority.INTERACTIVE.ordinal()).size());
+                queued.put("background", queues.get(Priority.BACKGROUND.ordinal()).size());
+                obj.put("queued", queued);
+
+                JSONObject tokens = new JSONObject();
+                for (Map.Entry<String, Bucket> entry : new TreeMap<>(services).entrySet()) {
+                    entry.getValue().refill(now);
+                    tokens.put(entry.getKey(), tokensOf(entry.getValue()));
+                }
+                obj.put("services", tokens);
+            }
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    private static double tokensOf(Bucket bucket) {
+        return bucket.unlimited() ? -1 : Math.floor(bucket.tokens * 100) / 100;
+    }
+
+    // Caller holds lock.
+    private static boolean grantNow(String service, Priority priority, long now) {
+        for (int p = 0; p <= priority.ordinal(); p++) {
+            if (!queues.get(p).isEmpty()) return false;
+        }
+        Bucket bucket = bucket(service);
+        global.refill(now);
+        bucket.refill(now);
+        if (!global.available() || !bucket.available()) return false;
+        global.take();
+        bucket.take();
+        return true;
+    }
+
+    // Caller holds lock.
+    private static Bucket bucket(String service) {
+        Bucket bucket = services.get(service);
+        if (bucket == null) {
+            bucket = new Bucket(servicePerSecond, serviceBurst);
+            services.put(service, bucket);
+        }
+        return bucket;
+    }
+
+    private static void scheduleDrain(long delayNanos) {
+        long at = System.nanoTime() + delayNanos;
+        synchronized (lock) {
+            if (drainAt <= at) return;
+            drainAt = at;
+        }
+        scheduler.schedule(RateGovernor::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        List<Waiter> timedOut = new ArrayList<>();
+        long wait = Long.MAX_VALUE;
+        long now = System.nanoTime();
+
+        synchronized (lock) {
+            drainAt = Long.MAX_VALUE;
+            global.refill(now);
+            long expiry = maxQueueMs * 1_000_000L;
+
+            outer:
+            for (ArrayDeque<Waiter> queue : queues) {
+                Iterator<Waiter> it = queue.iterator();
+                while (it.hasNext()) {
+                    Waiter waiter = it.next();
+                    if (expiry > 0 && now - waiter.queuedAt > expiry) {
+                        it.remove();
+                        expired++;
+                        timedOut.add(waiter);
+                        continue;
+                    }
+                    if (!global.available()) {
+                        wait = Math.min(wait, global.nanosUntilToken());
+                        break outer;
+                    }
+                    Bucket bucket = bucket(waiter.service);
+                    bucket.refill(now);
+                    if (!bucket.available()) {
+                        wait = Math.min(wait, bucket.nanosUntilToken());
+                        continue;
+                    }
+                    global.take();
+                    bucket.take();
+                    it.remove();
+                    granted++;
+                    ready.add(waiter);
+                }
+            }
+
+            if (!queues.get(0).isEmpty() || !queues.get(1).isEmpty()) {
+                if (expiry > 0) {
+                    for (ArrayDeque<Waiter> queue : queues) {
+                        Waiter oldest = queue.peekFirst();
+                        if (oldest != null) wait = Math.min(wait, Math.max(0, oldest.queuedAt + expiry - now));
+                    }
+                }
+                if (wait == Long.MAX_VALUE) wait = NANOS_PER_SECOND;
+            } else {
+                wait = -1;
+            }
+        }
+
+        for (Waiter waiter : timedOut) {
+            Log.w(TAG, "Rejecting " + waiter.service + " call after " + maxQueueMs + " ms in the " + waiter.priority + " queue");
+            QUEUE_OPS[waiter.priority.ordinal()].failure(waiter.queuedAt);
+            run(waiter.rejected);
+        }
+        for (Waiter waiter : ready) {
+            QUEUE_OPS[waiter.priority.ordinal()].success(waiter.queuedAt);
+            run(waiter.granted);
+        }
+        if (wait >= 0) scheduleDrain(wait);
+    }
+
+    private static void run(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            Log.e(TAG, "Governed call failed to start", e);
+        }
+    }
+}
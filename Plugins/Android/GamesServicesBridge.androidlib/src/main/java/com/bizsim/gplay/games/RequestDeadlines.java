@@ -0,0 +1,269 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadlines and cancellation for one bridge's requests.
+ *
+ * A bridge calls {@link #begin} when an async request starts and installs its callback through
+ * {@link #guard}. The first callback carrying a tracked request ID answers it; anything that
+ * arrives for the ID afterwards (a result landing past its deadline, or after
+ * {@link #cancel}) is dropped. If the deadline passes first, the bridge's {@link Expiry} sends
+ * its timeout error exactly once. Resources a request holds while in flight (open snapshots,
+ * read buffers, queued waiters) are registered with {@link #hold} and released on timeout or
+ * cancellation. Timers run on the main thread, so expiry errors arrive on the same thread as
+ * the SDK callbacks they replace.
+ *
+ * An ID stays retired for {@link #RETIRED_RETENTION_MS} after its request ends, however many
+ * other requests end meanwhile, so a late result is dropped even after a burst of calls.
+ */
+public final class RequestDeadlines {
+    private static final String TAG = "BizSimGames.Deadlines";
+
+    /**
+     * How long an ended request's ID keeps dropping late results. Play Games tasks have no
+     * deadline of their own; this is well past the longest latency seen from them.
+     */
+    static final long RETIRED_RETENTION_MS = 10 * 60_000L;
+
+    /** Error code for an expired request, shared by the Unity error types (auth uses -1). */
+    public static final int ERROR_TIMEOUT = 408;
+
+    public interface Expiry {
+        void onExpired(String requestId, long deadlineMs);
+    }
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static volatile long defaultDeadlineMs = 30_000;
+
+    private final String service;
+    private final Expiry expiry;
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final long retentionNanos;
+    // Ended request IDs and when they ended, oldest first.
+    private final Map<String, Long> retired = new LinkedHashMap<>();
+    private final ThreadLocal<String> expiring = new ThreadLocal<>();
+
+    private final class Pending implements Runnable {
+        final String requestId;
+        final long deadlineMs;
+        final List<Runnable> releases = new ArrayList<>(1);
+
+        Pending(String requestId, long deadlineMs) {
+            this.requestId = requestId;
+            this.deadlineMs = deadlineMs;
+        }
+
+        @Override
+        public void run() {
+            expire(this);
+        }
+    }
+
+    public RequestDeadlines(String service, Expiry expiry) {
+        this(service, expiry, RETIRED_RETENTION_MS);
+    }
+
+    RequestDeadlines(String service, Expiry expiry, long retentionMs) {
+        this.service = service;
+        this.expiry = expiry;
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMs);
+    }
+
+    /** Deadline applied by {@link #begin(String)}; zero or less disables it. */
+    public static void setDefaultDeadlineMs(long deadlineMs) {
+        defaultDeadlineMs = deadlineMs;
+        Log.d(TAG, "Default deadline: " + deadlineMs + " ms");
+    }
+
+    public static long getDefaultDeadlineMs() {
+        return defaultDeadlineMs;
+    }
+
+    /** Starts tracking a request under the default deadline. */
+    public void begin(String requestId) {
+        begin(requestId, defaultDeadlineMs);
+    }
+
+    /** Starts tracking a request. With no positive deadline it only stays cancellable. */
+    public void begin(String requestId, long deadlineMs) {
+        if (requestId == null) return;
+
+        Pending entry = new Pending(requestId, deadlineMs);
+        Pending replaced;
+        synchronized (this) {
+            retired.remove(requestId);
+            replaced = pending.put(requestId, entry);
+        }
+        if (replaced != null) mainHandler.removeCallbacks(replaced);
+        if (deadlineMs > 0) mainHandler.postDelayed(entry, deadlineMs);
+    }
+
+    /**
+     * Stops a request's deadline clock while it waits on the player (a platform UI is up).
+     * The request stays tracked and can still be cancelled.
+     */
+    public void suspend(String requestId) {
+        Pending entry;
+        synchronized (this) {
+            entry = requestId != null ? pending.get(requestId) : null;
+        }
+        if (entry != null) mainHandler.removeCallbacks(entry);
+    }
+
+    /** False once the request has been answered, has timed out or was cancelled. */
+    public boolean isLive(String requestId) {
+        if (requestId == null) return true;
+        synchronized (this) {
+            return !retired.containsKey(requestId);
+        }
+    }
+
+    /**
+     * Registers a resource to release if the request times out or is cancelled. If the request
+     * is already over, the resource is released immediately and false is returned, telling the
+     * caller to stop working on it.
+     */
+    public boolean hold(String requestId, Runnable release) {
+        if (requestId == null) return true;
+        synchronized (this) {
+            Pending entry = pending.get(requestId);
+            if (entry != null) {
+                entry.releases.add(release);
+                return true;
+            }
+            if (!retired.containsKey(requestId)) return true;
+        }
+        runRelease(release);
+        return false;
+    }
+
+    /** Ends a request early and releases what it holds. Returns false if it was already over. */
+    public boolean cancel(String requestId) {
+        Pending entry;
+        synchronized (this) {
+            entry = requestId != null ? pending.remove(requestId) : null;
+            if (entry == null) return false;
+            retire(requestId);
+        }
+        mainHandler.removeCallbacks(entry);
+        Log.d(TAG, service + " request cancelled: " + requestId);
+        release(entry);
+        return true;
+    }
+
+    /** Cancels every tracked request, e.g. on shutdown. Late results for them are dropped. */
+    public void cancelAll() {
+        List<Pending> all;
+        synchronized (this) {
+            all = new ArrayList<>(pending.values());
+            pending.clear();
+            for (Pending entry : all) retire(entry.requestId);
+        }
+        for (Pending entry : all) {
+            mainHandler.removeCallbacks(entry);
+            release(entry);
+        }
+    }
+
+    /**
+     * Wraps a callback so that each tracked request is answered once. Callbacks whose first
+     * argument is not a tracked request ID (null, untracked IDs, other values) pass through.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T guard(Class<T> callbackType, T callback) {
+        if (callback == null) return null;
+        return (T) Proxy.newProxyInstance(callbackType.getClassLoader(), new Class<?>[] { callbackType },
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals": return proxy == args[0];
+                            case "hashCode": return System.identityHashCode(proxy);
+                            default: return "RequestDeadlines[" + service + "]";
+                        }
+                    }
+                    if (!claim(method, args)) return null;
+                    try {
+                        return method.invoke(callback, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private boolean claim(Method method, Object[] args) {
+        if (args == null || args.length == 0 || !(args[0] instanceof String)) return true;
+        String requestId = (String) args[0];
+        if (requestId.equals(expiring.get())) return true;
+
+        Pending entry;
+        synchronized (this) {
+            entry = pending.remove(requestId);
+            if (entry == null) {
+                if (retired.containsKey(requestId)) {
+                    Log.d(TAG, "Dropping late " + service + "." + method.getName() + " for " + requestId);
+                    return false;
+                }
+                return true;
+            }
+            retire(requestId);
+        }
+        mainHandler.removeCallbacks(entry);
+        return true;
+    }
+
+    private void expire(Pending entry) {
+        synchronized (this) {
+            if (pending.get(entry.requestId) != entry) return;
+            pending.remove(entry.requestId);
+            retire(entry.requestId);
+        }
+        Log.w(TAG, service + " request " + entry.requestId + " timed out after " + entry.deadlineMs + " ms");
+        release(entry);
+
+        expiring.set(entry.requestId);
+        try {
+            expiry.onExpired(entry.requestId, entry.deadlineMs);
+        } catch (Exception e) {
+            Log.e(TAG, "Timeout delivery failed for " + entry.requestId, e);
+        } finally {
+            expiring.remove();
+        }
+    }
+
+    /** Marks a request ID as ended and forgets IDs that ended more than the retention ago. */
+    private void retire(String requestId) {
+        long now = System.nanoTime();
+        retired.remove(requestId);
+        retired.put(requestId, now);
+        Iterator<Long> endedAt = retired.values().iterator();
+        while (endedAt.hasNext() && now - endedAt.next() > retentionNanos) endedAt.remove();
+    }
+
+    private static void release(Pending entry) {
+        for (Runnable release : entry.releases) runRelease(release);
+    }
+
+    private static void runRelease(Runnable release) {
+        try {
+            release.run();
+        } catch (Exception e) {
+            Log.w(TAG, "Release failed", e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared retry and circuit-breaking layer for backend calls.
+ *
+ * Failures are classified by status code ({@link BackendException#isTransient},
+ * {@link BackendException#isConnectivity}). {@link #retrying} repeats idempotent calls
+ * (loads, opens, UI intents) on transient failures with exponential backoff and full jitter,
+ * so a dropped connection does not turn into every caller hammering the SDK at once.
+ * {@link #once} is for calls that must not repeat (commits, deletes, conflict resolution).
+ *
+ * Each service has a circuit breaker. After {@code breakerThreshold} consecutive connectivity
+ * failures it opens and calls fail fast with NETWORK_ERROR and zero attempts. Once
+ * {@code breakerOpenMs} has passed, one probe call is let through; its success closes the
+ * breaker. Any answer from the service, even an error, also counts as the network being back.
+ *
+ * Every attempt first takes a token from {@link RateGovernor} under the call's priority. A call
+ * the governor turns away fails with THROTTLED without reaching the SDK.
+ *
+ * Failures reach the callback as a {@link BackendException} carrying the attempt count.
+ */
+public final class Resilience {
+    private static final String TAG = "BizSimGames.Resilience";
+
+    public interface Attempt<T> {
+        void start(BackendCallback<T> callback);
+    }
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-Retry");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Random random = new Random();
+    private static final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private static volatile int maxAttempts = 3;
+    private static volatile long baseDelayMs = 500;
+    private static volatile long maxDelayMs = 8_000;
+    private static volatile int breakerThreshold = 5;
+    private static volatile long breakerOpenMs = 30_000;
+
+    private Resilience() { }
+
+    public static void configure(int maxAttempts, long baseDelayMs, long maxDelayMs,
+                                 int breakerThreshold, long breakerOpenMs) {
+        Resilience.maxAttempts = Math.max(1, maxAttempts);
+        Resilience.baseDelayMs = Math.max(0, baseDelayMs);
+        Resilience.maxDelayMs = Math.max(Resilience.baseDelayMs, maxDelayMs);
+        Resilience.breakerThreshold = Math.max(1, breakerThreshold);
+        Resilience.breakerOpenMs = Math.max(0, breakerOpenMs);
+        Log.d(TAG, "Configured: " + Resilience.maxAttempts + " attempts, backoff " + Resilience.baseDelayMs
+                + "-" + Resilience.maxDelayMs + " ms, breaker " + Resilience.breakerThreshold
+                + " failures / " + Resilience.breakerOpenMs + " ms");
+    }
+
+    /** Runs an idempotent call, retrying transient failures. */
+    public static <T> void retrying(String service, BridgeMetrics.Operation operation,
+                                    Attempt<T> attempt, BackendCallback<T> callback) {
+        retrying(service, RateGovernor.Priority.INTERACTIVE, operation, attempt, callback);
+    }
+
+    public static <T> void retrying(String service, RateGovernor.Priority priority, BridgeMetrics.Operation operation,
+                                    Attempt<T> attempt, BackendCallback<T> callback) {
+        new Call<>(breaker(service), priority, operation, attempt, callback, maxAttempts).start(1);
+    }
+
+    /** Runs a call exactly once, still failing fast while the service's breaker is open. */
+    public static <T> void once(String service, Attempt<T> attempt, BackendCallback<T> callback) {
+        once(service, RateGovernor.Priority.INTERACTIVE, attempt, callback);
+    }
+
+    public static <T> void once(String service, RateGovernor.Priority priority,
+                                Attempt<T> attempt, BackendCallback<T> callback) {
+        new Call<>(breaker(service), priority, null, attempt, callback, 1).start(1);
+    }
+
+    /**
+     * Maps a failure to the error codes shared by the Unity error types:
+     * 1 user not authenticated, 2 network error, 100 internal error, 429 rate limited.
+     */
+    public static int errorCode(Throwable error) {
+        int status = BackendException.statusCodeOf(error);
+        if (status == BackendException.SIGN_IN_REQUIRED) return 1;
+        if (status == BackendException.THROTTLED) return 429;
+        if (BackendException.isTransient(status)) return 2;
+        return 100;
+    }
+
+    /** Breaker state per service as JSON, e.g. {"cloudsave":"open"}. */
+    public static String getCircuitStates() {
+        try {
+            JSONObject obj = new JSONObject();
+            for (Map.Entry<String, CircuitBreaker> entry : new TreeMap<>(breakers).entrySet()) {
+                obj.put(entry.getKey(), entry.getValue().state());
+            }
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    private static CircuitBreaker breaker(String service) {
+        CircuitBreaker breaker = breakers.get(service);
+        if (breaker != null) return breaker;
+        CircuitBreaker created = new CircuitBreaker(service);
+        breaker = breakers.putIfAbsent(service, created);
+        return breaker != null ? breaker : created;
+    }
+
+    private static long backoffMs(int failedAttempt) {
+        long ceiling = baseDelayMs << Math.min(failedAttempt - 1, 20);
+        ceiling = Math.min(ceiling, maxDelayMs);
+        if (ceiling <= 0) return 0;
+        synchronized (random) {
+            return (long) (random.nextDouble() * (ceiling + 1));
+        }
+    }
+
+    private static final class Call<T> {
+        private final CircuitBreaker breaker;
+        private final RateGovernor.Priority priority;
+        private final BridgeMetrics.Operation operation;
+        private final Attempt<T> attempt;
+        private final BackendCallback<T> callback;
+        private final int maxAttempts;
+
+        Call(CircuitBreaker breaker, RateGovernor.Priority priority, BridgeMetrics.Operation operation,
+             Attempt<T> attempt, BackendCallback<T> callback, int maxAttempts) {
+            this.breaker = breaker;
+            this.priority = priority;
+            this.operation = operation;
+            this.attempt = attempt;
+            this.callback = callback;
+            this.maxAttempts = maxAttempts;
+        }
+
+        void start(int number) {
+            if (!breaker.tryAcquire()) {
+                callback.onFailure(new BackendException(BackendException.NETWORK_ERROR,
+                        "Service unavailable: " + breaker.service + " circuit is open", null, number - 1));
+                return;
+            }
+            RateGovernor.acquire(breaker.service, priority, () -> run(number), () -> callback.onFailure(
+                    new BackendException(BackendException.THROTTLED,
+                            "Rate limited: " + breaker.service + " calls are queued too deep", null, number - 1)));
+        }
+
+        private void run(int number) {
+            if (number > 1 && operation != null) operation.retry();
+
+            attempt.start(new BackendCallback<T>() {
+                @Override
+                public void onSuccess(T result) {
+                    breaker.onSuccess();
+                    callback.onSuccess(result);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    int status = BackendException.statusCodeOf(e);
+                    breaker.onFailure(BackendException.isConnectivity(status));
+
+                    if (number < maxAttempts && BackendException.isTransient(status)) {
+                        long delay = backoffMs(number);
+                        Log.w(TAG, breaker.service + " attempt " + number + " failed (" + status
+                                + "), retrying in " + delay + " ms");
+                        scheduler.schedule(() -> start(number + 1), delay, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                    callback.onFailure(new BackendException(status, e.getMessage(), e, number));
+                }
+            });
+        }
+    }
+
+    private static final class CircuitBreaker {
+        private static final int CLOSED = 0;
+        private static final int OPEN = 1;
+        private static final int HALF_OPEN = 2;
+
+        final String service;
+        private int state = CLOSED;
+        private int consecutiveFailures;
+        private long changedAt;
+
+        CircuitBreaker(String service) {
+            this.service = service;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = SystemClock.elapsedRealtime();
+            switch (state) {
+                case OPEN:
+                    if (now - changedAt < breakerOpenMs) return false;
+                    transition(HALF_OPEN, now);
+                    return true;
+                case HALF_OPEN:
+                    // A probe that never reports back must not wedge the breaker.
+                    if (now - changedAt < breakerOpenMs) return false;
+                    changedAt = now;
+                    return true;
+                default:
+                    return true;
+            }
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            if (state != CLOSED) transition(CLOSED, SystemClock.elapsedRealtime());
+        }
+
+        synchronized void onFailure(boolean connectivity) {
+            if (!connectivity) {
+                onSuccess();
+                return;
+            }
+            consecutiveFailures++;
+            if (state == HALF_OPEN || (state == CLOSED && consecutiveFailures >= breakerThreshold)) {
+                transition(OPEN, SystemClock.elapsedRealtime());
+            }
+        }
+
+        synchronized String state() {
+            switch (state) {
+                case OPEN: return "open";
+                case HALF_OPEN: return "half-open";
+                default: return "closed";
+            }
+        }
+
+        private void transition(int newState, long now) {
+            state = newState;
+            changedAt = now;
+            Log.i(TAG, "Circuit for " + service + " is now " + state());
+        }
+    }
+}
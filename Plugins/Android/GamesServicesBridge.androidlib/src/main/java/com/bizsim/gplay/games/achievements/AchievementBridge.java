@@ -10,149 +10,218 @@ import androidx.activity.ComponentActivity;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 
-import com.google.android.gms.games.AnnotatedData;
-import com.google.android.gms.games.PlayGames;
-import com.google.android.gms.games.AchievementsClient;
-import com.google.android.gms.games.achievement.Achievement;
-import com.google.android.gms.games.achievement.AchievementBuffer;
+import com.bizsim.gplay.games.AuthBridge;
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.Outbox;
+import com.bizsim.gplay.games.RateGovernor;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.AchievementsBackend;
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
 
 import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JNI bridge for achievements. Unlocks and increments go through the durable {@link Outbox}
+ * and are confirmed with the server in the background, so they survive being offline.
+ * Achievement icons can be packed into an on-disk atlas ({@link IconAtlas}), built on request
+ * or prefetched after each sign-in.
+ */
 public class AchievementBridge {
     private static final String TAG = "BizSimGames.Achievements";
-
-    private final Activity activity;
-    private final AchievementsClient achievementsClient;
-    private final ActivityResultLauncher<Intent> achievementsLauncher;
-    private IAchievementCallback callback;
+    private static final String SERVICE = "achievements";
+    private static final BridgeMetrics.Operation LOAD = BridgeMetrics.operation("achievements.load");
+    private static final BridgeMetrics.Operation INCREMENT = BridgeMetrics.operation("achievements.increment");
+    private static final BridgeMetrics.Operation SHOW_UI = BridgeMetrics.operation("achievements.uiIntent");
+
+    private final AchievementsBackend achievements;
+    private final Outbox outbox;
+    private final GamesInitializer.Lazy<ActivityResultLauncher<Intent>> achievementsLauncher;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private volatile IAchievementCallback callback;
+    private final AtomicReference<String> uiRequestId = new AtomicReference<>();
+    private final IconAtlas iconAtlas;
+    private final AuthBridge.SignInListener signInListener = this::onSignedIn;
+    private final List<String> atlasWaiters = new ArrayList<>();
+    private boolean atlasInFlight;
+    private volatile boolean prefetchIcons;
 
     public AchievementBridge(Activity activity) {
-        this.activity = activity;
-        this.achievementsClient = PlayGames.getAchievementsClient(activity);
-
-        this.achievementsLauncher = ((ComponentActivity) activity)
-                .getActivityResultRegistry()
-                .register(
-                        "bizsim_achievements",
-                        new ActivityResultContracts.StartActivityForResult(),
-                        result -> {
-                            if (callback != null) callback.onAchievementsUIClosed();
-                        }
-                );
+        this.achievements = GamesBackends.get(activity).achievements();
+        this.outbox = Outbox.get(activity);
+        this.iconAtlas = new IconAtlas(activity);
+        MemoryGovernor.install(activity);
+
+        this.achievementsLauncher = GamesInitializer.lazy("achievements.launcher", () ->
+                ((ComponentActivity) activity)
+                        .getActivityResultRegistry()
+                        .register(
+                                "bizsim_achievements",
+                                new ActivityResultContracts.StartActivityForResult(),
+                                result -> onUIClosed()
+                        ));
+
+        AuthBridge.addSignInListener(signInListener);
+        Log.d(TAG, "AchievementBridge initialized");
+    }
 
-        Log.d(TAG, "AchievementBridge initialized with ActivityResultLauncher");
+    public void warmUp() {
+        achievements.warmUp();
     }
 
     public void setCallback(IAchievementCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(IAchievementCallback.class, callback);
         Log.d(TAG, "Callback registered");
     }
 
-    public void unlockAchievement(final String achievementId) {
+    public void unlockAchievement(final String requestId, final String achievementId) {
         if (achievementId == null || achievementId.isEmpty()) {
-            sendError(-1, "Achievement ID cannot be null or empty", null);
+            sendError(requestId, -1, "Achievement ID cannot be null or empty", null);
             return;
         }
 
         Log.d(TAG, "Unlocking achievement: " + achievementId);
 
         try {
-            achievementsClient.unlock(achievementId);
-            Log.d(TAG, "Achievement unlock sent: " + achievementId);
-            if (callback != null) {
-                callback.onAchievementUnlocked(achievementId);
+            outbox.unlock(achievementId);
+            Log.d(TAG, "Achievement unlock queued: " + achievementId);
+            IAchievementCallback cb = callback;
+            if (cb != null) {
+                cb.onAchievementUnlocked(requestId, achievementId);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to unlock achievement: " + achievementId, e);
-            sendError(100, "Failed to unlock: " + e.getMessage(), achievementId);
+            sendError(requestId, 100, "Failed to unlock: " + e.getMessage(), achievementId);
         }
     }
 
-    public void incrementAchievement(final String achievementId, int steps) {
+    public void incrementAchievement(final String requestId, final String achievementId, int steps) {
         if (achievementId == null || achievementId.isEmpty()) {
-            sendError(-1, "Achievement ID cannot be null or empty", null);
+            sendError(requestId, -1, "Achievement ID cannot be null or empty", null);
             return;
         }
 
         if (steps <= 0) {
-            sendError(4, "Steps must be greater than 0", achievementId);
+            sendError(requestId, 4, "Steps must be greater than 0", achievementId);
             return;
         }
 
         Log.d(TAG, "Incrementing achievement: " + achievementId + " by " + steps);
 
+        deadlines.begin(requestId);
         try {
-            achievementsClient.increment(achievementId, steps);
-            Log.d(TAG, "Achievement increment sent: " + achievementId);
-            loadAchievementSteps(achievementId);
+            final long started = INCREMENT.start();
+            outbox.increment(achievementId, steps);
+            Log.d(TAG, "Achievement increment queued: " + achievementId);
+            loadAchievementSteps(requestId, achievementId, started);
         } catch (Exception e) {
             Log.e(TAG, "Failed to increment achievement: " + achievementId, e);
-            sendError(100, "Failed to increment: " + e.getMessage(), achievementId);
+            sendError(requestId, 100, "Failed to increment: " + e.getMessage(), achievementId);
         }
     }
 
-    public void revealAchievement(final String achievementId) {
+    public void revealAchievement(final String requestId, final String achievementId) {
         if (achievementId == null || achievementId.isEmpty()) {
-            sendError(-1, "Achievement ID cannot be null or empty", null);
+            sendError(requestId, -1, "Achievement ID cannot be null or empty", null);
             return;
         }
 
         Log.d(TAG, "Revealing achievement: " + achievementId);
 
-        try {
-            achievementsClient.reveal(achievementId);
-            Log.d(TAG, "Achievement reveal sent: " + achievementId);
-            if (callback != null) {
-                callback.onAchievementRevealed(achievementId);
+        RateGovernor.acquire(SERVICE, RateGovernor.Priority.INTERACTIVE, () -> {
+            try {
+                achievements.reveal(achievementId);
+                Log.d(TAG, "Achievement reveal sent: " + achievementId);
+                IAchievementCallback cb = callback;
+                if (cb != null) {
+                    cb.onAchievementRevealed(requestId, achievementId);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to reveal achievement: " + achievementId, e);
+                sendError(requestId, 100, "Failed to reveal: " + e.getMessage(), achievementId);
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to reveal achievement: " + achievementId, e);
-            sendError(100, "Failed to reveal: " + e.getMessage(), achievementId);
-        }
+        }, () -> sendError(requestId, 429, "Rate limited: reveal not sent", achievementId));
     }
 
-    public void showAchievementsUI() {
+    public void showAchievementsUI(final String requestId) {
         Log.d(TAG, "Showing achievements UI");
+        uiRequestId.set(requestId);
+        deadlines.begin(requestId);
+
+        final long started = SHOW_UI.start();
+        Resilience.retrying(SERVICE, SHOW_UI, achievements::getAchievementsIntent, new BackendCallback<Object>() {
+            @Override
+            public void onSuccess(Object intent) {
+                SHOW_UI.success(started);
+                if (intent instanceof Intent) {
+                    deadlines.suspend(requestId);
+                    achievementsLauncher.get().launch((Intent) intent);
+                } else {
+                    Log.w(TAG, "No achievements UI available");
+                    onUIClosed();
+                }
+            }
 
-        achievementsClient.getAchievementsIntent()
-                .addOnSuccessListener(activity, achievementsLauncher::launch)
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to get achievements intent", e);
-                    sendError(100, "Failed to show UI: " + e.getMessage(), null);
-                });
+            @Override
+            public void onFailure(Exception e) {
+                SHOW_UI.failure(started);
+                Log.e(TAG, "Failed to get achievements intent", e);
+                uiRequestId.compareAndSet(requestId, null);
+                sendFailure(requestId, "Failed to show UI: ", e, null);
+            }
+        });
     }
 
-    public void loadAchievements(boolean forceReload) {
+    private void onUIClosed() {
+        String requestId = uiRequestId.getAndSet(null);
+        IAchievementCallback cb = callback;
+        if (cb != null) cb.onAchievementsUIClosed(requestId);
+    }
+
+    public void loadAchievements(final String requestId, boolean forceReload) {
         Log.d(TAG, "Loading achievements (forceReload: " + forceReload + ")");
+        deadlines.begin(requestId);
 
-        achievementsClient.load(forceReload)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    AchievementBuffer achievementBuffer = annotatedData.get();
-                    try {
-                        Log.d(TAG, "Achievements loaded: " + achievementBuffer.getCount());
-                        String json = serializeAchievements(achievementBuffer);
+        final long started = LOAD.start();
+        Resilience.retrying(SERVICE, LOAD, cb -> achievements.load(forceReload, cb), new BackendCallback<List<AchievementData>>() {
+            @Override
+            public void onSuccess(List<AchievementData> loaded) {
+                LOAD.success(started);
+                try {
+                    Log.d(TAG, "Achievements loaded: " + loaded.size());
+                    String json = BridgeJson.serializeAchievements(loaded);
 
-                        if (callback != null) {
-                            callback.onAchievementsLoaded(json);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Failed to serialize achievements", e);
-                        sendError(100, "Failed to serialize: " + e.getMessage(), null);
-                    } finally {
-                        achievementBuffer.release();
+                    IAchievementCallback cb = callback;
+
+                    if (cb != null) {
+                        cb.onAchievementsLoaded(requestId, json);
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to load achievements", e);
-                    sendError(100, "Failed to load: " + e.getMessage(), null);
-                });
+                } catch (Exception e) {
+                    Log.e(TAG, "Failed to serialize achievements", e);
+                    sendError(requestId, 100, "Failed to serialize: " + e.getMessage(), null);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOAD.failure(started);
+                Log.e(TAG, "Failed to load achievements", e);
+                sendFailure(requestId, "Failed to load: ", e, null);
+            }
+        });
     }
 
-    public void unlockMultiple(String achievementIds) {
+    public void unlockMultiple(final String requestId, String achievementIds) {
         try {
             JSONArray idsArray = new JSONArray(achievementIds);
             List<String> ids = new ArrayList<>();
@@ -164,89 +233,171 @@ public class AchievementBridge {
             Log.d(TAG, "Unlocking multiple achievements: " + ids.size());
 
             for (String id : ids) {
-                achievementsClient.unlock(id);
+                outbox.unlock(id);
             }
 
-            if (callback != null) {
-                for (String id : ids) {
-                    callback.onAchievementUnlocked(id);
-                }
+            IAchievementCallback cb = callback;
+
+            if (cb != null) {
+                cb.onMultipleUnlocked(requestId, achievementIds);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to parse achievement IDs", e);
-            sendError(100, "Invalid achievement IDs: " + e.getMessage(), null);
+            sendError(requestId, 100, "Invalid achievement IDs: " + e.getMessage(), null);
         }
     }
 
-    private void loadAchievementSteps(final String achievementId) {
-        achievementsClient.load(false)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    AchievementBuffer achievementBuffer = annotatedData.get();
-                    try {
-                        for (int i = 0; i < achievementBuffer.getCount(); i++) {
-                            Achievement achievement = achievementBuffer.get(i);
-                            if (achievement.getAchievementId().equals(achievementId)) {
-                                int currentSteps = achievement.getCurrentSteps();
-                                int totalSteps = achievement.getTotalSteps();
-
-                                if (callback != null) {
-                                    callback.onAchievementIncremented(achievementId, currentSteps, totalSteps);
-                                }
-                                break;
-                            }
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Failed to load achievement steps", e);
-                    } finally {
-                        achievementBuffer.release();
-                    }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to load achievement steps for: " + achievementId, e);
-                    sendError(100, "Failed to load steps: " + e.getMessage(), achievementId);
-                });
+    /**
+     * Sets the icon atlas layout and whether it is built in the background after each sign-in.
+     * A layout change builds a new atlas on the next request.
+     */
+    public void setIconAtlas(int iconSize, int pageSize, boolean prefetchAfterSignIn) {
+        iconAtlas.configure(iconSize, pageSize);
+        prefetchIcons = prefetchAfterSignIn;
+    }
+
+    /**
+     * Answers with {@code onIconAtlasReady} once the atlas for the current catalogue is on disk,
+     * building it first if needed. No deadline applies: a first build for a large catalogue can
+     * outlast it, and the build has its own time limit, after which missing icons are marked.
+     */
+    public void loadIconAtlas(final String requestId) {
+        deadlines.begin(requestId, 0);
+        requestIconAtlas(requestId, false);
+    }
+
+    private void onSignedIn(String playerId) {
+        if (!prefetchIcons) return;
+        if (MemoryGovernor.shouldDefer()) {
+            Log.d(TAG, "Icon atlas prefetch skipped under memory pressure");
+            return;
+        }
+        requestIconAtlas(null, true);
     }
 
-    private String serializeAchievements(AchievementBuffer buffer) throws Exception {
-        JSONArray array = new JSONArray();
+    private void requestIconAtlas(String requestId, boolean rebuildIncomplete) {
+        synchronized (atlasWaiters) {
+            if (requestId != null) atlasWaiters.add(requestId);
+            if (atlasInFlight) return;
+            atlasInFlight = true;
+        }
 
-        for (int i = 0; i < buffer.getCount(); i++) {
-            Achievement achievement = buffer.get(i);
-            JSONObject obj = new JSONObject();
+        RateGovernor.Priority priority = requestId != null
+                ? RateGovernor.Priority.INTERACTIVE : RateGovernor.Priority.BACKGROUND;
+        final long started = LOAD.start();
+        Resilience.retrying(SERVICE, priority, LOAD, cb -> achievements.load(false, cb), new BackendCallback<List<AchievementData>>() {
+            @Override
+            public void onSuccess(List<AchievementData> loaded) {
+                LOAD.success(started);
+                iconAtlas.obtain(loaded, rebuildIncomplete, new IconAtlas.Listener() {
+                    @Override
+                    public void onReady(String indexJson) {
+                        finishIconAtlas(indexJson, null);
+                    }
 
-            obj.put("achievementId", achievement.getAchievementId());
-            obj.put("name", achievement.getName());
-            obj.put("description", achievement.getDescription());
-            obj.put("state", achievement.getState());
-            obj.put("type", achievement.getType());
+                    @Override
+                    public void onFailed(Exception e) {
+                        finishIconAtlas(null, e);
+                    }
+                });
+            }
 
-            if (achievement.getType() == Achievement.TYPE_INCREMENTAL) {
-                obj.put("currentSteps", achievement.getCurrentSteps());
-                obj.put("totalSteps", achievement.getTotalSteps());
-            } else {
-                obj.put("currentSteps", 0);
-                obj.put("totalSteps", 0);
+            @Override
+            public void onFailure(Exception e) {
+                LOAD.failure(started);
+                finishIconAtlas(null, e);
             }
+        });
+    }
 
-            obj.put("xpValue", achievement.getXpValue());
-            obj.put("unlockedTimestamp", achievement.getLastUpdatedTimestamp());
-            obj.put("revealedIconUrl", achievement.getRevealedImageUri() != null ? achievement.getRevealedImageUri().toString() : "");
-            obj.put("unlockedIconUrl", achievement.getUnlockedImageUri() != null ? achievement.getUnlockedImageUri().toString() : "");
+    private void finishIconAtlas(String indexJson, Exception error) {
+        List<String> waiters;
+        synchronized (atlasWaiters) {
+            waiters = new ArrayList<>(atlasWaiters);
+            atlasWaiters.clear();
+            atlasInFlight = false;
+        }
 
-            array.put(obj);
+        IAchievementCallback cb = callback;
+        if (indexJson == null) {
+            Log.e(TAG, "Icon atlas unavailable", error);
+            for (String requestId : waiters) sendFailure(requestId, "Icon atlas failed: ", error, null);
+            return;
+        }
+        if (cb == null) return;
+        if (waiters.isEmpty()) {
+            cb.onIconAtlasReady(null, indexJson);
         }
+        for (String requestId : waiters) {
+            cb.onIconAtlasReady(requestId, indexJson);
+        }
+    }
 
-        return array.toString();
+    private void loadAchievementSteps(final String requestId, final String achievementId, final long started) {
+        Resilience.retrying(SERVICE, INCREMENT, cb -> achievements.load(false, cb), new BackendCallback<List<AchievementData>>() {
+            @Override
+            public void onSuccess(List<AchievementData> loaded) {
+                INCREMENT.success(started);
+                for (AchievementData achievement : loaded) {
+                    if (achievement.achievementId.equals(achievementId)) {
+                        // Steps still in the outbox are not in the server's count yet.
+                        long pending = outbox.pendingSteps(achievementId);
+                        int currentSteps = (int) Math.min(achievement.totalSteps, achievement.currentSteps + pending);
+                        IAchievementCallback cb = callback;
+                        if (cb != null) {
+                            cb.onAchievementIncremented(requestId, achievementId,
+                                    currentSteps, achievement.totalSteps);
+                        }
+                        return;
+                    }
+                }
+                sendError(requestId, 100, "Achievement not found after increment", achievementId, 1);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                INCREMENT.failure(started);
+                // The increment itself is safe in the outbox; report it with unknown totals.
+                Log.w(TAG, "Increment queued, steps unavailable for: " + achievementId, e);
+                IAchievementCallback cb = callback;
+                if (cb != null) {
+                    cb.onAchievementIncremented(requestId, achievementId,
+                            (int) Math.min(Integer.MAX_VALUE, outbox.pendingSteps(achievementId)), 0);
+                }
+            }
+        });
+    }
+
+    /** Abandons an in-flight request; any result that arrives later is dropped. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        sendError(requestId, RequestDeadlines.ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms", null);
     }
 
     public void shutdown() {
-        achievementsLauncher.unregister();
+        deadlines.cancelAll();
+        AuthBridge.removeSignInListener(signInListener);
+        ActivityResultLauncher<Intent> launcher = achievementsLauncher.getIfCreated();
+        if (launcher != null) launcher.unregister();
         callback = null;
     }
 
-    private void sendError(int errorCode, String errorMessage, String achievementId) {
-        if (callback != null) {
-            callback.onAchievementError(errorCode, errorMessage, achievementId);
+    private void sendError(String requestId, int errorCode, String errorMessage, String achievementId) {
+        sendError(requestId, errorCode, errorMessage, achievementId, 0);
+    }
+
+    private void sendFailure(String requestId, String prefix, Exception e, String achievementId) {
+        sendError(requestId, Resilience.errorCode(e), prefix + e.getMessage(), achievementId,
+                BackendException.attemptsOf(e));
+    }
+
+    private void sendError(String requestId, int errorCode, String errorMessage, String achievementId, int attempts) {
+        IAchievementCallback cb = callback;
+        if (cb != null) {
+            cb.onAchievementError(requestId, errorCode, errorMessage, achievementId, attempts);
         }
     }
 }
@@ -5,44 +5,66 @@ package com.bizsim.gplay.games.achievements;
 /**
  * Callback interface for achievement operations.
  * Implemented in C# via AndroidJavaProxy (ProGuard-safe).
+ * Every callback carries the request ID passed to the bridge method that caused it.
  */
 public interface IAchievementCallback {
     /**
      * Called when an achievement is successfully unlocked.
+     * @param requestId Request ID passed to unlockAchievement
      * @param achievementId The unlocked achievement ID
      */
-    void onAchievementUnlocked(String achievementId);
+    void onAchievementUnlocked(String requestId, String achievementId);
 
     /**
      * Called when an incremental achievement is successfully incremented.
+     * @param requestId Request ID passed to incrementAchievement
      * @param achievementId The achievement ID
      * @param currentSteps Current progress steps
      * @param totalSteps Total steps required
      */
-    void onAchievementIncremented(String achievementId, int currentSteps, int totalSteps);
+    void onAchievementIncremented(String requestId, String achievementId, int currentSteps, int totalSteps);
 
     /**
      * Called when a hidden achievement is successfully revealed.
+     * @param requestId Request ID passed to revealAchievement
      * @param achievementId The revealed achievement ID
      */
-    void onAchievementRevealed(String achievementId);
+    void onAchievementRevealed(String requestId, String achievementId);
 
     /**
      * Called when achievements are successfully loaded.
+     * @param requestId Request ID passed to loadAchievements
      * @param achievementsJson JSON array of achievement data
      */
-    void onAchievementsLoaded(String achievementsJson);
+    void onAchievementsLoaded(String requestId, String achievementsJson);
+
+    /**
+     * Called when a batch unlock has been sent.
+     * @param requestId Request ID passed to unlockMultiple
+     * @param achievementIdsJson JSON array of the unlocked achievement IDs
+     */
+    void onMultipleUnlocked(String requestId, String achievementIdsJson);
 
     /**
      * Called when the achievements UI is closed.
+     * @param requestId Request ID passed to showAchievementsUI
+     */
+    void onAchievementsUIClosed(String requestId);
+
+    /**
+     * Called when the achievement icon atlas is on disk.
+     * @param requestId Request ID passed to loadIconAtlas, or null after a background prefetch
+     * @param indexJson Atlas index: page files, icon size and each achievement's icon cells
      */
-    void onAchievementsUIClosed();
+    void onIconAtlasReady(String requestId, String indexJson);
 
     /**
      * Called when an achievement operation fails.
+     * @param requestId Request ID of the failed operation
      * @param errorCode Error code from Google Play Games
      * @param errorMessage Human-readable error message
      * @param achievementId Achievement ID that caused the error (null if general error)
+     * @param attempts SDK attempts made before giving up (0 if the request never reached the SDK)
      */
-    void onAchievementError(int errorCode, String errorMessage, String achievementId);
+    void onAchievementError(String requestId, int errorCode, String errorMessage, String achievementId, int attempts);
 }
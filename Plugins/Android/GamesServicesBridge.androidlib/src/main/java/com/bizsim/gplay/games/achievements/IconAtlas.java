@@ -0,0 +1,524 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.achievements;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.google.android.gms.common.images.ImageManager;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Achievement icons packed into a few atlas pages, stored in
+ * {@code files/bizsim_achievement_icons/<version>/}.
+ *
+ * The version is a hash of the catalogue (IDs and icon URIs, in load order) and the layout, so
+ * a catalogue change builds a new atlas and removes the old one. Each distinct icon URI is
+ * loaded once through {@link ImageManager}, a few at a time, halved down to near the icon size
+ * and drawn into a fixed cell with a transparent gutter. A page is written as soon as its last
+ * cell is filled, so at most a page or two are held in memory. Pages are raw RGBA32 with
+ * straight alpha, rows bottom-up, which Unity uploads with LoadRawTextureData without decoding.
+ * {@code index.json} maps every achievement's revealed and unlocked icon to a page and a
+ * bottom-left pixel origin; page -1 marks an icon that could not be loaded.
+ *
+ * Image loads start on the main thread, as ImageManager requires; scaling, drawing and file IO
+ * run on one worker thread, which also runs the listener.
+ *
+ * The configured page size is a maximum: below a 256 MB memory class pages shrink with it
+ * ({@link MemoryGovernor#scaled}), as does the number of loads in flight. A running build is
+ * registered with the {@link MemoryGovernor}; at {@code LOW} pressure or worse it is abandoned
+ * and its page bitmaps released, and the next request builds it again.
+ */
+final class IconAtlas {
+    private static final String TAG = "BizSimGames.Achievements";
+    private static final BridgeMetrics.Operation BUILD = BridgeMetrics.operation("achievements.iconAtlas");
+    private static final int FORMAT = 1;
+    private static final int GUTTER = 2;
+    private static final int MAX_IN_FLIGHT = 8;
+    private static final long BUILD_TIMEOUT_MS = 60_000;
+    private static final String INDEX_FILE = "index.json";
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-IconAtlas");
+        t.setDaemon(true);
+        return t;
+    });
+
+    interface Listener {
+        void onReady(String indexJson);
+        void onFailed(Exception e);
+    }
+
+    private final Context context;
+    private final File root;
+    private volatile int iconSize = 96;
+    private volatile int pageSize = 2048;
+
+    IconAtlas(Context context) {
+        this.context = context.getApplicationContext();
+        this.root = new File(context.getFilesDir(), "bizsim_achievement_icons");
+    }
+
+    void configure(int iconSize, int pageSize) {
+        this.iconSize = Math.max(16, Math.min(512, iconSize));
+        this.pageSize = Math.max(this.iconSize + GUTTER, Math.min(4096, pageSize));
+        Log.d(TAG, "Icon atlas: " + this.iconSize + " px icons on " + this.pageSize + " px pages");
+    }
+
+    /**
+     * Delivers the stored atlas for this catalogue, or builds it first. With
+     * {@code rebuildIncomplete}, a stored atlas missing some icons is built again.
+     */
+    void obtain(List<AchievementData> achievements, boolean rebuildIncomplete, Listener listener) {
+        final int size = iconSize;
+        final int page = Math.max(size + GUTTER, Math.min(pageSize, MemoryGovernor.scaled(pageSize)));
+        worker.execute(() -> {
+            try {
+                String version = version(achievements, size, page);
+                File dir = new File(root, version);
+                JSONObject stored = readIndex(dir);
+                if (stored != null && (!rebuildIncomplete || stored.optBoolean("complete"))) {
+                    listener.onReady(stored.toString());
+                    return;
+                }
+                Build build = new Build(version, achievements, size, page, listener);
+                if (build.slots.isEmpty()) {
+                    build.finish();
+                } else {
+                    mainHandler.post(build::start);
+                }
+            } catch (Exception e) {
+                listener.onFailed(e);
+            }
+        });
+    }
+
+    private static final class Slot {
+        final String uri;
+        final int page;
+        final int x;
+        final int y;
+        // ImageManager only holds its listeners weakly.
+        ImageManager.OnImageLoadedListener listener;
+        boolean loaded;   // main thread
+        boolean placed;   // worker
+        boolean missing;  // worker
+
+        Slot(String uri, int page, int x, int y) {
+            this.uri = uri;
+            this.page = page;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final class Page {
+        final int width;
+        final int height;
+        int remaining;
+        Bitmap bitmap;
+        Canvas canvas;
+
+        Page(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final class Build {
+        final long started = BUILD.start();
+        final String version;
+        final List<AchievementData> achievements;
+        final int size;
+        final Listener listener;
+        final File tmpDir;
+        final Map<String, Slot> slotsByUri = new LinkedHashMap<>();
+        final List<Slot> slots = new ArrayList<>();
+        final List<Page> pages = new ArrayList<>();
+        final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        final Runnable timeout = () -> worker.execute(this::expire);
+        final MemoryGovernor.Trimmable trimmer = this::trim;
+        ImageManager images;  // main thread
+        int next;             // main thread
+        int settled;          // worker
+        int missing;          // worker
+        volatile boolean finished;  // set on the worker
+        volatile long heldBytes;    // page bitmaps allocated, written on the worker
+
+        Build(String version, List<AchievementData> achievements, int size, int pageSize, Listener listener) {
+            this.version = version;
+            this.achievements = achievements;
+            this.size = size;
+            this.listener = listener;
+            this.tmpDir = new File(root, version + ".tmp");
+
+            Set<String> distinct = new LinkedHashSet<>();
+            for (AchievementData achievement : achievements) {
+                addUri(distinct, achievement.revealedImageUri);
+                addUri(distinct, achievement.unlockedImageUri);
+            }
+            List<String> uris = new ArrayList<>(distinct);
+
+            int cell = size + GUTTER;
+            int perRow = Math.max(1, pageSize / cell);
+            int perPage = perRow * perRow;
+            for (int first = 0; first < uris.size(); first += perPage) {
+                int count = Math.min(perPage, uris.size() - first);
+                int rows = (count + perRow - 1) / perRow;
+                Page page = new Page(Math.min(count, perRow) * cell, rows * cell);
+                page.remaining = count;
+                pages.add(page);
+            }
+            for (int i = 0; i < uris.size(); i++) {
+                int k = i % perPage;
+                Slot slot = new Slot(uris.get(i), i / perPage,
+                        (k % perRow) * cell + GUTTER / 2, (k / perRow) * cell + GUTTER / 2);
+                slots.add(slot);
+                slotsByUri.put(slot.uri, slot);
+            }
+        }
+
+        private void addUri(Set<String> uris, String uri) {
+            if (uri != null && !uri.isEmpty()) uris.add(uri);
+        }
+
+        void start() {
+            Log.d(TAG, "Building icon atlas " + version + ": " + slots.size() + " icons on " + pages.size() + " pages");
+            images = ImageManager.create(context);
+            mainHandler.postDelayed(timeout, BUILD_TIMEOUT_MS);
+            MemoryGovernor.register("iconAtlas", MemoryGovernor.PRIORITY_CACHES, trimmer);
+            int inFlight = Math.min(MAX_IN_FLIGHT, MemoryGovernor.scaled(MAX_IN_FLIGHT));
+            for (int i = 0; i < inFlight; i++) issue();
+        }
+
+        /** Abandons the build at LOW pressure or worse; returns the page bytes it releases. */
+        long trim(MemoryGovernor.Pressure pressure) {
+            if (finished || pressure.compareTo(MemoryGovernor.Pressure.LOW) < 0) return 0;
+            long bytes = heldBytes;
+            worker.execute(() -> {
+                if (!finished) fail(new IOException("Abandoned under memory pressure"));
+            });
+            return bytes;
+        }
+
+        void issue() {
+            if (finished || next >= slots.size()) return;
+            final Slot slot = slots.get(next++);
+            slot.listener = (uri, drawable, isRequested) -> onLoaded(slot, isRequested ? drawable : null);
+            try {
+                images.loadImage(slot.listener, Uri.parse(slot.uri));
+            } catch (Exception e) {
+                Log.w(TAG, "Icon load failed for " + slot.uri + ": " + e.getMessage());
+                onLoaded(slot, null);
+            }
+        }
+
+        void onLoaded(Slot slot, Drawable drawable) {
+            if (slot.loaded) return;
+            slot.loaded = true;
+            slot.listener = null;
+
+            Bitmap source = null;
+            boolean owned = false;
+            if (drawable instanceof BitmapDrawable) {
+                source = ((BitmapDrawable) drawable).getBitmap();
+            } else if (drawable != null) {
+                source = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+                drawable.setBounds(0, 0, size, size);
+                drawable.draw(new Canvas(source));
+                owned = true;
+            }
+            final Bitmap bitmap = source;
+            final boolean recycle = owned;
+            worker.execute(() -> place(slot, bitmap, recycle));
+            // Posted, not called: a cached image can answer inside loadImage.
+            mainHandler.post(this::issue);
+        }
+
+        void place(Slot slot, Bitmap source, boolean owned) {
+            try {
+                if (finished) return;
+                boolean drawn = false;
+                try {
+                    drawn = source != null && !source.isRecycled() && draw(slot, source);
+                } catch (Exception e) {
+                    Log.w(TAG, "Icon draw failed for " + slot.uri + ": " + e.getMessage());
+                }
+                settle(slot, !drawn);
+            } finally {
+                if (owned) source.recycle();
+            }
+        }
+
+        private boolean draw(Slot slot, Bitmap source) {
+            Page page = pages.get(slot.page);
+            if (page.bitmap == null) {
+                page.bitmap = Bitmap.createBitmap(page.width, page.height, Bitmap.Config.ARGB_8888);
+                page.canvas = new Canvas(page.bitmap);
+                heldBytes += (long) page.width * page.height * 4;
+            }
+            // Halve first: one filtered scale from a large icon skips most of its pixels.
+            Bitmap scaled = source;
+            while (scaled.getWidth() / 2 >= size && scaled.getHeight() / 2 >= size) {
+                Bitmap half = Bitmap.createScaledBitmap(scaled, scaled.getWidth() / 2, scaled.getHeight() / 2, true);
+                if (scaled != source) scaled.recycle();
+                scaled = half;
+            }
+            page.canvas.drawBitmap(scaled, null, new Rect(slot.x, slot.y, slot.x + size, slot.y + size), paint);
+            if (scaled != source) scaled.recycle();
+            return true;
+        }
+
+        private void settle(Slot slot, boolean isMissing) {
+            if (slot.placed) return;
+            slot.placed = true;
+            if (isMissing) {
+                slot.missing = true;
+                missing++;
+            }
+            Page page = pages.get(slot.page);
+            try {
+                if (--page.remaining == 0) write(page, slot.page);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            if (++settled == slots.size()) finish();
+        }
+
+        void expire() {
+            if (finished) return;
+            Log.w(TAG, "Icon atlas " + version + " timed out with " + (slots.size() - settled) + " icons pending");
+            for (Slot slot : slots) {
+                if (finished) return;
+                if (!slot.placed) settle(slot, true);
+            }
+        }
+
+        private void write(Page page, int index) throws IOException {
+            if (!tmpDir.exists() && !tmpDir.mkdirs()) throw new IOException("Cannot create " + tmpDir);
+            File file = new File(tmpDir, pageFile(index));
+            int[] row = new int[page.width];
+            byte[] out = new byte[page.width * 4];
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+                for (int y = page.height - 1; y >= 0; y--) {
+                    if (page.bitmap != null) {
+                        page.bitmap.getPixels(row, 0, page.width, 0, y, page.width, 1);
+                        for (int x = 0, i = 0; x < page.width; x++) {
+                            int argb = row[x];
+                            out[i++] = (byte) (argb >> 16);
+                            out[i++] = (byte) (argb >> 8);
+                            out[i++] = (byte) argb;
+                            out[i++] = (byte) (argb >>> 24);
+                        }
+                    }
+                    stream.write(out);
+                }
+            } finally {
+                if (page.bitmap != null) {
+                    page.bitmap.recycle();
+                    heldBytes -= (long) page.width * page.height * 4;
+                }
+                page.bitmap = null;
+                page.canvas = null;
+            }
+            BUILD.addBytes((long) page.width * page.height * 4);
+        }
+
+        void finish() {
+            finished = true;
+            mainHandler.removeCallbacks(timeout);
+            MemoryGovernor.unregister(trimmer);
+            try {
+                if (!tmpDir.exists() && !tmpDir.mkdirs()) throw new IOException("Cannot create " + tmpDir);
+                JSONObject index = index();
+                writeText(new File(tmpDir, INDEX_FILE), index.toString());
+
+                File dir = new File(root, version);
+                deleteTree(dir);
+                if (!tmpDir.renameTo(dir)) throw new IOException("Cannot move " + tmpDir + " into place");
+                removeOtherVersions(version);
+
+                BUILD.success(started);
+                Log.d(TAG, "Icon atlas " + version + " built: " + slots.size() + " icons, " + missing + " missing");
+                index.put("directory", dir.getAbsolutePath());
+                listener.onReady(index.toString());
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Exception e) {
+            finished = true;
+            mainHandler.removeCallbacks(timeout);
+            MemoryGovernor.unregister(trimmer);
+            for (Page page : pages) {
+                if (page.bitmap != null) page.bitmap.recycle();
+                page.bitmap = null;
+                page.canvas = null;
+            }
+            heldBytes = 0;
+            deleteTree(tmpDir);
+            BUILD.failure(started);
+            Log.e(TAG, "Icon atlas " + version + " failed", e);
+            listener.onFailed(e);
+        }
+
+        private JSONObject index() throws Exception {
+            JSONObject obj = new JSONObject();
+            obj.put("format", FORMAT);
+            obj.put("version", version);
+            obj.put("iconSize", size);
+            obj.put("complete", missing == 0);
+            obj.put("missing", missing);
+
+            JSONArray pageArray = new JSONArray();
+            for (int i = 0; i < pages.size(); i++) {
+                JSONObject page = new JSONObject();
+                page.put("file", pageFile(i));
+                page.put("width", pages.get(i).width);
+                page.put("height", pages.get(i).height);
+                pageArray.put(page);
+            }
+            obj.put("pages", pageArray);
+
+            JSONArray icons = new JSONArray();
+            for (AchievementData achievement : achievements) {
+                JSONObject icon = new JSONObject();
+                icon.put("achievementId", achievement.achievementId);
+                icon.put("revealed", cell(achievement.revealedImageUri));
+                icon.put("unlocked", cell(achievement.unlockedImageUri));
+                icons.put(icon);
+            }
+            obj.put("icons", icons);
+            return obj;
+        }
+
+        private JSONObject cell(String uri) throws Exception {
+            Slot slot = uri != null ? slotsByUri.get(uri) : null;
+            JSONObject cell = new JSONObject();
+            if (slot == null || slot.missing) {
+                cell.put("page", -1);
+                cell.put("x", 0);
+                cell.put("y", 0);
+            } else {
+                // Rows are stored bottom-up, so the origin is the cell's bottom-left corner.
+                cell.put("page", slot.page);
+                cell.put("x", slot.x);
+                cell.put("y", pages.get(slot.page).height - slot.y - size);
+            }
+            return cell;
+        }
+    }
+
+    private static String pageFile(int index) {
+        return "page_" + index + ".rgba";
+    }
+
+    private static String version(List<AchievementData> achievements, int iconSize, int pageSize) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        StringBuilder key = new StringBuilder();
+        key.append(FORMAT).append('/').append(iconSize).append('/').append(pageSize).append('\n');
+        for (AchievementData achievement : achievements) {
+            key.append(achievement.achievementId).append('\u0000')
+                    .append(achievement.revealedImageUri).append('\u0000')
+                    .append(achievement.unlockedImageUri).append('\n');
+        }
+        byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            hex.append(Character.forDigit((hash[i] >> 4) & 0xf, 16)).append(Character.forDigit(hash[i] & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /** The stored index with its directory, or null if there is none or a page is missing. */
+    private static JSONObject readIndex(File dir) {
+        File file = new File(dir, INDEX_FILE);
+        if (!file.isFile()) return null;
+        try {
+            JSONObject index = new JSONObject(readText(file));
+            if (index.optInt("format") != FORMAT) return null;
+            JSONArray pages = index.optJSONArray("pages");
+            if (pages == null) return null;
+            for (int i = 0; i < pages.length(); i++) {
+                JSONObject page = pages.getJSONObject(i);
+                long expected = (long) page.getInt("width") * page.getInt("height") * 4;
+                if (new File(dir, page.getString("file")).length() != expected) return null;
+            }
+            index.put("directory", dir.getAbsolutePath());
+            return index;
+        } catch (Exception e) {
+            Log.w(TAG, "Dropping unreadable icon atlas index: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void removeOtherVersions(String keep) {
+        File[] dirs = root.listFiles();
+        if (dirs == null) return;
+        for (File dir : dirs) {
+            if (!dir.getName().equals(keep)) deleteTree(dir);
+        }
+    }
+
+    private static String readText(File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        try (FileInputStream in = new FileInputStream(file)) {
+            int read = 0;
+            while (read < data.length) {
+                int n = in.read(data, read, data.length - read);
+                if (n < 0) throw new IOException("Truncated " + file.getName());
+                read += n;
+            }
+        }
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteTree(child);
+        }
+        file.delete();
+    }
+}
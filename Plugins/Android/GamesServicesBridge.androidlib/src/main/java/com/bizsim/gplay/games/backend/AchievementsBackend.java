@@ -0,0 +1,61 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+import java.util.List;
+
+/** AchievementsClient. Unlock, increment and reveal are fire-and-forget, as in the SDK. */
+public interface AchievementsBackend {
+    void unlock(String achievementId);
+    void increment(String achievementId, int steps);
+    void reveal(String achievementId);
+
+    /** Unlock confirmed by the server. Unlike {@link #unlock}, fails while offline. */
+    void unlockImmediate(String achievementId, BackendCallback<Void> callback);
+
+    /** Increment confirmed by the server; delivers whether it unlocked the achievement. */
+    void incrementImmediate(String achievementId, int steps, BackendCallback<Boolean> callback);
+
+    void load(boolean forceReload, BackendCallback<List<AchievementData>> callback);
+
+    /** Delivers the platform intent for the achievements UI, or null when there is none. */
+    void getAchievementsIntent(BackendCallback<Object> callback);
+
+    default void warmUp() { }
+
+    final class AchievementData {
+        public static final int TYPE_STANDARD = 0;
+        public static final int TYPE_INCREMENTAL = 1;
+        public static final int STATE_UNLOCKED = 0;
+        public static final int STATE_REVEALED = 1;
+        public static final int STATE_HIDDEN = 2;
+
+        public final String achievementId;
+        public final String name;
+        public final String description;
+        public final int state;
+        public final int type;
+        public final int currentSteps;
+        public final int totalSteps;
+        public final long xpValue;
+        public final long lastUpdatedTimestamp;
+        public final String revealedImageUri;
+        public final String unlockedImageUri;
+
+        public AchievementData(String achievementId, String name, String description, int state, int type,
+                               int currentSteps, int totalSteps, long xpValue, long lastUpdatedTimestamp,
+                               String revealedImageUri, String unlockedImageUri) {
+            this.achievementId = achievementId;
+            this.name = name;
+            this.description = description;
+            this.state = state;
+            this.type = type;
+            this.currentSteps = currentSteps;
+            this.totalSteps = totalSteps;
+            this.xpValue = xpValue;
+            this.lastUpdatedTimestamp = lastUpdatedTimestamp;
+            this.revealedImageUri = revealedImageUri;
+            this.unlockedImageUri = unlockedImageUri;
+        }
+    }
+}
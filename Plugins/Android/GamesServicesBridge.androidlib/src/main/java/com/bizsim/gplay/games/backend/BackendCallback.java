@@ -0,0 +1,13 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+/**
+ * Completion of an asynchronous backend call. The Play Games backend delivers on the main
+ * thread, except buffer loads (achievements, scores, events), which complete on a background
+ * decode thread; other backends document their own delivery thread.
+ */
+public interface BackendCallback<T> {
+    void onSuccess(T result);
+    void onFailure(Exception error);
+}
@@ -0,0 +1,89 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+/**
+ * Backend failure with a status code. Codes follow Play services' CommonStatusCodes so a
+ * failure can be classified the same way whichever backend produced it.
+ */
+public class BackendException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public static final int SIGN_IN_REQUIRED = 4;
+    public static final int NETWORK_ERROR = 7;
+    public static final int INTERNAL_ERROR = 8;
+    public static final int ERROR = 13;
+    public static final int INTERRUPTED = 14;
+    public static final int TIMEOUT = 15;
+    public static final int CANCELED = 16;
+    public static final int REMOTE_EXCEPTION = 19;
+    public static final int CONNECTION_SUSPENDED_DURING_CALL = 20;
+    public static final int RECONNECTION_TIMED_OUT_DURING_UPDATE = 21;
+    public static final int RECONNECTION_TIMED_OUT = 22;
+
+    /** GamesClientStatusCodes.SNAPSHOT_NOT_FOUND: opened without createIfNotFound and absent. */
+    public static final int SNAPSHOT_NOT_FOUND = 26570;
+
+    /** Not a Play services code: the call was turned away by the local rate governor. */
+    public static final int THROTTLED = 429;
+
+    private final int statusCode;
+    private final int attempts;
+
+    public BackendException(int statusCode, String message) {
+        this(statusCode, message, null, 1);
+    }
+
+    public BackendException(int statusCode, String message, Throwable cause) {
+        this(statusCode, message, cause, 1);
+    }
+
+    public BackendException(int statusCode, String message, Throwable cause, int attempts) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.attempts = attempts;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /** Calls made before this failure was reported; 0 when the call was never made. */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /** Status code of any backend failure; ERROR when it carries none. */
+    public static int statusCodeOf(Throwable error) {
+        return error instanceof BackendException
+                ? ((BackendException) error).statusCode
+                : ERROR;
+    }
+
+    public static int attemptsOf(Throwable error) {
+        return error instanceof BackendException ? ((BackendException) error).attempts : 1;
+    }
+
+    /** The same call may succeed if repeated. */
+    public static boolean isTransient(int statusCode) {
+        switch (statusCode) {
+            case NETWORK_ERROR:
+            case INTERNAL_ERROR:
+            case INTERRUPTED:
+            case TIMEOUT:
+            case REMOTE_EXCEPTION:
+            case CONNECTION_SUSPENDED_DURING_CALL:
+            case RECONNECTION_TIMED_OUT_DURING_UPDATE:
+            case RECONNECTION_TIMED_OUT:
+            case THROTTLED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /** The service could not be reached, as opposed to answering with an error. */
+    public static boolean isConnectivity(int statusCode) {
+        return statusCode == NETWORK_ERROR || statusCode == TIMEOUT || statusCode == RECONNECTION_TIMED_OUT;
+    }
+}
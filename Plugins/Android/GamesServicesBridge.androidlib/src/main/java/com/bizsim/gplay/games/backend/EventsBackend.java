@@ -0,0 +1,35 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+import java.util.List;
+
+/** EventsClient. Increments are fire-and-forget, as in the SDK. */
+public interface EventsBackend {
+    void increment(String eventId, int steps);
+
+    void load(boolean forceReload, BackendCallback<List<EventData>> callback);
+
+    void loadByIds(boolean forceReload, String[] eventIds, BackendCallback<List<EventData>> callback);
+
+    default void warmUp() { }
+
+    final class EventData {
+        public final String eventId;
+        public final String name;
+        public final String description;
+        public final String imageUri;
+        public final boolean visible;
+        public final long value;
+
+        public EventData(String eventId, String name, String description, String imageUri,
+                         boolean visible, long value) {
+            this.eventId = eventId;
+            this.name = name;
+            this.description = description;
+            this.imageUri = imageUri;
+            this.visible = visible;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+/**
+ * The Play Games services the bridges talk to. Everything in this package is plain Java, so
+ * bridge logic can run against the test fixtures' {@code backend.fake.FakeGamesBackend} on a
+ * desktop JVM.
+ *
+ * Implementations create each service on first access.
+ */
+public interface GamesBackend {
+    SignInBackend signIn();
+    AchievementsBackend achievements();
+    LeaderboardsBackend leaderboards();
+    SnapshotsBackend snapshots();
+    EventsBackend events();
+    PlayerStatsBackend playerStats();
+}
@@ -0,0 +1,50 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+import java.util.List;
+
+/** LeaderboardsClient. Score submission is fire-and-forget, as in the SDK. */
+public interface LeaderboardsBackend {
+    /** @param scoreTag optional tag; null or empty submits without one */
+    void submitScore(String leaderboardId, long score, String scoreTag);
+
+    /** Submission confirmed by the server. Unlike {@link #submitScore}, fails while offline. */
+    void submitScoreImmediate(String leaderboardId, long score, String scoreTag, BackendCallback<Void> callback);
+
+    void loadTopScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                       BackendCallback<List<ScoreData>> callback);
+
+    void loadPlayerCenteredScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                                  BackendCallback<List<ScoreData>> callback);
+
+    /** Delivers the platform intent for one leaderboard's UI, or null when there is none. */
+    void getLeaderboardIntent(String leaderboardId, BackendCallback<Object> callback);
+
+    void getAllLeaderboardsIntent(BackendCallback<Object> callback);
+
+    default void warmUp() { }
+
+    final class ScoreData {
+        public final String playerId;
+        public final String displayName;
+        public final long rawScore;
+        public final String displayScore;
+        public final long rank;
+        public final String scoreTag;
+        public final long timestampMillis;
+        public final String avatarUri;
+
+        public ScoreData(String playerId, String displayName, long rawScore, String displayScore, long rank,
+                         String scoreTag, long timestampMillis, String avatarUri) {
+            this.playerId = playerId;
+            this.displayName = displayName;
+            this.rawScore = rawScore;
+            this.displayScore = displayScore;
+            this.rank = rank;
+            this.scoreTag = scoreTag;
+            this.timestampMillis = timestampMillis;
+            this.avatarUri = avatarUri;
+        }
+    }
+}
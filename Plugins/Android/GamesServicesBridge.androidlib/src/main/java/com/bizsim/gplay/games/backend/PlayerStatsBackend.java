@@ -0,0 +1,35 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+/** PlayerStatsClient. */
+public interface PlayerStatsBackend {
+    /** Delivers null when the SDK has no stats for the player. */
+    void loadPlayerStats(boolean forceReload, BackendCallback<StatsData> callback);
+
+    default void warmUp() { }
+
+    final class StatsData {
+        public final float averageSessionLength;
+        public final int daysSinceLastPlayed;
+        public final int numberOfPurchases;
+        public final int numberOfSessions;
+        public final float sessionPercentile;
+        public final float spendPercentile;
+        public final float churnProbability;
+        public final float highSpenderProbability;
+
+        public StatsData(float averageSessionLength, int daysSinceLastPlayed, int numberOfPurchases,
+                         int numberOfSessions, float sessionPercentile, float spendPercentile,
+                         float churnProbability, float highSpenderProbability) {
+            this.averageSessionLength = averageSessionLength;
+            this.daysSinceLastPlayed = daysSinceLastPlayed;
+            this.numberOfPurchases = numberOfPurchases;
+            this.numberOfSessions = numberOfSessions;
+            this.sessionPercentile = sessionPercentile;
+            this.spendPercentile = spendPercentile;
+            this.churnProbability = churnProbability;
+            this.highSpenderProbability = highSpenderProbability;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+import java.util.List;
+
+/** GamesSignInClient and PlayersClient. */
+public interface SignInBackend {
+    /** Delivers true when the player is authenticated. */
+    void signIn(BackendCallback<Boolean> callback);
+
+    void loadCurrentPlayer(BackendCallback<PlayerProfile> callback);
+
+    /**
+     * @param scopes scope names (EMAIL, PROFILE, OPEN_ID), or null for the scope-less request
+     */
+    void requestServerSideAccess(String serverClientId, boolean forceRefresh, List<String> scopes,
+                                 BackendCallback<ServerAccess> callback);
+
+    /** Creates the players client ahead of the first sign-in. */
+    default void warmUp() { }
+
+    final class PlayerProfile {
+        public final String playerId;
+        public final String displayName;
+        public final String avatarUri;
+
+        public PlayerProfile(String playerId, String displayName, String avatarUri) {
+            this.playerId = playerId;
+            this.displayName = displayName;
+            this.avatarUri = avatarUri;
+        }
+    }
+
+    final class ServerAccess {
+        public final String authCode;
+        public final List<String> grantedScopes;
+
+        public ServerAccess(String authCode, List<String> grantedScopes) {
+            this.authCode = authCode;
+            this.grantedScopes = grantedScopes;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/** SnapshotsClient, always opened with the manual conflict policy. */
+public interface SnapshotsBackend {
+    void open(String filename, boolean createIfNotFound, BackendCallback<OpenResult> callback);
+
+    /**
+     * Commits the snapshot's contents with the metadata change. May be called off the main
+     * thread; any cover image is decoded on the calling thread.
+     */
+    void commitAndClose(OpenSnapshot snapshot, MetadataChange change, BackendCallback<SnapshotMeta> callback);
+
+    /** Closes an opened snapshot without committing it, releasing its contents. */
+    void discard(OpenSnapshot snapshot);
+
+    /** Metadata of every snapshot the player has, without opening any of them. */
+    void loadMetadata(boolean forceReload, BackendCallback<List<SnapshotMeta>> callback);
+
+    /** Delivers the deleted snapshot's ID. */
+    void delete(OpenSnapshot snapshot, BackendCallback<String> callback);
+
+    /** Resolves with one of the conflict's two snapshots. The result may conflict again. */
+    void resolveConflict(String conflictId, OpenSnapshot resolved, BackendCallback<OpenResult> callback);
+
+    /** Delivers the platform intent for the saved games UI, or null when there is none. */
+    void getSelectSnapshotIntent(String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots,
+                                 BackendCallback<Object> callback);
+
+    default void warmUp() { }
+
+    /** An opened snapshot. Contents I/O blocks and belongs on a background thread. */
+    interface OpenSnapshot {
+        SnapshotMeta getMetadata();
+        byte[] readFully() throws IOException;
+        void writeBytes(byte[] data) throws IOException;
+
+        /**
+         * Empties the contents and returns a stream that writes them from the start. Closing the
+         * stream does not commit; the snapshot stays open for {@code commitAndClose} or
+         * {@code discard}.
+         */
+        OutputStream openWriter() throws IOException;
+    }
+
+    final class SnapshotMeta {
+        public final String uniqueName;
+        public final long lastModifiedTimestamp;
+        public final long playedTime;
+        public final String description;
+        public final String coverImageUri;
+
+        public SnapshotMeta(String uniqueName, long lastModifiedTimestamp, long playedTime,
+                            String description, String coverImageUri) {
+            this.uniqueName = uniqueName;
+            this.lastModifiedTimestamp = lastModifiedTimestamp;
+            this.playedTime = playedTime;
+            this.description = description;
+            this.coverImageUri = coverImageUri;
+        }
+    }
+
+    /** Server and local versions of a snapshot that changed on two devices. */
+    final class Conflict {
+        public final String conflictId;
+        public final OpenSnapshot server;
+        public final OpenSnapshot local;
+
+        public Conflict(String conflictId, OpenSnapshot server, OpenSnapshot local) {
+            this.conflictId = conflictId;
+            this.server = server;
+            this.local = local;
+        }
+    }
+
+    /** Either an opened snapshot or a conflict. */
+    final class OpenResult {
+        public final OpenSnapshot snapshot;
+        public final Conflict conflict;
+
+        private OpenResult(OpenSnapshot snapshot, Conflict conflict) {
+            this.snapshot = snapshot;
+            this.conflict = conflict;
+        }
+
+        public static OpenResult opened(OpenSnapshot snapshot) {
+            return new OpenResult(snapshot, null);
+        }
+
+        public static OpenResult conflict(Conflict conflict) {
+            return new OpenResult(null, conflict);
+        }
+
+        public boolean isConflict() {
+            return conflict != null;
+        }
+    }
+
+    final class MetadataChange {
+        /** Null or empty leaves the description unchanged. */
+        public final String description;
+        public final long playedTimeMillis;
+        /** Encoded image, or null for none. */
+        public final byte[] coverImage;
+
+        public MetadataChange(String description, long playedTimeMillis, byte[] coverImage) {
+            this.description = description;
+            this.playedTimeMillis = playedTimeMillis;
+            this.coverImage = coverImage;
+        }
+    }
+}
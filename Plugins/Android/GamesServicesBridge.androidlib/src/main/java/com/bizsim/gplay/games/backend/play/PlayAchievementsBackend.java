@@ -0,0 +1,95 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.backend.AchievementsBackend;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.google.android.gms.games.AchievementsClient;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.achievement.Achievement;
+import com.google.android.gms.games.achievement.AchievementBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class PlayAchievementsBackend implements AchievementsBackend {
+    private final Activity activity;
+    private final GamesInitializer.Lazy<AchievementsClient> client;
+
+    PlayAchievementsBackend(Activity activity) {
+        this.activity = activity;
+        this.client = GamesInitializer.lazyClient(activity, "achievements.client",
+                () -> PlayGames.getAchievementsClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        client.warmUp();
+    }
+
+    @Override
+    public void unlock(String achievementId) {
+        client.get().unlock(achievementId);
+    }
+
+    @Override
+    public void increment(String achievementId, int steps) {
+        client.get().increment(achievementId, steps);
+    }
+
+    @Override
+    public void reveal(String achievementId) {
+        client.get().reveal(achievementId);
+    }
+
+    @Override
+    public void unlockImmediate(String achievementId, BackendCallback<Void> callback) {
+        PlayGamesBackend.deliver(activity, client.get().unlockImmediate(achievementId), ignored -> null, callback);
+    }
+
+    @Override
+    public void incrementImmediate(String achievementId, int steps, BackendCallback<Boolean> callback) {
+        PlayGamesBackend.deliver(activity, client.get().incrementImmediate(achievementId, steps),
+                unlocked -> unlocked != null && unlocked, callback);
+    }
+
+    @Override
+    public void load(boolean forceReload, BackendCallback<List<AchievementData>> callback) {
+        PlayGamesBackend.deliverDecoded(client.get().load(forceReload), annotatedData -> {
+            AchievementBuffer buffer = annotatedData.get();
+            try {
+                List<AchievementData> achievements = new ArrayList<>(buffer.getCount());
+                for (int i = 0; i < buffer.getCount(); i++) {
+                    achievements.add(toData(buffer.get(i)));
+                }
+                return achievements;
+            } finally {
+                buffer.release();
+            }
+        }, callback);
+    }
+
+    @Override
+    public void getAchievementsIntent(BackendCallback<Object> callback) {
+        PlayGamesBackend.deliver(activity, client.get().getAchievementsIntent(), intent -> intent, callback);
+    }
+
+    private static AchievementData toData(Achievement achievement) {
+        boolean incremental = achievement.getType() == Achievement.TYPE_INCREMENTAL;
+        return new AchievementData(
+                achievement.getAchievementId(),
+                achievement.getName(),
+                achievement.getDescription(),
+                achievement.getState(),
+                incremental ? AchievementData.TYPE_INCREMENTAL : AchievementData.TYPE_STANDARD,
+                incremental ? achievement.getCurrentSteps() : 0,
+                incremental ? achievement.getTotalSteps() : 0,
+                achievement.getXpValue(),
+                achievement.getLastUpdatedTimestamp(),
+                PlayGamesBackend.uriString(achievement.getRevealedImageUri()),
+                PlayGamesBackend.uriString(achievement.getUnlockedImageUri()));
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.EventsBackend;
+import com.google.android.gms.games.AnnotatedData;
+import com.google.android.gms.games.EventsClient;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.event.Event;
+import com.google.android.gms.games.event.EventBuffer;
+import com.google.android.gms.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class PlayEventsBackend implements EventsBackend {
+    private final Activity activity;
+    private final GamesInitializer.Lazy<EventsClient> client;
+
+    PlayEventsBackend(Activity activity) {
+        this.activity = activity;
+        this.client = GamesInitializer.lazyClient(activity, "events.client",
+                () -> PlayGames.getEventsClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        client.warmUp();
+    }
+
+    @Override
+    public void increment(String eventId, int steps) {
+        client.get().increment(eventId, steps);
+    }
+
+    @Override
+    public void load(boolean forceReload, BackendCallback<List<EventData>> callback) {
+        deliverEvents(client.get().load(forceReload), callback);
+    }
+
+    @Override
+    public void loadByIds(boolean forceReload, String[] eventIds, BackendCallback<List<EventData>> callback) {
+        deliverEvents(client.get().loadByIds(forceReload, eventIds), callback);
+    }
+
+    private void deliverEvents(Task<AnnotatedData<EventBuffer>> task, BackendCallback<List<EventData>> callback) {
+        PlayGamesBackend.deliverDecoded(task, annotatedData -> {
+            EventBuffer buffer = annotatedData.get();
+            try {
+                List<EventData> events = new ArrayList<>(buffer.getCount());
+                for (int i = 0; i < buffer.getCount(); i++) {
+                    events.add(toData(buffer.get(i)));
+                }
+                return events;
+            } finally {
+                buffer.release();
+            }
+        }, callback);
+    }
+
+    private static EventData toData(Event event) {
+        return new EventData(
+                event.getEventId(),
+                event.getName(),
+                event.getDescription(),
+                PlayGamesBackend.uriString(event.getIconImageUri()),
+                event.isVisible(),
+                event.getValue());
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+import android.net.Uri;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.EventsBackend;
+import com.bizsim.gplay.games.backend.GamesBackend;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend;
+import com.bizsim.gplay.games.backend.SignInBackend;
+import com.bizsim.gplay.games.backend.SnapshotsBackend;
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.tasks.Task;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link GamesBackend} over the real Play Games v2 clients. Clients keep their
+ * GamesInitializer stage names and are created on first use; results are delivered on the
+ * activity's main thread, except buffer loads (achievements, scores, events), which are walked
+ * and delivered on a background decode thread.
+ */
+public final class PlayGamesBackend implements GamesBackend {
+    private static final ExecutorService decoder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-Decode");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Activity activity;
+    private SignInBackend signIn;
+    private AchievementsBackend achievements;
+    private LeaderboardsBackend leaderboards;
+    private SnapshotsBackend snapshots;
+    private EventsBackend events;
+    private PlayerStatsBackend playerStats;
+
+    public PlayGamesBackend(Activity activity) {
+        this.activity = activity;
+    }
+
+    public Activity getActivity() {
+        return activity;
+    }
+
+    @Override
+    public synchronized SignInBackend signIn() {
+        if (signIn == null) signIn = new PlaySignInBackend(activity);
+        return signIn;
+    }
+
+    @Override
+    public synchronized AchievementsBackend achievements() {
+        if (achievements == null) achievements = new PlayAchievementsBackend(activity);
+        return achievements;
+    }
+
+    @Override
+    public synchronized LeaderboardsBackend leaderboards() {
+        if (leaderboards == null) leaderboards = new PlayLeaderboardsBackend(activity);
+        return leaderboards;
+    }
+
+    @Override
+    public synchronized SnapshotsBackend snapshots() {
+        if (snapshots == null) snapshots = new PlaySnapshotsBackend(activity);
+        return snapshots;
+    }
+
+    @Override
+    public synchronized EventsBackend events() {
+        if (events == null) events = new PlayEventsBackend(activity);
+        return events;
+    }
+
+    @Override
+    public synchronized PlayerStatsBackend playerStats() {
+        if (playerStats == null) playerStats = new PlayPlayerStatsBackend(activity);
+        return playerStats;
+    }
+
+    interface Mapper<T, R> {
+        R map(T value) throws Exception;
+    }
+
+    /**
+     * Completes the callback on the main thread with the mapped task result. A mapping
+     * failure is reported like a task failure. Activity-scoped listeners attach a lifecycle
+     * fragment, so they are registered from the main thread even when the bridge was called
+     * from a worker thread.
+     */
+    static <T, R> void deliver(Activity activity, Task<T> task, Mapper<T, R> mapper, BackendCallback<R> callback) {
+        activity.runOnUiThread(() -> task.addOnSuccessListener(activity, value -> {
+                    R mapped;
+                    try {
+                        mapped = mapper.map(value);
+                    } catch (Exception e) {
+                        callback.onFailure(wrap(e));
+                        return;
+                    }
+                    callback.onSuccess(mapped);
+                })
+                .addOnFailureListener(activity, e -> callback.onFailure(wrap(e))));
+    }
+
+    /**
+     * Like {@link #deliver}, but maps the result and completes the callback on the decode
+     * thread. Used for buffer results, so walking and releasing the buffer and the bridge's JSON
+     * encoding stay off the main thread; only the bridge's final callback reaches Unity, which
+     * hands it to its main thread itself. One thread keeps results in completion order.
+     */
+    static <T, R> void deliverDecoded(Task<T> task, Mapper<T, R> mapper, BackendCallback<R> callback) {
+        task.addOnSuccessListener(decoder, value -> {
+                    R mapped;
+                    try {
+                        mapped = mapper.map(value);
+                    } catch (Exception e) {
+                        callback.onFailure(wrap(e));
+                        return;
+                    }
+                    callback.onSuccess(mapped);
+                })
+                .addOnFailureListener(decoder, e -> callback.onFailure(wrap(e)));
+    }
+
+    static BackendException wrap(Exception e) {
+        if (e instanceof BackendException) return (BackendException) e;
+        int statusCode = e instanceof ApiException
+                ? ((ApiException) e).getStatusCode()
+                : BackendException.ERROR;
+        return new BackendException(statusCode, e.getMessage(), e);
+    }
+
+    static String uriString(Uri uri) {
+        return uri != null ? uri.toString() : null;
+    }
+}
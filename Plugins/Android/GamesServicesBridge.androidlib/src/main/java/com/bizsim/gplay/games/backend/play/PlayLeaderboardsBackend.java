@@ -0,0 +1,104 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend;
+import com.google.android.gms.games.AnnotatedData;
+import com.google.android.gms.games.LeaderboardsClient;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.leaderboard.LeaderboardScore;
+import com.google.android.gms.games.leaderboard.LeaderboardScoreBuffer;
+import com.google.android.gms.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class PlayLeaderboardsBackend implements LeaderboardsBackend {
+    private final Activity activity;
+    private final GamesInitializer.Lazy<LeaderboardsClient> client;
+
+    PlayLeaderboardsBackend(Activity activity) {
+        this.activity = activity;
+        this.client = GamesInitializer.lazyClient(activity, "leaderboards.client",
+                () -> PlayGames.getLeaderboardsClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        client.warmUp();
+    }
+
+    @Override
+    public void submitScore(String leaderboardId, long score, String scoreTag) {
+        if (scoreTag != null && !scoreTag.isEmpty()) {
+            client.get().submitScore(leaderboardId, score, scoreTag);
+        } else {
+            client.get().submitScore(leaderboardId, score);
+        }
+    }
+
+    @Override
+    public void submitScoreImmediate(String leaderboardId, long score, String scoreTag, BackendCallback<Void> callback) {
+        Task<?> task = scoreTag != null && !scoreTag.isEmpty()
+                ? client.get().submitScoreImmediate(leaderboardId, score, scoreTag)
+                : client.get().submitScoreImmediate(leaderboardId, score);
+        PlayGamesBackend.deliver(activity, task, ignored -> null, callback);
+    }
+
+    @Override
+    public void loadTopScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                              BackendCallback<List<ScoreData>> callback) {
+        deliverScores(client.get().loadTopScores(leaderboardId, timeSpan, collection, maxResults), callback);
+    }
+
+    @Override
+    public void loadPlayerCenteredScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                                         BackendCallback<List<ScoreData>> callback) {
+        deliverScores(client.get().loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults), callback);
+    }
+
+    @Override
+    public void getLeaderboardIntent(String leaderboardId, BackendCallback<Object> callback) {
+        PlayGamesBackend.deliver(activity, client.get().getLeaderboardIntent(leaderboardId), intent -> intent, callback);
+    }
+
+    @Override
+    public void getAllLeaderboardsIntent(BackendCallback<Object> callback) {
+        PlayGamesBackend.deliver(activity, client.get().getAllLeaderboardsIntent(), intent -> intent, callback);
+    }
+
+    private void deliverScores(Task<AnnotatedData<LeaderboardsClient.LeaderboardScores>> task,
+                               BackendCallback<List<ScoreData>> callback) {
+        PlayGamesBackend.deliverDecoded(task, annotatedData -> {
+            LeaderboardsClient.LeaderboardScores scores = annotatedData.get();
+            try {
+                LeaderboardScoreBuffer buffer = scores.getScores();
+                List<ScoreData> result = new ArrayList<>(buffer.getCount());
+                for (int i = 0; i < buffer.getCount(); i++) {
+                    result.add(toData(buffer.get(i)));
+                }
+                return result;
+            } finally {
+                scores.release();
+            }
+        }, callback);
+    }
+
+    private static ScoreData toData(LeaderboardScore score) {
+        Player holder = score.getScoreHolder();
+        return new ScoreData(
+                holder != null ? holder.getPlayerId() : null,
+                holder != null ? holder.getDisplayName() : null,
+                score.getRawScore(),
+                score.getDisplayScore(),
+                score.getRank(),
+                score.getScoreTag(),
+                score.getTimestampMillis(),
+                holder != null ? PlayGamesBackend.uriString(holder.getHiResImageUri()) : null);
+    }
+}
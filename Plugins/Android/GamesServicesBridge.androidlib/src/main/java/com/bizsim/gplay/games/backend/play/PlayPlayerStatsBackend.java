@@ -0,0 +1,45 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.PlayerStatsClient;
+import com.google.android.gms.games.stats.PlayerStats;
+
+final class PlayPlayerStatsBackend implements PlayerStatsBackend {
+    private final Activity activity;
+    private final GamesInitializer.Lazy<PlayerStatsClient> client;
+
+    PlayPlayerStatsBackend(Activity activity) {
+        this.activity = activity;
+        this.client = GamesInitializer.lazyClient(activity, "stats.client",
+                () -> PlayGames.getPlayerStatsClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        client.warmUp();
+    }
+
+    @Override
+    public void loadPlayerStats(boolean forceReload, BackendCallback<StatsData> callback) {
+        PlayGamesBackend.deliver(activity, client.get().loadPlayerStats(forceReload), annotatedData -> {
+            PlayerStats stats = annotatedData.get();
+            if (stats == null) return null;
+            return new StatsData(
+                    stats.getAverageSessionLength(),
+                    stats.getDaysSinceLastPlayed(),
+                    stats.getNumberOfPurchases(),
+                    stats.getNumberOfSessions(),
+                    stats.getSessionPercentile(),
+                    stats.getSpendPercentile(),
+                    stats.getChurnProbability(),
+                    stats.getHighSpenderProbability());
+        }, callback);
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.SignInBackend;
+import com.google.android.gms.games.GamesSignInClient;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.Player;
+import com.google.android.gms.games.PlayersClient;
+import com.google.android.gms.games.gamessignin.AuthScope;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class PlaySignInBackend implements SignInBackend {
+    private static final Map<String, AuthScope> SCOPES_BY_NAME;
+    private static final Map<AuthScope, String> NAMES_BY_SCOPE;
+
+    static {
+        Map<String, AuthScope> byName = new LinkedHashMap<>();
+        byName.put("EMAIL", AuthScope.EMAIL);
+        byName.put("PROFILE", AuthScope.PROFILE);
+        byName.put("OPEN_ID", AuthScope.OPEN_ID);
+        SCOPES_BY_NAME = Collections.unmodifiableMap(byName);
+
+        Map<AuthScope, String> byScope = new HashMap<>();
+        for (Map.Entry<String, AuthScope> entry : byName.entrySet()) {
+            byScope.put(entry.getValue(), entry.getKey());
+        }
+        NAMES_BY_SCOPE = Collections.unmodifiableMap(byScope);
+    }
+
+    private final Activity activity;
+    private final GamesSignInClient signInClient;
+    private final GamesInitializer.Lazy<PlayersClient> playersClient;
+
+    PlaySignInBackend(Activity activity) {
+        this.activity = activity;
+        GamesInitializer.initializeSdk(activity);
+        this.signInClient = GamesInitializer.timed("auth.client", () -> PlayGames.getGamesSignInClient(activity));
+        this.playersClient = GamesInitializer.lazyClient(activity, "auth.playersClient",
+                () -> PlayGames.getPlayersClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        playersClient.warmUp();
+    }
+
+    @Override
+    public void signIn(BackendCallback<Boolean> callback) {
+        PlayGamesBackend.deliver(activity, signInClient.signIn(), result -> result.isAuthenticated(), callback);
+    }
+
+    @Override
+    public void loadCurrentPlayer(BackendCallback<PlayerProfile> callback) {
+        PlayGamesBackend.deliver(activity, playersClient.get().getCurrentPlayer(),
+                PlaySignInBackend::toProfile, callback);
+    }
+
+    @Override
+    public void requestServerSideAccess(String serverClientId, boolean forceRefresh, List<String> scopes,
+                                        BackendCallback<ServerAccess> callback) {
+        if (scopes == null) {
+            PlayGamesBackend.deliver(activity, signInClient.requestServerSideAccess(serverClientId, forceRefresh),
+                    authCode -> new ServerAccess(authCode, Collections.<String>emptyList()), callback);
+            return;
+        }
+
+        List<AuthScope> authScopes = new ArrayList<>(scopes.size());
+        for (String name : scopes) {
+            AuthScope scope = SCOPES_BY_NAME.get(name);
+            if (scope != null) authScopes.add(scope);
+        }
+
+        PlayGamesBackend.deliver(activity,
+                signInClient.requestServerSideAccess(serverClientId, forceRefresh, authScopes),
+                response -> new ServerAccess(response.getAuthCode(), scopeNames(response.getGrantedScopes())),
+                callback);
+    }
+
+    private static PlayerProfile toProfile(Player player) {
+        if (player == null) return null;
+        return new PlayerProfile(player.getPlayerId(), player.getDisplayName(),
+                PlayGamesBackend.uriString(player.getHiResImageUri()));
+    }
+
+    private static List<String> scopeNames(List<AuthScope> scopes) {
+        List<String> names = new ArrayList<>();
+        if (scopes != null) {
+            for (AuthScope scope : scopes) {
+                String name = NAMES_BY_SCOPE.get(scope);
+                if (name != null) names.add(name);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,230 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.play;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.SnapshotsBackend;
+import com.google.android.gms.games.PlayGames;
+import com.google.android.gms.games.SnapshotsClient;
+import com.google.android.gms.games.snapshot.Snapshot;
+import com.google.android.gms.games.snapshot.SnapshotMetadata;
+import com.google.android.gms.games.snapshot.SnapshotMetadataBuffer;
+import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
+
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+final class PlaySnapshotsBackend implements SnapshotsBackend {
+    private static final String TAG = "BizSimGames.CloudSave";
+    private static final int CONFLICT_RESOLUTION_POLICY_MANUAL = -1;
+    private static final int MAX_COVER_WIDTH = 640;
+    private static final int MAX_COVER_HEIGHT = 360;
+
+    private final Activity activity;
+    private final GamesInitializer.Lazy<SnapshotsClient> client;
+
+    PlaySnapshotsBackend(Activity activity) {
+        this.activity = activity;
+        this.client = GamesInitializer.lazyClient(activity, "cloudsave.client",
+                () -> PlayGames.getSnapshotsClient(activity));
+    }
+
+    @Override
+    public void warmUp() {
+        client.warmUp();
+    }
+
+    @Override
+    public void open(String filename, boolean createIfNotFound, BackendCallback<OpenResult> callback) {
+        PlayGamesBackend.deliver(activity,
+                client.get().open(filename, createIfNotFound, CONFLICT_RESOLUTION_POLICY_MANUAL),
+                PlaySnapshotsBackend::toOpenResult, callback);
+    }
+
+    @Override
+    public void commitAndClose(OpenSnapshot snapshot, MetadataChange change, BackendCallback<SnapshotMeta> callback) {
+        SnapshotMetadataChange.Builder metaBuilder = new SnapshotMetadataChange.Builder()
+                .setPlayedTimeMillis(change.playedTimeMillis);
+
+        if (change.description != null && !change.description.isEmpty()) {
+            metaBuilder.setDescription(change.description);
+        }
+
+        // Under pressure the cover is decoded at half size; at CRITICAL it is left out of the
+        // change, which keeps the one already stored.
+        byte[] coverImage = change.coverImage;
+        MemoryGovernor.Pressure pressure = MemoryGovernor.pressure();
+        if (coverImage != null && coverImage.length > 0 && pressure == MemoryGovernor.Pressure.CRITICAL) {
+            Log.w(TAG, "Cover image skipped under critical memory pressure");
+        } else if (coverImage != null && coverImage.length > 0) {
+            try {
+                Bitmap bitmap = decodeCoverImageSafe(coverImage,
+                        pressure.compareTo(MemoryGovernor.Pressure.LOW) >= 0 ? 2 : 1);
+                if (bitmap != null) {
+                    metaBuilder.setCoverImage(bitmap);
+                }
+            } catch (OutOfMemoryError e) {
+                Log.e(TAG,
+                    "Cover image decode OOM (" + coverImage.length + " bytes). " +
+                    "Use max 640x360 resolution. Save continues without cover image.", e);
+            }
+        }
+
+        PlayGamesBackend.deliver(activity,
+                client.get().commitAndClose(unwrap(snapshot), metaBuilder.build()),
+                PlaySnapshotsBackend::toMeta, callback);
+    }
+
+    @Override
+    public void discard(OpenSnapshot snapshot) {
+        client.get().discardAndClose(unwrap(snapshot));
+    }
+
+    @Override
+    public void loadMetadata(boolean forceReload, BackendCallback<List<SnapshotMeta>> callback) {
+        PlayGamesBackend.deliverDecoded(client.get().load(forceReload), annotatedData -> {
+            SnapshotMetadataBuffer buffer = annotatedData.get();
+            try {
+                List<SnapshotMeta> list = new ArrayList<>(buffer.getCount());
+                for (int i = 0; i < buffer.getCount(); i++) {
+                    list.add(toMeta(buffer.get(i)));
+                }
+                return list;
+            } finally {
+                buffer.release();
+            }
+        }, callback);
+    }
+
+    @Override
+    public void delete(OpenSnapshot snapshot, BackendCallback<String> callback) {
+        PlayGamesBackend.deliver(activity, client.get().delete(unwrap(snapshot).getMetadata()),
+                snapshotId -> snapshotId, callback);
+    }
+
+    @Override
+    public void resolveConflict(String conflictId, OpenSnapshot resolved, BackendCallback<OpenResult> callback) {
+        PlayGamesBackend.deliver(activity, client.get().resolveConflict(conflictId, unwrap(resolved)),
+                PlaySnapshotsBackend::toOpenResult, callback);
+    }
+
+    @Override
+    public void getSelectSnapshotIntent(String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots,
+                                        BackendCallback<Object> callback) {
+        PlayGamesBackend.deliver(activity,
+                client.get().getSelectSnapshotIntent(title, allowAddButton, allowDelete, maxSnapshots),
+                intent -> intent, callback);
+    }
+
+    private static OpenResult toOpenResult(SnapshotsClient.DataOrConflict<Snapshot> dataOrConflict) {
+        if (dataOrConflict.isConflict()) {
+            SnapshotsClient.SnapshotConflict conflict = dataOrConflict.getConflict();
+            return OpenResult.conflict(new Conflict(conflict.getConflictId(),
+                    new PlaySnapshot(conflict.getSnapshot()),
+                    new PlaySnapshot(conflict.getConflictingSnapshot())));
+        }
+        return OpenResult.opened(new PlaySnapshot(dataOrConflict.getData()));
+    }
+
+    private static SnapshotMeta toMeta(SnapshotMetadata metadata) {
+        return new SnapshotMeta(
+                metadata.getUniqueName(),
+                metadata.getLastModifiedTimestamp(),
+                metadata.getPlayedTime(),
+                metadata.getDescription(),
+                PlayGamesBackend.uriString(metadata.getCoverImageUri()));
+    }
+
+    private static Snapshot unwrap(OpenSnapshot snapshot) {
+        return ((PlaySnapshot) snapshot).snapshot;
+    }
+
+    /** Decodes within the cover bounds divided by {@code shrink}. */
+    private static Bitmap decodeCoverImageSafe(byte[] coverImage, int shrink) {
+        int maxWidth = MAX_COVER_WIDTH / shrink;
+        int maxHeight = MAX_COVER_HEIGHT / shrink;
+        BitmapFactory.Options boundsOptions = new BitmapFactory.Options();
+        boundsOptions.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(coverImage, 0, coverImage.length, boundsOptions);
+
+        int width = boundsOptions.outWidth;
+        int height = boundsOptions.outHeight;
+
+        if (width <= 0 || height <= 0) {
+            Log.e(TAG, "Cover image has invalid dimensions (" + width + "x" + height + ")");
+            return null;
+        }
+
+        int inSampleSize = 1;
+        if (width > maxWidth || height > maxHeight) {
+            int halfWidth = width / 2;
+            int halfHeight = height / 2;
+            while ((halfWidth / inSampleSize) >= maxWidth
+                    && (halfHeight / inSampleSize) >= maxHeight) {
+                inSampleSize *= 2;
+            }
+            Log.w(TAG, "Cover image " + width + "x" + height +
+                    " exceeds " + maxWidth + "x" + maxHeight +
+                    ", downsampling with inSampleSize=" + inSampleSize);
+        }
+
+        BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+        decodeOptions.inSampleSize = inSampleSize;
+        return BitmapFactory.decodeByteArray(coverImage, 0, coverImage.length, decodeOptions);
+    }
+
+    private static final class PlaySnapshot implements OpenSnapshot {
+        final Snapshot snapshot;
+
+        PlaySnapshot(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public SnapshotMeta getMetadata() {
+            return toMeta(snapshot.getMetadata());
+        }
+
+        @Override
+        public byte[] readFully() throws IOException {
+            return snapshot.getSnapshotContents().readFully();
+        }
+
+        @Override
+        public void writeBytes(byte[] data) throws IOException {
+            if (!snapshot.getSnapshotContents().writeBytes(data)) {
+                throw new IOException("Snapshot contents rejected the write");
+            }
+        }
+
+        @Override
+        public OutputStream openWriter() throws IOException {
+            FileOutputStream out = new FileOutputStream(
+                    snapshot.getSnapshotContents().getParcelFileDescriptor().getFileDescriptor());
+            out.getChannel().truncate(0).position(0);
+            // The descriptor belongs to the snapshot contents, so closing only flushes.
+            return new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+    }
+}
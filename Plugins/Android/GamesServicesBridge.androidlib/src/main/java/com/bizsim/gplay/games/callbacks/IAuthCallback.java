@@ -26,19 +26,34 @@ public interface IAuthCallback {
     void onAuthFailure(int errorCode, String errorMessage);
 
     /**
-     * Called when server-side access token is retrieved.
-     * @param serverAuthCode One-time auth code for backend server exchange
+     * Called immediately by an optimistic signIn() with the last verified identity.
+     * Confirmed by onAuthSuccess for the same player, or withdrawn by onProvisionalIdentityRevoked.
+     * @param playerId Cached player ID
+     * @param displayName Cached display name
+     * @param avatarUri Cached avatar URI (nullable)
      */
-    void onServerSideAccessSuccess(String serverAuthCode);
+    void onProvisionalIdentity(String playerId, String displayName, String avatarUri);
 
     /**
-     * Called when server-side access request fails.
-     * @param errorCode Error code
-     * @param errorMessage Human-readable error message
+     * Called when a provisional identity turns out to be wrong (sign-in failed or another player signed in).
+     * @param errorCode Error code (same values as onAuthFailure)
+     * @param errorMessage Human-readable reason
      */
-    void onServerSideAccessFailure(int errorCode, String errorMessage);
+    void onProvisionalIdentityRevoked(int errorCode, String errorMessage);
 
-    void onServerSideAccessWithScopesSuccess(String authCode, String grantedScopesJson);
+    /**
+     * Called when a requestServerAuthCode() call completes.
+     * @param requestId ID returned by requestServerAuthCode()
+     * @param authCode One-time auth code for backend server exchange
+     * @param grantedScopesJson JSON array of granted scope names
+     */
+    void onServerAuthCodeReady(String requestId, String authCode, String grantedScopesJson);
 
-    void onServerSideAccessWithScopesFailure(int errorCode, String errorMessage);
+    /**
+     * Called when a requestServerAuthCode() call fails.
+     * @param requestId ID returned by requestServerAuthCode()
+     * @param errorCode Error code
+     * @param errorMessage Human-readable error message
+     */
+    void onServerAuthCodeFailed(String requestId, int errorCode, String errorMessage);
 }
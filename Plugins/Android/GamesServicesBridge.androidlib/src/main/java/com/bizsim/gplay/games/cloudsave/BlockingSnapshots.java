@@ -0,0 +1,133 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.RateGovernor;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.MetadataChange;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Blocking snapshot calls for multi-step work that already runs on a background thread (delta
+ * commits, mirror sync). Calls still go through {@link Resilience}; the caller waits for the
+ * answer. Backend callbacks never run on the cloud save IO or sync threads, so waiting there
+ * cannot deadlock. Never call from the main thread.
+ */
+final class BlockingSnapshots {
+    private static final String SERVICE = "cloudsave";
+    private static final BridgeMetrics.Operation OPEN = BridgeMetrics.operation("cloudsave.open");
+    private static final BridgeMetrics.Operation LIST = BridgeMetrics.operation("cloudsave.list");
+    private static final long WAIT_MS = 60_000;
+
+    final SnapshotsBackend backend;
+    private final RateGovernor.Priority priority;
+
+    BlockingSnapshots(SnapshotsBackend backend, RateGovernor.Priority priority) {
+        this.backend = backend;
+        this.priority = priority;
+    }
+
+    OpenResult open(String filename, boolean createIfNotFound) throws Exception {
+        return await(cb -> Resilience.retrying(SERVICE, priority, OPEN,
+                c -> backend.open(filename, createIfNotFound, c), cb), this::discard);
+    }
+
+    /** Opens a snapshot, or returns null when it does not exist. */
+    OpenResult openExisting(String filename) throws Exception {
+        try {
+            return open(filename, false);
+        } catch (BackendException e) {
+            if (e.getStatusCode() == BackendException.SNAPSHOT_NOT_FOUND) return null;
+            throw e;
+        }
+    }
+
+    SnapshotMeta commit(OpenSnapshot snapshot, MetadataChange change) throws Exception {
+        return BlockingSnapshots.<SnapshotMeta>await(cb -> Resilience.once(SERVICE, priority,
+                c -> backend.commitAndClose(snapshot, change, c), cb), null);
+    }
+
+    void delete(OpenSnapshot snapshot) throws Exception {
+        BlockingSnapshots.<String>await(cb -> Resilience.once(SERVICE, priority, c -> backend.delete(snapshot, c), cb), null);
+    }
+
+    OpenResult resolve(String conflictId, OpenSnapshot resolved) throws Exception {
+        return await(cb -> Resilience.once(SERVICE, priority, c -> backend.resolveConflict(conflictId, resolved, c), cb),
+                this::discard);
+    }
+
+    List<SnapshotMeta> list(boolean forceReload) throws Exception {
+        return await(cb -> Resilience.retrying(SERVICE, priority, LIST, c -> backend.loadMetadata(forceReload, c), cb), null);
+    }
+
+    void discard(OpenSnapshot snapshot) {
+        if (snapshot != null) backend.discard(snapshot);
+    }
+
+    /** Closes whatever an open or resolve answered with. */
+    private void discard(OpenResult result) {
+        if (result == null) return;
+        if (result.isConflict()) {
+            discard(result.conflict.local);
+            discard(result.conflict.server);
+        } else {
+            discard(result.snapshot);
+        }
+    }
+
+    private interface Call<T> {
+        void start(BackendCallback<T> callback);
+    }
+
+    /**
+     * Waits for a call's answer. Whichever comes first, the answer or the timeout, claims the
+     * call; a result that arrives after the wait gave up goes to {@code late} to be released.
+     */
+    private static <T> T await(Call<T> call, Consumer<T> late) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean claimed = new AtomicBoolean();
+        AtomicReference<T> value = new AtomicReference<>();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        call.start(new BackendCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                if (claimed.compareAndSet(false, true)) {
+                    value.set(result);
+                    done.countDown();
+                } else if (late != null) {
+                    late.accept(result);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (claimed.compareAndSet(false, true)) {
+                    error.set(e);
+                    done.countDown();
+                }
+            }
+        });
+        if (!done.await(WAIT_MS, TimeUnit.MILLISECONDS)) {
+            if (claimed.compareAndSet(false, true)) {
+                throw new BackendException(BackendException.TIMEOUT, "Snapshot service did not answer");
+            }
+            // The answer claimed the call just as the wait ran out; it is about to be set.
+            done.await();
+        }
+        if (error.get() != null) throw error.get();
+        return value.get();
+    }
+}
@@ -4,8 +4,6 @@ package com.bizsim.gplay.games.cloudsave;
 
 import android.app.Activity;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.Build;
 import android.util.Log;
 
@@ -14,417 +12,1062 @@ import androidx.activity.result.ActivityResult;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 
-import com.google.android.gms.games.PlayGames;
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.RateGovernor;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.Conflict;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.MetadataChange;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
 import com.google.android.gms.games.SnapshotsClient;
-import com.google.android.gms.games.snapshot.Snapshot;
 import com.google.android.gms.games.snapshot.SnapshotMetadata;
-import com.google.android.gms.games.snapshot.SnapshotMetadataChange;
 
-import org.json.JSONObject;
-
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 public class CloudSaveBridge {
     private static final String TAG = "BizSimGames.CloudSave";
-    private static final int CONFLICT_RESOLUTION_POLICY_MANUAL = -1;
+    private static final String SERVICE = "cloudsave";
+    private static final BridgeMetrics.Operation OPEN = BridgeMetrics.operation("cloudsave.open");
+    private static final BridgeMetrics.Operation READ = BridgeMetrics.operation("cloudsave.read");
+    private static final BridgeMetrics.Operation WRITE = BridgeMetrics.operation("cloudsave.write");
+    private static final BridgeMetrics.Operation COMMIT = BridgeMetrics.operation("cloudsave.commitAndClose");
+    private static final BridgeMetrics.Operation DELETE = BridgeMetrics.operation("cloudsave.delete");
+    private static final BridgeMetrics.Operation RESOLVE = BridgeMetrics.operation("cloudsave.resolveConflict");
+    private static final BridgeMetrics.Operation SHOW_UI = BridgeMetrics.operation("cloudsave.uiIntent");
+    private static final String NEW_SNAPSHOT = "__NEW__";
+    private static final long MIRROR_PUSH_DELAY_MS = 5_000;
 
     private final Activity activity;
-    private final SnapshotsClient snapshotsClient;
-    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(r -> {
+    private final SnapshotsBackend snapshots;
+    private final ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
         Thread t = new Thread(r, "BizSimCloudSave-IO");
         t.setDaemon(true);
         return t;
     });
-    private final ActivityResultLauncher<Intent> savedGamesLauncher;
-    private ICloudSaveCallback callback;
-    private ICloudSaveCallback savedGamesCallback;
+    private final SlotQueues slots = new SlotQueues(ioExecutor);
+    private final GamesInitializer.Lazy<ActivityResultLauncher<Intent>> savedGamesLauncher;
+    private volatile ICloudSaveCallback callback;
+    private final AtomicReference<SavedGamesRequest> savedGamesRequest = new AtomicReference<>();
+    private final Map<String, Conflict> conflicts = new ConcurrentHashMap<>();
+    private final Map<String, CommitSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong sessionCounter = new AtomicLong();
+    private final DeltaCommits deltas;
+    private final SnapshotMirror mirror;
+    private final MirrorSync mirrorSync;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
 
     public CloudSaveBridge(Activity activity) {
         this.activity = activity;
-        this.snapshotsClient = PlayGames.getSnapshotsClient(activity);
+        this.snapshots = GamesBackends.get(activity).snapshots();
+        this.deltas = new DeltaCommits(activity, new BlockingSnapshots(snapshots, RateGovernor.Priority.INTERACTIVE), slots);
+        this.mirror = new SnapshotMirror(activity);
+        this.mirrorSync = new MirrorSync(new BlockingSnapshots(snapshots, RateGovernor.Priority.BACKGROUND),
+                mirror, deltas, slots, new MirrorSync.Listener() {
+            @Override
+            public void onSynced(String requestId, String resultJson) {
+                postToMainThread(() -> {
+                    ICloudSaveCallback cb = callback;
+                    if (cb != null) {
+                        cb.onMirrorSynced(requestId, resultJson);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(String requestId, Exception e) {
+                postToMainThread(() -> sendFailure(requestId, "Mirror sync failed: ", e, null));
+            }
+        });
+        MemoryGovernor.install(activity);
 
-        this.savedGamesLauncher = ((ComponentActivity) activity)
-                .getActivityResultRegistry()
-                .register(
-                        "bizsim_saved_games",
-                        new ActivityResultContracts.StartActivityForResult(),
-                        this::handleSavedGamesResult
-                );
+        this.savedGamesLauncher = GamesInitializer.lazy("cloudsave.launcher", () ->
+                ((ComponentActivity) activity)
+                        .getActivityResultRegistry()
+                        .register(
+                                "bizsim_saved_games",
+                                new ActivityResultContracts.StartActivityForResult(),
+                                this::handleSavedGamesResult
+                        ));
 
-        Log.d(TAG, "CloudSaveBridge initialized with ActivityResultLauncher");
+        Log.d(TAG, "CloudSaveBridge initialized");
+    }
+
+    public void warmUp() {
+        snapshots.warmUp();
     }
 
     public void setCallback(ICloudSaveCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(ICloudSaveCallback.class, callback);
+    }
+
+    /** False for the companion snapshots delta commits keep next to a save slot. */
+    public static boolean isSaveSlot(String filename) {
+        return filename != null && filename.equals(DeltaCommits.ownerOf(filename));
+    }
+
+    /**
+     * Turns delta commits on for {@link #commitSnapshot}, allowing {@code maxChain} deltas
+     * between full bases, or off with 0. Reads rebuild delta saves whether or not this is on.
+     */
+    public void setDeltaCommits(int maxChain) {
+        deltas.setMaxChain(maxChain);
+        Log.d(TAG, maxChain > 0 ? "Delta commits on, up to " + maxChain + " deltas per base" : "Delta commits off");
+    }
+
+    /** Delta and base commit counts, bytes uploaded and bytes saved as JSON. */
+    public String getDeltaStats() {
+        return deltas.statsJson();
+    }
+
+    /**
+     * Loads a slot from the on-device mirror, answering with {@code onSnapshotLoaded} without a
+     * Play Games call, then syncs in the background. A slot not mirrored yet is loaded from the
+     * cloud as {@link #openAndRead} would, and the sync mirrors it for next time.
+     */
+    public void openFromMirror(final String requestId, String filename) {
+        Log.d(TAG, "Open snapshot from mirror: " + filename);
+        deadlines.begin(requestId);
+        io(filename, () -> {
+            if (!deadlines.isLive(requestId)) return;
+            SnapshotMirror.Entry entry = mirror.get(filename);
+            byte[] data = null;
+            String snapshotJson = null;
+            if (entry != null) {
+                long started = READ.start();
+                data = mirror.read(entry);
+                try {
+                    if (data != null) snapshotJson = BridgeJson.serializeSnapshot(entry.meta);
+                } catch (Exception e) {
+                    data = null;
+                }
+                if (data != null) {
+                    READ.success(started);
+                    READ.addBytes(data.length);
+                } else {
+                    READ.failure(started);
+                }
+            }
+            mirrorSync.syncSoon(0);
+
+            if (data == null) {
+                postToMainThread(() -> load(requestId, filename, false));
+                return;
+            }
+            final byte[] loaded = data;
+            final String json = snapshotJson;
+            postToMainThread(() -> {
+                ICloudSaveCallback cb = callback;
+                if (cb != null) {
+                    cb.onSnapshotLoaded(requestId, filename, json, loaded);
+                }
+            });
+        });
+    }
+
+    /**
+     * Saves to the on-device mirror and answers with {@code onMirrorSaved} once the save is on
+     * disk. The upload follows in a background sync a few seconds later, so a burst of saves is
+     * pushed once.
+     */
+    public void saveToMirror(final String requestId, String filename, byte[] data, String description, long playedTimeMillis) {
+        Log.d(TAG, "Save snapshot to mirror: " + filename + " (" + data.length + " bytes)");
+        deadlines.begin(requestId);
+        io(filename, () -> {
+            if (!deadlines.isLive(requestId)) return;
+            long started = WRITE.start();
+            mirror.putDirty(filename,
+                    new SnapshotMeta(filename, System.currentTimeMillis(), playedTimeMillis, description, null), data);
+            SnapshotMirror.Entry entry = mirror.get(filename);
+            if (entry == null || !entry.dirty || entry.fingerprint != SnapshotDelta.fingerprint(data)) {
+                WRITE.failure(started);
+                postToMainThread(() ->
+                    sendError(requestId, 100, "Mirror write failed", filename));
+                return;
+            }
+            WRITE.success(started);
+            WRITE.addBytes(data.length);
+            mirrorSync.syncSoon(MIRROR_PUSH_DELAY_MS);
+            postToMainThread(() -> {
+                ICloudSaveCallback cb = callback;
+                if (cb != null) {
+                    cb.onMirrorSaved(requestId, filename);
+                }
+            });
+        });
+    }
+
+    /**
+     * Syncs every slot between the mirror and the cloud now and answers with the outcome through
+     * {@code onMirrorSynced}. Background syncs report through the same callback with no request ID.
+     */
+    public void syncMirror(final String requestId) {
+        Log.d(TAG, "Sync snapshot mirror");
+        deadlines.begin(requestId);
+        mirrorSync.sync(requestId);
+    }
+
+    /**
+     * Settles a slot a sync reported as a conflict, keeping the save on this device
+     * ({@code keepMirror}) or the cloud's, and answers through {@code onMirrorSynced}.
+     */
+    public void resolveMirrorConflict(final String requestId, String filename, boolean keepMirror) {
+        Log.d(TAG, "Resolve mirror conflict for " + filename + ": keep " + (keepMirror ? "mirror" : "cloud"));
+        deadlines.begin(requestId);
+        mirrorSync.resolve(requestId, filename, keepMirror);
     }
 
-    public void openSnapshot(String filename, boolean createIfNotFound) {
+    public void openSnapshot(final String requestId, String filename, boolean createIfNotFound) {
         Log.d(TAG, "Opening snapshot: " + filename);
+        deadlines.begin(requestId);
 
-        snapshotsClient.open(filename, createIfNotFound, CONFLICT_RESOLUTION_POLICY_MANUAL)
-                .addOnSuccessListener(activity, dataOrConflict -> {
-                    if (dataOrConflict.isConflict()) {
-                        Log.w(TAG, "Conflict detected for: " + filename);
-                        handleConflict(dataOrConflict.getConflict());
-                    } else {
-                        Snapshot snapshot = dataOrConflict.getData();
-                        try {
-                            String snapshotJson = serializeSnapshot(snapshot);
-                            if (callback != null) {
-                                callback.onSnapshotOpened(filename, snapshotJson, false);
-                            }
-                        } catch (Exception e) {
-                            sendError(100, "Failed to serialize snapshot: " + e.getMessage(), filename);
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, createIfNotFound, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    Log.w(TAG, "Conflict detected for: " + filename);
+                    handleConflict(requestId, filename, result.conflict);
+                } else {
+                    try {
+                        String snapshotJson = BridgeJson.serializeSnapshot(result.snapshot.getMetadata());
+                        ICloudSaveCallback cb = callback;
+                        if (cb != null) {
+                            cb.onSnapshotOpened(requestId, filename, snapshotJson, false);
                         }
+                    } catch (Exception e) {
+                        sendError(requestId, 100, "Failed to serialize snapshot: " + e.getMessage(), filename);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot: " + filename, e);
+                sendFailure(requestId, "Open failed: ", e, filename);
+            }
+        });
+    }
+
+    /**
+     * Opens and reads a snapshot in one call. Answers with metadata and contents through
+     * {@code onSnapshotLoaded}, or with {@code onConflictDetected}. The snapshot is closed once
+     * read, since a later commit opens it again.
+     */
+    public void openAndRead(final String requestId, String filename, boolean createIfNotFound) {
+        Log.d(TAG, "Open and read snapshot: " + filename);
+        deadlines.begin(requestId);
+        load(requestId, filename, createIfNotFound);
+    }
+
+    private void load(final String requestId, String filename, boolean createIfNotFound) {
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, createIfNotFound, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    Log.w(TAG, "Conflict detected for: " + filename);
+                    handleConflict(requestId, filename, result.conflict);
+                } else {
+                    deliverLoaded(requestId, filename, result.snapshot);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot for load: " + filename, e);
+                sendFailure(requestId, "Open failed: ", e, filename);
+            }
+        });
+    }
+
+    /** Reads an opened snapshot on the IO pool, closes it and answers with {@code onSnapshotLoaded}. */
+    private void deliverLoaded(final String requestId, String filename, OpenSnapshot snapshot) {
+        Runnable discard = discardOnce(snapshot);
+        if (!deadlines.hold(requestId, discard)) return;
+        io(filename, () -> {
+            if (!deadlines.isLive(requestId)) return;
+            long started = READ.start();
+            try {
+                byte[] raw = snapshot.readFully();
+                String snapshotJson = BridgeJson.serializeSnapshot(snapshot.getMetadata());
+                discard.run();
+                byte[] data = deltas.rebuild(filename, raw, true);
+                READ.success(started);
+                READ.addBytes(data.length);
+                if (!deadlines.isLive(requestId)) return;
+                postToMainThread(() -> {
+                    ICloudSaveCallback cb = callback;
+                    if (cb != null) {
+                        cb.onSnapshotLoaded(requestId, filename, snapshotJson, data);
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to open snapshot: " + filename, e);
-                    sendError(100, "Open failed: " + e.getMessage(), filename);
                 });
+            } catch (DeltaCommits.Conflicted e) {
+                READ.failure(started);
+                discard.run();
+                postToMainThread(() -> handleConflict(requestId, filename, e.conflict));
+            } catch (Exception e) {
+                READ.failure(started);
+                discard.run();
+                postToMainThread(() ->
+                    sendFailure(requestId, "Read failed: ", e, filename));
+            }
+        });
     }
 
-    public void readSnapshot(String nativeHandle) {
+    public void readSnapshot(final String requestId, String nativeHandle) {
         Log.d(TAG, "Read snapshot: " + nativeHandle);
 
-        String[] parts = nativeHandle.split(":");
-        if (parts.length < 2) {
-            sendError(100, "Invalid snapshot handle", null);
+        String filename = BridgeJson.parseSnapshotHandle(nativeHandle);
+        if (filename == null) {
+            sendError(requestId, 100, "Invalid snapshot handle", null);
             return;
         }
 
-        String filename = parts[1];
-        snapshotsClient.open(filename, false, CONFLICT_RESOLUTION_POLICY_MANUAL)
-                .addOnSuccessListener(activity, dataOrConflict -> {
-                    if (dataOrConflict.isConflict()) {
-                        handleConflict(dataOrConflict.getConflict());
-                    } else {
-                        Snapshot snapshot = dataOrConflict.getData();
-                        ioExecutor.execute(() -> {
-                            try {
-                                byte[] data = snapshot.getSnapshotContents().readFully();
-                                postToMainThread(() -> {
-                                    if (callback != null) {
-                                        callback.onSnapshotRead(filename, data);
-                                    }
-                                });
-                            } catch (Exception e) {
-                                postToMainThread(() ->
-                                    sendError(100, "Read failed: " + e.getMessage(), filename));
+        deadlines.begin(requestId);
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, false, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    handleConflict(requestId, filename, result.conflict);
+                    return;
+                }
+
+                OpenSnapshot snapshot = result.snapshot;
+                Runnable discard = discardOnce(snapshot);
+                if (!deadlines.hold(requestId, discard)) return;
+                io(filename, () -> {
+                    if (!deadlines.isLive(requestId)) {
+                        discard.run();
+                        return;
+                    }
+                    long started = READ.start();
+                    try {
+                        byte[] raw;
+                        try {
+                            raw = snapshot.readFully();
+                        } finally {
+                            discard.run();
+                        }
+                        byte[] data = deltas.rebuild(filename, raw, true);
+                        READ.success(started);
+                        READ.addBytes(data.length);
+                        if (!deadlines.isLive(requestId)) return;
+                        postToMainThread(() -> {
+                            ICloudSaveCallback cb = callback;
+                            if (cb != null) {
+                                cb.onSnapshotRead(requestId, filename, data);
                             }
                         });
+                    } catch (DeltaCommits.Conflicted e) {
+                        READ.failure(started);
+                        postToMainThread(() -> handleConflict(requestId, filename, e.conflict));
+                    } catch (Exception e) {
+                        READ.failure(started);
+                        postToMainThread(() ->
+                            sendFailure(requestId, "Read failed: ", e, filename));
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to open snapshot for read: " + filename, e);
-                    sendError(100, "Read open failed: " + e.getMessage(), filename);
                 });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot for read: " + filename, e);
+                sendFailure(requestId, "Read open failed: ", e, filename);
+            }
+        });
     }
 
-    public void commitSnapshot(String nativeHandle, byte[] data, String description, long playedTimeMillis, byte[] coverImage) {
+    public void commitSnapshot(final String requestId, String nativeHandle, byte[] data, String description, long playedTimeMillis, byte[] coverImage) {
         Log.d(TAG, "Commit snapshot: " + nativeHandle + " (" + data.length + " bytes)");
 
-        String[] parts = nativeHandle.split(":");
-        if (parts.length < 2) {
-            sendError(100, "Invalid snapshot handle", null);
+        String filename = BridgeJson.parseSnapshotHandle(nativeHandle);
+        if (filename == null) {
+            sendError(requestId, 100, "Invalid snapshot handle", null);
             return;
         }
 
-        String filename = parts[1];
-        snapshotsClient.open(filename, true, CONFLICT_RESOLUTION_POLICY_MANUAL)
-                .addOnSuccessListener(activity, dataOrConflict -> {
-                    if (dataOrConflict.isConflict()) {
-                        handleConflict(dataOrConflict.getConflict());
-                    } else {
-                        Snapshot snapshot = dataOrConflict.getData();
-                        ioExecutor.execute(() -> {
-                            try {
-                                snapshot.getSnapshotContents().writeBytes(data);
-
-                                SnapshotMetadataChange.Builder metaBuilder = new SnapshotMetadataChange.Builder()
-                                        .setPlayedTimeMillis(playedTimeMillis);
-
-                                if (description != null && !description.isEmpty()) {
-                                    metaBuilder.setDescription(description);
-                                }
-
-                                if (coverImage != null && coverImage.length > 0) {
-                                    try {
-                                        Bitmap bitmap = decodeCoverImageSafe(coverImage);
-                                        if (bitmap != null) {
-                                            metaBuilder.setCoverImage(bitmap);
-                                        }
-                                    } catch (OutOfMemoryError e) {
-                                        Log.e(TAG,
-                                            "Cover image decode OOM (" + coverImage.length + " bytes). " +
-                                            "Use max 640x360 resolution. Save continues without cover image.", e);
-                                    }
-                                }
-
-                                SnapshotMetadataChange metaChange = metaBuilder.build();
-
-                                postToMainThread(() ->
-                                    snapshotsClient.commitAndClose(snapshot, metaChange)
-                                            .addOnSuccessListener(activity, metadata -> {
-                                                Log.d(TAG, "Snapshot committed: " + filename);
-                                                if (callback != null) {
-                                                    callback.onSnapshotCommitted(filename);
-                                                }
-                                            })
-                                            .addOnFailureListener(activity, e -> {
-                                                sendError(100, "Commit failed: " + e.getMessage(), filename);
-                                            }));
-
-                            } catch (Exception e) {
-                                postToMainThread(() ->
-                                    sendError(100, "Write failed: " + e.getMessage(), filename));
+        deadlines.begin(requestId);
+        if (deltas.isEnabled()) {
+            commitDelta(requestId, filename, data, new MetadataChange(description, playedTimeMillis, coverImage));
+            return;
+        }
+
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, true, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    handleConflict(requestId, filename, result.conflict);
+                    return;
+                }
+
+                OpenSnapshot snapshot = result.snapshot;
+                AtomicBoolean closed = new AtomicBoolean();
+                Runnable discard = () -> {
+                    if (closed.compareAndSet(false, true)) snapshots.discard(snapshot);
+                };
+                if (!deadlines.hold(requestId, discard)) return;
+                io(filename, () -> {
+                    if (!deadlines.isLive(requestId)) {
+                        discard.run();
+                        return;
+                    }
+                    try {
+                        snapshot.writeBytes(data);
+                    } catch (Exception e) {
+                        discard.run();
+                        postToMainThread(() ->
+                            sendFailure(requestId, "Write failed: ", e, filename));
+                        return;
+                    }
+
+                    // From here commitAndClose owns the snapshot, so a late deadline leaves it alone.
+                    if (!deadlines.isLive(requestId) || !closed.compareAndSet(false, true)) {
+                        discard.run();
+                        return;
+                    }
+                    long committing = COMMIT.start();
+                    MetadataChange change = new MetadataChange(description, playedTimeMillis, coverImage);
+                    Resilience.once(SERVICE, cb -> snapshots.commitAndClose(snapshot, change, cb), new BackendCallback<SnapshotMeta>() {
+                        @Override
+                        public void onSuccess(SnapshotMeta metadata) {
+                            COMMIT.success(committing);
+                            COMMIT.addBytes(data.length);
+                            Log.d(TAG, "Snapshot committed: " + filename);
+                            refreshMirror(filename, metadata, data);
+                            ICloudSaveCallback cb = callback;
+                            if (cb != null) {
+                                cb.onSnapshotCommitted(requestId, filename);
                             }
-                        });
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            COMMIT.failure(committing);
+                            sendFailure(requestId, "Commit failed: ", e, filename);
+                        }
+                    });
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot for commit: " + filename, e);
+                sendFailure(requestId, "Commit open failed: ", e, filename);
+            }
+        });
+    }
+
+    /**
+     * Commits through {@link DeltaCommits}, which opens, diffs and commits on the IO pool and
+     * uploads either a delta or a new full base. A conflict on the snapshot is reported as usual.
+     */
+    private void commitDelta(final String requestId, String filename, byte[] data, MetadataChange change) {
+        io(filename, () -> {
+            if (!deadlines.isLive(requestId)) return;
+            long committing = COMMIT.start();
+            try {
+                DeltaCommits.Committed committed = deltas.commit(filename, data, change);
+                COMMIT.success(committing);
+                COMMIT.addBytes(committed.bytes);
+                // The committed metadata may be the delta companion's; the slot keeps the change's.
+                refreshMirror(filename, new SnapshotMeta(filename, committed.meta.lastModifiedTimestamp,
+                        change.playedTimeMillis, change.description, null), data);
+                postToMainThread(() -> {
+                    ICloudSaveCallback cb = callback;
+                    if (cb != null) {
+                        cb.onSnapshotCommitted(requestId, filename);
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to open snapshot for commit: " + filename, e);
-                    sendError(100, "Commit open failed: " + e.getMessage(), filename);
                 });
+            } catch (DeltaCommits.Conflicted e) {
+                COMMIT.failure(committing);
+                Log.w(TAG, "Conflict detected on delta commit for: " + filename);
+                postToMainThread(() -> handleConflict(requestId, filename, e.conflict));
+            } catch (Exception e) {
+                COMMIT.failure(committing);
+                Log.e(TAG, "Delta commit failed: " + filename, e);
+                postToMainThread(() -> sendFailure(requestId, "Commit failed: ", e, filename));
+            }
+        });
     }
 
-    public void deleteSnapshot(String filename) {
-        Log.d(TAG, "Delete snapshot: " + filename);
+    /**
+     * Opens a snapshot for a streaming commit and answers with a session ID through
+     * {@code onCommitBegun}. The contents start empty; chunks passed to {@link #appendChunk} are
+     * written in order and {@link #finishCommit} commits them. If any request of the session
+     * fails, times out or is cancelled, the session is abandoned and its snapshot discarded.
+     */
+    public void beginCommit(final String requestId, String nativeHandle) {
+        Log.d(TAG, "Begin commit session: " + nativeHandle);
 
-        snapshotsClient.open(filename, false, CONFLICT_RESOLUTION_POLICY_MANUAL)
-                .addOnSuccessListener(activity, dataOrConflict -> {
-                    if (dataOrConflict.isConflict()) {
-                        Log.w(TAG, "Conflict on delete open for: " + filename);
-                        handleConflict(dataOrConflict.getConflict());
-                    } else {
-                        SnapshotMetadata metadata = dataOrConflict.getData().getMetadata();
-                        snapshotsClient.delete(metadata)
-                                .addOnSuccessListener(activity, deleteResult -> {
-                                    Log.d(TAG, "Snapshot deleted: " + filename);
-                                    if (callback != null) {
-                                        callback.onSnapshotDeleted(filename);
-                                    }
-                                })
-                                .addOnFailureListener(activity, e -> {
-                                    sendError(100, "Delete failed: " + e.getMessage(), filename);
-                                });
+        String filename = BridgeJson.parseSnapshotHandle(nativeHandle);
+        if (filename == null) {
+            sendError(requestId, 100, "Invalid snapshot handle", null);
+            return;
+        }
+
+        deadlines.begin(requestId);
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, true, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    handleConflict(requestId, filename, result.conflict);
+                    return;
+                }
+
+                CommitSession session = new CommitSession("commit-" + sessionCounter.incrementAndGet(),
+                        filename, result.snapshot, task -> io(filename, task));
+                sessions.put(session.sessionId, session);
+                if (!deadlines.hold(requestId, () -> dropSession(session))) return;
+                session.enqueue(() -> {
+                    if (session.isClosed() || !deadlines.isLive(requestId)) return;
+                    try {
+                        session.start();
+                    } catch (Exception e) {
+                        dropSession(session);
+                        postToMainThread(() ->
+                            sendFailure(requestId, "Write failed: ", e, filename));
+                        return;
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to open snapshot for delete: " + filename, e);
-                    sendError(100, "Delete open failed: " + e.getMessage(), filename);
+                    Log.d(TAG, "Commit session " + session.sessionId + " open for " + filename);
+                    postToMainThread(() -> {
+                        ICloudSaveCallback cb = callback;
+                        if (cb != null) {
+                            cb.onCommitBegun(requestId, filename, session.sessionId);
+                        }
+                    });
                 });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot for commit session: " + filename, e);
+                sendFailure(requestId, "Commit open failed: ", e, filename);
+            }
+        });
     }
 
-    public void showSavedGamesUI(String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots) {
-        Log.d(TAG, "Show saved games UI");
+    /**
+     * Writes a chunk on the IO pool behind the session's earlier chunks and answers with the
+     * session's running byte count through {@code onChunkAppended}.
+     */
+    public void appendChunk(final String requestId, String sessionId, byte[] chunk) {
+        CommitSession session = sessions.get(sessionId);
+        if (session == null) {
+            sendError(requestId, 100, "Unknown commit session: " + sessionId, null);
+            return;
+        }
 
-        savedGamesCallback = callback;
+        deadlines.begin(requestId);
+        if (!deadlines.hold(requestId, () -> dropSession(session))) return;
+        session.enqueue(() -> {
+            if (!deadlines.isLive(requestId)) return;
+            if (session.isClosed()) {
+                postToMainThread(() ->
+                    sendError(requestId, 100, "Commit session has ended", session.filename));
+                return;
+            }
 
-        snapshotsClient.getSelectSnapshotIntent(title, allowAddButton, allowDelete, maxSnapshots)
-                .addOnSuccessListener(activity, intent -> {
-                    if (intent != null) {
-                        savedGamesLauncher.launch(intent);
-                    } else {
-                        Log.w(TAG, "getSelectSnapshotIntent returned null intent — UI not available");
-                        ICloudSaveCallback cb = savedGamesCallback;
-                        savedGamesCallback = null;
+            long started = WRITE.start();
+            long total;
+            try {
+                total = session.append(chunk);
+            } catch (Exception e) {
+                WRITE.failure(started);
+                dropSession(session);
+                postToMainThread(() ->
+                    sendFailure(requestId, "Write failed: ", e, session.filename));
+                return;
+            }
+            WRITE.success(started);
+            WRITE.addBytes(chunk.length);
+            postToMainThread(() -> {
+                ICloudSaveCallback cb = callback;
+                if (cb != null) {
+                    cb.onChunkAppended(requestId, sessionId, total);
+                }
+            });
+        });
+    }
+
+    /** Commits everything appended so far with the metadata change, after any queued chunks. */
+    public void finishCommit(final String requestId, String sessionId, String description, long playedTimeMillis, byte[] coverImage) {
+        CommitSession session = sessions.get(sessionId);
+        if (session == null) {
+            sendError(requestId, 100, "Unknown commit session: " + sessionId, null);
+            return;
+        }
+
+        deadlines.begin(requestId);
+        if (!deadlines.hold(requestId, () -> dropSession(session))) return;
+        session.enqueue(() -> {
+            if (!session.close()) {
+                postToMainThread(() ->
+                    sendError(requestId, 100, "Commit session has ended", session.filename));
+                return;
+            }
+            sessions.remove(sessionId, session);
+
+            long total;
+            try {
+                total = session.finishWriting();
+            } catch (Exception e) {
+                snapshots.discard(session.snapshot);
+                postToMainThread(() ->
+                    sendFailure(requestId, "Write failed: ", e, session.filename));
+                return;
+            }
+
+            if (!deadlines.isLive(requestId)) {
+                snapshots.discard(session.snapshot);
+                return;
+            }
+            long committing = COMMIT.start();
+            MetadataChange change = new MetadataChange(description, playedTimeMillis, coverImage);
+            Resilience.once(SERVICE, cb -> snapshots.commitAndClose(session.snapshot, change, cb), new BackendCallback<SnapshotMeta>() {
+                @Override
+                public void onSuccess(SnapshotMeta metadata) {
+                    COMMIT.success(committing);
+                    COMMIT.addBytes(total);
+                    Log.d(TAG, "Snapshot committed from session " + sessionId + ": " + session.filename);
+                    ICloudSaveCallback cb = callback;
+                    if (cb != null) {
+                        cb.onSnapshotCommitted(requestId, session.filename);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    COMMIT.failure(committing);
+                    sendFailure(requestId, "Commit failed: ", e, session.filename);
+                }
+            });
+        });
+    }
+
+    /** Abandons a commit session, discarding its snapshot unchanged. Unknown IDs are ignored. */
+    public void abortCommit(String sessionId) {
+        CommitSession session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null) {
+            Log.d(TAG, "Aborting commit session " + sessionId);
+            dropSession(session);
+        }
+    }
+
+    /**
+     * Keeps a mirrored slot in step with a commit made outside the mirror. Slots that are not
+     * mirrored are left to the next sync; an unsynced mirror save is kept, and sync reports it.
+     */
+    private void refreshMirror(String filename, SnapshotMeta committed, byte[] data) {
+        io(filename, () -> {
+            if (mirror.get(filename) == null) return;
+            mirror.putSynced(filename, committed, data, committed.lastModifiedTimestamp);
+        });
+    }
+
+    /** Discards a snapshot the first time it runs, whether from a deadline or the request's own answer. */
+    private Runnable discardOnce(OpenSnapshot snapshot) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) snapshots.discard(snapshot);
+        };
+    }
+
+    private void dropSession(CommitSession session) {
+        if (!session.close()) return;
+        sessions.remove(session.sessionId, session);
+        session.enqueue(() -> snapshots.discard(session.snapshot));
+    }
+
+    public void deleteSnapshot(final String requestId, String filename) {
+        Log.d(TAG, "Delete snapshot: " + filename);
+        deadlines.begin(requestId);
+
+        final long opened = OPEN.start();
+        Resilience.retrying(SERVICE, OPEN, cb -> snapshots.open(filename, false, cb), new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                OPEN.success(opened);
+                if (result.isConflict()) {
+                    Log.w(TAG, "Conflict on delete open for: " + filename);
+                    handleConflict(requestId, filename, result.conflict);
+                    return;
+                }
+
+                Runnable discard = discardOnce(result.snapshot);
+                if (!deadlines.hold(requestId, discard)) return;
+                long deleting = DELETE.start();
+                Resilience.once(SERVICE, cb -> snapshots.delete(result.snapshot, cb), new BackendCallback<String>() {
+                    @Override
+                    public void onSuccess(String snapshotId) {
+                        discard.run();
+                        DELETE.success(deleting);
+                        Log.d(TAG, "Snapshot deleted: " + filename);
+                        io(filename, () -> {
+                            mirror.remove(filename);
+                            deltas.forget(filename);
+                        });
+                        ICloudSaveCallback cb = callback;
                         if (cb != null) {
-                            cb.onSavedGamesUIResult(null);
+                            cb.onSnapshotDeleted(requestId, filename);
                         }
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    savedGamesCallback = null;
-                    sendError(100, "UI failed: " + e.getMessage(), null);
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        discard.run();
+                        DELETE.failure(deleting);
+                        sendFailure(requestId, "Delete failed: ", e, filename);
+                    }
                 });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                OPEN.failure(opened);
+                Log.e(TAG, "Failed to open snapshot for delete: " + filename, e);
+                sendFailure(requestId, "Delete open failed: ", e, filename);
+            }
+        });
     }
 
-    private void handleSavedGamesResult(ActivityResult result) {
-        ICloudSaveCallback cb = savedGamesCallback;
-        savedGamesCallback = null;
+    public void showSavedGamesUI(final String requestId, String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots) {
+        Log.d(TAG, "Show saved games UI");
+        showSavedGames(requestId, title, allowAddButton, allowDelete, maxSnapshots, false);
+    }
+
+    /**
+     * Shows the saved games UI and loads the snapshot the player picks, answering once through
+     * {@code onSnapshotLoaded} (or {@code onConflictDetected}). If the player backs out or asks
+     * for a new save, the answer carries that selection ({@code null} or {@code "__NEW__"}) with
+     * no metadata or data.
+     */
+    public void showSavedGamesUIAndLoad(final String requestId, String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots) {
+        Log.d(TAG, "Show saved games UI and load the selection");
+        showSavedGames(requestId, title, allowAddButton, allowDelete, maxSnapshots, true);
+    }
+
+    private void showSavedGames(final String requestId, String title, boolean allowAddButton, boolean allowDelete,
+                                int maxSnapshots, boolean load) {
+        // Only one picker result can come back, so a request still waiting on an earlier UI is
+        // answered now rather than left to time out or to take this request's selection.
+        SavedGamesRequest previous = savedGamesRequest.getAndSet(new SavedGamesRequest(requestId, callback, load));
+        if (previous != null && !previous.requestId.equals(requestId)) {
+            Log.w(TAG, "Saved games request " + previous.requestId + " superseded by " + requestId);
+            sendError(previous.requestId, 100, "Superseded by saved games request " + requestId, null);
+        }
+        deadlines.begin(requestId);
+
+        final long started = SHOW_UI.start();
+        Resilience.retrying(SERVICE, SHOW_UI,
+                cb -> snapshots.getSelectSnapshotIntent(title, allowAddButton, allowDelete, maxSnapshots, cb),
+                new BackendCallback<Object>() {
+            @Override
+            public void onSuccess(Object intent) {
+                SHOW_UI.success(started);
+                if (intent instanceof Intent) {
+                    deadlines.suspend(requestId);
+                    savedGamesLauncher.get().launch((Intent) intent);
+                } else {
+                    Log.w(TAG, "getSelectSnapshotIntent returned null intent — UI not available");
+                    SavedGamesRequest pending = takeSavedGamesRequest(requestId);
+                    if (pending != null && pending.callback != null) {
+                        deliverSelection(pending, null);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                SHOW_UI.failure(started);
+                takeSavedGamesRequest(requestId);
+                sendFailure(requestId, "UI failed: ", e, null);
+            }
+        });
+    }
+
+    private static final class SavedGamesRequest {
+        final String requestId;
+        final ICloudSaveCallback callback;
+        /** Load the selected snapshot instead of only reporting its name. */
+        final boolean load;
 
-        if (cb == null) {
+        SavedGamesRequest(String requestId, ICloudSaveCallback callback, boolean load) {
+            this.requestId = requestId;
+            this.callback = callback;
+            this.load = load;
+        }
+    }
+
+    /** Clears the pending saved games request if it is still this one; a newer request is left alone. */
+    private SavedGamesRequest takeSavedGamesRequest(String requestId) {
+        SavedGamesRequest pending = savedGamesRequest.get();
+        if (pending == null || !pending.requestId.equals(requestId)) return null;
+        return savedGamesRequest.compareAndSet(pending, null) ? pending : null;
+    }
+
+    private void handleSavedGamesResult(ActivityResult result) {
+        SavedGamesRequest pending = savedGamesRequest.getAndSet(null);
+        if (pending == null || pending.callback == null) {
             Log.w(TAG, "Saved games result received but no callback registered");
             return;
         }
+        deliverSelection(pending, selectedFilename(result));
+    }
+
+    private void deliverSelection(SavedGamesRequest pending, String selected) {
+        String requestId = pending.requestId;
+        if (!pending.load) {
+            pending.callback.onSavedGamesUIResult(requestId, selected);
+        } else if (selected == null || NEW_SNAPSHOT.equals(selected)) {
+            pending.callback.onSnapshotLoaded(requestId, selected, null, null);
+        } else if (deadlines.isLive(requestId)) {
+            // The deadline was suspended while the UI was up; the load gets a fresh one.
+            deadlines.begin(requestId);
+            load(requestId, selected, false);
+        }
+    }
 
+    /** The snapshot the player picked, {@code "__NEW__"} for a new save, or null. */
+    private static String selectedFilename(ActivityResult result) {
         try {
             Intent data = result.getData();
-            if (result.getResultCode() == Activity.RESULT_OK && data != null) {
-                if (data.hasExtra(SnapshotsClient.EXTRA_SNAPSHOT_METADATA)) {
-                    SnapshotMetadata metadata;
-                    if (Build.VERSION.SDK_INT >= 33) {
-                        metadata = data.getParcelableExtra(
-                            SnapshotsClient.EXTRA_SNAPSHOT_METADATA, SnapshotMetadata.class);
-                    } else {
-                        metadata = data.getParcelableExtra(
-                            SnapshotsClient.EXTRA_SNAPSHOT_METADATA);
-                    }
-                    if (metadata != null) {
-                        cb.onSavedGamesUIResult(metadata.getUniqueName());
-                    } else {
-                        cb.onSavedGamesUIResult(null);
-                    }
-                } else if (data.hasExtra(SnapshotsClient.EXTRA_SNAPSHOT_NEW)) {
-                    cb.onSavedGamesUIResult("__NEW__");
+            if (result.getResultCode() != Activity.RESULT_OK || data == null) return null;
+
+            if (data.hasExtra(SnapshotsClient.EXTRA_SNAPSHOT_METADATA)) {
+                SnapshotMetadata metadata;
+                if (Build.VERSION.SDK_INT >= 33) {
+                    metadata = data.getParcelableExtra(
+                        SnapshotsClient.EXTRA_SNAPSHOT_METADATA, SnapshotMetadata.class);
                 } else {
-                    cb.onSavedGamesUIResult(null);
+                    metadata = data.getParcelableExtra(
+                        SnapshotsClient.EXTRA_SNAPSHOT_METADATA);
                 }
-            } else {
-                cb.onSavedGamesUIResult(null);
+                return metadata != null ? DeltaCommits.ownerOf(metadata.getUniqueName()) : null;
+            }
+            if (data.hasExtra(SnapshotsClient.EXTRA_SNAPSHOT_NEW)) {
+                return NEW_SNAPSHOT;
             }
+            return null;
         } catch (Exception e) {
             Log.e(TAG, "handleSavedGamesResult error", e);
-            cb.onSavedGamesUIResult(null);
+            return null;
         }
     }
 
-    private volatile SnapshotsClient.SnapshotConflict lastConflict;
-
-    private void handleConflict(SnapshotsClient.SnapshotConflict conflict) {
-        this.lastConflict = conflict;
+    private void handleConflict(final String requestId, final String filename, Conflict conflict) {
+        Conflict replaced = conflicts.put(filename, conflict);
+        if (replaced != null && replaced != conflict) {
+            // A newer conflict on the same file supersedes one nobody resolved; its hold release
+            // no longer finds it in the map, so its snapshots are discarded here.
+            snapshots.discard(replaced.local);
+            snapshots.discard(replaced.server);
+        }
+        if (!deadlines.hold(requestId, () -> dropConflict(filename, conflict))) return;
 
-        ioExecutor.execute(() -> {
+        io(filename, () -> {
+            if (!deadlines.isLive(requestId)) return;
             try {
-                Snapshot conflictSnapshot = conflict.getConflictingSnapshot();
-                Snapshot serverSnapshot = conflict.getSnapshot();
+                String localJson = BridgeJson.serializeSnapshot(
+                        DeltaCommits.slotMeta(filename, conflict.local.getMetadata()));
+                String serverJson = BridgeJson.serializeSnapshot(
+                        DeltaCommits.slotMeta(filename, conflict.server.getMetadata()));
 
-                String localJson = serializeSnapshot(conflictSnapshot);
-                String serverJson = serializeSnapshot(serverSnapshot);
-
-                byte[] localData = conflictSnapshot.getSnapshotContents().readFully();
-                byte[] serverData = serverSnapshot.getSnapshotContents().readFully();
+                DeltaCommits.ConflictData data = deltas.rebuildConflict(filename, conflict);
 
                 postToMainThread(() -> {
-                    if (callback != null) {
-                        callback.onConflictDetected(localJson, serverJson, localData, serverData);
+                    ICloudSaveCallback cb = callback;
+                    if (cb != null) {
+                        cb.onConflictDetected(requestId, filename, localJson, serverJson, data.local, data.server);
                     }
                 });
             } catch (Exception e) {
                 Log.e(TAG, "Failed to handle conflict", e);
                 postToMainThread(() ->
-                    sendError(100, "Conflict handling failed: " + e.getMessage(), null));
+                    sendError(requestId, 100, "Conflict handling failed: " + e.getMessage(), filename));
             }
         });
     }
 
-    public void resolveConflict(String resolution, String nativeHandle) {
-        Log.d(TAG, "Resolve conflict: " + resolution);
+    private void dropConflict(String filename, Conflict conflict) {
+        if (conflicts.remove(filename, conflict)) {
+            snapshots.discard(conflict.local);
+            snapshots.discard(conflict.server);
+        }
+    }
 
-        if (lastConflict == null) {
-            sendError(100, "No conflict to resolve", null);
+    public void resolveConflict(final String requestId, String resolution, final String filename) {
+        Log.d(TAG, "Resolve conflict: " + resolution + " for " + filename);
+        resolve(requestId, resolution, filename, false);
+    }
+
+    /**
+     * Resolves a conflict and reads the resolved snapshot, answering with {@code onSnapshotLoaded}
+     * or, if it conflicts again, {@code onConflictDetected}.
+     */
+    public void resolveConflictAndRead(final String requestId, String resolution, final String filename) {
+        Log.d(TAG, "Resolve conflict and read: " + resolution + " for " + filename);
+        resolve(requestId, resolution, filename, true);
+    }
+
+    private void resolve(final String requestId, String resolution, final String filename, boolean read) {
+        Conflict conflict = filename != null ? conflicts.remove(filename) : null;
+        if (conflict == null) {
+            sendError(requestId, 100, "No conflict to resolve", filename);
             return;
         }
 
-        String conflictId = lastConflict.getConflictId();
-        Snapshot resolvedSnapshot;
-
+        OpenSnapshot resolvedSnapshot;
         if ("UseLocal".equalsIgnoreCase(resolution) || "Local".equalsIgnoreCase(resolution)) {
-            resolvedSnapshot = lastConflict.getConflictingSnapshot();
+            resolvedSnapshot = conflict.local;
         } else {
-            resolvedSnapshot = lastConflict.getSnapshot();
+            resolvedSnapshot = conflict.server;
         }
 
-        snapshotsClient.resolveConflict(conflictId, resolvedSnapshot)
-                .addOnSuccessListener(activity, dataOrConflict -> {
-                    lastConflict = null;
-                    if (dataOrConflict.isConflict()) {
-                        Log.w(TAG, "Recursive conflict detected after resolution");
-                        handleConflict(dataOrConflict.getConflict());
+        deadlines.begin(requestId);
+        final long started = RESOLVE.start();
+        Resilience.once(SERVICE, cb -> snapshots.resolveConflict(conflict.conflictId, resolvedSnapshot, cb),
+                new BackendCallback<OpenResult>() {
+            @Override
+            public void onSuccess(OpenResult result) {
+                RESOLVE.success(started);
+                if (result.isConflict()) {
+                    Log.w(TAG, "Recursive conflict detected after resolution");
+                    handleConflict(requestId, filename, result.conflict);
+                } else if (DeltaCommits.isCompanion(result.snapshot.getMetadata().uniqueName)) {
+                    // A delta companion was resolved; the slot is read back through its base.
+                    SnapshotMeta meta = DeltaCommits.slotMeta(filename, result.snapshot.getMetadata());
+                    snapshots.discard(result.snapshot);
+                    if (read) {
+                        load(requestId, filename, false);
                     } else {
-                        Snapshot snapshot = dataOrConflict.getData();
                         try {
-                            String filename = snapshot.getMetadata().getUniqueName();
-                            String snapshotJson = serializeSnapshot(snapshot);
-                            if (callback != null) {
-                                callback.onSnapshotOpened(filename, snapshotJson, false);
+                            String snapshotJson = BridgeJson.serializeSnapshot(meta);
+                            ICloudSaveCallback cb = callback;
+                            if (cb != null) {
+                                cb.onSnapshotOpened(requestId, filename, snapshotJson, false);
                             }
                         } catch (Exception e) {
-                            sendError(100, "Post-resolve serialize failed: " + e.getMessage(), null);
+                            sendError(requestId, 100, "Post-resolve serialize failed: " + e.getMessage(), filename);
                         }
                     }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to resolve conflict", e);
-                    lastConflict = null;
-                    sendError(100, "Resolve failed: " + e.getMessage(), null);
-                });
-    }
-
-    private static final int MAX_COVER_WIDTH = 640;
-    private static final int MAX_COVER_HEIGHT = 360;
-
-    private Bitmap decodeCoverImageSafe(byte[] coverImage) {
-        BitmapFactory.Options boundsOptions = new BitmapFactory.Options();
-        boundsOptions.inJustDecodeBounds = true;
-        BitmapFactory.decodeByteArray(coverImage, 0, coverImage.length, boundsOptions);
-
-        int width = boundsOptions.outWidth;
-        int height = boundsOptions.outHeight;
+                } else if (read) {
+                    deliverLoaded(requestId, filename, result.snapshot);
+                } else {
+                    try {
+                        String snapshotJson = BridgeJson.serializeSnapshot(result.snapshot.getMetadata());
+                        ICloudSaveCallback cb = callback;
+                        if (cb != null) {
+                            cb.onSnapshotOpened(requestId, filename, snapshotJson, false);
+                        }
+                    } catch (Exception e) {
+                        sendError(requestId, 100, "Post-resolve serialize failed: " + e.getMessage(), filename);
+                    }
+                }
+            }
 
-        if (width <= 0 || height <= 0) {
-            Log.e(TAG, "Cover image has invalid dimensions (" + width + "x" + height + ")");
-            return null;
-        }
+            @Override
+            public void onFailure(Exception e) {
+                RESOLVE.failure(started);
+                Log.e(TAG, "Failed to resolve conflict", e);
+                sendFailure(requestId, "Resolve failed: ", e, filename);
+            }
+        });
+    }
 
-        int inSampleSize = 1;
-        if (width > MAX_COVER_WIDTH || height > MAX_COVER_HEIGHT) {
-            int halfWidth = width / 2;
-            int halfHeight = height / 2;
-            while ((halfWidth / inSampleSize) >= MAX_COVER_WIDTH
-                    && (halfHeight / inSampleSize) >= MAX_COVER_HEIGHT) {
-                inSampleSize *= 2;
-            }
-            Log.w(TAG, "Cover image " + width + "x" + height +
-                    " exceeds " + MAX_COVER_WIDTH + "x" + MAX_COVER_HEIGHT +
-                    ", downsampling with inSampleSize=" + inSampleSize);
+    private void postToMainThread(Runnable r) {
+        if (activity != null && !activity.isFinishing() && !activity.isDestroyed()) {
+            activity.runOnUiThread(r);
+        } else {
+            Log.w(TAG, "Activity not available, dropping callback");
         }
-
-        BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
-        decodeOptions.inSampleSize = inSampleSize;
-        return BitmapFactory.decodeByteArray(coverImage, 0, coverImage.length, decodeOptions);
     }
 
-    private String serializeSnapshot(Snapshot snapshot) throws Exception {
-        SnapshotMetadata metadata = snapshot.getMetadata();
-        JSONObject obj = new JSONObject();
+    private void sendError(String requestId, int errorCode, String errorMessage, String filename) {
+        sendError(requestId, errorCode, errorMessage, filename, 0);
+    }
 
-        obj.put("filename", metadata.getUniqueName());
-        obj.put("nativeHandle", "snapshot:" + metadata.getUniqueName());
-        obj.put("lastModifiedTimestamp", metadata.getLastModifiedTimestamp());
-        obj.put("playedTimeMillis", metadata.getPlayedTime());
-        obj.put("description", metadata.getDescription());
+    private void sendFailure(String requestId, String prefix, Exception e, String filename) {
+        sendError(requestId, Resilience.errorCode(e), prefix + e.getMessage(), filename, BackendException.attemptsOf(e));
+    }
 
-        android.net.Uri coverUri = metadata.getCoverImageUri();
-        if (coverUri != null) {
-            obj.put("coverImageUri", coverUri.toString());
+    private void sendError(String requestId, int errorCode, String errorMessage, String filename, int attempts) {
+        ICloudSaveCallback cb = callback;
+        if (cb != null) {
+            cb.onCloudSaveError(requestId, errorCode, errorMessage, filename, attempts);
         }
+    }
 
-        return obj.toString();
+    /** Abandons an in-flight request, discarding any snapshot it has open. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
     }
 
-    private void postToMainThread(Runnable r) {
-        if (activity != null && !activity.isFinishing() && !activity.isDestroyed()) {
-            activity.runOnUiThread(r);
-        } else {
-            Log.w(TAG, "Activity not available, dropping callback");
-        }
+    private void onDeadline(String requestId, long deadlineMs) {
+        sendError(requestId, RequestDeadlines.ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms", null);
     }
 
-    private void sendError(int errorCode, String errorMessage, String filename) {
-        if (callback != null) {
-            callback.onCloudSaveError(errorCode, errorMessage, filename);
+    /**
+     * Runs snapshot IO for a slot behind the slot's earlier IO, as {@link SlotQueues} describes.
+     * Different slots share as many threads as {@link MemoryGovernor#ioConcurrency()} allows: two
+     * on large-heap devices, one on small ones or under memory pressure.
+     */
+    private void io(String filename, Runnable task) {
+        int threads = MemoryGovernor.ioConcurrency();
+        synchronized (ioExecutor) {
+            if (threads > ioExecutor.getMaximumPoolSize()) {
+                ioExecutor.setMaximumPoolSize(threads);
+                ioExecutor.setCorePoolSize(threads);
+            } else if (threads < ioExecutor.getCorePoolSize()) {
+                ioExecutor.setCorePoolSize(threads);
+                ioExecutor.setMaximumPoolSize(threads);
+            }
         }
+        slots.execute(filename, task);
     }
 
     public void shutdown() {
-        savedGamesLauncher.unregister();
+        for (CommitSession session : sessions.values()) {
+            if (session.close()) snapshots.discard(session.snapshot);
+        }
+        sessions.clear();
+        mirrorSync.shutdown();
+        deadlines.cancelAll();
+        ActivityResultLauncher<Intent> launcher = savedGamesLauncher.getIfCreated();
+        if (launcher != null) launcher.unregister();
         ioExecutor.shutdownNow();
-        lastConflict = null;
-        savedGamesCallback = null;
+        conflicts.clear();
+        savedGamesRequest.set(null);
         callback = null;
     }
 }
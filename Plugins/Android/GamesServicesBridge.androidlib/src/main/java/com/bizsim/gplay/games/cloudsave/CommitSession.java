@@ -0,0 +1,101 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * A snapshot held open for a streaming commit. Its tasks (opening the writer, each chunk, the
+ * commit) run one at a time and in the order they were queued on the cloud save IO pool, in
+ * its slot's queue, while sessions for other slots can write side by side.
+ *
+ * A session ends exactly once: {@link #close()} returns true only for the first caller, who
+ * then owns the snapshot and either commits or discards it.
+ */
+final class CommitSession {
+    private static final String TAG = "BizSimGames.CloudSave";
+
+    final String sessionId;
+    final String filename;
+    final OpenSnapshot snapshot;
+
+    private final Executor io;
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    // Only touched by the session's tasks, which never overlap.
+    private OutputStream writer;
+    private long bytes;
+
+    CommitSession(String sessionId, String filename, OpenSnapshot snapshot, Executor io) {
+        this.sessionId = sessionId;
+        this.filename = filename;
+        this.snapshot = snapshot;
+        this.io = io;
+    }
+
+    /** Queues a task behind the session's earlier ones. */
+    void enqueue(Runnable task) {
+        synchronized (tasks) {
+            tasks.add(task);
+            if (draining) return;
+            draining = true;
+        }
+        io.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable task;
+            synchronized (tasks) {
+                task = tasks.poll();
+                if (task == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Commit session task failed (" + sessionId + ")", e);
+            }
+        }
+    }
+
+    /** Empties the snapshot and opens its writer. Runs as the session's first task. */
+    void start() throws IOException {
+        writer = snapshot.openWriter();
+    }
+
+    /** Writes a chunk and returns the bytes written so far. */
+    long append(byte[] chunk) throws IOException {
+        writer.write(chunk);
+        bytes += chunk.length;
+        return bytes;
+    }
+
+    /** Closes the writer, leaving the snapshot ready to commit. Returns the total bytes written. */
+    long finishWriting() throws IOException {
+        writer.close();
+        return bytes;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Ends the session; false if it had already ended. */
+    synchronized boolean close() {
+        if (closed) return false;
+        closed = true;
+        return true;
+    }
+}
@@ -0,0 +1,509 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.Conflict;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.MetadataChange;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delta save mode for {@link CloudSaveBridge#commitSnapshot}.
+ *
+ * Play uploads a snapshot's whole contents on every commit, so a delta has to live in a snapshot
+ * of its own. The named snapshot holds a full base ({@code BZSBASE1}, its fingerprint, the
+ * payload) and a companion snapshot {@code <name>~delta} holds the chain of deltas taken since
+ * ({@code BZSDELT1}, the base fingerprint, then each delta with the fingerprint it produces).
+ * An autosave diffs the new payload against the last committed one and commits only the
+ * companion. When the chain reaches its length limit, or would outweigh half a full base, the
+ * payload is committed as a new base instead, which leaves the old chain stale.
+ *
+ * Reads rebuild the payload from the base and the longest prefix of the chain whose
+ * fingerprints check out, so a stale or half-written chain never yields a wrong payload. The
+ * last committed payload is kept in {@code files/bizsim_snapshot_deltas/}, keyed by snapshot, so
+ * a delta commit normally diffs without replaying the chain.
+ *
+ * Everything here blocks, through {@link BlockingSnapshots}, and runs off the main thread. A
+ * commit, rebuild or forget holds its slot's {@link SlotQueues#lock} from the first read of the
+ * base to the local copy's write, so two commits to one slot, or a commit and a mirror sync,
+ * never diff against each other's half-written state.
+ */
+final class DeltaCommits {
+    private static final String TAG = "BizSimGames.CloudSave";
+    private static final BridgeMetrics.Operation DELTA = BridgeMetrics.operation("cloudsave.delta");
+    private static final String COMPANION_SUFFIX = "~delta";
+    private static final byte[] BASE_MAGIC = "BZSBASE1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHAIN_MAGIC = "BZSDELT1".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Thrown when the named snapshot or its companion conflicts; the caller reports it like any
+     * other conflict, with {@link #rebuildConflict} supplying both sides' payloads.
+     */
+    static final class Conflicted extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        final Conflict conflict;
+
+        Conflicted(Conflict conflict) {
+            super("Snapshot conflict");
+            this.conflict = conflict;
+        }
+    }
+
+    /** Both sides' payloads of a conflict. */
+    static final class ConflictData {
+        final byte[] local;
+        final byte[] server;
+
+        ConflictData(byte[] local, byte[] server) {
+            this.local = local;
+            this.server = server;
+        }
+    }
+
+    /** What a commit wrote: the committed snapshot's metadata and the bytes uploaded. */
+    static final class Committed {
+        final SnapshotMeta meta;
+        final long bytes;
+
+        Committed(SnapshotMeta meta, long bytes) {
+            this.meta = meta;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Chain {
+        final long baseFingerprint;
+        final List<Long> fingerprints = new ArrayList<>();
+        final List<byte[]> deltas = new ArrayList<>();
+
+        Chain(long baseFingerprint) {
+            this.baseFingerprint = baseFingerprint;
+        }
+
+        long tipFingerprint() {
+            return fingerprints.isEmpty() ? baseFingerprint : fingerprints.get(fingerprints.size() - 1);
+        }
+
+        int encodedSize() {
+            int size = HEADER_BYTES + 4;
+            for (byte[] delta : deltas) size += 12 + delta.length;
+            return size;
+        }
+    }
+
+    private final BlockingSnapshots snapshots;
+    private final SlotQueues slots;
+    private final File dir;
+    private volatile int maxChain;
+
+    private final AtomicLong deltaCommits = new AtomicLong();
+    private final AtomicLong baseCommits = new AtomicLong();
+    private final AtomicLong bytesUploaded = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    DeltaCommits(Context context, BlockingSnapshots snapshots, SlotQueues slots) {
+        this.snapshots = snapshots;
+        this.slots = slots;
+        this.dir = new File(context.getFilesDir(), "bizsim_snapshot_deltas");
+    }
+
+    /** Deltas allowed between full bases; 0 turns delta commits off. */
+    void setMaxChain(int maxChain) {
+        this.maxChain = Math.max(0, maxChain);
+    }
+
+    boolean isEnabled() {
+        return maxChain > 0;
+    }
+
+    /** The snapshot a companion belongs to, so picking one in the saved games UI loads its save. */
+    static String ownerOf(String filename) {
+        if (filename != null && filename.endsWith(COMPANION_SUFFIX) && filename.length() > COMPANION_SUFFIX.length()) {
+            return filename.substring(0, filename.length() - COMPANION_SUFFIX.length());
+        }
+        return filename;
+    }
+
+    static boolean isCompanion(String name) {
+        return !ownerOf(name).equals(name);
+    }
+
+    static String companionOf(String filename) {
+        return filename + COMPANION_SUFFIX;
+    }
+
+    /**
+     * Metadata to report for a slot. A companion's stands in for its owner's, carrying the
+     * description and played time of the last delta commit but no cover.
+     */
+    static SnapshotMeta slotMeta(String filename, SnapshotMeta meta) {
+        if (!isCompanion(meta.uniqueName)) return meta;
+        return new SnapshotMeta(filename, meta.lastModifiedTimestamp, meta.playedTime, meta.description, null);
+    }
+
+    /** Commits {@code data} to {@code filename} as a delta or, when none applies, as a new base. */
+    Committed commit(String filename, byte[] data, MetadataChange change) throws Exception {
+        synchronized (slots.lock(filename)) {
+            return commitLocked(filename, data, change);
+        }
+    }
+
+    private Committed commitLocked(String filename, byte[] data, MetadataChange change) throws Exception {
+        OpenResult opened = snapshots.open(filename, true);
+        if (opened.isConflict()) throw new Conflicted(opened.conflict);
+        OpenSnapshot main = opened.snapshot;
+
+        OpenSnapshot companion = null;
+        try {
+            byte[] raw = main.readFully();
+            long baseFingerprint = baseFingerprint(raw);
+            if (baseFingerprint != 0 && maxChain > 0) {
+                companion = openCompanion(filename, true);
+                if (companion != null) {
+                    Chain chain = chainFor(companion.readFully(), baseFingerprint);
+                    byte[] previous = lastCommitted(filename, chain.tipFingerprint());
+                    if (previous == null) previous = replay(raw, chain);
+
+                    long started = DELTA.start();
+                    byte[] delta = SnapshotDelta.diff(previous, data);
+                    DELTA.success(started);
+                    DELTA.addBytes(delta.length);
+                    if (chain.deltas.size() < maxChain
+                            && chain.encodedSize() + 12 + delta.length <= data.length / 2) {
+                        chain.fingerprints.add(SnapshotDelta.fingerprint(data));
+                        chain.deltas.add(delta);
+                        byte[] encoded = encode(chain);
+
+                        snapshots.discard(main);
+                        main = null;
+                        companion.writeBytes(encoded);
+                        OpenSnapshot committing = companion;
+                        companion = null;
+                        // The slot's own metadata and cover only change with the next base.
+                        String description = change.description != null && !change.description.isEmpty()
+                                ? change.description : "Incremental data for " + filename;
+                        SnapshotMeta meta = snapshots.commit(committing,
+                                new MetadataChange(description, change.playedTimeMillis, null));
+
+                        remember(filename, data);
+                        deltaCommits.incrementAndGet();
+                        bytesUploaded.addAndGet(encoded.length);
+                        bytesSaved.addAndGet(Math.max(0, HEADER_BYTES + data.length - encoded.length));
+                        Log.d(TAG, "Delta committed: " + filename + " (" + delta.length + " bytes, chain "
+                                + chain.deltas.size() + "/" + maxChain + ")");
+                        return new Committed(meta, encoded.length);
+                    }
+                }
+            }
+
+            // No usable base or chain: commit a full base, which supersedes any chain.
+            byte[] encoded = encodeBase(data);
+            if (companion != null) {
+                snapshots.discard(companion);
+                companion = null;
+            }
+            main.writeBytes(encoded);
+            OpenSnapshot committing = main;
+            main = null;
+            SnapshotMeta meta = snapshots.commit(committing, change);
+
+            remember(filename, data);
+            baseCommits.incrementAndGet();
+            bytesUploaded.addAndGet(encoded.length);
+            Log.d(TAG, "Base committed: " + filename + " (" + data.length + " bytes)");
+            return new Committed(meta, encoded.length);
+        } finally {
+            if (main != null) snapshots.discard(main);
+            if (companion != null) snapshots.discard(companion);
+        }
+    }
+
+    /**
+     * Returns the payload stored in a snapshot's contents: unchanged unless they are a delta
+     * base, in which case the base and the valid part of its companion's chain are combined.
+     * With {@code remember}, a rebuilt payload also seeds the local copy for the next delta.
+     * Throws {@link Conflicted} if the companion conflicts.
+     */
+    byte[] rebuild(String filename, byte[] raw, boolean remember) throws Exception {
+        long baseFingerprint = baseFingerprint(raw);
+        if (baseFingerprint == 0) return raw;
+        synchronized (slots.lock(filename)) {
+            return rebuildLocked(filename, raw, baseFingerprint, remember);
+        }
+    }
+
+    private byte[] rebuildLocked(String filename, byte[] raw, long baseFingerprint, boolean remember) throws Exception {
+
+        byte[] payload;
+        OpenSnapshot companion = openCompanion(filename, false);
+        if (companion == null) {
+            payload = Arrays.copyOfRange(raw, HEADER_BYTES, raw.length);
+        } else {
+            try {
+                payload = replay(raw, chainFor(companion.readFully(), baseFingerprint));
+            } finally {
+                snapshots.discard(companion);
+            }
+        }
+        if (remember && isEnabled()) remember(filename, payload);
+        return payload;
+    }
+
+    /**
+     * Payloads of both sides of a conflict on {@code filename} or on its companion. Companion
+     * sides are each replayed onto the current base, so a save made on two devices in delta mode
+     * reaches the game's conflict resolution like any other.
+     */
+    ConflictData rebuildConflict(String filename, Conflict conflict) throws Exception {
+        byte[] localRaw = conflict.local.readFully();
+        byte[] serverRaw = conflict.server.readFully();
+        if (!isCompanion(conflict.server.getMetadata().uniqueName)) {
+            try {
+                return new ConflictData(rebuild(filename, localRaw, false), rebuild(filename, serverRaw, false));
+            } catch (Conflicted e) {
+                // The companion conflicts too; it is reported once this conflict is resolved.
+                discard(e.conflict);
+                return new ConflictData(basePayload(localRaw), basePayload(serverRaw));
+            }
+        }
+
+        OpenResult opened = snapshots.openExisting(filename);
+        byte[] raw = new byte[0];
+        if (opened != null) {
+            if (opened.isConflict()) {
+                discard(opened.conflict);
+                throw new BackendException(BackendException.ERROR, "Snapshot and its delta companion both conflict: " + filename);
+            }
+            try {
+                raw = opened.snapshot.readFully();
+            } finally {
+                snapshots.discard(opened.snapshot);
+            }
+        }
+        long baseFingerprint = baseFingerprint(raw);
+        if (baseFingerprint == 0) return new ConflictData(raw, raw);
+        return new ConflictData(replay(raw, chainFor(localRaw, baseFingerprint)),
+                replay(raw, chainFor(serverRaw, baseFingerprint)));
+    }
+
+    /** Drops the local copy and deletes the companion of a deleted snapshot. Best effort. */
+    void forget(String filename) {
+        synchronized (slots.lock(filename)) {
+            forgetLocked(filename);
+        }
+    }
+
+    private void forgetLocked(String filename) {
+        new File(dir, SnapshotMirror.fileKey(filename)).delete();
+        try {
+            OpenSnapshot companion = openCompanion(filename, false);
+            if (companion != null) {
+                try {
+                    snapshots.delete(companion);
+                } finally {
+                    snapshots.discard(companion);
+                }
+            }
+        } catch (Conflicted e) {
+            discard(e.conflict);
+            Log.w(TAG, "Delta companion of " + filename + " conflicts; leaving it");
+        } catch (Exception e) {
+            Log.w(TAG, "Could not delete delta companion of " + filename + ": " + e.getMessage());
+        }
+    }
+
+    String statsJson() {
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("maxChain", maxChain);
+            obj.put("deltaCommits", deltaCommits.get());
+            obj.put("baseCommits", baseCommits.get());
+            obj.put("bytesUploaded", bytesUploaded.get());
+            obj.put("bytesSaved", bytesSaved.get());
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    /**
+     * Opens the companion, or returns null when there is none. A conflict is thrown as
+     * {@link Conflicted}: in delta mode a save made on two devices only touches the companion, so
+     * settling it here would drop one device's progress without the game ever hearing of it.
+     */
+    private OpenSnapshot openCompanion(String filename, boolean create) throws Exception {
+        String name = companionOf(filename);
+        OpenResult result = create ? snapshots.open(name, true) : snapshots.openExisting(name);
+        if (result == null) return null;
+        if (result.isConflict()) {
+            Log.w(TAG, "Delta companion conflict for " + filename);
+            throw new Conflicted(result.conflict);
+        }
+        return result.snapshot;
+    }
+
+    private void discard(Conflict conflict) {
+        snapshots.discard(conflict.local);
+        snapshots.discard(conflict.server);
+    }
+
+    // --- Formats ---
+
+    /** Fingerprint of a delta base's payload, or 0 if {@code raw} is not a valid base. */
+    private static long baseFingerprint(byte[] raw) {
+        if (!startsWith(raw, BASE_MAGIC) || raw.length < HEADER_BYTES) return 0;
+        long stored = ByteBuffer.wrap(raw, BASE_MAGIC.length, 8).getLong();
+        long actual = SnapshotDelta.fingerprint(raw, HEADER_BYTES, raw.length - HEADER_BYTES);
+        return stored == actual && stored != 0 ? stored : 0;
+    }
+
+    /** A base's payload without its header, or {@code raw} itself if it is not a base. */
+    private static byte[] basePayload(byte[] raw) {
+        return baseFingerprint(raw) != 0 ? Arrays.copyOfRange(raw, HEADER_BYTES, raw.length) : raw;
+    }
+
+    private static byte[] encodeBase(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + data.length);
+        buffer.put(BASE_MAGIC).putLong(SnapshotDelta.fingerprint(data)).put(data);
+        return buffer.array();
+    }
+
+    /** The chain in a companion's contents if it extends this base, otherwise an empty one. */
+    private static Chain chainFor(byte[] raw, long baseFingerprint) {
+        Chain chain = new Chain(baseFingerprint);
+        if (!startsWith(raw, CHAIN_MAGIC) || raw.length < HEADER_BYTES + 4) return chain;
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw, CHAIN_MAGIC.length,
+                    raw.length - CHAIN_MAGIC.length));
+            if (in.readLong() != baseFingerprint) return chain;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long fingerprint = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > in.available()) break;
+                byte[] delta = new byte[length];
+                in.readFully(delta);
+                chain.fingerprints.add(fingerprint);
+                chain.deltas.add(delta);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Delta chain is truncated; using the part that reads");
+        }
+        return chain;
+    }
+
+    private static byte[] encode(Chain chain) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(chain.encodedSize());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(CHAIN_MAGIC);
+        out.writeLong(chain.baseFingerprint);
+        out.writeInt(chain.deltas.size());
+        for (int i = 0; i < chain.deltas.size(); i++) {
+            out.writeLong(chain.fingerprints.get(i));
+            out.writeInt(chain.deltas.get(i).length);
+            out.write(chain.deltas.get(i));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Applies the chain to a base for as long as each result matches its fingerprint, dropping
+     * the rest so the chain always ends at a payload that was really committed.
+     */
+    private static byte[] replay(byte[] raw, Chain chain) {
+        byte[] payload = Arrays.copyOfRange(raw, HEADER_BYTES, raw.length);
+        for (int i = 0; i < chain.deltas.size(); i++) {
+            byte[] next;
+            try {
+                next = SnapshotDelta.apply(payload, chain.deltas.get(i));
+            } catch (IOException e) {
+                next = null;
+            }
+            if (next == null || SnapshotDelta.fingerprint(next) != chain.fingerprints.get(i)) {
+                Log.w(TAG, "Delta chain diverges at " + i + " of " + chain.deltas.size() + "; truncating");
+                chain.deltas.subList(i, chain.deltas.size()).clear();
+                chain.fingerprints.subList(i, chain.fingerprints.size()).clear();
+                break;
+            }
+            payload = next;
+        }
+        return payload;
+    }
+
+    private static boolean startsWith(byte[] raw, byte[] magic) {
+        if (raw == null || raw.length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if (raw[i] != magic[i]) return false;
+        }
+        return true;
+    }
+
+    // --- Local copy of the last committed payload ---
+
+    /** The last payload committed on this device, if it is the one the chain ends at. */
+    private byte[] lastCommitted(String filename, long fingerprint) {
+        File file = new File(dir, SnapshotMirror.fileKey(filename));
+        if (!file.exists()) return null;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readLong() != fingerprint) return null;
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return SnapshotDelta.fingerprint(payload) == fingerprint ? payload : null;
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding unreadable delta base for " + filename);
+            return null;
+        }
+    }
+
+    private void remember(String filename, byte[] payload) {
+        if (!dir.exists() && !dir.mkdirs()) return;
+        File file = new File(dir, SnapshotMirror.fileKey(filename));
+        File tmp;
+        try {
+            // A name of its own, so no other writer can replace the file before the rename.
+            tmp = File.createTempFile(SnapshotMirror.fileKey(filename) + ".", ".tmp", dir);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to keep delta base for " + filename + ": " + e.getMessage());
+            return;
+        }
+        try (FileOutputStream stream = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeLong(SnapshotDelta.fingerprint(payload));
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.flush();
+            stream.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to keep delta base for " + filename + ": " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) tmp.delete();
+    }
+}
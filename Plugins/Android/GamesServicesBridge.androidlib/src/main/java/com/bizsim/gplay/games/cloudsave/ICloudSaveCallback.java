@@ -3,11 +3,16 @@
 package com.bizsim.gplay.games.cloudsave;
 
 public interface ICloudSaveCallback {
-    void onSnapshotOpened(String filename, String snapshotJson, boolean hasConflict);
-    void onSnapshotRead(String filename, byte[] data);
-    void onSnapshotCommitted(String filename);
-    void onSnapshotDeleted(String filename);
-    void onSavedGamesUIResult(String selectedFilename);
-    void onConflictDetected(String localSnapshotJson, String serverSnapshotJson, byte[] localData, byte[] serverData);
-    void onCloudSaveError(int errorCode, String errorMessage, String filename);
+    void onSnapshotOpened(String requestId, String filename, String snapshotJson, boolean hasConflict);
+    void onSnapshotRead(String requestId, String filename, byte[] data);
+    void onSnapshotLoaded(String requestId, String filename, String snapshotJson, byte[] data);
+    void onSnapshotCommitted(String requestId, String filename);
+    void onCommitBegun(String requestId, String filename, String sessionId);
+    void onChunkAppended(String requestId, String sessionId, long bytesWritten);
+    void onSnapshotDeleted(String requestId, String filename);
+    void onSavedGamesUIResult(String requestId, String selectedFilename);
+    void onMirrorSaved(String requestId, String filename);
+    void onMirrorSynced(String requestId, String resultJson);
+    void onConflictDetected(String requestId, String filename, String localSnapshotJson, String serverSnapshotJson, byte[] localData, byte[] serverData);
+    void onCloudSaveError(String requestId, int errorCode, String errorMessage, String filename, int attempts);
 }
@@ -0,0 +1,390 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import android.util.Log;
+
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.Conflict;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.MetadataChange;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Two-way sync between the {@link SnapshotMirror} and the cloud.
+ *
+ * A sync lists every snapshot's metadata in one call, then settles each slot on its own worker,
+ * up to {@code PARALLEL_SLOTS} at a time (one under memory pressure):
+ * <ul>
+ *   <li>cloud unchanged since the mirror last matched it, mirror clean: nothing to do;</li>
+ *   <li>cloud changed, mirror clean, or slot not mirrored yet: pull;</li>
+ *   <li>mirror dirty, cloud unchanged or absent: push;</li>
+ *   <li>mirror dirty and cloud changed: pull the cloud copy, and if it differs from the local
+ *       save, report a conflict and leave both alone until {@link #resolve} is called;</li>
+ *   <li>slot gone from the cloud, mirror clean: drop it from the mirror.</li>
+ * </ul>
+ * A slot's cloud version is the newest last-modified time of its snapshot and its delta
+ * companion, so a delta commit counts as a change. Play conflicts met while syncing are reported
+ * the same way and discarded. Syncs run one at a time on their own thread, off the IO pool that
+ * serves the game's requests, at background priority. A slot is settled under its
+ * {@link SlotQueues#lock}, so it never interleaves with the game's IO on the same slot.
+ */
+final class MirrorSync {
+    private static final String TAG = "BizSimGames.CloudSave";
+    private static final BridgeMetrics.Operation SYNC = BridgeMetrics.operation("cloudsave.mirrorSync");
+    private static final int PARALLEL_SLOTS = 3;
+
+    interface Listener {
+        /** A sync finished; {@code requestId} is null for a background sync. */
+        void onSynced(String requestId, String resultJson);
+        void onFailed(String requestId, Exception e);
+    }
+
+    private enum Outcome { PULLED, PUSHED, REMOVED, CONFLICT, UNCHANGED }
+
+    /** Play conflict met while syncing a slot; reported as a mirror conflict. */
+    private static final class SlotConflict extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        SlotConflict() {
+            super("Snapshot conflict");
+        }
+    }
+
+    private final BlockingSnapshots snapshots;
+    private final SnapshotMirror mirror;
+    private final DeltaCommits deltas;
+    private final SlotQueues slots;
+    private final Listener listener;
+    private final ScheduledExecutorService coordinator = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimCloudSave-Sync");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(PARALLEL_SLOTS, PARALLEL_SLOTS, 30,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread t = new Thread(r, "BizSimCloudSave-SyncSlot");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean backgroundQueued = new AtomicBoolean();
+
+    MirrorSync(BlockingSnapshots snapshots, SnapshotMirror mirror, DeltaCommits deltas, SlotQueues slots,
+               Listener listener) {
+        this.snapshots = snapshots;
+        this.mirror = mirror;
+        this.deltas = deltas;
+        this.slots = slots;
+        this.listener = listener;
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /** Runs a sync now, answering {@code requestId} through the listener. */
+    void sync(String requestId) {
+        coordinator.execute(() -> runSync(requestId));
+    }
+
+    /** Schedules a background sync; requests made while one is waiting join it. */
+    void syncSoon(long delayMs) {
+        if (!backgroundQueued.compareAndSet(false, true)) return;
+        coordinator.schedule(() -> {
+            backgroundQueued.set(false);
+            runSync(null);
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Settles a slot reported as a conflict: {@code keepMirror} pushes the save on this device
+     * over the cloud's, otherwise the cloud's replaces it. Play conflicts on the way are resolved
+     * toward the server version, which the chosen side then overwrites or keeps.
+     */
+    void resolve(String requestId, String filename, boolean keepMirror) {
+        coordinator.execute(() -> {
+            long started = SYNC.start();
+            try {
+                Map<String, SnapshotMeta> metas = new HashMap<>();
+                Map<String, Long> versions = cloudVersions(metas);
+                Outcome outcome;
+                synchronized (slots.lock(filename)) {
+                    SnapshotMirror.Entry entry = mirror.get(filename);
+                    Long version = versions.get(filename);
+                    if (keepMirror && entry != null) {
+                        push(entry, true);
+                        outcome = Outcome.PUSHED;
+                    } else if (version != null) {
+                        outcome = pull(filename, version, true) ? Outcome.PULLED : Outcome.REMOVED;
+                    } else {
+                        mirror.remove(filename);
+                        outcome = Outcome.REMOVED;
+                    }
+                }
+                SYNC.success(started);
+                Map<String, Outcome> outcomes = new HashMap<>();
+                outcomes.put(filename, outcome);
+                listener.onSynced(requestId, resultJson(outcomes, new ArrayList<>()));
+            } catch (Exception e) {
+                SYNC.failure(started);
+                Log.e(TAG, "Mirror conflict resolution failed for " + filename, e);
+                listener.onFailed(requestId, e);
+            }
+        });
+    }
+
+    void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void runSync(String requestId) {
+        long started = SYNC.start();
+        Map<String, SnapshotMeta> metas = new HashMap<>();
+        Map<String, Long> versions;
+        try {
+            versions = cloudVersions(metas);
+        } catch (Exception e) {
+            SYNC.failure(started);
+            Log.w(TAG, "Mirror sync could not list snapshots: " + e.getMessage());
+            if (requestId != null) listener.onFailed(requestId, e);
+            return;
+        }
+
+        Set<String> slots = new LinkedHashSet<>(versions.keySet());
+        for (SnapshotMirror.Entry entry : mirror.entries()) slots.add(entry.filename);
+
+        int parallel = MemoryGovernor.shouldDefer() ? 1 : PARALLEL_SLOTS;
+        workers.setCorePoolSize(parallel);
+        List<String> order = new ArrayList<>(slots);
+        List<Future<Outcome>> futures = new ArrayList<>(order.size());
+        for (String filename : order) {
+            Long version = versions.get(filename);
+            futures.add(workers.submit((Callable<Outcome>) () -> settle(filename, version)));
+        }
+
+        Map<String, Outcome> outcomes = new HashMap<>();
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            try {
+                outcomes.put(order.get(i), futures.get(i).get());
+            } catch (ExecutionException e) {
+                Log.w(TAG, "Mirror sync failed for " + order.get(i) + ": " + e.getCause().getMessage());
+                failed.add(order.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                SYNC.failure(started);
+                return;
+            }
+        }
+        SYNC.success(started);
+
+        String json = resultJson(outcomes, failed);
+        Log.d(TAG, "Mirror sync: " + json);
+        listener.onSynced(requestId, json);
+    }
+
+    /** Settles one slot; {@code version} is its cloud version, or null if it is not in the cloud. */
+    private Outcome settle(String filename, Long version) throws Exception {
+        synchronized (slots.lock(filename)) {
+            return settleLocked(filename, version);
+        }
+    }
+
+    private Outcome settleLocked(String filename, Long version) throws Exception {
+        SnapshotMirror.Entry entry = mirror.get(filename);
+        try {
+            if (entry == null) {
+                return version != null && pull(filename, version, false) ? Outcome.PULLED : Outcome.UNCHANGED;
+            }
+            boolean cloudChanged = version != null && version != entry.cloudVersion;
+            if (!entry.dirty) {
+                if (version == null) {
+                    mirror.remove(filename);
+                    return Outcome.REMOVED;
+                }
+                if (!cloudChanged) return Outcome.UNCHANGED;
+                return pull(filename, version, false) ? Outcome.PULLED : Outcome.REMOVED;
+            }
+            if (!cloudChanged) {
+                push(entry, false);
+                return Outcome.PUSHED;
+            }
+            // Saved here and changed in the cloud: only a real difference is a conflict.
+            byte[] cloud = download(filename, false, null);
+            if (cloud != null && SnapshotDelta.fingerprint(cloud) == entry.fingerprint) {
+                mirror.putSynced(filename, entry.meta, cloud, version);
+                return Outcome.UNCHANGED;
+            }
+            return Outcome.CONFLICT;
+        } catch (SlotConflict e) {
+            return Outcome.CONFLICT;
+        }
+    }
+
+    /**
+     * Copies the cloud version of a slot into the mirror; with {@code overwrite}, over an unsynced
+     * save too. Returns false if the slot turned out to be gone, after dropping it.
+     */
+    private boolean pull(String filename, long version, boolean overwrite) throws Exception {
+        SnapshotMeta[] meta = new SnapshotMeta[1];
+        byte[] payload = download(filename, overwrite, meta);
+        if (payload == null) {
+            mirror.remove(filename);
+            return false;
+        }
+        if (overwrite) {
+            mirror.replace(filename, meta[0], payload, version);
+        } else {
+            mirror.putSynced(filename, meta[0], payload, version);
+        }
+        return true;
+    }
+
+    /** The slot's payload, rebuilt from any delta chain, or null if it does not exist. */
+    private byte[] download(String filename, boolean resolveConflicts, SnapshotMeta[] metaOut) throws Exception {
+        OpenSnapshot snapshot = open(filename, false, resolveConflicts);
+        if (snapshot == null) return null;
+        byte[] raw;
+        try {
+            raw = snapshot.readFully();
+            if (metaOut != null) metaOut[0] = snapshot.getMetadata();
+        } finally {
+            snapshots.discard(snapshot);
+        }
+        if (resolveConflicts) settleCompanion(filename);
+        try {
+            return deltas.rebuild(filename, raw, true);
+        } catch (DeltaCommits.Conflicted e) {
+            discard(e.conflict);
+            throw new SlotConflict();
+        }
+    }
+
+    /** Commits the mirror's save for a slot and marks it pushed. */
+    private void push(SnapshotMirror.Entry entry, boolean resolveConflicts) throws Exception {
+        String filename = entry.filename;
+        byte[] payload = mirror.read(entry);
+        if (payload == null) throw new BackendException(BackendException.ERROR, "Mirror copy is unreadable: " + filename);
+        MetadataChange change = new MetadataChange(entry.meta.description, entry.meta.playedTime, null);
+
+        SnapshotMeta committed;
+        if (deltas.isEnabled()) {
+            if (resolveConflicts) {
+                OpenSnapshot cleared = open(filename, true, true);
+                snapshots.discard(cleared);
+                settleCompanion(filename);
+            }
+            try {
+                committed = deltas.commit(filename, payload, change).meta;
+            } catch (DeltaCommits.Conflicted e) {
+                discard(e.conflict);
+                throw new SlotConflict();
+            }
+        } else {
+            OpenSnapshot snapshot = open(filename, true, resolveConflicts);
+            try {
+                snapshot.writeBytes(payload);
+            } catch (Exception e) {
+                snapshots.discard(snapshot);
+                throw e;
+            }
+            committed = snapshots.commit(snapshot, change);
+        }
+
+        long version = committed.lastModifiedTimestamp;
+        mirror.markPushed(filename, entry.fingerprint, new SnapshotMeta(filename, version, entry.meta.playedTime,
+                entry.meta.description, committed.coverImageUri), version);
+    }
+
+    /**
+     * Opens a slot, or returns null if it does not exist and {@code create} is off. Play
+     * conflicts are resolved toward the server with {@code resolveConflicts}, and otherwise
+     * discarded and thrown as {@link SlotConflict}.
+     */
+    private OpenSnapshot open(String filename, boolean create, boolean resolveConflicts) throws Exception {
+        OpenResult result = create ? snapshots.open(filename, true) : snapshots.openExisting(filename);
+        if (result == null) return null;
+        for (int round = 0; result.isConflict() && resolveConflicts && round < 3; round++) {
+            result = snapshots.resolve(result.conflict.conflictId, result.conflict.server);
+        }
+        if (result.isConflict()) {
+            discard(result.conflict);
+            throw new SlotConflict();
+        }
+        return result.snapshot;
+    }
+
+    /** Resolves any conflict on a slot's delta companion toward the server. */
+    private void settleCompanion(String filename) throws Exception {
+        OpenSnapshot companion = open(DeltaCommits.companionOf(filename), false, true);
+        if (companion != null) snapshots.discard(companion);
+    }
+
+    private void discard(Conflict conflict) {
+        snapshots.discard(conflict.local);
+        snapshots.discard(conflict.server);
+    }
+
+    /** Each slot's cloud version, counting its delta companion; fills {@code metas} from the slots' own snapshots. */
+    private Map<String, Long> cloudVersions(Map<String, SnapshotMeta> metas) throws Exception {
+        Map<String, Long> versions = new HashMap<>();
+        for (SnapshotMeta meta : snapshots.list(true)) {
+            String slot = DeltaCommits.ownerOf(meta.uniqueName);
+            Long known = versions.get(slot);
+            versions.put(slot, known != null ? Math.max(known, meta.lastModifiedTimestamp) : meta.lastModifiedTimestamp);
+            if (slot.equals(meta.uniqueName)) metas.put(slot, meta);
+        }
+        // A companion without its snapshot is left over from a delete; it is not a slot.
+        versions.keySet().retainAll(metas.keySet());
+        return versions;
+    }
+
+    private static String resultJson(Map<String, Outcome> outcomes, List<String> failed) {
+        try {
+            JSONArray pulled = new JSONArray();
+            JSONArray pushed = new JSONArray();
+            JSONArray removed = new JSONArray();
+            JSONArray conflicts = new JSONArray();
+            int unchanged = 0;
+            for (Map.Entry<String, Outcome> entry : outcomes.entrySet()) {
+                switch (entry.getValue()) {
+                    case PULLED: pulled.put(entry.getKey()); break;
+                    case PUSHED: pushed.put(entry.getKey()); break;
+                    case REMOVED: removed.put(entry.getKey()); break;
+                    case CONFLICT: conflicts.put(entry.getKey()); break;
+                    default: unchanged++; break;
+                }
+            }
+            JSONObject obj = new JSONObject();
+            obj.put("pulled", pulled);
+            obj.put("pushed", pushed);
+            obj.put("removed", removed);
+            obj.put("conflicts", conflicts);
+            obj.put("failed", new JSONArray(failed));
+            obj.put("unchanged", unchanged);
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+}
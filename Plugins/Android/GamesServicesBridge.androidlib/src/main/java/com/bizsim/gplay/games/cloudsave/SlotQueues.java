@@ -0,0 +1,78 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Per-slot ordering for cloud save IO. Tasks queued for one slot run one at a time and in the
+ * order they were queued on the shared IO pool, while other slots' tasks run beside them. Each
+ * task holds the slot's {@link #lock}, which mirror syncs and delta commits take as well, so a
+ * sync never settles a slot halfway through a commit to it. A slot and its delta companion share
+ * one queue and one lock.
+ */
+final class SlotQueues {
+    private static final String TAG = "BizSimGames.CloudSave";
+
+    private final Executor pool;
+    private final Map<String, ArrayDeque<Runnable>> queues = new HashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    SlotQueues(Executor pool) {
+        this.pool = pool;
+    }
+
+    /** The monitor guarding a slot's local state and commits; it is reentrant like any monitor. */
+    Object lock(String filename) {
+        return locks.computeIfAbsent(key(filename), k -> new Object());
+    }
+
+    /** Queues a task behind the slot's earlier ones. */
+    void execute(String filename, Runnable task) {
+        String key = key(filename);
+        synchronized (queues) {
+            ArrayDeque<Runnable> queue = queues.get(key);
+            if (queue != null) {
+                queue.add(task);
+                return;
+            }
+            queues.put(key, new ArrayDeque<>());
+        }
+        try {
+            pool.execute(() -> drain(key, task));
+        } catch (RejectedExecutionException e) {
+            synchronized (queues) {
+                queues.remove(key);
+            }
+            throw e;
+        }
+    }
+
+    private void drain(String key, Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            try {
+                synchronized (lock(key)) {
+                    task.run();
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Cloud save IO task failed for " + key, e);
+            }
+            synchronized (queues) {
+                task = queues.get(key).poll();
+                if (task == null) queues.remove(key);
+            }
+        }
+    }
+
+    private static String key(String filename) {
+        return filename != null ? DeltaCommits.ownerOf(filename) : "";
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Binary diff between two versions of a save payload.
+ *
+ * The base is indexed in {@code BLOCK}-byte blocks by a polynomial rolling hash. The target is
+ * scanned one byte at a time: each window whose hash hits a base block is checked byte for byte,
+ * grown backwards into pending literals and forwards as far as both sides agree, and emitted as
+ * a copy; everything else is emitted as inserted literals. A few changed kilobytes in a large
+ * save diff to roughly their own size, and an unrelated target costs about its own size plus a
+ * few bytes of framing.
+ *
+ * Encoding: {@code 'D' 1 varint(baseLength) varint(targetLength)} then ops, each
+ * {@code varint(length << 1 | kind)}; a copy ({@code kind 0}) is followed by a zigzag varint of
+ * its offset relative to the end of the previous copy, an insert ({@code kind 1}) by its bytes.
+ */
+public final class SnapshotDelta {
+    private static final int BLOCK = 32;
+    private static final int MULTIPLIER = 0x01000193;
+    private static final int FORMAT = 'D';
+    private static final int VERSION = 1;
+
+    /** MULTIPLIER^(BLOCK - 1), for removing the byte that leaves the window. */
+    private static final int OUTGOING;
+
+    static {
+        int power = 1;
+        for (int i = 0; i < BLOCK - 1; i++) power *= MULTIPLIER;
+        OUTGOING = power;
+    }
+
+    private SnapshotDelta() { }
+
+    /** CRC-32 and length of a payload, identifying one version of it. */
+    public static long fingerprint(byte[] data) {
+        return fingerprint(data, 0, data.length);
+    }
+
+    public static long fingerprint(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (crc.getValue() << 32) | (length & 0xffffffffL);
+    }
+
+    /** Encodes {@code target} as a delta against {@code base}. */
+    public static byte[] diff(byte[] base, byte[] target) {
+        Output out = new Output(Math.min(target.length, 64 * 1024) + 16);
+        out.write(FORMAT);
+        out.write(VERSION);
+        out.varint(base.length);
+        out.varint(target.length);
+
+        int blocks = base.length / BLOCK;
+        if (blocks == 0 || target.length < BLOCK) {
+            out.insert(target, 0, target.length);
+            return out.toByteArray();
+        }
+
+        // Chained hash table over the base's aligned blocks; earlier blocks are found first.
+        int bits = 32 - Integer.numberOfLeadingZeros(blocks * 2 - 1);
+        int[] heads = new int[1 << bits];
+        Arrays.fill(heads, -1);
+        int[] next = new int[blocks];
+        int[] hashes = new int[blocks];
+        for (int block = blocks - 1; block >= 0; block--) {
+            int hash = hash(base, block * BLOCK);
+            int slot = slot(hash, bits);
+            hashes[block] = hash;
+            next[block] = heads[slot];
+            heads[slot] = block;
+        }
+
+        int literalStart = 0;
+        int pos = 0;
+        int hash = hash(target, 0);
+        while (true) {
+            int matchOffset = -1;
+            for (int block = heads[slot(hash, bits)]; block >= 0; block = next[block]) {
+                if (hashes[block] == hash && equal(base, block * BLOCK, target, pos, BLOCK)) {
+                    matchOffset = block * BLOCK;
+                    break;
+                }
+            }
+
+            if (matchOffset >= 0) {
+                int start = pos;
+                int from = matchOffset;
+                while (start > literalStart && from > 0 && target[start - 1] == base[from - 1]) {
+                    start--;
+                    from--;
+                }
+                int end = pos + BLOCK;
+                int baseEnd = matchOffset + BLOCK;
+                while (end < target.length && baseEnd < base.length && target[end] == base[baseEnd]) {
+                    end++;
+                    baseEnd++;
+                }
+
+                out.insert(target, literalStart, start - literalStart);
+                out.copy(from, end - start);
+                pos = end;
+                literalStart = end;
+                if (pos + BLOCK > target.length) break;
+                hash = hash(target, pos);
+            } else {
+                if (pos + BLOCK >= target.length) break;
+                hash = (hash - (target[pos] & 0xff) * OUTGOING) * MULTIPLIER + (target[pos + BLOCK] & 0xff);
+                pos++;
+            }
+        }
+        out.insert(target, literalStart, target.length - literalStart);
+        return out.toByteArray();
+    }
+
+    /** Rebuilds the target from {@code base} and a delta made by {@link #diff}. */
+    public static byte[] apply(byte[] base, byte[] delta) throws IOException {
+        Input in = new Input(delta);
+        if (in.read() != FORMAT || in.read() != VERSION) throw new IOException("Not a snapshot delta");
+        long baseLength = in.varint();
+        long targetLength = in.varint();
+        if (baseLength != base.length) {
+            throw new IOException("Delta expects a " + baseLength + " byte base, got " + base.length);
+        }
+        if (targetLength > Integer.MAX_VALUE) throw new IOException("Delta target too large");
+
+        byte[] target = new byte[(int) targetLength];
+        int written = 0;
+        long copyEnd = 0;
+        while (in.remaining() > 0) {
+            long op = in.varint();
+            long length = op >>> 1;
+            if (length > target.length - written) throw new IOException("Delta overruns its target");
+            if ((op & 1) == 0) {
+                long offset = copyEnd + in.zigzag();
+                if (offset < 0 || offset + length > base.length) throw new IOException("Delta copy outside its base");
+                System.arraycopy(base, (int) offset, target, written, (int) length);
+                copyEnd = offset + length;
+            } else {
+                in.bytes(target, written, (int) length);
+            }
+            written += (int) length;
+        }
+        if (written != target.length) throw new IOException("Delta is truncated");
+        return target;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            hash = hash * MULTIPLIER + (data[i] & 0xff);
+        }
+        return hash;
+    }
+
+    private static int slot(int hash, int bits) {
+        return (hash * 0x9E3779B1) >>> (32 - bits);
+    }
+
+    private static boolean equal(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aOffset + i] != b[bOffset + i]) return false;
+        }
+        return true;
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+        private long copyEnd;
+
+        Output(int size) {
+            super(size);
+        }
+
+        void insert(byte[] data, int offset, int length) {
+            if (length == 0) return;
+            varint(((long) length << 1) | 1);
+            write(data, offset, length);
+        }
+
+        void copy(int offset, int length) {
+            varint((long) length << 1);
+            long relative = offset - copyEnd;
+            varint((relative << 1) ^ (relative >> 63));
+            copyEnd = (long) offset + length;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7fL) != 0) {
+                write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int pos;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int remaining() {
+            return data.length - pos;
+        }
+
+        int read() throws IOException {
+            if (pos >= data.length) throw new IOException("Delta is truncated");
+            return data[pos++] & 0xff;
+        }
+
+        long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint in delta");
+        }
+
+        long zigzag() throws IOException {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        void bytes(byte[] into, int offset, int length) throws IOException {
+            if (length > remaining()) throw new IOException("Delta is truncated");
+            System.arraycopy(data, pos, into, offset, length);
+            pos += length;
+        }
+    }
+}
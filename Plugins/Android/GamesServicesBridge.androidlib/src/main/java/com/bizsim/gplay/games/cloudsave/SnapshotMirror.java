@@ -0,0 +1,230 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-device copy of each snapshot in {@code files/bizsim_snapshot_mirror/}, one file per slot:
+ * a small header (metadata, the cloud version it matches, a dirty flag, the payload's
+ * fingerprint) followed by the payload. Payloads are read through a read-only memory map, so
+ * loading a slot costs one page-cache copy and no Play Games call.
+ *
+ * {@code cloudVersion} is the cloud's last-modified time for the slot when the mirror last
+ * matched it, counting a delta companion's time too; 0 means the slot has never been in the
+ * cloud. A dirty entry holds a save made on this device that the cloud does not have yet.
+ * Files are replaced with a write to a temporary file and a rename, so a crash leaves either
+ * version, never a torn one.
+ */
+final class SnapshotMirror {
+    private static final String TAG = "BizSimGames.CloudSave";
+    private static final int MAGIC = 0x425a534d; // "BZSM"
+    private static final int VERSION = 1;
+
+    static final class Entry {
+        final String filename;
+        final SnapshotMeta meta;
+        final long cloudVersion;
+        final boolean dirty;
+        final long fingerprint;
+        final int length;
+        private final long payloadOffset;
+
+        Entry(String filename, SnapshotMeta meta, long cloudVersion, boolean dirty, long fingerprint,
+              int length, long payloadOffset) {
+            this.filename = filename;
+            this.meta = meta;
+            this.cloudVersion = cloudVersion;
+            this.dirty = dirty;
+            this.fingerprint = fingerprint;
+            this.length = length;
+            this.payloadOffset = payloadOffset;
+        }
+    }
+
+    private final File dir;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean scanned;
+
+    SnapshotMirror(Context context) {
+        this.dir = new File(context.getFilesDir(), "bizsim_snapshot_mirror");
+    }
+
+    synchronized Entry get(String filename) {
+        scan();
+        return entries.get(filename);
+    }
+
+    synchronized List<Entry> entries() {
+        scan();
+        return new ArrayList<>(entries.values());
+    }
+
+    /** The entry's payload, or null if the file has changed or no longer matches its fingerprint. */
+    byte[] read(Entry entry) {
+        File file = file(entry.filename);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            if (channel.size() != entry.payloadOffset + entry.length) return null;
+            byte[] payload = new byte[entry.length];
+            if (entry.length > 0) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, entry.payloadOffset, entry.length);
+                mapped.get(payload);
+            }
+            return SnapshotDelta.fingerprint(payload) == entry.fingerprint ? payload : null;
+        } catch (IOException e) {
+            Log.w(TAG, "Mirror read failed for " + entry.filename + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Stores a payload the cloud already has, unless the slot holds an unsynced save. */
+    synchronized void putSynced(String filename, SnapshotMeta meta, byte[] payload, long cloudVersion) {
+        Entry current = get(filename);
+        if (current != null && current.dirty && current.fingerprint != SnapshotDelta.fingerprint(payload)) return;
+        put(filename, meta, payload, cloudVersion, false);
+    }
+
+    /** Stores the cloud's payload even over an unsynced save, settling a conflict in the cloud's favor. */
+    synchronized void replace(String filename, SnapshotMeta meta, byte[] payload, long cloudVersion) {
+        put(filename, meta, payload, cloudVersion, false);
+    }
+
+    /** Stores a save made on this device; sync pushes it. */
+    synchronized void putDirty(String filename, SnapshotMeta meta, byte[] payload) {
+        Entry current = get(filename);
+        put(filename, meta, payload, current != null ? current.cloudVersion : 0, true);
+    }
+
+    /**
+     * Records that a pushed payload reached the cloud. If the slot was saved again meanwhile it
+     * stays dirty, but now against the version just pushed.
+     */
+    synchronized void markPushed(String filename, long fingerprint, SnapshotMeta meta, long cloudVersion) {
+        Entry current = get(filename);
+        byte[] payload = current != null ? read(current) : null;
+        if (payload == null) return;
+        boolean dirty = current.fingerprint != fingerprint;
+        put(filename, dirty ? current.meta : meta, payload, cloudVersion, dirty);
+    }
+
+    synchronized void remove(String filename) {
+        scan();
+        entries.remove(filename);
+        file(filename).delete();
+    }
+
+    private synchronized void put(String filename, SnapshotMeta meta, byte[] payload, long cloudVersion, boolean dirty) {
+        scan();
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Cannot create the snapshot mirror directory");
+            return;
+        }
+        File file = file(filename);
+        File tmp = new File(dir, file.getName() + ".tmp");
+        long fingerprint = SnapshotDelta.fingerprint(payload);
+        long payloadOffset;
+        try (FileOutputStream stream = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(stream);
+            writeHeader(out, filename, meta, cloudVersion, dirty, fingerprint, payload.length);
+            out.flush();
+            payloadOffset = stream.getChannel().position();
+            out.write(payload);
+            out.flush();
+            stream.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "Mirror write failed for " + filename + ": " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+        entries.put(filename, new Entry(filename, meta, cloudVersion, dirty, fingerprint, payload.length, payloadOffset));
+    }
+
+    private static void writeHeader(DataOutputStream out, String filename, SnapshotMeta meta, long cloudVersion,
+                                    boolean dirty, long fingerprint, int length) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(filename);
+        out.writeLong(meta.lastModifiedTimestamp);
+        out.writeLong(meta.playedTime);
+        out.writeUTF(meta.description != null ? meta.description : "");
+        out.writeUTF(meta.coverImageUri != null ? meta.coverImageUri : "");
+        out.writeLong(cloudVersion);
+        out.writeBoolean(dirty);
+        out.writeLong(fingerprint);
+        out.writeInt(length);
+    }
+
+    // Caller holds this.
+    private void scan() {
+        if (scanned) return;
+        scanned = true;
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                file.delete();
+                continue;
+            }
+            try (FileInputStream stream = new FileInputStream(file)) {
+                DataInputStream in = new DataInputStream(stream);
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Unknown mirror format");
+                String filename = in.readUTF();
+                long lastModified = in.readLong();
+                long playedTime = in.readLong();
+                String description = in.readUTF();
+                String coverImageUri = in.readUTF();
+                long cloudVersion = in.readLong();
+                boolean dirty = in.readBoolean();
+                long fingerprint = in.readLong();
+                int length = in.readInt();
+                long payloadOffset = stream.getChannel().position();
+                SnapshotMeta meta = new SnapshotMeta(filename, lastModified, playedTime, description,
+                        coverImageUri.isEmpty() ? null : coverImageUri);
+                entries.put(filename, new Entry(filename, meta, cloudVersion, dirty, fingerprint, length, payloadOffset));
+            } catch (IOException e) {
+                Log.w(TAG, "Dropping unreadable mirror file " + file.getName());
+                file.delete();
+            }
+        }
+        Log.d(TAG, "Snapshot mirror holds " + entries.size() + " slots");
+    }
+
+    private File file(String filename) {
+        return new File(dir, fileKey(filename) + ".snap");
+    }
+
+    /**
+     * A slot's name as a file name, shared with {@link DeltaCommits}. Snapshot names allow only
+     * file-safe characters; hex keeps the key unambiguous anyway.
+     */
+    static String fileKey(String filename) {
+        StringBuilder key = new StringBuilder();
+        for (byte b : filename.getBytes(StandardCharsets.UTF_8)) {
+            key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return key.toString();
+    }
+}
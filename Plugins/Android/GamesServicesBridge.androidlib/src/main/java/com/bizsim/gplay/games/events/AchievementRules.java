@@ -0,0 +1,299 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.events;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declarative table linking events to achievements, so one incrementEvent call per gameplay
+ * action also drives the achievements that mirror it.
+ *
+ * Rules are loaded once as JSON, e.g.
+ * {@code {"rules":[{"event":"enemies_defeated","achievement":"CgkI..","type":"increment","per":10},
+ * {"event":"enemies_defeated","achievement":"CgkI..","type":"unlock","threshold":100}]}}.
+ * An {@code increment} rule adds one achievement step per {@code per} event steps (default 1)
+ * and carries the remainder; an {@code unlock} rule unlocks once the event has counted
+ * {@code threshold} steps (default 1). Tiered incremental achievements are one increment rule
+ * each, since Play unlocks them at their own step totals.
+ *
+ * Rules run on the flush thread as the accumulator sends each event, and the achievement calls
+ * of one flush are merged per achievement and handed to the {@link Target} together. An event
+ * is counted from the first time a rule for it is loaded on the device; counts, carried
+ * remainders and fired unlocks are saved in {@code files/bizsim_event_rules.json}.
+ */
+final class AchievementRules {
+    private static final String TAG = "BizSimGames.Events";
+
+    /** Receives the merged achievement calls of one flush, e.g. the durable outbox. */
+    interface Target {
+        void increment(String achievementId, int steps);
+        void unlock(String achievementId);
+    }
+
+    private static final class Rule {
+        final String eventId;
+        final String achievementId;
+        final boolean unlock;
+        final long per;
+        final long threshold;
+
+        Rule(String eventId, String achievementId, boolean unlock, long per, long threshold) {
+            this.eventId = eventId;
+            this.achievementId = achievementId;
+            this.unlock = unlock;
+            this.per = per;
+            this.threshold = threshold;
+        }
+
+        String key() {
+            return eventId + "|" + achievementId;
+        }
+    }
+
+    private final File stateFile;
+    private final Target target;
+
+    private Map<String, List<Rule>> byEvent = Collections.emptyMap();
+    private int ruleCount;
+    private boolean restored;
+    private boolean dirty;
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final Map<String, Long> remainders = new HashMap<>();
+    private final Set<String> unlocked = new HashSet<>();
+
+    private final Map<String, Long> batchIncrements = new LinkedHashMap<>();
+    private final Set<String> batchUnlocks = new LinkedHashSet<>();
+
+    private long incrementsSent;
+    private long unlocksSent;
+
+    AchievementRules(File stateFile, Target target) {
+        this.stateFile = stateFile;
+        this.target = target;
+    }
+
+    /**
+     * Replaces the rule table; null or empty clears it. Returns the number of rules loaded.
+     * Throws IllegalArgumentException for malformed JSON or an invalid rule, leaving the
+     * previous table in place.
+     */
+    int load(String json) {
+        Map<String, List<Rule>> parsed = new HashMap<>();
+        int count = 0;
+        if (json != null && !json.trim().isEmpty()) {
+            try {
+                String trimmed = json.trim();
+                JSONArray rules = trimmed.startsWith("[")
+                        ? new JSONArray(trimmed)
+                        : new JSONObject(trimmed).getJSONArray("rules");
+                for (int i = 0; i < rules.length(); i++) {
+                    Rule rule = parse(rules.getJSONObject(i), i);
+                    List<Rule> list = parsed.get(rule.eventId);
+                    if (list == null) {
+                        list = new ArrayList<>();
+                        parsed.put(rule.eventId, list);
+                    }
+                    list.add(rule);
+                    count++;
+                }
+            } catch (JSONException e) {
+                throw new IllegalArgumentException("Malformed achievement rules: " + e.getMessage(), e);
+            }
+        }
+
+        synchronized (this) {
+            if (!restored) {
+                restore();
+                restored = true;
+            }
+            byEvent = parsed;
+            ruleCount = count;
+        }
+        Log.d(TAG, "Loaded " + count + " achievement rules for " + parsed.size() + " events");
+        return count;
+    }
+
+    private static Rule parse(JSONObject obj, int index) throws JSONException {
+        String eventId = obj.optString("event", "");
+        String achievementId = obj.optString("achievement", "");
+        String type = obj.optString("type", "increment");
+        if (eventId.isEmpty() || achievementId.isEmpty()) {
+            throw new IllegalArgumentException("Rule " + index + " needs an event and an achievement");
+        }
+        boolean unlock;
+        if ("unlock".equals(type)) {
+            unlock = true;
+        } else if ("increment".equals(type)) {
+            unlock = false;
+        } else {
+            throw new IllegalArgumentException("Rule " + index + " has unknown type: " + type);
+        }
+        long per = obj.optLong("per", 1);
+        long threshold = obj.optLong("threshold", 1);
+        if (per < 1 || threshold < 1) {
+            throw new IllegalArgumentException("Rule " + index + " needs per and threshold of at least 1");
+        }
+        return new Rule(eventId, achievementId, unlock, per, threshold);
+    }
+
+    /** Counts steps the accumulator has just sent for an event and queues the linked achievement calls. */
+    synchronized void apply(String eventId, long steps) {
+        List<Rule> rules = byEvent.get(eventId);
+        if (rules == null || steps <= 0) return;
+
+        Long previous = counts.get(eventId);
+        long count = (previous != null ? previous : 0) + steps;
+        counts.put(eventId, count);
+        dirty = true;
+
+        for (Rule rule : rules) {
+            if (rule.unlock) {
+                if (count >= rule.threshold && unlocked.add(rule.key())) {
+                    batchUnlocks.add(rule.achievementId);
+                }
+                continue;
+            }
+            Long carried = remainders.get(rule.key());
+            long available = (carried != null ? carried : 0) + steps;
+            long achievementSteps = available / rule.per;
+            remainders.put(rule.key(), available % rule.per);
+            if (achievementSteps > 0) {
+                Long queued = batchIncrements.get(rule.achievementId);
+                batchIncrements.put(rule.achievementId, (queued != null ? queued : 0) + achievementSteps);
+            }
+        }
+    }
+
+    /** Hands the flush's merged achievement calls to the target and saves the counters. */
+    void flush() {
+        Map<String, Long> increments;
+        Set<String> unlocks;
+        synchronized (this) {
+            if (batchIncrements.isEmpty() && batchUnlocks.isEmpty() && !dirty) return;
+            increments = new LinkedHashMap<>(batchIncrements);
+            unlocks = new LinkedHashSet<>(batchUnlocks);
+            batchIncrements.clear();
+            batchUnlocks.clear();
+        }
+
+        for (Map.Entry<String, Long> entry : increments.entrySet()) {
+            long steps = entry.getValue();
+            while (steps > 0) {
+                int chunk = (int) Math.min(steps, Integer.MAX_VALUE);
+                target.increment(entry.getKey(), chunk);
+                steps -= chunk;
+            }
+        }
+        for (String achievementId : unlocks) {
+            target.unlock(achievementId);
+        }
+
+        synchronized (this) {
+            incrementsSent += increments.size();
+            unlocksSent += unlocks.size();
+            save();
+        }
+    }
+
+    synchronized JSONObject metricsJson() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("rules", ruleCount);
+        obj.put("events", byEvent.size());
+        obj.put("incrementsSent", incrementsSent);
+        obj.put("unlocksSent", unlocksSent);
+        return obj;
+    }
+
+    // Caller holds this.
+    private void save() {
+        if (!dirty) return;
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("counts", toJson(counts));
+            obj.put("remainders", toJson(remainders));
+            JSONArray fired = new JSONArray();
+            for (String key : unlocked) fired.put(key);
+            obj.put("unlocked", fired);
+
+            File tmp = new File(stateFile.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(obj.toString().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            if (!tmp.renameTo(stateFile)) {
+                throw new IOException("Failed to replace " + stateFile.getName());
+            }
+            dirty = false;
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to save achievement rule counters", e);
+        }
+    }
+
+    // Caller holds this.
+    private void restore() {
+        if (!stateFile.exists()) return;
+        try {
+            byte[] data;
+            try (FileInputStream in = new FileInputStream(stateFile)) {
+                data = new byte[(int) stateFile.length()];
+                int offset = 0;
+                while (offset < data.length) {
+                    int read = in.read(data, offset, data.length - offset);
+                    if (read < 0) break;
+                    offset += read;
+                }
+            }
+            JSONObject obj = new JSONObject(new String(data, StandardCharsets.UTF_8));
+            fromJson(obj.optJSONObject("counts"), counts);
+            fromJson(obj.optJSONObject("remainders"), remainders);
+            JSONArray fired = obj.optJSONArray("unlocked");
+            if (fired != null) {
+                for (int i = 0; i < fired.length(); i++) unlocked.add(fired.getString(i));
+            }
+            Log.d(TAG, "Restored achievement rule counters for " + counts.size() + " events");
+        } catch (Exception e) {
+            Log.e(TAG, "Discarding unreadable achievement rule counters", e);
+            counts.clear();
+            remainders.clear();
+            unlocked.clear();
+        }
+    }
+
+    private static JSONObject toJson(Map<String, Long> values) throws JSONException {
+        JSONObject obj = new JSONObject();
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (entry.getValue() != 0) obj.put(entry.getKey(), entry.getValue());
+        }
+        return obj;
+    }
+
+    private static void fromJson(JSONObject obj, Map<String, Long> into) {
+        if (obj == null) return;
+        Iterator<String> keys = obj.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            into.put(key, obj.optLong(key, 0));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.events;
+
+import android.os.SystemClock;
+
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.backend.EventsBackend.EventData;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of loaded events. Increments flushed after a load are folded into the cached
+ * value; increments still sitting in the accumulator are added when the entry is served.
+ */
+final class EventCache {
+    static final long DEFAULT_STALENESS_MS = 60_000;
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long stalenessMs = DEFAULT_STALENESS_MS;
+    private volatile long allLoadedAt = -1;
+
+    static final class Entry {
+        final String eventId;
+        final String name;
+        final String description;
+        final String imageUri;
+        final boolean isVisible;
+        final long loadedAt;
+        volatile long value;
+
+        Entry(EventData event, long loadedAt) {
+            this.eventId = event.eventId;
+            this.name = event.name;
+            this.description = event.description;
+            this.imageUri = event.imageUri != null ? event.imageUri : "";
+            this.isVisible = event.visible;
+            this.value = event.value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    void setStalenessMs(long stalenessMs) {
+        this.stalenessMs = Math.max(0, stalenessMs);
+    }
+
+    Entry put(EventData event) {
+        Entry entry = new Entry(event, SystemClock.elapsedRealtime());
+        entries.put(entry.eventId, entry);
+        return entry;
+    }
+
+    void markAllLoaded() {
+        allLoadedAt = SystemClock.elapsedRealtime();
+    }
+
+    Entry getFresh(String eventId) {
+        Entry entry = entries.get(eventId);
+        return entry != null && isFresh(entry.loadedAt) ? entry : null;
+    }
+
+    List<Entry> getAllIfFresh() {
+        if (!isFresh(allLoadedAt)) return null;
+        return new ArrayList<>(entries.values());
+    }
+
+    void applyIncrement(String eventId, int steps) {
+        Entry entry = entries.get(eventId);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.value += steps;
+            }
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        allLoadedAt = -1;
+    }
+
+    /** Clears the cache under memory pressure; returns the approximate bytes released. */
+    long trim() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + 2L * (length(entry.eventId) + length(entry.name)
+                    + length(entry.description) + length(entry.imageUri));
+        }
+        clear();
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private boolean isFresh(long loadedAt) {
+        return loadedAt >= 0 && SystemClock.elapsedRealtime() - loadedAt <= stalenessMs;
+    }
+
+    static JSONObject toJson(Entry entry, long pendingSteps) throws Exception {
+        return BridgeJson.serializeEvent(entry.eventId, entry.name, entry.description,
+                entry.value + pendingSteps, entry.imageUri, entry.isVisible);
+    }
+}
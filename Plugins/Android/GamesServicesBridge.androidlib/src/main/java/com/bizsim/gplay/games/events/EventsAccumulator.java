@@ -0,0 +1,324 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.events;
+
+import android.util.Log;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces event increments per event ID and hands the summed totals to a {@link Sink}
+ * on a fixed interval. Pending totals are checkpointed to disk so a process crash loses
+ * at most one checkpoint interval of progress. A flush drains the counters and checkpoints
+ * before it sends anything, so a crash mid-flush cannot restore and resend steps the sink
+ * already took. A sink that declines an increment (no rate budget left) ends the flush early;
+ * the unsent steps stay pending for the next one.
+ */
+final class EventsAccumulator {
+    private static final String TAG = "BizSimGames.Events";
+
+    static final long DEFAULT_FLUSH_INTERVAL_MS = 5000;
+    static final long DEFAULT_CHECKPOINT_INTERVAL_MS = 1000;
+
+    interface Sink {
+        /** Sends the steps, or returns false to keep them pending. */
+        boolean increment(String eventId, int steps);
+
+        /** Called after a flush that sent steps, on the flush thread. */
+        default void flushed() { }
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Object flushLock = new Object();
+    private final File checkpointFile;
+    private final Sink sink;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimEvents-Flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ScheduledFuture<?> flushFuture;
+    private ScheduledFuture<?> checkpointFuture;
+    private long flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+    private long checkpointIntervalMs = DEFAULT_CHECKPOINT_INTERVAL_MS;
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedSteps = new AtomicLong();
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong();
+    private volatile long lastFlushLatencyNanos;
+    private volatile long maxFlushLatencyNanos;
+
+    EventsAccumulator(File checkpointFile, Sink sink) {
+        this.checkpointFile = checkpointFile;
+        this.sink = sink;
+        scheduler.execute(this::restoreCheckpoint);
+        schedule();
+    }
+
+    void add(String eventId, int steps) {
+        AtomicLong counter = pending.get(eventId);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = pending.putIfAbsent(eventId, created);
+            if (counter == null) counter = created;
+        }
+        counter.addAndGet(steps);
+        dirty.set(true);
+    }
+
+    long pendingSteps(String eventId) {
+        AtomicLong counter = pending.get(eventId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    synchronized void setIntervals(long flushIntervalMs, long checkpointIntervalMs) {
+        if (flushIntervalMs > 0) this.flushIntervalMs = flushIntervalMs;
+        if (checkpointIntervalMs > 0) this.checkpointIntervalMs = checkpointIntervalMs;
+        schedule();
+    }
+
+    void flushAsync() {
+        try {
+            scheduler.execute(() -> {
+                flush();
+                checkpoint();
+            });
+        } catch (Exception e) {
+            Log.w(TAG, "Flush rejected, accumulator shut down");
+        }
+    }
+
+    /**
+     * Flushes and checkpoints on the flush thread, then runs {@code next} there. Used by forced
+     * loads so the server count includes local steps without blocking the caller's thread.
+     */
+    void flushThen(Runnable next) {
+        try {
+            scheduler.execute(() -> {
+                flush();
+                checkpoint();
+                next.run();
+            });
+        } catch (Exception e) {
+            Log.w(TAG, "Flush rejected, accumulator shut down");
+            next.run();
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            long start = System.nanoTime();
+            long steps = 0;
+
+            Map<String, Long> drained = new LinkedHashMap<>();
+            for (Map.Entry<String, AtomicLong> entry : pending.entrySet()) {
+                long total = entry.getValue().getAndSet(0);
+                if (total > 0) drained.put(entry.getKey(), total);
+            }
+            if (drained.isEmpty()) return;
+
+            // The checkpoint now holds only steps added since the drain. Steps handed back
+            // below are written by the caller's checkpoint after the flush.
+            dirty.set(true);
+            checkpoint();
+
+            boolean deferred = false;
+            for (Map.Entry<String, Long> entry : drained.entrySet()) {
+                String eventId = entry.getKey();
+                long remaining = entry.getValue();
+                if (!deferred) {
+                    try {
+                        while (remaining > 0) {
+                            int chunk = (int) Math.min(remaining, Integer.MAX_VALUE);
+                            if (!sink.increment(eventId, chunk)) {
+                                deferred = true;
+                                break;
+                            }
+                            remaining -= chunk;
+                            steps += chunk;
+                        }
+                    } catch (Exception e) {
+                        Log.e(TAG, "Failed to flush event: " + eventId, e);
+                    }
+                }
+                if (remaining > 0) {
+                    pending.get(eventId).addAndGet(remaining);
+                    dirty.set(true);
+                }
+            }
+            if (deferred) {
+                deferredCount.incrementAndGet();
+                Log.d(TAG, "Event flush deferred by the rate governor");
+            }
+
+            if (steps > 0) {
+                long latency = System.nanoTime() - start;
+                lastFlushLatencyNanos = latency;
+                if (latency > maxFlushLatencyNanos) maxFlushLatencyNanos = latency;
+                flushCount.incrementAndGet();
+                flushedSteps.addAndGet(steps);
+                dirty.set(true);
+                try {
+                    sink.flushed();
+                } catch (Exception e) {
+                    Log.e(TAG, "Post-flush hook failed", e);
+                }
+            }
+        }
+    }
+
+    void checkpoint() {
+        if (!dirty.getAndSet(false)) return;
+
+        try {
+            JSONObject obj = new JSONObject();
+            for (Map.Entry<String, AtomicLong> entry : pending.entrySet()) {
+                long value = entry.getValue().get();
+                if (value > 0) obj.put(entry.getKey(), value);
+            }
+
+            if (obj.length() == 0) {
+                if (checkpointFile.exists() && !checkpointFile.delete()) {
+                    Log.w(TAG, "Failed to delete empty events checkpoint");
+                }
+            } else {
+                writeAtomically(obj.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            checkpointCount.incrementAndGet();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to checkpoint pending events", e);
+            dirty.set(true);
+        }
+    }
+
+    String metricsJson() {
+        long pendingEvents = 0;
+        long pendingTotal = 0;
+        for (AtomicLong counter : pending.values()) {
+            long value = counter.get();
+            if (value > 0) {
+                pendingEvents++;
+                pendingTotal += value;
+            }
+        }
+
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("pendingEvents", pendingEvents);
+            obj.put("pendingSteps", pendingTotal);
+            obj.put("flushCount", flushCount.get());
+            obj.put("flushedSteps", flushedSteps.get());
+            obj.put("checkpointCount", checkpointCount.get());
+            obj.put("deferredFlushes", deferredCount.get());
+            obj.put("lastFlushLatencyMs", lastFlushLatencyNanos / 1_000_000.0);
+            obj.put("maxFlushLatencyMs", maxFlushLatencyNanos / 1_000_000.0);
+            obj.put("flushIntervalMs", flushIntervalMs);
+            obj.put("checkpointIntervalMs", checkpointIntervalMs);
+            return obj.toString();
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    void shutdown() {
+        synchronized (this) {
+            if (flushFuture != null) flushFuture.cancel(false);
+            if (checkpointFuture != null) checkpointFuture.cancel(false);
+        }
+        try {
+            scheduler.execute(() -> {
+                flush();
+                checkpoint();
+            });
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(2, TimeUnit.SECONDS)) {
+                Log.w(TAG, "Timed out waiting for final events flush");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            Log.w(TAG, "Final flush rejected, accumulator already shut down");
+        }
+    }
+
+    private synchronized void schedule() {
+        if (flushFuture != null) flushFuture.cancel(false);
+        if (checkpointFuture != null) checkpointFuture.cancel(false);
+
+        flushFuture = scheduler.scheduleWithFixedDelay(() -> {
+            flush();
+            checkpoint();
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        checkpointFuture = scheduler.scheduleWithFixedDelay(
+                this::checkpoint, checkpointIntervalMs, checkpointIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void restoreCheckpoint() {
+        if (!checkpointFile.exists()) return;
+
+        try {
+            JSONObject obj = new JSONObject(new String(readFile(checkpointFile), StandardCharsets.UTF_8));
+            int restored = 0;
+            Iterator<String> keys = obj.keys();
+            while (keys.hasNext()) {
+                String eventId = keys.next();
+                long value = obj.optLong(eventId, 0);
+                if (value > 0) {
+                    pending.putIfAbsent(eventId, new AtomicLong());
+                    pending.get(eventId).addAndGet(value);
+                    restored++;
+                }
+            }
+            if (restored > 0) dirty.set(true);
+            Log.d(TAG, "Restored " + restored + " pending events from checkpoint");
+        } catch (Exception e) {
+            Log.e(TAG, "Discarding unreadable events checkpoint", e);
+            if (!checkpointFile.delete()) {
+                Log.w(TAG, "Failed to delete unreadable events checkpoint");
+            }
+        }
+    }
+
+    private void writeAtomically(byte[] bytes) throws IOException {
+        File tmp = new File(checkpointFile.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(bytes);
+            out.getFD().sync();
+        }
+        if (!tmp.renameTo(checkpointFile)) {
+            throw new IOException("Failed to replace " + checkpointFile.getName());
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            byte[] data = new byte[(int) file.length()];
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) break;
+                offset += read;
+            }
+            return data;
+        }
+    }
+}
@@ -3,107 +3,432 @@
 package com.bizsim.gplay.games.events;
 
 import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
 import android.util.Log;
 
-import com.google.android.gms.games.PlayGames;
-import com.google.android.gms.games.EventsClient;
-import com.google.android.gms.games.event.Event;
-import com.google.android.gms.games.event.EventBuffer;
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.MemoryGovernor;
+import com.bizsim.gplay.games.Outbox;
+import com.bizsim.gplay.games.RateGovernor;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.EventsBackend;
+import com.bizsim.gplay.games.backend.EventsBackend.EventData;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class EventsBridge {
     private static final String TAG = "BizSimGames.Events";
+    private static final String SERVICE = "events";
+    private static final String CHECKPOINT_FILE = "bizsim_events_pending.json";
+    private static final String RULES_FILE = "bizsim_event_rules.json";
+    private static final BridgeMetrics.Operation LOAD = BridgeMetrics.operation("events.load");
+    private static final BridgeMetrics.Operation LOAD_BY_IDS = BridgeMetrics.operation("events.loadByIds");
+
+    // The bridge Unity created last; loads made elsewhere (session sync) go through its cache.
+    private static volatile EventsBridge active;
 
     private final Activity activity;
-    private final EventsClient eventsClient;
-    private IEventsCallback callback;
+    private final EventsBackend events;
+    private final EventsAccumulator accumulator;
+    private final AchievementRules rules;
+    private final EventCache cache = new EventCache();
+    private final MemoryGovernor.Trimmable cacheTrimmer = pressure -> cache.trim();
+    private final Application.ActivityLifecycleCallbacks lifecycleCallbacks;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private volatile IEventsCallback callback;
 
     public EventsBridge(Activity activity) {
         this.activity = activity;
-        this.eventsClient = PlayGames.getEventsClient(activity);
+        this.events = GamesBackends.get(activity).events();
+        this.rules = new AchievementRules(new File(activity.getFilesDir(), RULES_FILE), new AchievementRules.Target() {
+            @Override
+            public void increment(String achievementId, int steps) {
+                Outbox.get(activity).increment(achievementId, steps);
+            }
+
+            @Override
+            public void unlock(String achievementId) {
+                Outbox.get(activity).unlock(achievementId);
+            }
+        });
+        this.accumulator = new EventsAccumulator(
+                new File(activity.getFilesDir(), CHECKPOINT_FILE), new EventsAccumulator.Sink() {
+                    @Override
+                    public boolean increment(String eventId, int steps) {
+                        if (!RateGovernor.tryAcquire(SERVICE, RateGovernor.Priority.BACKGROUND)) return false;
+                        events.increment(eventId, steps);
+                        cache.applyIncrement(eventId, steps);
+                        rules.apply(eventId, steps);
+                        return true;
+                    }
+
+                    @Override
+                    public void flushed() {
+                        rules.flush();
+                    }
+                });
+
+        this.lifecycleCallbacks = new PauseFlushCallbacks();
+        activity.getApplication().registerActivityLifecycleCallbacks(lifecycleCallbacks);
+
+        MemoryGovernor.install(activity);
+        MemoryGovernor.register("eventCache", MemoryGovernor.PRIORITY_CACHES, cacheTrimmer);
+        active = this;
+
         Log.d(TAG, "EventsBridge initialized");
     }
 
+    public void warmUp() {
+        events.warmUp();
+    }
+
     public void setCallback(IEventsCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(IEventsCallback.class, callback);
     }
 
     public void incrementEvent(String eventId, int steps) {
-        eventsClient.increment(eventId, steps);
-    }
-
-    public void loadEvents() {
-        Log.d(TAG, "Loading all events");
-
-        eventsClient.load(true)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    EventBuffer buffer = annotatedData.get();
-                    try {
-                        JSONArray arr = new JSONArray();
-                        for (int i = 0; i < buffer.getCount(); i++) {
-                            Event event = buffer.get(i);
-                            arr.put(serializeEvent(event));
-                        }
-
-                        if (callback != null) {
-                            callback.onEventsLoaded(arr.toString());
-                        }
-                    } catch (Exception e) {
-                        sendError(100, "Failed to serialize events: " + e.getMessage());
-                    } finally {
-                        buffer.release();
-                    }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to load events", e);
-                    sendError(100, "Load failed: " + e.getMessage());
-                });
+        if (eventId == null || eventId.isEmpty() || steps <= 0) {
+            Log.w(TAG, "Ignoring invalid increment: " + eventId + " by " + steps);
+            return;
+        }
+        accumulator.add(eventId, steps);
     }
 
-    public void loadEvent(String eventId) {
-        Log.d(TAG, "Loading event: " + eventId);
-
-        eventsClient.loadByIds(true, eventId)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    EventBuffer buffer = annotatedData.get();
-                    try {
-                        if (buffer.getCount() > 0) {
-                            Event event = buffer.get(0);
-                            String json = serializeEvent(event).toString();
-                            if (callback != null) {
-                                callback.onEventLoaded(json);
-                            }
-                        } else {
-                            sendError(404, "Event not found: " + eventId);
-                        }
-                    } catch (Exception e) {
-                        sendError(100, "Failed to serialize event: " + e.getMessage());
-                    } finally {
-                        buffer.release();
-                    }
-                })
-                .addOnFailureListener(activity, e -> {
-                    Log.e(TAG, "Failed to load event: " + eventId, e);
-                    sendError(100, "Load failed: " + e.getMessage());
-                });
+    public void flushEvents() {
+        accumulator.flushAsync();
+    }
+
+    public void setFlushIntervals(long flushIntervalMs, long checkpointIntervalMs) {
+        accumulator.setIntervals(flushIntervalMs, checkpointIntervalMs);
+    }
+
+    public String getEventsMetrics() {
+        try {
+            JSONObject obj = new JSONObject(accumulator.metricsJson());
+            obj.put("achievementRules", rules.metricsJson());
+            return obj.toString();
+        } catch (Exception e) {
+            return accumulator.metricsJson();
+        }
+    }
+
+    /**
+     * Loads the event-to-achievement rule table (see {@link AchievementRules}), replacing any
+     * previous one; null or empty clears it. Returns the number of rules and throws
+     * IllegalArgumentException, keeping the old table, if the JSON is invalid.
+     */
+    public int setAchievementRules(String rulesJson) {
+        return rules.load(rulesJson);
+    }
+
+    public void setCacheStaleness(long stalenessMs) {
+        cache.setStalenessMs(stalenessMs);
+    }
+
+    public void clearEventCache() {
+        cache.clear();
+    }
+
+    public void loadEvents(final String requestId, boolean forceReload) {
+        Log.d(TAG, "Loading all events (forceReload: " + forceReload + ")");
+
+        if (!forceReload) {
+            List<EventCache.Entry> cached = cache.getAllIfFresh();
+            if (cached != null) {
+                deliverEvents(requestId, cached);
+                return;
+            }
+        }
+
+        deadlines.begin(requestId);
+        if (forceReload) {
+            accumulator.flushThen(() -> fetchEvents(requestId, true));
+        } else {
+            fetchEvents(requestId, false);
+        }
+    }
+
+    /**
+     * Runs a load made outside this bridge, after flushing pending increments when
+     * {@code forceReload} is set, as {@link #loadEvents} does.
+     */
+    public static void beforeLoad(boolean forceReload, Runnable load) {
+        EventsBridge bridge = active;
+        if (forceReload && bridge != null) {
+            bridge.accumulator.flushThen(load);
+        } else {
+            load.run();
+        }
+    }
+
+    /**
+     * Caches events loaded outside this bridge and returns them as JSON, with the increments
+     * not yet flushed added, as {@link #loadEvents} would deliver them.
+     */
+    public static JSONArray offerLoaded(List<EventData> loaded) throws Exception {
+        EventsBridge bridge = active;
+        JSONArray array = new JSONArray();
+        for (EventData event : loaded) {
+            if (bridge != null) {
+                EventCache.Entry entry = bridge.cache.put(event);
+                array.put(EventCache.toJson(entry, bridge.accumulator.pendingSteps(entry.eventId)));
+            } else {
+                array.put(BridgeJson.serializeEvent(event.eventId, event.name, event.description, event.value,
+                        event.imageUri, event.visible));
+            }
+        }
+        if (bridge != null) bridge.cache.markAllLoaded();
+        return array;
+    }
+
+    private void fetchEvents(final String requestId, boolean forceReload) {
+        final long started = LOAD.start();
+        Resilience.retrying(SERVICE, LOAD, cb -> events.load(forceReload, cb), new BackendCallback<List<EventData>>() {
+            @Override
+            public void onSuccess(List<EventData> result) {
+                LOAD.success(started);
+                List<EventCache.Entry> loaded = new ArrayList<>(result.size());
+                for (EventData event : result) {
+                    loaded.add(cache.put(event));
+                }
+                cache.markAllLoaded();
+                deliverEvents(requestId, loaded);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOAD.failure(started);
+                Log.e(TAG, "Failed to load events", e);
+                sendFailure(requestId, "Load failed: ", e);
+            }
+        });
+    }
+
+    public void loadEventsByIds(final String requestId, String eventIdsJson, boolean forceReload) {
+        String[] eventIds;
+        try {
+            JSONArray idsArray = new JSONArray(eventIdsJson);
+            eventIds = new String[idsArray.length()];
+            for (int i = 0; i < idsArray.length(); i++) {
+                eventIds[i] = idsArray.getString(i);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to parse event IDs", e);
+            sendError(requestId, 100, "Invalid event IDs: " + e.getMessage());
+            return;
+        }
+
+        Log.d(TAG, "Loading " + eventIds.length + " events (forceReload: " + forceReload + ")");
+
+        if (eventIds.length == 0) {
+            deliverEvents(requestId, new ArrayList<>());
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        if (forceReload) {
+            Collections.addAll(missing, eventIds);
+        } else {
+            for (String eventId : eventIds) {
+                if (cache.getFresh(eventId) == null) missing.add(eventId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            deliverEvents(requestId, collectCached(eventIds));
+            return;
+        }
+
+        deadlines.begin(requestId);
+        String[] missingIds = missing.toArray(new String[0]);
+        if (forceReload) {
+            accumulator.flushThen(() -> fetchEventsByIds(requestId, eventIds, missingIds, true));
+        } else {
+            fetchEventsByIds(requestId, eventIds, missingIds, false);
+        }
+    }
+
+    private void fetchEventsByIds(final String requestId, String[] eventIds, String[] missingIds, boolean forceReload) {
+        final long started = LOAD_BY_IDS.start();
+        Resilience.retrying(SERVICE, LOAD_BY_IDS, cb -> events.loadByIds(forceReload, missingIds, cb),
+                new BackendCallback<List<EventData>>() {
+            @Override
+            public void onSuccess(List<EventData> fetched) {
+                LOAD_BY_IDS.success(started);
+                Map<String, EventCache.Entry> loaded = new HashMap<>();
+                for (EventData event : fetched) {
+                    EventCache.Entry entry = cache.put(event);
+                    loaded.put(entry.eventId, entry);
+                }
+
+                List<EventCache.Entry> result = new ArrayList<>(eventIds.length);
+                for (String eventId : eventIds) {
+                    EventCache.Entry entry = loaded.get(eventId);
+                    if (entry == null) entry = cache.getFresh(eventId);
+                    if (entry != null) result.add(entry);
+                }
+                deliverEvents(requestId, result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOAD_BY_IDS.failure(started);
+                Log.e(TAG, "Failed to load events by IDs", e);
+                sendFailure(requestId, "Load failed: ", e);
+            }
+        });
     }
 
-    private JSONObject serializeEvent(Event event) throws Exception {
-        JSONObject obj = new JSONObject();
-        obj.put("eventId", event.getEventId());
-        obj.put("name", event.getName());
-        obj.put("description", event.getDescription());
-        obj.put("value", event.getValue());
-        obj.put("imageUri", event.getIconImageUri() != null ? event.getIconImageUri().toString() : "");
-        obj.put("isVisible", event.isVisible());
-        return obj;
+    public void loadEvent(final String requestId, String eventId, boolean forceReload) {
+        Log.d(TAG, "Loading event: " + eventId + " (forceReload: " + forceReload + ")");
+
+        if (!forceReload) {
+            EventCache.Entry cached = cache.getFresh(eventId);
+            if (cached != null) {
+                deliverEvent(requestId, cached);
+                return;
+            }
+        }
+
+        deadlines.begin(requestId);
+        if (forceReload) {
+            accumulator.flushThen(() -> fetchEvent(requestId, eventId, true));
+        } else {
+            fetchEvent(requestId, eventId, false);
+        }
+    }
+
+    private void fetchEvent(final String requestId, String eventId, boolean forceReload) {
+        final long started = LOAD_BY_IDS.start();
+        Resilience.retrying(SERVICE, LOAD_BY_IDS, cb -> events.loadByIds(forceReload, new String[] { eventId }, cb),
+                new BackendCallback<List<EventData>>() {
+            @Override
+            public void onSuccess(List<EventData> fetched) {
+                LOAD_BY_IDS.success(started);
+                if (!fetched.isEmpty()) {
+                    deliverEvent(requestId, cache.put(fetched.get(0)));
+                } else {
+                    sendError(requestId, 404, "Event not found: " + eventId, 1);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOAD_BY_IDS.failure(started);
+                Log.e(TAG, "Failed to load event: " + eventId, e);
+                sendFailure(requestId, "Load failed: ", e);
+            }
+        });
+    }
+
+    private List<EventCache.Entry> collectCached(String[] eventIds) {
+        List<EventCache.Entry> result = new ArrayList<>(eventIds.length);
+        for (String eventId : eventIds) {
+            EventCache.Entry entry = cache.getFresh(eventId);
+            if (entry != null) result.add(entry);
+        }
+        return result;
     }
 
-    private void sendError(int errorCode, String message) {
-        if (callback != null) {
-            callback.onEventsError(errorCode, message);
+    private void deliverEvents(String requestId, List<EventCache.Entry> entries) {
+        if (!deadlines.isLive(requestId)) return;
+        try {
+            JSONArray arr = new JSONArray();
+            for (EventCache.Entry entry : entries) {
+                arr.put(EventCache.toJson(entry, accumulator.pendingSteps(entry.eventId)));
+            }
+            IEventsCallback cb = callback;
+            if (cb != null) {
+                cb.onEventsLoaded(requestId, arr.toString());
+            }
+        } catch (Exception e) {
+            sendError(requestId, 100, "Failed to serialize events: " + e.getMessage());
         }
     }
+
+    private void deliverEvent(String requestId, EventCache.Entry entry) {
+        if (!deadlines.isLive(requestId)) return;
+        try {
+            String json = EventCache.toJson(entry, accumulator.pendingSteps(entry.eventId)).toString();
+            IEventsCallback cb = callback;
+            if (cb != null) {
+                cb.onEventLoaded(requestId, json);
+            }
+        } catch (Exception e) {
+            sendError(requestId, 100, "Failed to serialize event: " + e.getMessage());
+        }
+    }
+
+    /** Abandons an in-flight load; a result that arrives later is still cached but not delivered. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        sendError(requestId, RequestDeadlines.ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms");
+    }
+
+    public void shutdown() {
+        if (active == this) active = null;
+        deadlines.cancelAll();
+        activity.getApplication().unregisterActivityLifecycleCallbacks(lifecycleCallbacks);
+        accumulator.shutdown();
+        MemoryGovernor.unregister(cacheTrimmer);
+        cache.clear();
+        callback = null;
+    }
+
+    private void sendError(String requestId, int errorCode, String message) {
+        sendError(requestId, errorCode, message, 0);
+    }
+
+    private void sendFailure(String requestId, String prefix, Exception e) {
+        sendError(requestId, Resilience.errorCode(e), prefix + e.getMessage(), BackendException.attemptsOf(e));
+    }
+
+    private void sendError(String requestId, int errorCode, String message, int attempts) {
+        IEventsCallback cb = callback;
+        if (cb != null) {
+            cb.onEventsError(requestId, errorCode, message, attempts);
+        }
+    }
+
+    private final class PauseFlushCallbacks implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityPaused(Activity paused) {
+            if (paused == activity) accumulator.flushAsync();
+        }
+
+        @Override
+        public void onActivityCreated(Activity a, Bundle savedInstanceState) { }
+
+        @Override
+        public void onActivityStarted(Activity a) { }
+
+        @Override
+        public void onActivityResumed(Activity a) { }
+
+        @Override
+        public void onActivityStopped(Activity a) { }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity a, Bundle outState) { }
+
+        @Override
+        public void onActivityDestroyed(Activity a) { }
+    }
 }
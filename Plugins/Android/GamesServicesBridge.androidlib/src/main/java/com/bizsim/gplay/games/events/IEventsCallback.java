@@ -3,7 +3,7 @@
 package com.bizsim.gplay.games.events;
 
 public interface IEventsCallback {
-    void onEventsLoaded(String eventsJson);
-    void onEventLoaded(String eventJson);
-    void onEventsError(int errorCode, String message);
+    void onEventsLoaded(String requestId, String eventsJson);
+    void onEventLoaded(String requestId, String eventJson);
+    void onEventsError(String requestId, int errorCode, String message, int attempts);
 }
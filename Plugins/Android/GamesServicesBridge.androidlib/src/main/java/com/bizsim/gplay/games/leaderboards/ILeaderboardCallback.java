@@ -3,8 +3,8 @@
 package com.bizsim.gplay.games.leaderboards;
 
 public interface ILeaderboardCallback {
-    void onScoreSubmitted(String leaderboardId, long score);
-    void onScoresLoaded(String leaderboardId, String scoresJson);
-    void onLeaderboardUIClosed();
-    void onLeaderboardError(int errorCode, String errorMessage, String leaderboardId);
+    void onScoreSubmitted(String requestId, String leaderboardId, long score);
+    void onScoresLoaded(String requestId, String leaderboardId, String scoresJson);
+    void onLeaderboardUIClosed(String requestId);
+    void onLeaderboardError(String requestId, int errorCode, String errorMessage, String leaderboardId, int attempts);
 }
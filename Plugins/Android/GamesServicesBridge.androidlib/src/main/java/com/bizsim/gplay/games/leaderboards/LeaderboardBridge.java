@@ -10,148 +10,220 @@ import androidx.activity.ComponentActivity;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 
-import com.google.android.gms.games.PlayGames;
-import com.google.android.gms.games.LeaderboardsClient;
-import com.google.android.gms.games.leaderboard.LeaderboardScore;
-import com.google.android.gms.games.leaderboard.LeaderboardScoreBuffer;
-import com.google.android.gms.games.Player;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.GamesInitializer;
+import com.bizsim.gplay.games.Outbox;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class LeaderboardBridge {
     private static final String TAG = "BizSimGames.Leaderboards";
-
-    private final Activity activity;
-    private final LeaderboardsClient leaderboardsClient;
-    private final ActivityResultLauncher<Intent> leaderboardLauncher;
-    private final ActivityResultLauncher<Intent> allLeaderboardsLauncher;
-    private ILeaderboardCallback callback;
+    private static final String SERVICE = "leaderboards";
+    private static final BridgeMetrics.Operation LOAD_TOP = BridgeMetrics.operation("leaderboards.loadTopScores");
+    private static final BridgeMetrics.Operation LOAD_CENTERED = BridgeMetrics.operation("leaderboards.loadPlayerCenteredScores");
+    private static final BridgeMetrics.Operation SHOW_UI = BridgeMetrics.operation("leaderboards.uiIntent");
+
+    private final LeaderboardsBackend leaderboards;
+    private final Outbox outbox;
+    private final GamesInitializer.Lazy<ActivityResultLauncher<Intent>> leaderboardLauncher;
+    private final GamesInitializer.Lazy<ActivityResultLauncher<Intent>> allLeaderboardsLauncher;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private volatile ILeaderboardCallback callback;
+    private final AtomicReference<String> uiRequestId = new AtomicReference<>();
 
     public LeaderboardBridge(Activity activity) {
-        this.activity = activity;
-        this.leaderboardsClient = PlayGames.getLeaderboardsClient(activity);
-
-        this.leaderboardLauncher = ((ComponentActivity) activity)
-                .getActivityResultRegistry()
-                .register(
-                        "bizsim_leaderboard",
-                        new ActivityResultContracts.StartActivityForResult(),
-                        result -> {
-                            if (callback != null) callback.onLeaderboardUIClosed();
-                        }
-                );
-
-        this.allLeaderboardsLauncher = ((ComponentActivity) activity)
-                .getActivityResultRegistry()
-                .register(
-                        "bizsim_all_leaderboards",
-                        new ActivityResultContracts.StartActivityForResult(),
-                        result -> {
-                            if (callback != null) callback.onLeaderboardUIClosed();
-                        }
-                );
-
-        Log.d(TAG, "LeaderboardBridge initialized with ActivityResultLauncher");
+        this.leaderboards = GamesBackends.get(activity).leaderboards();
+        this.outbox = Outbox.get(activity);
+
+        this.leaderboardLauncher = GamesInitializer.lazy("leaderboards.launcher", () ->
+                ((ComponentActivity) activity)
+                        .getActivityResultRegistry()
+                        .register(
+                                "bizsim_leaderboard",
+                                new ActivityResultContracts.StartActivityForResult(),
+                                result -> onUIClosed()
+                        ));
+
+        this.allLeaderboardsLauncher = GamesInitializer.lazy("leaderboards.allLauncher", () ->
+                ((ComponentActivity) activity)
+                        .getActivityResultRegistry()
+                        .register(
+                                "bizsim_all_leaderboards",
+                                new ActivityResultContracts.StartActivityForResult(),
+                                result -> onUIClosed()
+                        ));
+
+        Log.d(TAG, "LeaderboardBridge initialized");
+    }
+
+    public void warmUp() {
+        leaderboards.warmUp();
     }
 
     public void setCallback(ILeaderboardCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(ILeaderboardCallback.class, callback);
     }
 
-    public void submitScore(String leaderboardId, long score, String scoreTag) {
+    public void submitScore(final String requestId, String leaderboardId, long score, String scoreTag) {
         Log.d(TAG, "Submitting score: " + score + " to " + leaderboardId);
 
-        if (scoreTag != null && !scoreTag.isEmpty()) {
-            leaderboardsClient.submitScore(leaderboardId, score, scoreTag);
-        } else {
-            leaderboardsClient.submitScore(leaderboardId, score);
+        outbox.submitScore(leaderboardId, score, scoreTag);
+
+        ILeaderboardCallback cb = callback;
+
+        if (cb != null) {
+            cb.onScoreSubmitted(requestId, leaderboardId, score);
         }
+    }
+
+    public void showLeaderboardUI(final String requestId, String leaderboardId) {
+        uiRequestId.set(requestId);
+        deadlines.begin(requestId);
+        final long started = SHOW_UI.start();
+        Resilience.retrying(SERVICE, SHOW_UI, cb -> leaderboards.getLeaderboardIntent(leaderboardId, cb),
+                new UiIntentCallback(requestId, leaderboardId, started, leaderboardLauncher));
+    }
 
-        if (callback != null) {
-            callback.onScoreSubmitted(leaderboardId, score);
+    public void showAllLeaderboardsUI(final String requestId) {
+        uiRequestId.set(requestId);
+        deadlines.begin(requestId);
+        final long started = SHOW_UI.start();
+        Resilience.retrying(SERVICE, SHOW_UI, leaderboards::getAllLeaderboardsIntent,
+                new UiIntentCallback(requestId, null, started, allLeaderboardsLauncher));
+    }
+
+    private final class UiIntentCallback implements BackendCallback<Object> {
+        private final String requestId;
+        private final String leaderboardId;
+        private final long started;
+        private final GamesInitializer.Lazy<ActivityResultLauncher<Intent>> launcher;
+
+        UiIntentCallback(String requestId, String leaderboardId, long started,
+                         GamesInitializer.Lazy<ActivityResultLauncher<Intent>> launcher) {
+            this.requestId = requestId;
+            this.leaderboardId = leaderboardId;
+            this.started = started;
+            this.launcher = launcher;
+        }
+
+        @Override
+        public void onSuccess(Object intent) {
+            SHOW_UI.success(started);
+            if (intent instanceof Intent) {
+                deadlines.suspend(requestId);
+                launcher.get().launch((Intent) intent);
+            } else {
+                Log.w(TAG, "No leaderboard UI available");
+                onUIClosed();
+            }
         }
+
+        @Override
+        public void onFailure(Exception e) {
+            SHOW_UI.failure(started);
+            uiRequestId.compareAndSet(requestId, null);
+            sendFailure(requestId, e, leaderboardId);
+        }
+    }
+
+    private void onUIClosed() {
+        String requestId = uiRequestId.getAndSet(null);
+        ILeaderboardCallback cb = callback;
+        if (cb != null) cb.onLeaderboardUIClosed(requestId);
     }
 
-    public void showLeaderboardUI(String leaderboardId) {
-        leaderboardsClient.getLeaderboardIntent(leaderboardId)
-                .addOnSuccessListener(activity, leaderboardLauncher::launch)
-                .addOnFailureListener(activity, e -> sendError(100, e.getMessage(), leaderboardId));
-    }
-
-    public void showAllLeaderboardsUI() {
-        leaderboardsClient.getAllLeaderboardsIntent()
-                .addOnSuccessListener(activity, allLeaderboardsLauncher::launch)
-                .addOnFailureListener(activity, e -> sendError(100, e.getMessage(), null));
-    }
-
-    public void loadTopScores(String leaderboardId, int timeSpan, int collection, int maxResults) {
-        leaderboardsClient.loadTopScores(leaderboardId, timeSpan, collection, maxResults)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    LeaderboardsClient.LeaderboardScores leaderboardScores = annotatedData.get();
-                    try {
-                        String json = serializeScores(leaderboardScores.getScores());
-                        if (callback != null) {
-                            callback.onScoresLoaded(leaderboardId, json);
-                        }
-                    } catch (Exception e) {
-                        sendError(100, e.getMessage(), leaderboardId);
-                    } finally {
-                        leaderboardScores.release();
-                    }
-                })
-                .addOnFailureListener(activity, e -> sendError(100, e.getMessage(), leaderboardId));
-    }
-
-    public void loadPlayerCenteredScores(String leaderboardId, int timeSpan, int collection, int maxResults) {
-        leaderboardsClient.loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    LeaderboardsClient.LeaderboardScores leaderboardScores = annotatedData.get();
-                    try {
-                        String json = serializeScores(leaderboardScores.getScores());
-                        if (callback != null) {
-                            callback.onScoresLoaded(leaderboardId, json);
-                        }
-                    } catch (Exception e) {
-                        sendError(100, e.getMessage(), leaderboardId);
-                    } finally {
-                        leaderboardScores.release();
-                    }
-                })
-                .addOnFailureListener(activity, e -> sendError(100, e.getMessage(), leaderboardId));
-    }
-
-    private String serializeScores(LeaderboardScoreBuffer buffer) throws Exception {
-        JSONArray array = new JSONArray();
-
-        for (int i = 0; i < buffer.getCount(); i++) {
-            LeaderboardScore score = buffer.get(i);
-            JSONObject obj = new JSONObject();
-            Player holder = score.getScoreHolder();
-            obj.put("playerId", holder != null ? holder.getPlayerId() : "");
-            obj.put("displayName", holder != null ? holder.getDisplayName() : "");
-            obj.put("score", score.getRawScore());
-            obj.put("formattedScore", score.getDisplayScore());
-            obj.put("rank", score.getRank());
-            obj.put("scoreTag", score.getScoreTag() != null ? score.getScoreTag() : "");
-            obj.put("timestampMillis", score.getTimestampMillis());
-            obj.put("avatarUrl", (holder != null && holder.getHiResImageUri() != null) ?
-                holder.getHiResImageUri().toString() : "");
-            array.put(obj);
+    public void loadTopScores(final String requestId, String leaderboardId, int timeSpan, int collection, int maxResults) {
+        deadlines.begin(requestId);
+        final long started = LOAD_TOP.start();
+        Resilience.retrying(SERVICE, LOAD_TOP,
+                cb -> leaderboards.loadTopScores(leaderboardId, timeSpan, collection, maxResults, cb),
+                new ScoresCallback(requestId, leaderboardId, LOAD_TOP, started));
+    }
+
+    public void loadPlayerCenteredScores(final String requestId, String leaderboardId, int timeSpan, int collection, int maxResults) {
+        deadlines.begin(requestId);
+        final long started = LOAD_CENTERED.start();
+        Resilience.retrying(SERVICE, LOAD_CENTERED,
+                cb -> leaderboards.loadPlayerCenteredScores(leaderboardId, timeSpan, collection, maxResults, cb),
+                new ScoresCallback(requestId, leaderboardId, LOAD_CENTERED, started));
+    }
+
+    private final class ScoresCallback implements BackendCallback<List<ScoreData>> {
+        private final String requestId;
+        private final String leaderboardId;
+        private final BridgeMetrics.Operation operation;
+        private final long started;
+
+        ScoresCallback(String requestId, String leaderboardId, BridgeMetrics.Operation operation, long started) {
+            this.requestId = requestId;
+            this.leaderboardId = leaderboardId;
+            this.operation = operation;
+            this.started = started;
         }
 
-        return array.toString();
+        @Override
+        public void onSuccess(List<ScoreData> scores) {
+            operation.success(started);
+            try {
+                String json = BridgeJson.serializeScores(scores);
+                ILeaderboardCallback cb = callback;
+                if (cb != null) {
+                    cb.onScoresLoaded(requestId, leaderboardId, json);
+                }
+            } catch (Exception e) {
+                sendError(requestId, 100, e.getMessage(), leaderboardId);
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            operation.failure(started);
+            sendFailure(requestId, e, leaderboardId);
+        }
+    }
+
+    /** Abandons an in-flight request; any result that arrives later is dropped. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        sendError(requestId, RequestDeadlines.ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms", null);
     }
 
     public void shutdown() {
-        leaderboardLauncher.unregister();
-        allLeaderboardsLauncher.unregister();
+        deadlines.cancelAll();
+        unregister(leaderboardLauncher);
+        unregister(allLeaderboardsLauncher);
         callback = null;
     }
 
-    private void sendError(int errorCode, String errorMessage, String leaderboardId) {
-        if (callback != null) {
-            callback.onLeaderboardError(errorCode, errorMessage, leaderboardId);
+    private static void unregister(GamesInitializer.Lazy<ActivityResultLauncher<Intent>> launcher) {
+        ActivityResultLauncher<Intent> created = launcher.getIfCreated();
+        if (created != null) created.unregister();
+    }
+
+    private void sendError(String requestId, int errorCode, String errorMessage, String leaderboardId) {
+        sendError(requestId, errorCode, errorMessage, leaderboardId, 0);
+    }
+
+    private void sendFailure(String requestId, Exception e, String leaderboardId) {
+        sendError(requestId, Resilience.errorCode(e), e.getMessage(), leaderboardId, BackendException.attemptsOf(e));
+    }
+
+    private void sendError(String requestId, int errorCode, String errorMessage, String leaderboardId, int attempts) {
+        ILeaderboardCallback cb = callback;
+        if (cb != null) {
+            cb.onLeaderboardError(requestId, errorCode, errorMessage, leaderboardId, attempts);
         }
     }
 }
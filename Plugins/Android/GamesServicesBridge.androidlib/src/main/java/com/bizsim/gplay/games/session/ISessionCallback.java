@@ -0,0 +1,21 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.session;
+
+public interface ISessionCallback {
+    /**
+     * Called once per syncSession() call, when every load has finished or the shared deadline
+     * has passed. Loads that failed or did not finish are reported in the result, not here.
+     * @param requestId ID passed to syncSession()
+     * @param resultJson Packed result: loaded data, per-component timings and status
+     */
+    void onSessionSynced(String requestId, String resultJson);
+
+    /**
+     * Called when a session sync could not start (malformed spec).
+     * @param requestId ID passed to syncSession()
+     * @param errorCode Error code (100=Internal)
+     * @param errorMessage Human-readable error message
+     */
+    void onSessionError(String requestId, int errorCode, String errorMessage);
+}
@@ -0,0 +1,395 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.session;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.GamesBackend;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+import com.bizsim.gplay.games.cloudsave.CloudSaveBridge;
+import com.bizsim.gplay.games.events.EventsBridge;
+import com.bizsim.gplay.games.stats.StatsBridge;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One-shot sync of the data a game loads right after sign-in.
+ *
+ * syncSession() starts every load named in the spec at once (achievements, player stats,
+ * events, player-centered scores for any number of leaderboards, snapshot metadata) instead
+ * of one after another through the per-service bridges, and answers with a single
+ * onSessionSynced once they have all finished or the shared deadline has passed. Loads go
+ * straight to the backends through {@link Resilience}, under the same service names and
+ * metrics as the bridges, so breakers and retries behave as if the bridges had made them.
+ * Loaded player stats and events also refresh the stats and events bridges' caches, and the
+ * events are packed with increments not yet flushed, flushing them first on forceReload.
+ *
+ * A failed or unfinished load does not fail the session: the result carries whatever did
+ * load, plus one component entry per load with its status, elapsed time and error, and the
+ * slowest component as criticalPath.
+ */
+public class SessionBridge {
+    private static final String TAG = "BizSimGames.Session";
+    private static final String SERVICE = "session";
+    private static final BridgeMetrics.Operation SYNC = BridgeMetrics.operation("session.sync");
+    private static final BridgeMetrics.Operation LOAD_ACHIEVEMENTS = BridgeMetrics.operation("achievements.load");
+    private static final BridgeMetrics.Operation LOAD_STATS = BridgeMetrics.operation("stats.load");
+    private static final BridgeMetrics.Operation LOAD_EVENTS = BridgeMetrics.operation("events.load");
+    private static final BridgeMetrics.Operation LOAD_SCORES = BridgeMetrics.operation("leaderboards.loadPlayerCenteredScores");
+    private static final BridgeMetrics.Operation LOAD_SNAPSHOTS = BridgeMetrics.operation("cloudsave.list");
+
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_OK = "ok";
+    private static final String STATUS_FAILED = "failed";
+    private static final String STATUS_TIMED_OUT = "timedOut";
+
+    private interface Packer<T> {
+        Object pack(T result) throws Exception;
+    }
+
+    private static final class BoardRequest {
+        final String leaderboardId;
+        final int timeSpan;
+        final int collection;
+        final int maxResults;
+
+        BoardRequest(String leaderboardId, int timeSpan, int collection, int maxResults) {
+            this.leaderboardId = leaderboardId;
+            this.timeSpan = timeSpan;
+            this.collection = collection;
+            this.maxResults = maxResults;
+        }
+    }
+
+    private static final class Spec {
+        boolean achievements;
+        boolean playerStats;
+        boolean events;
+        boolean snapshots;
+        boolean forceReload;
+        long deadlineMs;
+        final List<BoardRequest> leaderboards = new ArrayList<>();
+
+        static Spec parse(String json) throws JSONException {
+            JSONObject obj = new JSONObject(json);
+            Spec spec = new Spec();
+            spec.achievements = obj.optBoolean("achievements");
+            spec.playerStats = obj.optBoolean("playerStats");
+            spec.events = obj.optBoolean("events");
+            spec.snapshots = obj.optBoolean("snapshots");
+            spec.forceReload = obj.optBoolean("forceReload");
+            spec.deadlineMs = obj.optLong("deadlineMillis");
+
+            JSONArray boards = obj.optJSONArray("leaderboards");
+            if (boards != null) {
+                for (int i = 0; i < boards.length(); i++) {
+                    JSONObject board = boards.getJSONObject(i);
+                    String id = board.optString("leaderboardId", "");
+                    if (id.isEmpty()) throw new JSONException("leaderboards[" + i + "] has no leaderboardId");
+                    spec.leaderboards.add(new BoardRequest(id, board.optInt("timeSpan", 2),
+                            board.optInt("collection", 0), board.optInt("maxResults", 10)));
+                }
+            }
+            return spec;
+        }
+    }
+
+    private static final class Component {
+        final String name;
+        final String key;
+        final String leaderboardId;
+        String status = STATUS_PENDING;
+        long elapsedMs;
+        Object data;
+        int errorCode;
+        String errorMessage;
+        int attempts;
+
+        Component(String name, String key, String leaderboardId) {
+            this.name = name;
+            this.key = key;
+            this.leaderboardId = leaderboardId;
+        }
+    }
+
+    /** One syncSession() call. Guarded by itself; components are only added before any load starts. */
+    private static final class Session {
+        final String requestId;
+        final long startedNanos = SYNC.start();
+        final long startedAt = SystemClock.elapsedRealtime();
+        final List<Component> components = new ArrayList<>();
+        int remaining;
+        boolean done;
+
+        Session(String requestId) {
+            this.requestId = requestId;
+        }
+
+        Component add(String name, String key, String leaderboardId) {
+            Component component = new Component(name, key, leaderboardId);
+            components.add(component);
+            remaining++;
+            return component;
+        }
+    }
+
+    private final GamesBackend backends;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private volatile ISessionCallback callback;
+
+    public SessionBridge(Activity activity) {
+        this.backends = GamesBackends.get(activity);
+        Log.d(TAG, "SessionBridge initialized");
+    }
+
+    /** Nothing to warm: the loads use the service clients the other bridges warm. */
+    public void warmUp() {
+    }
+
+    public void setCallback(ISessionCallback callback) {
+        this.callback = deadlines.guard(ISessionCallback.class, callback);
+    }
+
+    /**
+     * Starts every load named in {@code specJson} and answers once with the packed result.
+     * A deadlineMillis of zero or less uses the default request deadline.
+     */
+    public void syncSession(final String requestId, String specJson) {
+        Spec spec;
+        try {
+            spec = Spec.parse(specJson);
+        } catch (Exception e) {
+            Log.e(TAG, "Invalid session spec: " + e.getMessage());
+            sendError(requestId, 100, "Invalid session spec: " + e.getMessage());
+            return;
+        }
+
+        final Session session = new Session(requestId);
+        final boolean forceReload = spec.forceReload;
+        Component achievements = spec.achievements ? session.add("achievements", "achievements", null) : null;
+        Component stats = spec.playerStats ? session.add("playerStats", "playerStats", null) : null;
+        Component events = spec.events ? session.add("events", "events", null) : null;
+        Component snapshots = spec.snapshots ? session.add("snapshots", "snapshots", null) : null;
+        List<Component> boards = new ArrayList<>(spec.leaderboards.size());
+        for (BoardRequest board : spec.leaderboards) {
+            boards.add(session.add("leaderboard:" + board.leaderboardId, null, board.leaderboardId));
+        }
+
+        sessions.put(requestId, session);
+        deadlines.begin(requestId, spec.deadlineMs > 0 ? spec.deadlineMs : RequestDeadlines.getDefaultDeadlineMs());
+        Log.d(TAG, "Syncing session " + requestId + ": " + session.components.size() + " loads");
+        if (session.components.isEmpty()) {
+            synchronized (session) {
+                session.done = true;
+            }
+            deliver(session);
+            return;
+        }
+
+        if (achievements != null) {
+            load(session, achievements, "achievements", LOAD_ACHIEVEMENTS,
+                    cb -> backends.achievements().load(forceReload, cb),
+                    (List<AchievementData> list) -> new JSONArray(BridgeJson.serializeAchievements(list)));
+        }
+        if (stats != null) {
+            load(session, stats, "stats", LOAD_STATS,
+                    cb -> backends.playerStats().loadPlayerStats(forceReload, cb),
+                    SessionBridge::packStats);
+        }
+        if (events != null) {
+            load(session, events, "events", LOAD_EVENTS,
+                    cb -> EventsBridge.beforeLoad(forceReload, () -> backends.events().load(forceReload, cb)),
+                    EventsBridge::offerLoaded);
+        }
+        if (snapshots != null) {
+            load(session, snapshots, "cloudsave", LOAD_SNAPSHOTS,
+                    cb -> backends.snapshots().loadMetadata(forceReload, cb),
+                    SessionBridge::packSnapshots);
+        }
+        for (int i = 0; i < boards.size(); i++) {
+            final BoardRequest board = spec.leaderboards.get(i);
+            load(session, boards.get(i), "leaderboards", LOAD_SCORES,
+                    cb -> backends.leaderboards().loadPlayerCenteredScores(board.leaderboardId, board.timeSpan,
+                            board.collection, board.maxResults, cb),
+                    (List<ScoreData> scores) -> new JSONArray(BridgeJson.serializeScores(scores)));
+        }
+    }
+
+    private <T> void load(Session session, Component component, String service, BridgeMetrics.Operation operation,
+                          Resilience.Attempt<T> attempt, Packer<T> packer) {
+        final long started = operation.start();
+        Resilience.retrying(service, operation, attempt, new BackendCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                operation.success(started);
+                Object packed;
+                try {
+                    packed = packer.pack(result);
+                } catch (Exception e) {
+                    finish(session, component, null, 100, e.getMessage(), 1);
+                    return;
+                }
+                finish(session, component, packed, 0, null, 0);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                operation.failure(started);
+                finish(session, component, null, Resilience.errorCode(e), e.getMessage(), BackendException.attemptsOf(e));
+            }
+        });
+    }
+
+    private void finish(Session session, Component component, Object data,
+                        int errorCode, String errorMessage, int attempts) {
+        synchronized (session) {
+            if (session.done || !STATUS_PENDING.equals(component.status)) return;
+            component.status = data != null ? STATUS_OK : STATUS_FAILED;
+            component.elapsedMs = SystemClock.elapsedRealtime() - session.startedAt;
+            component.data = data;
+            component.errorCode = errorCode;
+            component.errorMessage = errorMessage;
+            component.attempts = attempts;
+            if (--session.remaining > 0) return;
+            session.done = true;
+        }
+        deliver(session);
+    }
+
+    private static Object packStats(StatsData data) throws Exception {
+        String json = BridgeJson.serializeStats(data);
+        StatsBridge.offerLoaded(json);
+        return new JSONObject(json);
+    }
+
+    private static Object packSnapshots(List<SnapshotMeta> snapshots) throws Exception {
+        JSONArray array = new JSONArray();
+        for (SnapshotMeta meta : snapshots) {
+            if (CloudSaveBridge.isSaveSlot(meta.uniqueName)) {
+                array.put(new JSONObject(BridgeJson.serializeSnapshot(meta)));
+            }
+        }
+        return array;
+    }
+
+    /** Abandons an in-flight sync; loads still running finish unobserved. */
+    public void cancel(String requestId) {
+        Session session = sessions.remove(requestId);
+        if (session != null) {
+            synchronized (session) {
+                session.done = true;
+            }
+        }
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        Session session = sessions.get(requestId);
+        if (session == null) return;
+        synchronized (session) {
+            if (session.done) return;
+            session.done = true;
+            for (Component component : session.components) {
+                if (!STATUS_PENDING.equals(component.status)) continue;
+                component.status = STATUS_TIMED_OUT;
+                component.elapsedMs = deadlineMs;
+                component.errorCode = RequestDeadlines.ERROR_TIMEOUT;
+                component.errorMessage = "Timed out after " + deadlineMs + " ms";
+            }
+        }
+        deliver(session);
+    }
+
+    // session.done is set, so no component changes any more.
+    private void deliver(Session session) {
+        sessions.remove(session.requestId, session);
+        String json;
+        boolean complete = true;
+        try {
+            JSONObject result = new JSONObject();
+            JSONArray components = new JSONArray();
+            JSONArray leaderboards = new JSONArray();
+            Component slowest = null;
+
+            for (Component component : session.components) {
+                if (!STATUS_OK.equals(component.status)) complete = false;
+                if (slowest == null || component.elapsedMs > slowest.elapsedMs) slowest = component;
+
+                JSONObject entry = new JSONObject();
+                entry.put("name", component.name);
+                entry.put("status", component.status);
+                entry.put("elapsedMillis", component.elapsedMs);
+                entry.put("errorCode", component.errorCode);
+                entry.put("errorMessage", component.errorMessage != null ? component.errorMessage : "");
+                entry.put("attempts", component.attempts);
+                components.put(entry);
+
+                if (component.data == null) continue;
+                if (component.leaderboardId != null) {
+                    JSONObject board = new JSONObject();
+                    board.put("leaderboardId", component.leaderboardId);
+                    board.put("scores", component.data);
+                    leaderboards.put(board);
+                } else {
+                    result.put(component.key, component.data);
+                }
+            }
+
+            result.put("leaderboards", leaderboards);
+            result.put("components", components);
+            result.put("elapsedMillis", SystemClock.elapsedRealtime() - session.startedAt);
+            result.put("criticalPath", slowest != null ? slowest.name : "");
+            result.put("complete", complete);
+            json = result.toString();
+        } catch (Exception e) {
+            SYNC.failure(session.startedNanos);
+            sendError(session.requestId, 100, e.getMessage());
+            return;
+        }
+
+        if (complete) {
+            SYNC.success(session.startedNanos);
+        } else {
+            SYNC.failure(session.startedNanos);
+        }
+        Log.d(TAG, "Session " + session.requestId + " synced" + (complete ? "" : " (partial)"));
+
+        ISessionCallback cb = callback;
+        if (cb != null) {
+            cb.onSessionSynced(session.requestId, json);
+        }
+    }
+
+    private void sendError(String requestId, int errorCode, String errorMessage) {
+        ISessionCallback cb = callback;
+        if (cb != null) {
+            cb.onSessionError(requestId, errorCode, errorMessage);
+        }
+    }
+
+    public void shutdown() {
+        deadlines.cancelAll();
+        sessions.clear();
+        callback = null;
+    }
+}
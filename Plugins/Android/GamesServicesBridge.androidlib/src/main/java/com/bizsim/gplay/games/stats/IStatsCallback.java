@@ -3,6 +3,6 @@
 package com.bizsim.gplay.games.stats;
 
 public interface IStatsCallback {
-    void onStatsLoaded(String statsJson);
-    void onStatsError(int errorCode, String errorMessage);
+    void onStatsLoaded(String requestId, String statsJson);
+    void onStatsError(String requestId, int errorCode, String errorMessage, int attempts);
 }
@@ -3,14 +3,26 @@
 package com.bizsim.gplay.games.stats;
 
 import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 
-import com.google.android.gms.games.PlayGames;
-import com.google.android.gms.games.PlayerStatsClient;
-import com.google.android.gms.games.stats.PlayerStats;
+import com.bizsim.gplay.games.AuthBridge;
+import com.bizsim.gplay.games.BridgeJson;
+import com.bizsim.gplay.games.BridgeMetrics;
+import com.bizsim.gplay.games.GamesBackends;
+import com.bizsim.gplay.games.RequestDeadlines;
+import com.bizsim.gplay.games.Resilience;
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * JNI bridge for Google Play Games Player Stats (PGS v2).
  *
@@ -19,70 +31,300 @@ import org.json.JSONObject;
  * - PlayerStats is in com.google.android.gms.games.stats package
  * - loadPlayerStats() returns Task<AnnotatedData<PlayerStats>>
  * - churnProbability/highSpenderProbability are deprecated (return UNSET_VALUE)
+ *
+ * The last result is persisted with its timestamp. Within the TTL it is served without a
+ * network call; past the TTL it is served immediately and refreshed in the background
+ * (stale-while-revalidate), and onStatsLoaded fires again with the fresh result and a null
+ * request ID. Callers that need a fresh result (forceReload, or no cache yet) wait on the
+ * single in-flight fetch and each receive it under their own request ID. A forceReload that
+ * arrives while a non-forced fetch is in flight does not join it, since that fetch may predate
+ * the change the caller wants to see; it waits for a forced fetch chained after it.
+ * A prefetch starts automatically when AuthBridge reports a successful sign-in.
  */
 public class StatsBridge {
     private static final String TAG = "BizSimGames.Stats";
+    private static final String SERVICE = "stats";
+    private static final String PREFS_NAME = "bizsim_games_stats";
+    private static final String KEY_JSON = "statsJson";
+    private static final String KEY_SAVED_AT = "savedAt";
+    private static final String KEY_PLAYER_ID = "playerId";
+    private static final long DEFAULT_CACHE_TTL_MS = 60 * 60 * 1000;
+    private static final BridgeMetrics.Operation LOAD = BridgeMetrics.operation("stats.load");
+
+    // The bridge Unity created last; stats loaded elsewhere (session sync) refresh its cache.
+    private static volatile StatsBridge active;
+
+    private final PlayerStatsBackend playerStats;
+    private final SharedPreferences prefs;
+    private final AuthBridge.SignInListener signInListener = this::onSignedIn;
+    private final RequestDeadlines deadlines = new RequestDeadlines(SERVICE, this::onDeadline);
+    private volatile IStatsCallback callback;
 
-    private final Activity activity;
-    private final PlayerStatsClient playerStatsClient;
-    private IStatsCallback callback;
+    private final Object cacheLock = new Object();
+    private String cachedJson;
+    private long cachedAt;
+    private String cachedPlayerId;
+    private long cacheTtlMs = DEFAULT_CACHE_TTL_MS;
+    private boolean fetchInFlight;
+    private boolean fetchForced;
+    private final List<String> fetchWaiters = new ArrayList<>();
+    private final List<String> chainedWaiters = new ArrayList<>();
 
     public StatsBridge(Activity activity) {
-        this.activity = activity;
-        this.playerStatsClient = PlayGames.getPlayerStatsClient(activity);
-        Log.d(TAG, "StatsBridge initialized");
+        this.playerStats = GamesBackends.get(activity).playerStats();
+        this.prefs = activity.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+
+        cachedJson = prefs.getString(KEY_JSON, null);
+        cachedAt = prefs.getLong(KEY_SAVED_AT, 0);
+        cachedPlayerId = prefs.getString(KEY_PLAYER_ID, null);
+
+        AuthBridge.addSignInListener(signInListener);
+        active = this;
+        Log.d(TAG, "StatsBridge initialized (cached: " + (cachedJson != null) + ")");
+    }
+
+    public void warmUp() {
+        playerStats.warmUp();
     }
 
     public void setCallback(IStatsCallback callback) {
-        this.callback = callback;
+        this.callback = deadlines.guard(IStatsCallback.class, callback);
     }
 
-    public void loadPlayerStats(boolean forceReload) {
+    public void setCacheTtlMs(long ttlMs) {
+        synchronized (cacheLock) {
+            cacheTtlMs = Math.max(0, ttlMs);
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cacheLock) {
+            cachedJson = null;
+            cachedAt = 0;
+            cachedPlayerId = null;
+        }
+        prefs.edit().clear().apply();
+    }
+
+    public void loadPlayerStats(final String requestId, boolean forceReload) {
         Log.d(TAG, "Loading player stats (forceReload: " + forceReload + ")");
 
-        playerStatsClient.loadPlayerStats(forceReload)
-                .addOnSuccessListener(activity, annotatedData -> {
-                    try {
-                        PlayerStats stats = annotatedData.get();
-                        if (stats == null) {
-                            sendError(100, "Stats data is null");
-                            return;
-                        }
-
-                        String json = serializeStats(stats);
-                        if (callback != null) {
-                            callback.onStatsLoaded(json);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Failed to load stats", e);
-                        sendError(100, e.getMessage());
+        String json;
+        long age;
+        boolean startFetch;
+        synchronized (cacheLock) {
+            json = cachedJson;
+            age = System.currentTimeMillis() - cachedAt;
+
+            if (forceReload || json == null) {
+                json = null;
+                if (forceReload && fetchInFlight && !fetchForced) {
+                    chainedWaiters.add(requestId);
+                } else {
+                    fetchWaiters.add(requestId);
+                }
+                deadlines.begin(requestId);
+                deadlines.hold(requestId, () -> removeWaiter(requestId));
+            }
+
+            boolean stale = json == null || age < 0 || age > cacheTtlMs;
+            startFetch = (forceReload || stale) && !fetchInFlight;
+            if (startFetch) {
+                fetchInFlight = true;
+                fetchForced = forceReload;
+            }
+        }
+
+        if (json != null) {
+            deliver(requestId, withCacheInfo(json, age));
+        }
+
+        if (startFetch) {
+            fetch(forceReload);
+        }
+    }
+
+    /**
+     * Stores stats loaded outside this bridge as the cached result, so the next
+     * {@code loadPlayerStats} within the TTL is served without a network call.
+     */
+    public static void offerLoaded(String statsJson) {
+        StatsBridge bridge = active;
+        if (bridge == null) return;
+        long now = System.currentTimeMillis();
+        String playerId;
+        synchronized (bridge.cacheLock) {
+            bridge.cachedJson = statsJson;
+            bridge.cachedAt = now;
+            playerId = bridge.cachedPlayerId;
+        }
+        bridge.persist(statsJson, now, playerId);
+    }
+
+    private void onSignedIn(String playerId) {
+        boolean startFetch;
+        synchronized (cacheLock) {
+            if (cachedPlayerId != null && !cachedPlayerId.equals(playerId)) {
+                Log.d(TAG, "Signed-in player changed, dropping cached stats");
+                cachedJson = null;
+                cachedAt = 0;
+                prefs.edit().clear().apply();
+            }
+            cachedPlayerId = playerId;
+
+            boolean fresh = cachedJson != null && System.currentTimeMillis() - cachedAt <= cacheTtlMs;
+            startFetch = !fresh && !fetchInFlight;
+            if (startFetch) {
+                fetchInFlight = true;
+                fetchForced = false;
+            }
+        }
+
+        if (startFetch) {
+            Log.d(TAG, "Prefetching player stats after sign-in");
+            fetch(false);
+        }
+    }
+
+    private void fetch(boolean forceReload) {
+        final long started = LOAD.start();
+        Resilience.retrying(SERVICE, LOAD, cb -> playerStats.loadPlayerStats(forceReload, cb), new BackendCallback<StatsData>() {
+            @Override
+            public void onSuccess(StatsData stats) {
+                try {
+                    if (stats == null) {
+                        LOAD.failure(started);
+                        onFetchFailed(100, "Stats data is null", 1);
+                        return;
+                    }
+                    LOAD.success(started);
+
+                    String json = BridgeJson.serializeStats(stats);
+                    long now = System.currentTimeMillis();
+                    String playerId;
+                    List<String> waiters;
+                    boolean chained;
+                    synchronized (cacheLock) {
+                        cachedJson = json;
+                        cachedAt = now;
+                        playerId = cachedPlayerId;
+                        waiters = takeWaiters();
+                        chained = endFetch();
+                    }
+
+                    persist(json, now, playerId);
+
+                    String fresh = withCacheInfo(json, -1);
+                    if (waiters.isEmpty()) {
+                        deliver(null, fresh);
+                    } else {
+                        for (String waiter : waiters) deliver(waiter, fresh);
                     }
-                })
-                .addOnFailureListener(activity, e -> {
+                    if (chained) fetch(true);
+                } catch (Exception e) {
                     Log.e(TAG, "Failed to load stats", e);
-                    sendError(100, e.getMessage());
-                });
+                    onFetchFailed(100, e.getMessage(), 0);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                LOAD.failure(started);
+                Log.e(TAG, "Failed to load stats", e);
+                onFetchFailed(Resilience.errorCode(e), e.getMessage(), BackendException.attemptsOf(e));
+            }
+        });
+    }
+
+    private void persist(String json, long savedAt, String playerId) {
+        prefs.edit()
+                .putString(KEY_JSON, json)
+                .putLong(KEY_SAVED_AT, savedAt)
+                .putString(KEY_PLAYER_ID, playerId)
+                .apply();
+    }
+
+    private void onFetchFailed(int errorCode, String errorMessage, int attempts) {
+        List<String> waiters;
+        boolean chained;
+        synchronized (cacheLock) {
+            waiters = takeWaiters();
+            chained = endFetch();
+        }
+
+        for (String waiter : waiters) {
+            sendError(waiter, errorCode, errorMessage, attempts);
+        }
+        if (chained) fetch(true);
+    }
+
+    /**
+     * Ends the in-flight fetch, or hands it over to a forced fetch for the callers that arrived
+     * with forceReload while it ran. Returns true if that forced fetch should start. Call under
+     * cacheLock, after takeWaiters().
+     */
+    private boolean endFetch() {
+        if (chainedWaiters.isEmpty()) {
+            fetchInFlight = false;
+            return false;
+        }
+        fetchWaiters.addAll(chainedWaiters);
+        chainedWaiters.clear();
+        fetchForced = true;
+        return true;
+    }
+
+    private void removeWaiter(String requestId) {
+        synchronized (cacheLock) {
+            fetchWaiters.remove(requestId);
+            chainedWaiters.remove(requestId);
+        }
     }
 
-    private String serializeStats(PlayerStats stats) throws Exception {
-        JSONObject obj = new JSONObject();
+    private List<String> takeWaiters() {
+        List<String> waiters = new ArrayList<>(fetchWaiters);
+        fetchWaiters.clear();
+        return waiters;
+    }
 
-        obj.put("avgSessionLengthMinutes", stats.getAverageSessionLength());
-        obj.put("daysSinceLastPlayed", stats.getDaysSinceLastPlayed());
-        obj.put("numberOfPurchases", stats.getNumberOfPurchases());
-        obj.put("numberOfSessions", stats.getNumberOfSessions());
-        obj.put("sessionPercentile", stats.getSessionPercentile());
-        obj.put("spendPercentile", stats.getSpendPercentile());
-        // Deprecated in v2 (always return UNSET_VALUE) but included for compatibility
-        obj.put("churnProbability", stats.getChurnProbability());
-        obj.put("highSpenderProbability", stats.getHighSpenderProbability());
+    private void deliver(String requestId, String json) {
+        IStatsCallback cb = callback;
+        if (cb != null) {
+            cb.onStatsLoaded(requestId, json);
+        }
+    }
+
+    private static String withCacheInfo(String json, long ageMs) {
+        try {
+            JSONObject obj = new JSONObject(json);
+            obj.put("fromCache", ageMs >= 0);
+            obj.put("cacheAgeMillis", Math.max(0, ageMs));
+            return obj.toString();
+        } catch (Exception e) {
+            return json;
+        }
+    }
+
+    /** Stops waiting on the fetch for this request; the fetch itself still refreshes the cache. */
+    public void cancel(String requestId) {
+        deadlines.cancel(requestId);
+    }
+
+    private void onDeadline(String requestId, long deadlineMs) {
+        sendError(requestId, RequestDeadlines.ERROR_TIMEOUT, "Timed out after " + deadlineMs + " ms", 0);
+    }
 
-        return obj.toString();
+    public void shutdown() {
+        if (active == this) active = null;
+        deadlines.cancelAll();
+        AuthBridge.removeSignInListener(signInListener);
+        callback = null;
     }
 
-    private void sendError(int errorCode, String errorMessage) {
-        if (callback != null) {
-            callback.onStatsError(errorCode, errorMessage);
+    private void sendError(String requestId, int errorCode, String errorMessage, int attempts) {
+        IStatsCallback cb = callback;
+        if (cb != null) {
+            cb.onStatsError(requestId, errorCode, errorMessage, attempts);
         }
     }
 }
@@ -0,0 +1,175 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AuthCodeBrokerTest {
+    private static final String CLIENT_ID = "web-client";
+
+    private FakeGamesBackend backend;
+    private AuthCodeBroker broker;
+
+    /** Records one caller's answer. */
+    private static final class Caller implements AuthCodeBroker.Waiter {
+        final CountDownLatch answered = new CountDownLatch(1);
+        volatile boolean waiting = true;
+        volatile String authCode;
+        volatile String grantedScopesJson;
+        volatile int errorCode;
+
+        @Override
+        public void onSuccess(String requestId, String authCode, String grantedScopesJson) {
+            this.authCode = authCode;
+            this.grantedScopesJson = grantedScopesJson;
+            answered.countDown();
+        }
+
+        @Override
+        public void onFailure(String requestId, int errorCode, String errorMessage) {
+            this.errorCode = errorCode;
+            answered.countDown();
+        }
+
+        @Override
+        public boolean isWaiting(String requestId) {
+            return waiting;
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("caller was never answered", answered.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        backend = new FakeGamesBackend(7);
+        broker = new AuthCodeBroker(backend.signIn());
+    }
+
+    @After
+    public void tearDown() {
+        backend.shutdown();
+    }
+
+    @Test
+    public void concurrentCallersEachGetTheirOwnCodeFromParallelFlights() throws Exception {
+        backend.setLatency(300, 300);
+        Caller[] callers = { new Caller(), new Caller(), new Caller() };
+
+        long started = System.nanoTime();
+        for (Caller caller : callers) request(false, caller);
+        for (Caller caller : callers) caller.await();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        Set<String> codes = new HashSet<>();
+        for (Caller caller : callers) codes.add(caller.authCode);
+        assertEquals(3, codes.size());
+        // Three serial round-trips would take at least 900 ms.
+        assertTrue("flights ran one after another (" + elapsedMs + " ms)", elapsedMs < 850);
+    }
+
+    @Test
+    public void aRequestJoinsTheRunningPrefetch() throws Exception {
+        backend.setLatency(100, 100);
+        broker.setPrefetch(CLIENT_ID, null);
+        broker.onSignedIn();
+
+        Caller first = new Caller();
+        request(false, first);
+        Caller second = new Caller();
+        request(false, second);
+        first.await();
+        second.await();
+
+        assertEquals("fake-auth-code-1", first.authCode);
+        assertEquals("fake-auth-code-2", second.authCode);
+    }
+
+    @Test
+    public void aPrefetchedCodeIsServedOnceAndNotToForcedRequests() throws Exception {
+        broker.setPrefetch(CLIENT_ID, null);
+        broker.onSignedIn();
+        Caller forced = new Caller();
+        request(true, forced);
+        forced.await();
+
+        Caller first = new Caller();
+        request(false, first);
+        first.await();
+        Caller second = new Caller();
+        request(false, second);
+        second.await();
+
+        assertEquals("fake-auth-code-1", first.authCode);
+        assertNotEquals(first.authCode, forced.authCode);
+        assertNotEquals(first.authCode, second.authCode);
+    }
+
+    @Test
+    public void aCodeForACallerThatGaveUpGoesToTheNextRequest() throws Exception {
+        backend.setLatency(100, 100);
+        Caller gaveUp = new Caller();
+        request(false, gaveUp);
+        gaveUp.waiting = false;
+
+        Caller next = new Caller();
+        Thread.sleep(300);
+        request(false, next);
+        next.await();
+
+        assertEquals("fake-auth-code-1", next.authCode);
+        assertNull(gaveUp.authCode);
+    }
+
+    @Test
+    public void aFailedFlightFailsOneCaller() throws Exception {
+        backend.setFailureRate(0, BackendException.ERROR);
+        backend.failNext(1);
+        backend.setLatency(100, 100);
+
+        Caller failed = new Caller();
+        request(false, failed);
+        Caller served = new Caller();
+        request(false, served);
+        failed.await();
+        served.await();
+
+        assertNull(failed.authCode);
+        assertEquals(AuthBridge.errorCodeFor(new BackendException(BackendException.ERROR, "failed")), failed.errorCode);
+        assertEquals("fake-auth-code-1", served.authCode);
+    }
+
+    @Test
+    public void scopesAreParsedOnceAndPassedThrough() throws Exception {
+        AuthCodeBroker.Scopes scopes = broker.parseScopes("[\"PROFILE\",\"EMAIL\",\"BOGUS\",\"EMAIL\"]");
+        assertEquals(2, scopes.list.size());
+        assertTrue(scopes == broker.parseScopes("[\"PROFILE\",\"EMAIL\",\"BOGUS\",\"EMAIL\"]"));
+        assertNull(broker.parseScopes(""));
+
+        Caller caller = new Caller();
+        broker.request(broker.nextRequestId(), CLIENT_ID, false, scopes, caller);
+        caller.await();
+
+        assertEquals("[\"PROFILE\",\"EMAIL\"]", caller.grantedScopesJson);
+    }
+
+    private void request(boolean forceRefresh, Caller caller) {
+        broker.request(broker.nextRequestId(), CLIENT_ID, forceRefresh, null, caller);
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend.AchievementData;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend.StatsData;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class BridgeJsonTest {
+    @Test
+    public void achievementsUseTheUnityFieldNames() throws Exception {
+        AchievementData unlocked = new AchievementData("ach_1", "First Blood", "Defeat an enemy",
+                AchievementData.STATE_UNLOCKED, AchievementData.TYPE_INCREMENTAL, 3, 10, 50, 1700000000000L,
+                "content://revealed/1", null);
+
+        JSONArray array = new JSONArray(BridgeJson.serializeAchievements(Collections.singletonList(unlocked)));
+
+        assertEquals(1, array.length());
+        JSONObject obj = array.getJSONObject(0);
+        assertEquals("ach_1", obj.getString("achievementId"));
+        assertEquals("First Blood", obj.getString("name"));
+        assertEquals("Defeat an enemy", obj.getString("description"));
+        assertEquals(AchievementData.STATE_UNLOCKED, obj.getInt("state"));
+        assertEquals(AchievementData.TYPE_INCREMENTAL, obj.getInt("type"));
+        assertEquals(3, obj.getInt("currentSteps"));
+        assertEquals(10, obj.getInt("totalSteps"));
+        assertEquals(50, obj.getLong("xpValue"));
+        assertEquals(1700000000000L, obj.getLong("unlockedTimestamp"));
+        assertEquals("content://revealed/1", obj.getString("revealedIconUrl"));
+        assertEquals("", obj.getString("unlockedIconUrl"));
+    }
+
+    @Test
+    public void scoresReplaceMissingStringsWithEmpty() throws Exception {
+        ScoreData ranked = new ScoreData("g1", "Ada", 1200, "1,200", 1, "tag", 1700000000000L, "content://avatar/1");
+        ScoreData anonymous = new ScoreData(null, null, 900, "900", 2, null, 1700000000001L, null);
+
+        JSONArray array = new JSONArray(BridgeJson.serializeScores(Arrays.asList(ranked, anonymous)));
+
+        assertEquals(2, array.length());
+        JSONObject first = array.getJSONObject(0);
+        assertEquals("g1", first.getString("playerId"));
+        assertEquals("Ada", first.getString("displayName"));
+        assertEquals(1200, first.getLong("score"));
+        assertEquals("1,200", first.getString("formattedScore"));
+        assertEquals(1, first.getLong("rank"));
+        assertEquals("tag", first.getString("scoreTag"));
+        assertEquals("content://avatar/1", first.getString("avatarUrl"));
+
+        JSONObject second = array.getJSONObject(1);
+        assertEquals("", second.getString("playerId"));
+        assertEquals("", second.getString("displayName"));
+        assertEquals("", second.getString("scoreTag"));
+        assertEquals("", second.getString("avatarUrl"));
+    }
+
+    @Test
+    public void snapshotCarriesItsHandleAndOmitsAMissingCover() throws Exception {
+        JSONObject obj = new JSONObject(BridgeJson.serializeSnapshot(
+                new SnapshotMeta("slot_1", 1700000000000L, 5400000L, "Chapter 3", null)));
+
+        assertEquals("slot_1", obj.getString("filename"));
+        assertEquals("snapshot:slot_1", obj.getString("nativeHandle"));
+        assertEquals(1700000000000L, obj.getLong("lastModifiedTimestamp"));
+        assertEquals(5400000L, obj.getLong("playedTimeMillis"));
+        assertEquals("Chapter 3", obj.getString("description"));
+        assertFalse(obj.has("coverImageUri"));
+    }
+
+    @Test
+    public void eventAndStatsUseTheUnityFieldNames() throws Exception {
+        JSONObject event = BridgeJson.serializeEvent("ev_1", "Kills", "Enemies defeated", 42, "", true);
+        assertEquals("ev_1", event.getString("eventId"));
+        assertEquals(42, event.getLong("value"));
+        assertTrue(event.getBoolean("isVisible"));
+
+        JSONObject stats = new JSONObject(BridgeJson.serializeStats(
+                new StatsData(12.5f, 2, 3, 48, 0.62f, 0.15f, -1f, -1f)));
+        assertEquals(12.5, stats.getDouble("avgSessionLengthMinutes"), 1e-6);
+        assertEquals(2, stats.getInt("daysSinceLastPlayed"));
+        assertEquals(3, stats.getInt("numberOfPurchases"));
+        assertEquals(48, stats.getInt("numberOfSessions"));
+        assertEquals(-1, stats.getDouble("churnProbability"), 1e-6);
+    }
+
+    @Test
+    public void handleRoundTrips() {
+        assertEquals("slot_1", BridgeJson.parseSnapshotHandle(BridgeJson.snapshotHandle("slot_1")));
+    }
+
+    @Test
+    public void handleParsingAcceptsAnyKindAndIgnoresTrailingFields() {
+        assertEquals("slot_1", BridgeJson.parseSnapshotHandle("conflict:slot_1"));
+        assertEquals("slot_1", BridgeJson.parseSnapshotHandle("snapshot:slot_1:extra"));
+    }
+
+    @Test
+    public void malformedHandlesParseToNull() {
+        assertNull(BridgeJson.parseSnapshotHandle(null));
+        assertNull(BridgeJson.parseSnapshotHandle("slot_1"));
+        assertNull(BridgeJson.parseSnapshotHandle("snapshot:"));
+    }
+}
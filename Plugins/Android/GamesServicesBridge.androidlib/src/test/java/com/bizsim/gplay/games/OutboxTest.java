@@ -0,0 +1,204 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend.ScoreData;
+import com.bizsim.gplay.games.backend.fake.FakeGamesBackend;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OutboxTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Outbox> outboxes = new ArrayList<>();
+    private FakeGamesBackend backend;
+    private File log;
+
+    @Before
+    public void setUp() {
+        backend = new FakeGamesBackend(11);
+        backend.achievements().define("steps", "Steps", 100);
+        backend.achievements().define("first", "First", 0);
+        log = new File(folder.getRoot(), "outbox.log");
+    }
+
+    @After
+    public void tearDown() {
+        for (Outbox outbox : outboxes) outbox.shutdown();
+        backend.shutdown();
+    }
+
+    @Test
+    public void changesQueuedWhileSignedOutAreMergedPerTarget() throws Exception {
+        backend.setFailureRate(1, BackendException.SIGN_IN_REQUIRED);
+        Outbox outbox = create(5);
+        outbox.increment("steps", 2);
+        awaitStat(outbox, "awaitingSignIn", true);
+
+        outbox.increment("steps", 3);
+        outbox.increment("steps", 5);
+        outbox.unlock("first");
+        outbox.unlock("first");
+        outbox.submitScore("board", 100, "a");
+        outbox.submitScore("board", 50, "b");
+
+        JSONObject stats = stats(outbox);
+        assertEquals(10, outbox.pendingSteps("steps"));
+        assertEquals(3, stats.getInt("pending"));
+        assertEquals(1, stats.getInt("pendingUnlocks"));
+        assertEquals(1, stats.getInt("pendingScores"));
+
+        backend.setFailureRate(0, BackendException.SIGN_IN_REQUIRED);
+        outbox.onSignedIn();
+        awaitStat(outbox, "pending", 0);
+
+        assertEquals(3, stats(outbox).getLong("drained"));
+        assertEquals(10, backend.achievements().get("steps").currentSteps);
+        assertEquals(100, topScore("board"));
+    }
+
+    @Test
+    public void pendingEntriesAreReplayedFromTheLog() throws Exception {
+        backend.setFailureRate(1, BackendException.SIGN_IN_REQUIRED);
+        Outbox first = create(5);
+        first.increment("steps", 4);
+        awaitStat(first, "awaitingSignIn", true);
+        first.increment("steps", 6);
+        first.submitScore("board", 70, null);
+        first.shutdown();
+
+        Outbox second = create(5);
+        assertEquals(10, second.pendingSteps("steps"));
+        assertEquals(2, stats(second).getInt("pending"));
+    }
+
+    @Test
+    public void acknowledgementsSettleReplayedEntries() throws Exception {
+        Files.write(log.toPath(), (
+                "{\"o\":\"add\",\"k\":\"i\",\"id\":\"steps\",\"v\":3}\n"
+                + "{\"o\":\"add\",\"k\":\"i\",\"id\":\"steps\",\"v\":4}\n"
+                + "{\"o\":\"ack\",\"k\":\"i\",\"id\":\"steps\",\"v\":3}\n"
+                + "{\"o\":\"add\",\"k\":\"s\",\"id\":\"board\",\"v\":10}\n"
+                + "{\"o\":\"add\",\"k\":\"s\",\"id\":\"board\",\"v\":30}\n"
+                + "{\"o\":\"ack\",\"k\":\"s\",\"id\":\"board\",\"v\":20}\n"
+                + "{\"o\":\"add\",\"k\":\"u\",\"id\":\"first\",\"v\":1}\n"
+                + "{\"o\":\"ack\",\"k\":\"u\",\"id\":\"first\",\"v\":1}\n"
+                + "{\"o\":\"add\",\"k\":\"i\",\"id\":\"ste").getBytes(StandardCharsets.UTF_8));
+
+        Outbox outbox = create(5);
+        JSONObject stats = stats(outbox);
+
+        // A score acknowledged below the pending best is still owed; the torn line is skipped.
+        assertEquals(4, outbox.pendingSteps("steps"));
+        assertEquals(2, stats.getInt("pending"));
+        assertEquals(1, stats.getInt("pendingScores"));
+        assertEquals(0, stats.getInt("pendingUnlocks"));
+    }
+
+    @Test
+    public void stepsAddedWhileACallIsInFlightAreSentNext() throws Exception {
+        backend.setLatency(200, 200);
+        Outbox outbox = create(5);
+        outbox.drain();
+        outbox.increment("steps", 3);
+        Thread.sleep(50);
+        outbox.increment("steps", 2);
+        assertEquals(5, outbox.pendingSteps("steps"));
+
+        awaitStat(outbox, "pending", 0);
+        assertEquals(2, stats(outbox).getLong("drained"));
+        assertEquals(5, backend.achievements().get("steps").currentSteps);
+    }
+
+    @Test
+    public void aTransientFailureKeepsTheStepsForTheNextPass() throws Exception {
+        backend.setFailureRate(0, BackendException.INTERNAL_ERROR);
+        backend.failNext(1);
+        Outbox outbox = create(50);
+        outbox.drain();
+        outbox.increment("steps", 4);
+
+        awaitStat(outbox, "pending", 0);
+        JSONObject stats = stats(outbox);
+        assertEquals(1, stats.getLong("failed"));
+        assertEquals(0, stats.getLong("dropped"));
+        assertEquals(4, backend.achievements().get("steps").currentSteps);
+    }
+
+    @Test
+    public void aPermanentFailureDropsTheEntryForGood() throws Exception {
+        backend.setFailureRate(0, BackendException.ERROR);
+        backend.failNext(1);
+        Outbox first = create(5);
+        first.drain();
+        first.increment("steps", 4);
+
+        awaitStat(first, "dropped", 1);
+        assertEquals(0, first.pendingSteps("steps"));
+        first.shutdown();
+
+        assertEquals(0, create(5).pendingSteps("steps"));
+        assertEquals(0, backend.achievements().get("steps").currentSteps);
+    }
+
+    private Outbox create(long retryDelayMs) {
+        Outbox outbox = new Outbox(log, backend, retryDelayMs);
+        outboxes.add(outbox);
+        return outbox;
+    }
+
+    private static JSONObject stats(Outbox outbox) throws Exception {
+        return new JSONObject(outbox.statsJson());
+    }
+
+    private static void awaitStat(Outbox outbox, String name, Object expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Object actual;
+        do {
+            actual = stats(outbox).get(name);
+            if (String.valueOf(expected).equals(String.valueOf(actual))) return;
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        throw new AssertionError(name + " stayed " + actual + ", expected " + expected);
+    }
+
+    private long topScore(String leaderboardId) throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        AtomicReference<List<ScoreData>> scores = new AtomicReference<>();
+        backend.leaderboards().loadTopScores(leaderboardId, 0, 0, 1, new BackendCallback<List<ScoreData>>() {
+            @Override
+            public void onSuccess(List<ScoreData> result) {
+                scores.set(result);
+                loaded.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                loaded.countDown();
+            }
+        });
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scores.get().size());
+        return scores.get().get(0).rawScore;
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RateGovernorTest {
+    // The governor is process-wide: each test uses its own services, leaves no global limit and
+    // waits for every call it queued, since a queued call holds up later ones of its priority.
+    @Before
+    public void setUp() {
+        RateGovernor.configure(0, 1, 5, 10, 64, 10_000);
+    }
+
+    @After
+    public void tearDown() {
+        RateGovernor.configure(10, 20, 5, 10, 64, 10_000);
+    }
+
+    @Test
+    public void aBucketRefillsAtItsRate() throws Exception {
+        RateGovernor.setServiceRate("gov.refill", 10, 2);
+
+        assertTrue(RateGovernor.tryAcquire("gov.refill", RateGovernor.Priority.INTERACTIVE));
+        assertTrue(RateGovernor.tryAcquire("gov.refill", RateGovernor.Priority.INTERACTIVE));
+        assertFalse(RateGovernor.tryAcquire("gov.refill", RateGovernor.Priority.INTERACTIVE));
+
+        Thread.sleep(150);
+        assertTrue(RateGovernor.tryAcquire("gov.refill", RateGovernor.Priority.INTERACTIVE));
+        assertFalse(RateGovernor.tryAcquire("gov.refill", RateGovernor.Priority.INTERACTIVE));
+    }
+
+    @Test
+    public void aQueuedCallRunsOnceATokenRefills() throws Exception {
+        RateGovernor.setServiceRate("gov.queue", 10, 1);
+        assertTrue(RateGovernor.tryAcquire("gov.queue", RateGovernor.Priority.INTERACTIVE));
+
+        CountDownLatch granted = new CountDownLatch(1);
+        long started = System.nanoTime();
+        RateGovernor.acquire("gov.queue", RateGovernor.Priority.INTERACTIVE, granted::countDown, () -> { });
+
+        assertTrue(granted.await(2, TimeUnit.SECONDS));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        assertTrue("granted after " + waitedMs + " ms", waitedMs >= 50);
+    }
+
+    @Test
+    public void interactiveCallsAreReleasedBeforeBackgroundOnes() throws Exception {
+        RateGovernor.setServiceRate("gov.order", 20, 1);
+        assertTrue(RateGovernor.tryAcquire("gov.order", RateGovernor.Priority.INTERACTIVE));
+
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 2; i++) {
+            String name = "background" + i;
+            RateGovernor.acquire("gov.order", RateGovernor.Priority.BACKGROUND,
+                    () -> { order.add(name); done.countDown(); }, done::countDown);
+        }
+        for (int i = 0; i < 2; i++) {
+            String name = "interactive" + i;
+            RateGovernor.acquire("gov.order", RateGovernor.Priority.INTERACTIVE,
+                    () -> { order.add(name); done.countDown(); }, done::countDown);
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(4, order.size());
+        assertEquals("interactive0", order.get(0));
+        assertEquals("interactive1", order.get(1));
+        assertEquals("background0", order.get(2));
+        assertEquals("background1", order.get(3));
+    }
+
+    @Test
+    public void aServiceOutOfTokensDoesNotHoldUpOthers() throws Exception {
+        RateGovernor.setServiceRate("gov.slow", 2, 1);
+        assertTrue(RateGovernor.tryAcquire("gov.slow", RateGovernor.Priority.INTERACTIVE));
+        CountDownLatch slow = new CountDownLatch(1);
+        RateGovernor.acquire("gov.slow", RateGovernor.Priority.INTERACTIVE, slow::countDown, () -> { });
+
+        CountDownLatch fast = new CountDownLatch(1);
+        RateGovernor.acquire("gov.fast", RateGovernor.Priority.INTERACTIVE, fast::countDown, () -> { });
+
+        assertTrue(fast.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, slow.getCount());
+        assertTrue(slow.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aCallArrivingAtAFullQueueIsRejected() throws Exception {
+        RateGovernor.configure(0, 1, 5, 10, 1, 10_000);
+        RateGovernor.setServiceRate("gov.full", 5, 1);
+        assertTrue(RateGovernor.tryAcquire("gov.full", RateGovernor.Priority.BACKGROUND));
+
+        CountDownLatch queued = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        RateGovernor.acquire("gov.full", RateGovernor.Priority.BACKGROUND, queued::countDown, rejected::incrementAndGet);
+        assertEquals(0, rejected.get());
+        RateGovernor.acquire("gov.full", RateGovernor.Priority.BACKGROUND, () -> { }, rejected::incrementAndGet);
+        assertEquals(1, rejected.get());
+        assertTrue(queued.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aCallQueuedTooLongIsRejected() throws Exception {
+        RateGovernor.configure(0, 1, 5, 10, 64, 100);
+        RateGovernor.setServiceRate("gov.expire", 0.1, 1);
+        assertTrue(RateGovernor.tryAcquire("gov.expire", RateGovernor.Priority.BACKGROUND));
+
+        CountDownLatch rejected = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        RateGovernor.acquire("gov.expire", RateGovernor.Priority.BACKGROUND, granted::incrementAndGet, rejected::countDown);
+
+        assertTrue(rejected.await(2, TimeUnit.SECONDS));
+        assertEquals(0, granted.get());
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RequestDeadlinesTest {
+    /** Callback shape shared by the bridges: the request ID comes first. */
+    public interface Answer {
+        void onResult(String requestId, String value);
+    }
+
+    private static final class Recorder implements Answer {
+        final List<String> results = new ArrayList<>();
+
+        @Override
+        public void onResult(String requestId, String value) {
+            results.add(requestId + "=" + value);
+        }
+    }
+
+    private final Recorder recorder = new Recorder();
+
+    @Test
+    public void aTrackedRequestIsAnsweredOnce() {
+        RequestDeadlines deadlines = create(RequestDeadlines.RETIRED_RETENTION_MS);
+        Answer guarded = deadlines.guard(Answer.class, recorder);
+
+        deadlines.begin("r1", 0);
+        guarded.onResult("r1", "first");
+        guarded.onResult("r1", "second");
+
+        assertEquals(1, recorder.results.size());
+        assertEquals("r1=first", recorder.results.get(0));
+        assertFalse(deadlines.isLive("r1"));
+    }
+
+    @Test
+    public void aCancelledRequestStaysRetiredThroughABurstOfOthers() {
+        RequestDeadlines deadlines = create(RequestDeadlines.RETIRED_RETENTION_MS);
+        Answer guarded = deadlines.guard(Answer.class, recorder);
+
+        deadlines.begin("slow", 0);
+        assertTrue(deadlines.cancel("slow"));
+        for (int i = 0; i < 5_000; i++) {
+            deadlines.begin("burst" + i, 0);
+            guarded.onResult("burst" + i, "ok");
+        }
+        recorder.results.clear();
+
+        guarded.onResult("slow", "late");
+        assertTrue(recorder.results.isEmpty());
+    }
+
+    @Test
+    public void cancelAllDropsLateResultsAndReleasesHolds() {
+        RequestDeadlines deadlines = create(RequestDeadlines.RETIRED_RETENTION_MS);
+        Answer guarded = deadlines.guard(Answer.class, recorder);
+        List<String> released = new ArrayList<>();
+
+        deadlines.begin("a", 0);
+        deadlines.begin("b", 0);
+        assertTrue(deadlines.hold("a", () -> released.add("a")));
+        deadlines.cancelAll();
+
+        guarded.onResult("a", "late");
+        guarded.onResult("b", "late");
+        assertTrue(recorder.results.isEmpty());
+        assertEquals(1, released.size());
+        assertFalse(deadlines.hold("b", () -> released.add("b")));
+        assertEquals(2, released.size());
+    }
+
+    @Test
+    public void retiredIdsAreForgottenAfterTheRetention() throws Exception {
+        RequestDeadlines deadlines = create(1);
+        Answer guarded = deadlines.guard(Answer.class, recorder);
+
+        deadlines.begin("old", 0);
+        deadlines.cancel("old");
+        Thread.sleep(20);
+        deadlines.begin("new", 0);
+        deadlines.cancel("new");
+
+        guarded.onResult("old", "late");
+        guarded.onResult("new", "late");
+        assertEquals(1, recorder.results.size());
+        assertEquals("old=late", recorder.results.get(0));
+    }
+
+    @Test
+    public void untrackedIdsAndOtherArgumentsPassThrough() {
+        RequestDeadlines deadlines = create(RequestDeadlines.RETIRED_RETENTION_MS);
+        Answer guarded = deadlines.guard(Answer.class, recorder);
+
+        guarded.onResult("never-begun", "push");
+        guarded.onResult(null, "broadcast");
+
+        assertEquals(2, recorder.results.size());
+    }
+
+    private static RequestDeadlines create(long retentionMs) {
+        return new RequestDeadlines("test", (requestId, deadlineMs) -> { }, retentionMs);
+    }
+}
@@ -0,0 +1,172 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResilienceTest {
+    private static final long OPEN_MS = 60_000;
+
+    /** Answers each attempt with the next status in {@code statuses}; 0 succeeds. Counts attempts. */
+    private static final class Scripted implements Resilience.Attempt<String> {
+        final AtomicInteger calls = new AtomicInteger();
+        final int[] statuses;
+
+        Scripted(int... statuses) {
+            this.statuses = statuses;
+        }
+
+        @Override
+        public void start(BackendCallback<String> callback) {
+            int call = calls.getAndIncrement();
+            int status = statuses[Math.min(call, statuses.length - 1)];
+            if (status == 0) {
+                callback.onSuccess("ok");
+            } else {
+                callback.onFailure(new BackendException(status, "status " + status));
+            }
+        }
+    }
+
+    /** The outcome of one call. */
+    private static final class Result implements BackendCallback<String> {
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile String value;
+        volatile Exception error;
+
+        @Override
+        public void onSuccess(String result) {
+            value = result;
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            error = e;
+            done.countDown();
+        }
+
+        Result await() throws InterruptedException {
+            assertTrue("call never finished", done.await(5, TimeUnit.SECONDS));
+            return this;
+        }
+    }
+
+    // Breakers are per service and process-wide, so each test uses its own service name.
+    @Before
+    public void setUp() {
+        RateGovernor.configure(0, 1, 0, 1, 64, 10_000);
+        Resilience.configure(3, 0, 0, 3, OPEN_MS);
+    }
+
+    @After
+    public void tearDown() {
+        Resilience.configure(3, 500, 8_000, 5, 30_000);
+        RateGovernor.configure(10, 20, 5, 10, 64, 10_000);
+    }
+
+    @Test
+    public void transientFailuresAreRetriedUpToTheAttemptLimit() throws Exception {
+        Scripted recovers = new Scripted(BackendException.NETWORK_ERROR, BackendException.INTERNAL_ERROR, 0);
+        Result ok = call(true, "res.retry", recovers);
+        assertEquals("ok", ok.value);
+        assertEquals(3, recovers.calls.get());
+
+        Scripted down = new Scripted(BackendException.INTERNAL_ERROR);
+        Result failed = call(true, "res.retry", down);
+        assertEquals(3, down.calls.get());
+        assertEquals(3, BackendException.attemptsOf(failed.error));
+        assertEquals(BackendException.INTERNAL_ERROR, BackendException.statusCodeOf(failed.error));
+    }
+
+    @Test
+    public void permanentFailuresAndOnceCallsAreNotRetried() throws Exception {
+        Scripted permanent = new Scripted(BackendException.ERROR);
+        call(true, "res.once", permanent);
+        assertEquals(1, permanent.calls.get());
+
+        Scripted once = new Scripted(BackendException.NETWORK_ERROR, 0);
+        Result result = call(false, "res.once", once);
+        assertEquals(1, once.calls.get());
+        assertEquals(1, BackendException.attemptsOf(result.error));
+    }
+
+    @Test
+    public void consecutiveConnectivityFailuresOpenTheBreaker() throws Exception {
+        for (int i = 0; i < 3; i++) call(false, "res.open", new Scripted(BackendException.NETWORK_ERROR));
+        assertEquals("open", state("res.open"));
+
+        Scripted blocked = new Scripted(0);
+        Result result = call(false, "res.open", blocked);
+        assertEquals(0, blocked.calls.get());
+        assertEquals(BackendException.NETWORK_ERROR, BackendException.statusCodeOf(result.error));
+        assertEquals(0, BackendException.attemptsOf(result.error));
+    }
+
+    @Test
+    public void anyAnswerFromTheServiceResetsTheFailureCount() throws Exception {
+        call(false, "res.reset", new Scripted(BackendException.NETWORK_ERROR));
+        call(false, "res.reset", new Scripted(BackendException.TIMEOUT));
+        call(false, "res.reset", new Scripted(BackendException.ERROR));
+        call(false, "res.reset", new Scripted(BackendException.NETWORK_ERROR));
+        call(false, "res.reset", new Scripted(BackendException.NETWORK_ERROR));
+        assertEquals("closed", state("res.reset"));
+    }
+
+    @Test
+    public void aSuccessfulProbeClosesTheBreaker() throws Exception {
+        for (int i = 0; i < 3; i++) call(false, "res.probe", new Scripted(BackendException.NETWORK_ERROR));
+        assertEquals("open", state("res.probe"));
+
+        Resilience.configure(3, 0, 0, 3, 0);
+        Scripted probe = new Scripted(0);
+        Result result = call(false, "res.probe", probe);
+        assertEquals(1, probe.calls.get());
+        assertNull(result.error);
+        assertEquals("closed", state("res.probe"));
+    }
+
+    @Test
+    public void aFailedProbeReopensTheBreaker() throws Exception {
+        for (int i = 0; i < 3; i++) call(false, "res.reopen", new Scripted(BackendException.NETWORK_ERROR));
+
+        Resilience.configure(3, 0, 0, 3, 0);
+        Scripted probe = new Scripted(BackendException.NETWORK_ERROR);
+        call(false, "res.reopen", probe);
+        assertEquals(1, probe.calls.get());
+
+        Resilience.configure(3, 0, 0, 3, OPEN_MS);
+        assertEquals("open", state("res.reopen"));
+        Scripted blocked = new Scripted(0);
+        call(false, "res.reopen", blocked);
+        assertEquals(0, blocked.calls.get());
+    }
+
+    private static Result call(boolean retrying, String service, Scripted attempt) throws Exception {
+        Result result = new Result();
+        if (retrying) {
+            Resilience.retrying(service, null, attempt, result);
+        } else {
+            Resilience.once(service, attempt, result);
+        }
+        return result.await();
+    }
+
+    private static String state(String service) throws Exception {
+        return new JSONObject(Resilience.getCircuitStates()).getString(service);
+    }
+}
@@ -0,0 +1,162 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.Conflict;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.MetadataChange;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenResult;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.OpenSnapshot;
+import com.bizsim.gplay.games.backend.SnapshotsBackend.SnapshotMeta;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FakeSnapshotsBackendTest {
+    private FakeGamesBackend backend;
+    private FakeSnapshotsBackend snapshots;
+
+    interface Call<T> {
+        void start(BackendCallback<T> callback);
+    }
+
+    @Before
+    public void setUp() {
+        backend = new FakeGamesBackend(42);
+        snapshots = backend.snapshots();
+    }
+
+    @After
+    public void tearDown() {
+        backend.shutdown();
+    }
+
+    @Test
+    public void commitStoresTheWrittenContents() throws Exception {
+        OpenResult opened = open("slot", true);
+        assertFalse(opened.isConflict());
+        opened.snapshot.writeBytes(new byte[] { 1, 2, 3 });
+
+        SnapshotMeta meta = await(cb -> snapshots.commitAndClose(opened.snapshot,
+                new MetadataChange("Chapter 2", 1000, null), cb));
+
+        assertEquals("slot", meta.uniqueName);
+        assertEquals("Chapter 2", meta.description);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, snapshots.get("slot"));
+    }
+
+    @Test
+    public void missingSnapshotFailsWithoutCreate() throws Exception {
+        try {
+            open("missing", false);
+            fail("Opened a snapshot that does not exist");
+        } catch (BackendException e) {
+            assertEquals(BackendException.SNAPSHOT_NOT_FOUND, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void conflictPairsTheStoredCopyWithANewerLocalCopy() throws Exception {
+        snapshots.put("slot", new byte[] { 9 });
+        backend.setConflictRate(1);
+
+        OpenResult opened = open("slot", true);
+
+        assertTrue(opened.isConflict());
+        Conflict conflict = opened.conflict;
+        assertArrayEquals(new byte[] { 9 }, conflict.server.readFully());
+        assertArrayEquals(new byte[] { 9 }, conflict.local.readFully());
+        assertTrue(conflict.local.getMetadata().lastModifiedTimestamp
+                >= conflict.server.getMetadata().lastModifiedTimestamp);
+    }
+
+    @Test
+    public void resolvingStoresTheChosenContentsAndMayConflictAgain() throws Exception {
+        snapshots.put("slot", new byte[] { 1 });
+        backend.setConflictRate(1);
+        Conflict first = open("slot", true).conflict;
+        first.local.writeBytes(new byte[] { 2 });
+
+        OpenResult again = resolve(first.conflictId, first.local);
+
+        assertArrayEquals(new byte[] { 2 }, snapshots.get("slot"));
+        assertTrue(again.isConflict());
+        assertNotEquals(first.conflictId, again.conflict.conflictId);
+
+        backend.setConflictRate(0);
+        OpenResult resolved = resolve(again.conflict.conflictId, again.conflict.server);
+        assertFalse(resolved.isConflict());
+        assertArrayEquals(new byte[] { 2 }, resolved.snapshot.readFully());
+    }
+
+    @Test
+    public void aConflictResolvesOnlyOnce() throws Exception {
+        snapshots.put("slot", new byte[] { 1 });
+        backend.setConflictRate(1);
+        Conflict conflict = open("slot", true).conflict;
+        backend.setConflictRate(0);
+        resolve(conflict.conflictId, conflict.server);
+
+        try {
+            resolve(conflict.conflictId, conflict.server);
+            fail("Resolved the same conflict twice");
+        } catch (BackendException e) {
+            assertEquals(BackendException.ERROR, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void injectedFailuresCarryTheirStatusCode() throws Exception {
+        backend.failNext(1);
+        try {
+            open("slot", true);
+            fail("Injected failure was not delivered");
+        } catch (BackendException e) {
+            assertEquals(BackendException.NETWORK_ERROR, e.getStatusCode());
+        }
+        assertFalse(open("slot", true).isConflict());
+    }
+
+    private OpenResult open(String filename, boolean createIfNotFound) throws Exception {
+        return await(cb -> snapshots.open(filename, createIfNotFound, cb));
+    }
+
+    private OpenResult resolve(String conflictId, OpenSnapshot resolved) throws Exception {
+        return await(cb -> snapshots.resolveConflict(conflictId, resolved, cb));
+    }
+
+    private static <T> T await(Call<T> call) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        call.start(new BackendCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                result.set(value);
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        if (!done.await(5, TimeUnit.SECONDS)) throw new AssertionError("Backend call did not complete");
+        if (error.get() != null) throw error.get();
+        return result.get();
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlotQueuesTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final SlotQueues slots = new SlotQueues(pool);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void tasksForOneSlotRunInOrderAndNeverOverlap() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            // A slot and its delta companion share one queue.
+            slots.execute(i % 2 == 0 ? "slot" : "slot~delta", () -> {
+                if (running.incrementAndGet() > 1) overlapped.set(true);
+                order.add(index);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 50; i++) assertEquals(Integer.valueOf(i), order.get(i));
+    }
+
+    @Test
+    public void aBusySlotDoesNotHoldUpOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+        slots.execute("busy", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        slots.execute("busy", other::countDown);
+        CountDownLatch free = new CountDownLatch(1);
+        slots.execute("free", free::countDown);
+
+        assertTrue(free.await(1, TimeUnit.SECONDS));
+        assertEquals(1, other.getCount());
+        release.countDown();
+        assertTrue(other.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aFailingTaskDoesNotStallItsSlot() throws Exception {
+        CountDownLatch next = new CountDownLatch(1);
+        slots.execute("slot", () -> {
+            throw new IllegalStateException("boom");
+        });
+        slots.execute("slot", next::countDown);
+
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void tasksHoldTheSlotLock() throws Exception {
+        assertSame(slots.lock("slot"), slots.lock("slot~delta"));
+
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicBoolean held = new AtomicBoolean();
+        slots.execute("slot", () -> {
+            held.set(Thread.holdsLock(slots.lock("slot")));
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(held.get());
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.cloudsave;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class SnapshotDeltaTest {
+    @Test
+    public void scatteredEditsRoundTripInAFewKilobytes() throws Exception {
+        Random random = new Random(42);
+        byte[] base = new byte[512 * 1024];
+        random.nextBytes(base);
+        byte[] target = base.clone();
+        for (int i = 0; i < 8; i++) {
+            int start = random.nextInt(target.length - 256);
+            for (int j = 0; j < 256; j++) target[start + j] ^= (byte) (1 + random.nextInt(255));
+        }
+
+        byte[] delta = SnapshotDelta.diff(base, target);
+
+        assertArrayEquals(target, SnapshotDelta.apply(base, delta));
+        assertTrue("delta was " + delta.length + " bytes", delta.length < 8 * 1024);
+    }
+
+    @Test
+    public void insertsAndTruncationsRoundTrip() throws Exception {
+        Random random = new Random(7);
+        byte[] base = new byte[64 * 1024];
+        random.nextBytes(base);
+
+        byte[] inserted = new byte[base.length + 1000];
+        System.arraycopy(base, 0, inserted, 0, 5000);
+        System.arraycopy(base, 5000, inserted, 6000, base.length - 5000);
+        byte[] truncated = Arrays.copyOf(base, base.length / 2);
+
+        assertArrayEquals(inserted, SnapshotDelta.apply(base, SnapshotDelta.diff(base, inserted)));
+        assertArrayEquals(truncated, SnapshotDelta.apply(base, SnapshotDelta.diff(base, truncated)));
+        assertArrayEquals(new byte[0], SnapshotDelta.apply(base, SnapshotDelta.diff(base, new byte[0])));
+        assertArrayEquals(base, SnapshotDelta.apply(new byte[0], SnapshotDelta.diff(new byte[0], base)));
+    }
+
+    @Test
+    public void applyRejectsTheWrongBase() throws Exception {
+        byte[] base = new byte[4096];
+        new Random(1).nextBytes(base);
+        byte[] delta = SnapshotDelta.diff(base, Arrays.copyOf(base, 5000));
+
+        try {
+            SnapshotDelta.apply(Arrays.copyOf(base, 4000), delta);
+            fail("Applied against a base of the wrong length");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void applyRejectsGarbage() {
+        try {
+            SnapshotDelta.apply(new byte[16], new byte[] { 'X', 1, 0, 0 });
+            fail("Applied a payload that is not a delta");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void fingerprintTracksContentAndLength() {
+        byte[] data = "save data".getBytes();
+        byte[] changed = "save dat!".getBytes();
+
+        assertEquals(SnapshotDelta.fingerprint(data), SnapshotDelta.fingerprint(data.clone()));
+        assertNotEquals(SnapshotDelta.fingerprint(data), SnapshotDelta.fingerprint(changed));
+        assertEquals(data.length, SnapshotDelta.fingerprint(data) & 0xffffffffL);
+    }
+}
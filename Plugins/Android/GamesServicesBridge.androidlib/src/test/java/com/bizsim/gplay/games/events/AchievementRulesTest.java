@@ -0,0 +1,178 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AchievementRulesTest {
+    private static final String RULES = "{\"rules\":["
+            + "{\"event\":\"kills\",\"achievement\":\"slayer\",\"type\":\"increment\",\"per\":10},"
+            + "{\"event\":\"kills\",\"achievement\":\"veteran\",\"type\":\"unlock\",\"threshold\":25},"
+            + "{\"event\":\"coins\",\"achievement\":\"slayer\"},"
+            + "{\"event\":\"coins\",\"achievement\":\"rich\",\"type\":\"increment\"}]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File state;
+
+    /** Records what one or more flushes handed over, one entry per call. */
+    private static final class RecordingTarget implements AchievementRules.Target {
+        final List<String> calls = new ArrayList<>();
+        final Map<String, Long> steps = new LinkedHashMap<>();
+
+        @Override
+        public void increment(String achievementId, int steps) {
+            calls.add("increment " + achievementId + " " + steps);
+            this.steps.merge(achievementId, (long) steps, Long::sum);
+        }
+
+        @Override
+        public void unlock(String achievementId) {
+            calls.add("unlock " + achievementId);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        state = new File(folder.getRoot(), "rules.json");
+    }
+
+    @Test
+    public void incrementRulesCarryTheirRemainderAcrossFlushes() {
+        RecordingTarget target = new RecordingTarget();
+        AchievementRules rules = create(target);
+
+        rules.apply("kills", 7);
+        rules.flush();
+        assertTrue(target.calls.isEmpty());
+
+        rules.apply("kills", 7);
+        rules.flush();
+        rules.apply("kills", 6);
+        rules.flush();
+
+        assertEquals(Long.valueOf(2), target.steps.get("slayer"));
+        assertEquals(2, target.calls.size());
+    }
+
+    @Test
+    public void anUnlockFiresOnceWhenTheCountReachesItsThreshold() {
+        RecordingTarget target = new RecordingTarget();
+        AchievementRules rules = create(target);
+
+        rules.apply("kills", 24);
+        rules.flush();
+        assertFalse(target.calls.contains("unlock veteran"));
+
+        rules.apply("kills", 1);
+        rules.flush();
+        rules.apply("kills", 100);
+        rules.flush();
+
+        int unlocks = 0;
+        for (String call : target.calls) {
+            if (call.equals("unlock veteran")) unlocks++;
+        }
+        assertEquals(1, unlocks);
+    }
+
+    @Test
+    public void callsOfOneFlushAreMergedPerAchievement() {
+        RecordingTarget target = new RecordingTarget();
+        AchievementRules rules = create(target);
+
+        for (int i = 0; i < 5; i++) rules.apply("coins", 3);
+        rules.apply("kills", 30);
+        rules.flush();
+
+        // coins: 15 steps to slayer (per 1) and to rich; kills: 3 more to slayer, and the unlock.
+        assertEquals(3, target.calls.size());
+        assertTrue(target.calls.contains("increment slayer 18"));
+        assertTrue(target.calls.contains("increment rich 15"));
+        assertTrue(target.calls.contains("unlock veteran"));
+    }
+
+    @Test
+    public void eventsWithoutRulesAreIgnored() {
+        RecordingTarget target = new RecordingTarget();
+        AchievementRules rules = create(target);
+
+        rules.apply("jumps", 50);
+        rules.flush();
+
+        assertTrue(target.calls.isEmpty());
+    }
+
+    @Test
+    public void countersSurviveARestart() {
+        RecordingTarget first = new RecordingTarget();
+        AchievementRules before = create(first);
+        before.apply("kills", 24);
+        before.flush();
+
+        RecordingTarget second = new RecordingTarget();
+        AchievementRules after = create(second);
+        after.apply("kills", 6);
+        after.flush();
+
+        // 24 kills gave 2 steps and a remainder of 4; 6 more make one step and reach 25.
+        assertEquals(Long.valueOf(2), first.steps.get("slayer"));
+        assertEquals(Long.valueOf(1), second.steps.get("slayer"));
+        assertTrue(second.calls.contains("unlock veteran"));
+
+        RecordingTarget third = new RecordingTarget();
+        AchievementRules again = create(third);
+        again.apply("kills", 1);
+        again.flush();
+        assertTrue(third.calls.isEmpty());
+    }
+
+    @Test
+    public void anInvalidTableKeepsThePreviousOne() {
+        RecordingTarget target = new RecordingTarget();
+        AchievementRules rules = create(target);
+
+        try {
+            rules.load("{\"rules\":[{\"event\":\"kills\",\"achievement\":\"slayer\",\"per\":0}]}");
+            fail("per 0 was accepted");
+        } catch (IllegalArgumentException expected) {
+            // The table from create() stays.
+        }
+        try {
+            rules.load("{\"rules\":[{\"event\":\"kills\",\"achievement\":\"slayer\",\"type\":\"bogus\"}]}");
+            fail("unknown type was accepted");
+        } catch (IllegalArgumentException expected) {
+            // Likewise.
+        }
+
+        rules.apply("kills", 10);
+        rules.flush();
+        assertEquals(Long.valueOf(1), target.steps.get("slayer"));
+
+        assertEquals(0, rules.load(null));
+        rules.apply("kills", 10);
+        rules.flush();
+        assertEquals(Long.valueOf(1), target.steps.get("slayer"));
+    }
+
+    private AchievementRules create(RecordingTarget target) {
+        AchievementRules rules = new AchievementRules(state, target);
+        assertEquals(4, rules.load(RULES));
+        return rules;
+    }
+}
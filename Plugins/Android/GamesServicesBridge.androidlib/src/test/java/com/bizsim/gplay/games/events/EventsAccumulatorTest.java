@@ -0,0 +1,183 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventsAccumulatorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<EventsAccumulator> accumulators = new ArrayList<>();
+    private File checkpoint;
+
+    /** Records what it is sent; declines everything while {@code accepting} is false. */
+    private static final class RecordingSink implements EventsAccumulator.Sink {
+        final Map<String, Long> sent = new HashMap<>();
+        int calls;
+        volatile boolean accepting = true;
+        Runnable onIncrement;
+
+        @Override
+        public synchronized boolean increment(String eventId, int steps) {
+            if (onIncrement != null) onIncrement.run();
+            if (!accepting) return false;
+            calls++;
+            sent.merge(eventId, (long) steps, Long::sum);
+            return true;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        checkpoint = new File(folder.getRoot(), "events.json");
+    }
+
+    @After
+    public void tearDown() {
+        for (EventsAccumulator accumulator : accumulators) accumulator.shutdown();
+    }
+
+    @Test
+    public void incrementsAreCoalescedIntoOneCallPerEvent() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator accumulator = create(sink);
+
+        for (int i = 0; i < 100; i++) accumulator.add("kills", 1);
+        accumulator.add("coins", 250);
+        accumulator.add("coins", 50);
+        accumulator.flush();
+
+        assertEquals(2, sink.calls);
+        assertEquals(100L, (long) sink.sent.get("kills"));
+        assertEquals(300L, (long) sink.sent.get("coins"));
+        assertEquals(0, accumulator.pendingSteps("kills"));
+        assertEquals(0, accumulator.pendingSteps("coins"));
+    }
+
+    @Test
+    public void anEmptyFlushSendsNothing() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator accumulator = create(sink);
+
+        accumulator.flush();
+
+        assertEquals(0, sink.calls);
+    }
+
+    @Test
+    public void declinedStepsStayPendingForTheNextFlush() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator accumulator = create(sink);
+        accumulator.add("kills", 3);
+        accumulator.add("coins", 7);
+
+        sink.accepting = false;
+        accumulator.flush();
+        assertEquals(3, accumulator.pendingSteps("kills"));
+        assertEquals(7, accumulator.pendingSteps("coins"));
+
+        accumulator.add("kills", 2);
+        sink.accepting = true;
+        accumulator.flush();
+        assertEquals(5L, (long) sink.sent.get("kills"));
+        assertEquals(7L, (long) sink.sent.get("coins"));
+    }
+
+    @Test
+    public void pendingTotalsSurviveARestart() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator first = create(sink);
+        first.add("kills", 4);
+        first.add("coins", 9);
+        first.checkpoint();
+
+        RecordingSink declining = new RecordingSink();
+        declining.accepting = false;
+        EventsAccumulator second = create(declining);
+        awaitFlushThread(second);
+
+        assertEquals(4, second.pendingSteps("kills"));
+        assertEquals(9, second.pendingSteps("coins"));
+    }
+
+    @Test
+    public void drainedStepsLeaveTheCheckpointBeforeTheyAreSent() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator accumulator = create(sink);
+        accumulator.add("kills", 5);
+        accumulator.checkpoint();
+        assertEquals(5, readCheckpoint().optLong("kills"));
+
+        List<Long> checkpointedDuringSend = new ArrayList<>();
+        sink.onIncrement = () -> checkpointedDuringSend.add(readCheckpoint().optLong("kills"));
+        accumulator.flush();
+
+        assertEquals(1, checkpointedDuringSend.size());
+        assertEquals(0L, (long) checkpointedDuringSend.get(0));
+    }
+
+    @Test
+    public void flushThenRunsAfterTheFlush() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        EventsAccumulator accumulator = create(sink);
+        accumulator.add("kills", 1);
+
+        CountDownLatch ran = new CountDownLatch(1);
+        long[] sentBeforeNext = new long[1];
+        accumulator.flushThen(() -> {
+            synchronized (sink) {
+                sentBeforeNext[0] = sink.sent.getOrDefault("kills", 0L);
+            }
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sentBeforeNext[0]);
+        assertFalse(checkpoint.exists());
+    }
+
+    private EventsAccumulator create(RecordingSink sink) {
+        EventsAccumulator accumulator = new EventsAccumulator(checkpoint, sink);
+        accumulators.add(accumulator);
+        return accumulator;
+    }
+
+    /**
+     * Waits for tasks already queued on the flush thread, such as the checkpoint restore. This
+     * flushes too, so the accumulator's sink should decline.
+     */
+    private static void awaitFlushThread(EventsAccumulator accumulator) throws InterruptedException {
+        CountDownLatch idle = new CountDownLatch(1);
+        accumulator.flushThen(idle::countDown);
+        assertTrue(idle.await(5, TimeUnit.SECONDS));
+    }
+
+    private JSONObject readCheckpoint() {
+        try {
+            if (!checkpoint.exists()) return new JSONObject();
+            return new JSONObject(new String(Files.readAllBytes(checkpoint.toPath()), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.AchievementsBackend;
+import com.bizsim.gplay.games.backend.BackendCallback;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class FakeAchievementsBackend implements AchievementsBackend {
+    private final FakeGamesBackend backend;
+    private final Map<String, AchievementData> achievements = new LinkedHashMap<>();
+
+    FakeAchievementsBackend(FakeGamesBackend backend) {
+        this.backend = backend;
+    }
+
+    /** Defines a revealed achievement; {@code totalSteps} above zero makes it incremental. */
+    public synchronized void define(String achievementId, String name, int totalSteps) {
+        int type = totalSteps > 0 ? AchievementData.TYPE_INCREMENTAL : AchievementData.TYPE_STANDARD;
+        achievements.put(achievementId, new AchievementData(achievementId, name, "", AchievementData.STATE_REVEALED,
+                type, 0, Math.max(0, totalSteps), 0, 0, null, null));
+    }
+
+    public synchronized AchievementData get(String achievementId) {
+        return achievements.get(achievementId);
+    }
+
+    @Override
+    public void unlock(String achievementId) {
+        backend.fireAndForget(() -> update(achievementId, AchievementData.STATE_UNLOCKED, 0));
+    }
+
+    @Override
+    public void increment(String achievementId, int steps) {
+        backend.fireAndForget(() -> update(achievementId, -1, steps));
+    }
+
+    @Override
+    public void reveal(String achievementId) {
+        backend.fireAndForget(() -> update(achievementId, AchievementData.STATE_REVEALED, 0));
+    }
+
+    @Override
+    public void unlockImmediate(String achievementId, BackendCallback<Void> callback) {
+        backend.call("achievements.unlockImmediate", callback, () -> {
+            update(achievementId, AchievementData.STATE_UNLOCKED, 0);
+            return null;
+        });
+    }
+
+    @Override
+    public void incrementImmediate(String achievementId, int steps, BackendCallback<Boolean> callback) {
+        backend.call("achievements.incrementImmediate", callback, () -> {
+            update(achievementId, -1, steps);
+            AchievementData updated = get(achievementId);
+            return updated != null && updated.state == AchievementData.STATE_UNLOCKED;
+        });
+    }
+
+    @Override
+    public void load(boolean forceReload, BackendCallback<List<AchievementData>> callback) {
+        backend.call("achievements.load", callback, () -> {
+            synchronized (this) {
+                return new ArrayList<>(achievements.values());
+            }
+        });
+    }
+
+    @Override
+    public void getAchievementsIntent(BackendCallback<Object> callback) {
+        backend.call("achievements.intent", callback, () -> null);
+    }
+
+    private synchronized void update(String achievementId, int state, int steps) {
+        AchievementData current = achievements.get(achievementId);
+        if (current == null || current.state == AchievementData.STATE_UNLOCKED) return;
+
+        int newState = state;
+        int currentSteps = current.currentSteps;
+        if (steps > 0 && current.type == AchievementData.TYPE_INCREMENTAL) {
+            currentSteps = Math.min(current.totalSteps, currentSteps + steps);
+            newState = currentSteps >= current.totalSteps ? AchievementData.STATE_UNLOCKED : AchievementData.STATE_REVEALED;
+        }
+        if (newState < 0) return;
+        if (newState == AchievementData.STATE_UNLOCKED && current.type == AchievementData.TYPE_INCREMENTAL) {
+            currentSteps = current.totalSteps;
+        }
+
+        achievements.put(achievementId, new AchievementData(achievementId, current.name, current.description,
+                newState, current.type, currentSteps, current.totalSteps, current.xpValue,
+                System.currentTimeMillis(), current.revealedImageUri, current.unlockedImageUri));
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.EventsBackend;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Events spring into existence on first increment, or can be defined up front. */
+public final class FakeEventsBackend implements EventsBackend {
+    private final FakeGamesBackend backend;
+    private final Map<String, EventData> events = new LinkedHashMap<>();
+
+    FakeEventsBackend(FakeGamesBackend backend) {
+        this.backend = backend;
+    }
+
+    public synchronized void define(String eventId, String name) {
+        if (!events.containsKey(eventId)) {
+            events.put(eventId, new EventData(eventId, name, "", null, true, 0));
+        }
+    }
+
+    public synchronized long getValue(String eventId) {
+        EventData event = events.get(eventId);
+        return event != null ? event.value : 0;
+    }
+
+    @Override
+    public void increment(String eventId, int steps) {
+        backend.fireAndForget(() -> add(eventId, steps));
+    }
+
+    @Override
+    public void load(boolean forceReload, BackendCallback<List<EventData>> callback) {
+        backend.call("events.load", callback, () -> {
+            synchronized (this) {
+                return new ArrayList<>(events.values());
+            }
+        });
+    }
+
+    @Override
+    public void loadByIds(boolean forceReload, String[] eventIds, BackendCallback<List<EventData>> callback) {
+        backend.call("events.loadByIds", callback, () -> {
+            List<EventData> result = new ArrayList<>(eventIds.length);
+            synchronized (this) {
+                for (String eventId : eventIds) {
+                    EventData event = events.get(eventId);
+                    if (event != null) result.add(event);
+                }
+            }
+            return result;
+        });
+    }
+
+    private synchronized void add(String eventId, int steps) {
+        define(eventId, eventId);
+        EventData event = events.get(eventId);
+        events.put(eventId, new EventData(eventId, event.name, event.description, event.imageUri,
+                event.visible, event.value + steps));
+    }
+}
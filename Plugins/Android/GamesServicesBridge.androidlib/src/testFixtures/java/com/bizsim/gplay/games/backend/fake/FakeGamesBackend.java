@@ -0,0 +1,173 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.GamesBackend;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process Play Games backend for JVM tests and load tests. Plain Java, no Android or
+ * Play services classes.
+ *
+ * Every call completes after a random latency drawn from [min, max] with a seeded
+ * {@link Random}, so a run is reproducible for a given seed and call order. Failures are
+ * injected with {@link #setFailureRate} or deterministically with {@link #failNext}, and
+ * snapshot opens conflict with probability {@link #setConflictRate}. Fire-and-forget calls
+ * (unlock, submitScore, increment) apply after the same latency; an injected failure drops
+ * them, as a lost SDK write would.
+ *
+ * Results are delivered on the backend's own thread unless {@link #setCallbackExecutor} is
+ * given one, which stands in for the main thread. UI intents are always null.
+ */
+public final class FakeGamesBackend implements GamesBackend {
+    interface Op<T> {
+        T run() throws Exception;
+    }
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "BizSimGames-FakeBackend");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Random random;
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile Executor callbackExecutor = scheduler;
+    private volatile long minLatencyMs;
+    private volatile long maxLatencyMs;
+    private volatile double failureRate;
+    private volatile int failureStatusCode = BackendException.NETWORK_ERROR;
+    private volatile double conflictRate;
+
+    private final FakeSignInBackend signIn = new FakeSignInBackend(this);
+    private final FakeAchievementsBackend achievements = new FakeAchievementsBackend(this);
+    private final FakeLeaderboardsBackend leaderboards = new FakeLeaderboardsBackend(this, signIn);
+    private final FakeSnapshotsBackend snapshots = new FakeSnapshotsBackend(this);
+    private final FakeEventsBackend events = new FakeEventsBackend(this);
+    private final FakePlayerStatsBackend playerStats = new FakePlayerStatsBackend(this);
+
+    public FakeGamesBackend(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public void setLatency(long minMs, long maxMs) {
+        this.minLatencyMs = Math.max(0, minMs);
+        this.maxLatencyMs = Math.max(this.minLatencyMs, maxMs);
+    }
+
+    /** Fails each call with the given probability and status code. */
+    public void setFailureRate(double rate, int statusCode) {
+        this.failureRate = Math.max(0, Math.min(1, rate));
+        this.failureStatusCode = statusCode;
+    }
+
+    /** Fails the next {@code count} calls regardless of the failure rate. */
+    public void failNext(int count) {
+        failNext.set(Math.max(0, count));
+    }
+
+    /** Probability that opening or resolving an existing snapshot returns a conflict. */
+    public void setConflictRate(double rate) {
+        this.conflictRate = Math.max(0, Math.min(1, rate));
+    }
+
+    public void setCallbackExecutor(Executor executor) {
+        this.callbackExecutor = executor != null ? executor : scheduler;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public FakeSignInBackend signIn() {
+        return signIn;
+    }
+
+    @Override
+    public FakeAchievementsBackend achievements() {
+        return achievements;
+    }
+
+    @Override
+    public FakeLeaderboardsBackend leaderboards() {
+        return leaderboards;
+    }
+
+    @Override
+    public FakeSnapshotsBackend snapshots() {
+        return snapshots;
+    }
+
+    @Override
+    public FakeEventsBackend events() {
+        return events;
+    }
+
+    @Override
+    public FakePlayerStatsBackend playerStats() {
+        return playerStats;
+    }
+
+    /** Runs {@code op} after the simulated latency and delivers its result or an injected failure. */
+    <T> void call(String operation, BackendCallback<T> callback, Op<T> op) {
+        scheduler.schedule(() -> {
+            if (shouldFail()) {
+                deliverFailure(callback, new BackendException(failureStatusCode, "Injected failure: " + operation));
+                return;
+            }
+
+            T result;
+            try {
+                result = op.run();
+            } catch (Exception e) {
+                deliverFailure(callback, e);
+                return;
+            }
+            callbackExecutor.execute(() -> callback.onSuccess(result));
+        }, nextLatencyMs(), TimeUnit.MILLISECONDS);
+    }
+
+    void fireAndForget(Runnable action) {
+        scheduler.schedule(() -> {
+            if (!shouldFail()) action.run();
+        }, nextLatencyMs(), TimeUnit.MILLISECONDS);
+    }
+
+    boolean shouldConflict() {
+        double rate = conflictRate;
+        if (rate <= 0) return false;
+        synchronized (random) {
+            return random.nextDouble() < rate;
+        }
+    }
+
+    private boolean shouldFail() {
+        if (failNext.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) return true;
+        double rate = failureRate;
+        if (rate <= 0) return false;
+        synchronized (random) {
+            return random.nextDouble() < rate;
+        }
+    }
+
+    private long nextLatencyMs() {
+        long min = minLatencyMs;
+        long span = maxLatencyMs - min;
+        if (span <= 0) return min;
+        synchronized (random) {
+            return min + (long) (random.nextDouble() * (span + 1));
+        }
+    }
+
+    private <T> void deliverFailure(BackendCallback<T> callback, Exception error) {
+        callbackExecutor.execute(() -> callback.onFailure(error));
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.LeaderboardsBackend;
+import com.bizsim.gplay.games.backend.SignInBackend.PlayerProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** One all-time score per player per leaderboard; time span and collection are ignored. */
+public final class FakeLeaderboardsBackend implements LeaderboardsBackend {
+    private final FakeGamesBackend backend;
+    private final FakeSignInBackend signIn;
+    private final Map<String, Map<String, ScoreData>> leaderboards = new HashMap<>();
+
+    FakeLeaderboardsBackend(FakeGamesBackend backend, FakeSignInBackend signIn) {
+        this.backend = backend;
+        this.signIn = signIn;
+    }
+
+    /** Records a score for any player, keeping the player's best. */
+    public void putScore(String leaderboardId, String playerId, String displayName, long score) {
+        record(leaderboardId, playerId, displayName, score, null);
+    }
+
+    @Override
+    public void submitScore(String leaderboardId, long score, String scoreTag) {
+        PlayerProfile player = signIn.currentPlayer();
+        backend.fireAndForget(() -> record(leaderboardId, player.playerId, player.displayName, score, scoreTag));
+    }
+
+    @Override
+    public void submitScoreImmediate(String leaderboardId, long score, String scoreTag, BackendCallback<Void> callback) {
+        PlayerProfile player = signIn.currentPlayer();
+        backend.call("leaderboards.submitScoreImmediate", callback, () -> {
+            record(leaderboardId, player.playerId, player.displayName, score, scoreTag);
+            return null;
+        });
+    }
+
+    @Override
+    public void loadTopScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                              BackendCallback<List<ScoreData>> callback) {
+        backend.call("leaderboards.loadTopScores", callback, () -> {
+            List<ScoreData> ranked = ranked(leaderboardId);
+            return new ArrayList<>(ranked.subList(0, Math.min(Math.max(0, maxResults), ranked.size())));
+        });
+    }
+
+    @Override
+    public void loadPlayerCenteredScores(String leaderboardId, int timeSpan, int collection, int maxResults,
+                                         BackendCallback<List<ScoreData>> callback) {
+        backend.call("leaderboards.loadPlayerCenteredScores", callback, () -> {
+            List<ScoreData> ranked = ranked(leaderboardId);
+            String playerId = signIn.currentPlayer().playerId;
+            int center = 0;
+            for (int i = 0; i < ranked.size(); i++) {
+                if (ranked.get(i).playerId.equals(playerId)) center = i;
+            }
+            int count = Math.min(Math.max(0, maxResults), ranked.size());
+            int from = Math.max(0, Math.min(center - count / 2, ranked.size() - count));
+            return new ArrayList<>(ranked.subList(from, from + count));
+        });
+    }
+
+    @Override
+    public void getLeaderboardIntent(String leaderboardId, BackendCallback<Object> callback) {
+        backend.call("leaderboards.intent", callback, () -> null);
+    }
+
+    @Override
+    public void getAllLeaderboardsIntent(BackendCallback<Object> callback) {
+        backend.call("leaderboards.intent", callback, () -> null);
+    }
+
+    private synchronized void record(String leaderboardId, String playerId, String displayName, long score, String tag) {
+        Map<String, ScoreData> scores = leaderboards.get(leaderboardId);
+        if (scores == null) {
+            scores = new HashMap<>();
+            leaderboards.put(leaderboardId, scores);
+        }
+        ScoreData best = scores.get(playerId);
+        if (best == null || score > best.rawScore) {
+            scores.put(playerId, new ScoreData(playerId, displayName, score, String.valueOf(score), 0,
+                    tag, System.currentTimeMillis(), null));
+        }
+    }
+
+    private synchronized List<ScoreData> ranked(String leaderboardId) {
+        Map<String, ScoreData> scores = leaderboards.get(leaderboardId);
+        if (scores == null) return Collections.emptyList();
+
+        List<ScoreData> sorted = new ArrayList<>(scores.values());
+        Collections.sort(sorted, (a, b) -> Long.compare(b.rawScore, a.rawScore));
+
+        List<ScoreData> ranked = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            ScoreData s = sorted.get(i);
+            ranked.add(new ScoreData(s.playerId, s.displayName, s.rawScore, s.displayScore, i + 1,
+                    s.scoreTag, s.timestampMillis, s.avatarUri));
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,25 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.PlayerStatsBackend;
+
+public final class FakePlayerStatsBackend implements PlayerStatsBackend {
+    private final FakeGamesBackend backend;
+    private volatile StatsData stats = new StatsData(0, 0, 0, 0, -1f, -1f, -1f, -1f);
+
+    FakePlayerStatsBackend(FakeGamesBackend backend) {
+        this.backend = backend;
+    }
+
+    /** Pass null to simulate a player without stats. */
+    public void setStats(StatsData stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void loadPlayerStats(boolean forceReload, BackendCallback<StatsData> callback) {
+        backend.call("stats.load", callback, () -> stats);
+    }
+}
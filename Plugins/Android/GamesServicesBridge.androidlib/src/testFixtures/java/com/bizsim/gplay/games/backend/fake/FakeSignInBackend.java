@@ -0,0 +1,58 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SignInBackend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class FakeSignInBackend implements SignInBackend {
+    private final FakeGamesBackend backend;
+    private final AtomicLong authCodes = new AtomicLong();
+    private volatile boolean signedIn = true;
+    private volatile PlayerProfile player = new PlayerProfile("fake-player", "Fake Player", null);
+
+    FakeSignInBackend(FakeGamesBackend backend) {
+        this.backend = backend;
+    }
+
+    public void setSignedIn(boolean signedIn) {
+        this.signedIn = signedIn;
+    }
+
+    public void setPlayer(String playerId, String displayName) {
+        this.player = new PlayerProfile(playerId, displayName, null);
+    }
+
+    PlayerProfile currentPlayer() {
+        return player;
+    }
+
+    @Override
+    public void signIn(BackendCallback<Boolean> callback) {
+        backend.call("signIn", callback, () -> signedIn);
+    }
+
+    @Override
+    public void loadCurrentPlayer(BackendCallback<PlayerProfile> callback) {
+        backend.call("loadCurrentPlayer", callback, () -> {
+            if (!signedIn) throw new BackendException(BackendException.SIGN_IN_REQUIRED, "4: SIGN_IN_REQUIRED");
+            return player;
+        });
+    }
+
+    @Override
+    public void requestServerSideAccess(String serverClientId, boolean forceRefresh, List<String> scopes,
+                                        BackendCallback<ServerAccess> callback) {
+        backend.call("requestServerSideAccess", callback, () -> {
+            if (!signedIn) throw new BackendException(BackendException.SIGN_IN_REQUIRED, "4: SIGN_IN_REQUIRED");
+            List<String> granted = scopes != null ? new ArrayList<>(scopes) : Collections.<String>emptyList();
+            return new ServerAccess("fake-auth-code-" + authCodes.incrementAndGet(), granted);
+        });
+    }
+}
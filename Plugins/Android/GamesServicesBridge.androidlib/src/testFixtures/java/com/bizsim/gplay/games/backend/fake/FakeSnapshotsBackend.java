@@ -0,0 +1,189 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+package com.bizsim.gplay.games.backend.fake;
+
+import com.bizsim.gplay.games.backend.BackendCallback;
+import com.bizsim.gplay.games.backend.BackendException;
+import com.bizsim.gplay.games.backend.SnapshotsBackend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot store keyed by filename. A conflict pairs the stored copy (server) with a copy
+ * carrying a newer timestamp (local); resolving stores the chosen contents and can conflict
+ * again at the same rate.
+ */
+public final class FakeSnapshotsBackend implements SnapshotsBackend {
+    /** GamesStatusCodes.SNAPSHOT_NOT_FOUND. */
+    public static final int SNAPSHOT_NOT_FOUND = BackendException.SNAPSHOT_NOT_FOUND;
+
+    private final FakeGamesBackend backend;
+    private final Map<String, Stored> store = new HashMap<>();
+    private final Map<String, String> conflicts = new HashMap<>();
+    private final AtomicLong conflictCounter = new AtomicLong();
+
+    private static final class Stored {
+        final byte[] data;
+        final SnapshotMeta meta;
+
+        Stored(byte[] data, SnapshotMeta meta) {
+            this.data = data;
+            this.meta = meta;
+        }
+    }
+
+    private static final class FakeSnapshot implements OpenSnapshot {
+        private final SnapshotMeta meta;
+        private byte[] data;
+
+        FakeSnapshot(SnapshotMeta meta, byte[] data) {
+            this.meta = meta;
+            this.data = data;
+        }
+
+        @Override
+        public SnapshotMeta getMetadata() {
+            return meta;
+        }
+
+        @Override
+        public synchronized byte[] readFully() {
+            return data.clone();
+        }
+
+        @Override
+        public synchronized void writeBytes(byte[] data) {
+            this.data = data.clone();
+        }
+
+        @Override
+        public synchronized OutputStream openWriter() {
+            data = new byte[0];
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    FakeSnapshot.this.writeBytes(toByteArray());
+                }
+            };
+        }
+
+        synchronized void close() {
+            data = new byte[0];
+        }
+    }
+
+    FakeSnapshotsBackend(FakeGamesBackend backend) {
+        this.backend = backend;
+    }
+
+    public synchronized void put(String filename, byte[] data) {
+        store.put(filename, new Stored(data.clone(),
+                new SnapshotMeta(filename, System.currentTimeMillis(), 0, "", null)));
+    }
+
+    /** Stored contents, or null if the snapshot does not exist. */
+    public synchronized byte[] get(String filename) {
+        Stored stored = store.get(filename);
+        return stored != null ? stored.data.clone() : null;
+    }
+
+    @Override
+    public void open(String filename, boolean createIfNotFound, BackendCallback<OpenResult> callback) {
+        backend.call("snapshots.open", callback, () -> {
+            synchronized (this) {
+                Stored stored = store.get(filename);
+                if (stored == null) {
+                    if (!createIfNotFound) {
+                        throw new BackendException(SNAPSHOT_NOT_FOUND, "Snapshot not found: " + filename);
+                    }
+                    return OpenResult.opened(new FakeSnapshot(
+                            new SnapshotMeta(filename, System.currentTimeMillis(), 0, "", null), new byte[0]));
+                }
+                return openExisting(filename, stored);
+            }
+        });
+    }
+
+    @Override
+    public void commitAndClose(OpenSnapshot snapshot, MetadataChange change, BackendCallback<SnapshotMeta> callback) {
+        backend.call("snapshots.commit", callback, () -> {
+            SnapshotMeta old = snapshot.getMetadata();
+            String description = change.description != null && !change.description.isEmpty()
+                    ? change.description : old.description;
+            SnapshotMeta meta = new SnapshotMeta(old.uniqueName, System.currentTimeMillis(), change.playedTimeMillis,
+                    description, old.coverImageUri);
+
+            synchronized (this) {
+                store.put(old.uniqueName, new Stored(snapshot.readFully(), meta));
+            }
+            return meta;
+        });
+    }
+
+    @Override
+    public void discard(OpenSnapshot snapshot) {
+        ((FakeSnapshot) snapshot).close();
+    }
+
+    @Override
+    public void loadMetadata(boolean forceReload, BackendCallback<List<SnapshotMeta>> callback) {
+        backend.call("snapshots.load", callback, () -> {
+            synchronized (this) {
+                List<SnapshotMeta> list = new ArrayList<>(store.size());
+                for (Stored stored : store.values()) list.add(stored.meta);
+                return list;
+            }
+        });
+    }
+
+    @Override
+    public void delete(OpenSnapshot snapshot, BackendCallback<String> callback) {
+        backend.call("snapshots.delete", callback, () -> {
+            String filename = snapshot.getMetadata().uniqueName;
+            synchronized (this) {
+                store.remove(filename);
+            }
+            return filename;
+        });
+    }
+
+    @Override
+    public void resolveConflict(String conflictId, OpenSnapshot resolved, BackendCallback<OpenResult> callback) {
+        backend.call("snapshots.resolveConflict", callback, () -> {
+            synchronized (this) {
+                String filename = conflicts.remove(conflictId);
+                if (filename == null) {
+                    throw new BackendException(BackendException.ERROR, "Unknown conflict: " + conflictId);
+                }
+                Stored stored = new Stored(resolved.readFully(), new SnapshotMeta(filename,
+                        System.currentTimeMillis(), resolved.getMetadata().playedTime,
+                        resolved.getMetadata().description, resolved.getMetadata().coverImageUri));
+                store.put(filename, stored);
+                return openExisting(filename, stored);
+            }
+        });
+    }
+
+    @Override
+    public void getSelectSnapshotIntent(String title, boolean allowAddButton, boolean allowDelete, int maxSnapshots,
+                                        BackendCallback<Object> callback) {
+        backend.call("snapshots.intent", callback, () -> null);
+    }
+
+    private OpenResult openExisting(String filename, Stored stored) {
+        FakeSnapshot server = new FakeSnapshot(stored.meta, stored.data.clone());
+        if (!backend.shouldConflict()) return OpenResult.opened(server);
+
+        String conflictId = "fake-conflict-" + conflictCounter.incrementAndGet();
+        conflicts.put(conflictId, filename);
+        SnapshotMeta localMeta = new SnapshotMeta(filename, System.currentTimeMillis(), stored.meta.playedTime,
+                stored.meta.description, stored.meta.coverImageUri);
+        return OpenResult.conflict(new Conflict(conflictId, server, new FakeSnapshot(localMeta, stored.data.clone())));
+    }
+}
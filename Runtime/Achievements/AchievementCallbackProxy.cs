@@ -21,51 +21,67 @@ namespace BizSim.GPlay.Games
         // Note: These methods are called from Java on background thread
         // Must marshal to Unity main thread via UnityMainThreadDispatcher
 
-        void onAchievementUnlocked(string achievementId)
+        void onAchievementUnlocked(string requestId, string achievementId)
         {
             BizSimGamesLogger.Info($"Achievement unlocked callback: {achievementId}");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementUnlockedFromJava(achievementId);
+                _controller.OnAchievementUnlockedFromJava(requestId, achievementId);
             });
         }
 
-        void onAchievementIncremented(string achievementId, int currentSteps, int totalSteps)
+        void onMultipleUnlocked(string requestId, string achievementIdsJson)
+        {
+            BizSimGamesLogger.Info($"Batch unlock callback: {achievementIdsJson}");
+            UnityMainThreadDispatcher.Enqueue(() => {
+                _controller.OnMultipleUnlockedFromJava(requestId, achievementIdsJson);
+            });
+        }
+
+        void onAchievementIncremented(string requestId, string achievementId, int currentSteps, int totalSteps)
         {
             BizSimGamesLogger.Info($"Achievement incremented callback: {achievementId} ({currentSteps}/{totalSteps})");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementIncrementedFromJava(achievementId, currentSteps, totalSteps);
+                _controller.OnAchievementIncrementedFromJava(requestId, achievementId, currentSteps, totalSteps);
             });
         }
 
-        void onAchievementRevealed(string achievementId)
+        void onAchievementRevealed(string requestId, string achievementId)
         {
             BizSimGamesLogger.Info($"Achievement revealed callback: {achievementId}");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementRevealedFromJava(achievementId);
+                _controller.OnAchievementRevealedFromJava(requestId, achievementId);
             });
         }
 
-        void onAchievementsLoaded(string achievementsJson)
+        void onAchievementsLoaded(string requestId, string achievementsJson)
         {
             BizSimGamesLogger.Info($"Achievements loaded callback (JSON length: {achievementsJson?.Length ?? 0})");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementsLoadedFromJava(achievementsJson);
+                _controller.OnAchievementsLoadedFromJava(requestId, achievementsJson);
             });
         }
 
-        void onAchievementsUIClosed()
+        void onAchievementsUIClosed(string requestId)
         {
             BizSimGamesLogger.Info("Achievements UI closed callback");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementsUIClosedFromJava();
+                _controller.OnAchievementsUIClosedFromJava(requestId);
+            });
+        }
+
+        void onIconAtlasReady(string requestId, string indexJson)
+        {
+            BizSimGamesLogger.Info($"Icon atlas ready callback (JSON length: {indexJson?.Length ?? 0})");
+            UnityMainThreadDispatcher.Enqueue(() => {
+                _controller.OnIconAtlasReadyFromJava(requestId, indexJson);
             });
         }
 
-        void onAchievementError(int errorCode, string errorMessage, string achievementId)
+        void onAchievementError(string requestId, int errorCode, string errorMessage, string achievementId, int attempts)
         {
             BizSimGamesLogger.Error($"Achievement error callback: {errorCode} - {errorMessage} (Achievement: {achievementId})");
             UnityMainThreadDispatcher.Enqueue(() => {
-                _controller.OnAchievementErrorFromJava(errorCode, errorMessage, achievementId);
+                _controller.OnAchievementErrorFromJava(requestId, errorCode, errorMessage, achievementId, attempts);
             });
         }
     }
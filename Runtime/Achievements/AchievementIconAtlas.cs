@@ -0,0 +1,155 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.IO;
+using System.Threading;
+using System.Threading.Tasks;
+using UnityEngine;
+using UnityEngine.Scripting;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Index of the on-disk achievement icon atlas built by the Java bridge.
+    /// Pages are raw RGBA32 pixels, bottom row first, so they load straight into a texture
+    /// without decoding. Cell coordinates are pixel origins measured from the bottom-left.
+    /// </summary>
+    [Serializable, Preserve]
+    public class AchievementIconAtlas
+    {
+        /// <summary>
+        /// Catalogue version the atlas was built for. Changes when an icon URI or the layout changes.
+        /// </summary>
+        public string version;
+
+        /// <summary>
+        /// Width and height of each icon cell in pixels.
+        /// </summary>
+        public int iconSize;
+
+        /// <summary>
+        /// False if some icons could not be loaded. Those cells have page -1, and the atlas is
+        /// rebuilt on the next sign-in prefetch.
+        /// </summary>
+        public bool complete;
+
+        /// <summary>
+        /// Number of icons that could not be loaded.
+        /// </summary>
+        public int missing;
+
+        /// <summary>
+        /// Atlas pages, indexed by AtlasCell.page.
+        /// </summary>
+        public AtlasPage[] pages;
+
+        /// <summary>
+        /// Icon cells for every achievement in the catalogue.
+        /// </summary>
+        public AchievementIconEntry[] icons;
+
+        /// <summary>
+        /// Absolute path of the directory holding the page files.
+        /// </summary>
+        public string directory;
+
+        /// <summary>
+        /// Returns the icon entry for an achievement, or null if it is not in the atlas.
+        /// </summary>
+        public AchievementIconEntry FindIcon(string achievementId)
+        {
+            if (icons == null) return null;
+            foreach (var icon in icons)
+            {
+                if (icon.achievementId == achievementId)
+                    return icon;
+            }
+            return null;
+        }
+
+        /// <summary>
+        /// Returns the normalized UV rectangle of a cell on its page, or Rect.zero if the icon is missing.
+        /// </summary>
+        public Rect GetUvRect(AtlasCell cell)
+        {
+            if (cell == null || !cell.IsAvailable || pages == null || cell.page >= pages.Length)
+                return Rect.zero;
+
+            var page = pages[cell.page];
+            return new Rect((float)cell.x / page.width, (float)cell.y / page.height,
+                (float)iconSize / page.width, (float)iconSize / page.height);
+        }
+
+        /// <summary>
+        /// Reads a page file off the main thread and uploads it as a non-readable RGBA32 texture.
+        /// Call from the main thread.
+        /// WARNING: The returned Texture2D uses unmanaged GPU memory that is NOT garbage collected.
+        /// Caller MUST call UnityEngine.Object.Destroy(texture) when the texture is no longer needed.
+        /// </summary>
+        public async Task<Texture2D> LoadPageTextureAsync(int pageIndex, CancellationToken ct = default)
+        {
+            if (pages == null || pageIndex < 0 || pageIndex >= pages.Length)
+                throw new ArgumentOutOfRangeException(nameof(pageIndex));
+
+            var page = pages[pageIndex];
+            string path = Path.Combine(directory, page.file);
+            byte[] pixels = await Task.Run(() => File.ReadAllBytes(path), ct);
+            ct.ThrowIfCancellationRequested();
+
+            var texture = new Texture2D(page.width, page.height, TextureFormat.RGBA32, false);
+            texture.LoadRawTextureData(pixels);
+            texture.Apply(false, true);
+            return texture;
+        }
+    }
+
+    /// <summary>
+    /// One atlas page file.
+    /// </summary>
+    [Serializable, Preserve]
+    public class AtlasPage
+    {
+        /// <summary>
+        /// File name inside AchievementIconAtlas.directory.
+        /// </summary>
+        public string file;
+
+        public int width;
+        public int height;
+    }
+
+    /// <summary>
+    /// Atlas cells of one achievement's revealed and unlocked icons.
+    /// </summary>
+    [Serializable, Preserve]
+    public class AchievementIconEntry
+    {
+        public string achievementId;
+        public AtlasCell revealed;
+        public AtlasCell unlocked;
+    }
+
+    /// <summary>
+    /// Position of one icon in the atlas.
+    /// </summary>
+    [Serializable, Preserve]
+    public class AtlasCell
+    {
+        /// <summary>
+        /// Page index, or -1 if the icon could not be loaded.
+        /// </summary>
+        public int page;
+
+        /// <summary>
+        /// Left edge in pixels.
+        /// </summary>
+        public int x;
+
+        /// <summary>
+        /// Bottom edge in pixels.
+        /// </summary>
+        public int y;
+
+        public bool IsAvailable => page >= 0;
+    }
+}
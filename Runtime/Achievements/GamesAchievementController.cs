@@ -17,20 +17,22 @@ namespace BizSim.GPlay.Games
 
         private AchievementCallbackProxy _callbackProxy;
 
-        private readonly Dictionary<string, TaskCompletionSource<bool>> _pendingUnlocks = new();
-        private readonly Dictionary<string, TaskCompletionSource<bool>> _pendingIncrements = new();
-        private readonly Dictionary<string, TaskCompletionSource<bool>> _pendingReveals = new();
-        private TaskCompletionSource<bool> _showUITcs;
-        private TaskCompletionSource<List<GamesAchievement>> _loadTcs;
-        private TaskCompletionSource<bool> _unlockMultipleTcs;
-
-        private Dictionary<string, GamesAchievement> _achievementCache;
+        private readonly PendingRequests<bool> _unlocks = new("unlock");
+        private readonly PendingRequests<bool> _increments = new("increment");
+        private readonly PendingRequests<bool> _reveals = new("reveal");
+        private readonly PendingRequests<bool> _showUIRequests = new("ui");
+        private readonly PendingRequests<List<GamesAchievement>> _loads = new("load");
+        private readonly PendingRequests<bool> _unlockMultipleRequests = new("batch");
+        private readonly PendingRequests<AchievementIconAtlas> _atlases = new("atlas");
+
+        private readonly Dictionary<string, GamesAchievement> _achievementCache;
         private DateTime _cacheTimestamp;
 
         public event Action<string> OnAchievementUnlocked;
         public event Action<string, int> OnAchievementIncremented;
         public event Action<string> OnAchievementRevealed;
         public event Action<GamesAchievementError> OnAchievementError;
+        public event Action<AchievementIconAtlas> OnIconAtlasReady;
 
         protected override string JavaClassName => JniConstants.AchievementBridge;
 
@@ -45,6 +47,15 @@ namespace BizSim.GPlay.Games
             _achievementCache = new Dictionary<string, GamesAchievement>();
             _cacheTimestamp = DateTime.MinValue;
             InitializeBridge();
+            _increments.OnAbandoned = CancelRequest;
+            _showUIRequests.OnAbandoned = CancelRequest;
+            _loads.OnAbandoned = CancelRequest;
+            _atlases.OnAbandoned = CancelRequest;
+
+            var config = GamesServicesManager.Config;
+            if (config != null)
+                CallBridge("setIconAtlas", config.achievementIconSize, config.achievementIconAtlasPageSize,
+                    config.prefetchAchievementIcons);
         }
 
         #region Public API
@@ -62,20 +73,8 @@ namespace BizSim.GPlay.Games
                 return;
             }
 
-            var tcs = new TaskCompletionSource<bool>();
-            lock (_pendingUnlocks)
-            {
-                if (_pendingUnlocks.TryGetValue(achievementId, out var existing))
-                    existing.TrySetCanceled();
-                _pendingUnlocks[achievementId] = tcs;
-            }
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info($"Unlocking achievement: {achievementId}");
-                CallBridge("unlockAchievement", achievementId);
-                await tcs.Task;
-            }
+            BizSimGamesLogger.Info($"Unlocking achievement: {achievementId}");
+            await _unlocks.SendAsync(requestId => CallBridge("unlockAchievement", requestId, achievementId), ct);
         }
 
         public async Task IncrementAchievementAsync(string achievementId, int steps, CancellationToken ct = default)
@@ -88,20 +87,8 @@ namespace BizSim.GPlay.Games
             if (steps <= 0)
                 throw new ArgumentException("Steps must be greater than 0", nameof(steps));
 
-            var tcs = new TaskCompletionSource<bool>();
-            lock (_pendingIncrements)
-            {
-                if (_pendingIncrements.TryGetValue(achievementId, out var existing))
-                    existing.TrySetCanceled();
-                _pendingIncrements[achievementId] = tcs;
-            }
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info($"Incrementing achievement: {achievementId} by {steps}");
-                CallBridge("incrementAchievement", achievementId, steps);
-                await tcs.Task;
-            }
+            BizSimGamesLogger.Info($"Incrementing achievement: {achievementId} by {steps}");
+            await _increments.SendAsync(requestId => CallBridge("incrementAchievement", requestId, achievementId, steps), ct);
         }
 
         public async Task RevealAchievementAsync(string achievementId, CancellationToken ct = default)
@@ -111,34 +98,16 @@ namespace BizSim.GPlay.Games
             if (string.IsNullOrEmpty(achievementId))
                 throw new ArgumentException("Achievement ID cannot be null or empty", nameof(achievementId));
 
-            var tcs = new TaskCompletionSource<bool>();
-            lock (_pendingReveals)
-            {
-                if (_pendingReveals.TryGetValue(achievementId, out var existing))
-                    existing.TrySetCanceled();
-                _pendingReveals[achievementId] = tcs;
-            }
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info($"Revealing achievement: {achievementId}");
-                CallBridge("revealAchievement", achievementId);
-                await tcs.Task;
-            }
+            BizSimGamesLogger.Info($"Revealing achievement: {achievementId}");
+            await _reveals.SendAsync(requestId => CallBridge("revealAchievement", requestId, achievementId), ct);
         }
 
         public async Task ShowAchievementsUIAsync(CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
 
-            var tcs = TcsGuard.Replace(ref _showUITcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info("Showing achievements UI");
-                CallBridge("showAchievementsUI");
-                await tcs.Task;
-            }
+            BizSimGamesLogger.Info("Showing achievements UI");
+            await _showUIRequests.SendAsync(requestId => CallBridge("showAchievementsUI", requestId), ct);
         }
 
         public async Task<List<GamesAchievement>> LoadAchievementsAsync(bool forceReload = false, CancellationToken ct = default)
@@ -148,17 +117,12 @@ namespace BizSim.GPlay.Games
             if (!forceReload && IsCacheValid())
             {
                 BizSimGamesLogger.Info("Returning cached achievements");
-                return _achievementCache.Values.ToList();
+                lock (_achievementCache)
+                    return _achievementCache.Values.ToList();
             }
 
-            var tcs = TcsGuard.Replace(ref _loadTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info($"Loading achievements (forceReload: {forceReload})");
-                CallBridge("loadAchievements", forceReload);
-                return await tcs.Task;
-            }
+            BizSimGamesLogger.Info($"Loading achievements (forceReload: {forceReload})");
+            return await _loads.SendAsync(requestId => CallBridge("loadAchievements", requestId, forceReload), ct);
         }
 
         public async Task UnlockMultipleAsync(List<string> achievementIds, CancellationToken ct = default)
@@ -168,163 +132,154 @@ namespace BizSim.GPlay.Games
             if (achievementIds == null || achievementIds.Count == 0)
                 throw new ArgumentException("Achievement IDs list cannot be null or empty", nameof(achievementIds));
 
-            var tcs = TcsGuard.Replace(ref _unlockMultipleTcs);
+            BizSimGamesLogger.Info($"Unlocking {achievementIds.Count} achievements in batch");
+            string json = "[\"" + string.Join("\",\"", achievementIds) + "\"]";
+            await _unlockMultipleRequests.SendAsync(requestId => CallBridge("unlockMultiple", requestId, json), ct);
+        }
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                BizSimGamesLogger.Info($"Unlocking {achievementIds.Count} achievements in batch");
-                string json = "[\"" + string.Join("\",\"", achievementIds) + "\"]";
-                CallBridge("unlockMultiple", json);
-                await tcs.Task;
-            }
+        public async Task<AchievementIconAtlas> LoadIconAtlasAsync(CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+
+            BizSimGamesLogger.Info("Loading achievement icon atlas");
+            return await _atlases.SendAsync(requestId => CallBridge("loadIconAtlas", requestId), ct);
         }
 
         #endregion
 
         #region Callback Handlers (called from Java via proxy)
 
-        internal void OnAchievementUnlockedFromJava(string achievementId)
+        internal void OnAchievementUnlockedFromJava(string requestId, string achievementId)
+        {
+            MarkUnlocked(achievementId);
+            _unlocks.TryComplete(requestId, true);
+        }
+
+        internal void OnMultipleUnlockedFromJava(string requestId, string achievementIdsJson)
         {
-            if (_achievementCache.ContainsKey(achievementId))
+            foreach (var achievementId in JsonArrayParser.Parse<StringArrayWrapper, string>(achievementIdsJson))
+                MarkUnlocked(achievementId);
+            _unlockMultipleRequests.TryComplete(requestId, true);
+        }
+
+        private void MarkUnlocked(string achievementId)
+        {
+            lock (_achievementCache)
             {
-                _achievementCache[achievementId].state = AchievementState.Unlocked;
-                _achievementCache[achievementId].unlockedTimestamp = DateTimeOffset.UtcNow.ToUnixTimeMilliseconds();
+                if (_achievementCache.TryGetValue(achievementId, out var cached))
+                {
+                    cached.state = AchievementState.Unlocked;
+                    cached.unlockedTimestamp = DateTimeOffset.UtcNow.ToUnixTimeMilliseconds();
+                }
             }
 
             PlayerPrefs.SetString(CACHE_PREFIX + achievementId, "unlocked");
             PlayerPrefs.Save();
 
             OnAchievementUnlocked?.Invoke(achievementId);
-
-            ResolvePending(_pendingUnlocks, achievementId);
-            _unlockMultipleTcs?.TrySetResult(true);
         }
 
-        internal void OnAchievementIncrementedFromJava(string achievementId, int currentSteps, int totalSteps)
+        internal void OnAchievementIncrementedFromJava(string requestId, string achievementId, int currentSteps, int totalSteps)
         {
-            if (_achievementCache.ContainsKey(achievementId))
+            // totalSteps is 0 when the increment was queued offline and the server count is unknown.
+            if (totalSteps <= 0)
             {
-                _achievementCache[achievementId].currentSteps = currentSteps;
-                _achievementCache[achievementId].totalSteps = totalSteps;
+                BizSimGamesLogger.Info($"Increment for {achievementId} queued in the outbox ({currentSteps} pending steps)");
+                _increments.TryComplete(requestId, true);
+                return;
+            }
 
-                if (currentSteps >= totalSteps)
-                    _achievementCache[achievementId].state = AchievementState.Unlocked;
+            lock (_achievementCache)
+            {
+                if (_achievementCache.TryGetValue(achievementId, out var cached))
+                {
+                    cached.currentSteps = currentSteps;
+                    cached.totalSteps = totalSteps;
+
+                    if (currentSteps >= totalSteps)
+                        cached.state = AchievementState.Unlocked;
+                }
             }
 
             OnAchievementIncremented?.Invoke(achievementId, currentSteps);
-            ResolvePending(_pendingIncrements, achievementId);
+            _increments.TryComplete(requestId, true);
         }
 
-        internal void OnAchievementRevealedFromJava(string achievementId)
+        internal void OnAchievementRevealedFromJava(string requestId, string achievementId)
         {
-            if (_achievementCache.ContainsKey(achievementId))
-                _achievementCache[achievementId].state = AchievementState.Revealed;
+            lock (_achievementCache)
+            {
+                if (_achievementCache.TryGetValue(achievementId, out var cached))
+                    cached.state = AchievementState.Revealed;
+            }
 
             OnAchievementRevealed?.Invoke(achievementId);
-            ResolvePending(_pendingReveals, achievementId);
+            _reveals.TryComplete(requestId, true);
         }
 
-        internal void OnAchievementsLoadedFromJava(string achievementsJson)
+        internal void OnAchievementsLoadedFromJava(string requestId, string achievementsJson)
         {
             try
             {
                 var achievements = ParseAchievementsJson(achievementsJson);
 
-                _achievementCache.Clear();
-                foreach (var achievement in achievements)
-                    _achievementCache[achievement.achievementId] = achievement;
-                _cacheTimestamp = DateTime.UtcNow;
+                lock (_achievementCache)
+                {
+                    _achievementCache.Clear();
+                    foreach (var achievement in achievements)
+                        _achievementCache[achievement.achievementId] = achievement;
+                    _cacheTimestamp = DateTime.UtcNow;
+                }
 
                 BizSimGamesLogger.Info($"Loaded {achievements.Count} achievements");
-                _loadTcs?.TrySetResult(achievements);
+                _loads.TryComplete(requestId, achievements);
             }
             catch (Exception ex)
             {
                 BizSimGamesLogger.Error($"Failed to parse achievements JSON: {ex.Message}");
-                _loadTcs?.TrySetException(ex);
+                _loads.TryFail(requestId, ex);
             }
         }
 
-        internal void OnAchievementsUIClosedFromJava()
+        internal void OnAchievementsUIClosedFromJava(string requestId)
         {
-            _showUITcs?.TrySetResult(true);
+            _showUIRequests.TryComplete(requestId, true);
         }
 
-        internal void OnAchievementErrorFromJava(int errorCode, string errorMessage, string achievementId)
+        internal void OnIconAtlasReadyFromJava(string requestId, string indexJson)
         {
-            var error = new GamesAchievementError(errorCode, errorMessage, achievementId);
-            OnAchievementError?.Invoke(error);
-
-            var exception = new GamesAchievementException(error);
-
-            if (!string.IsNullOrEmpty(achievementId))
-            {
-                FailPending(_pendingUnlocks, achievementId, exception);
-                FailPending(_pendingIncrements, achievementId, exception);
-                FailPending(_pendingReveals, achievementId, exception);
-            }
-            else
+            AchievementIconAtlas atlas;
+            try
             {
-                FailAllPending(_pendingUnlocks, exception);
-                FailAllPending(_pendingIncrements, exception);
-                FailAllPending(_pendingReveals, exception);
+                atlas = JsonUtility.FromJson<AchievementIconAtlas>(indexJson);
             }
-
-            _showUITcs?.TrySetException(exception);
-            _loadTcs?.TrySetException(exception);
-            _unlockMultipleTcs?.TrySetException(exception);
-        }
-
-        #endregion
-
-        #region Pending Operation Helpers
-
-        private static void ResolvePending(Dictionary<string, TaskCompletionSource<bool>> dict, string id)
-        {
-            TaskCompletionSource<bool> tcs;
-            lock (dict)
+            catch (Exception ex)
             {
-                if (!dict.TryGetValue(id, out tcs))
-                    return;
-                dict.Remove(id);
+                BizSimGamesLogger.Error($"Failed to parse icon atlas JSON: {ex.Message}");
+                if (requestId != null)
+                    _atlases.TryFail(requestId, ex);
+                return;
             }
-            tcs.TrySetResult(true);
-        }
 
-        private static void FailPending(Dictionary<string, TaskCompletionSource<bool>> dict, string id, Exception ex)
-        {
-            TaskCompletionSource<bool> tcs;
-            lock (dict)
-            {
-                if (!dict.TryGetValue(id, out tcs))
-                    return;
-                dict.Remove(id);
-            }
-            tcs.TrySetException(ex);
+            BizSimGamesLogger.Info($"Icon atlas ready: {atlas.pages?.Length ?? 0} pages, {atlas.missing} icons missing");
+            OnIconAtlasReady?.Invoke(atlas);
+            if (requestId != null)
+                _atlases.TryComplete(requestId, atlas);
         }
 
-        private static void FailAllPending(Dictionary<string, TaskCompletionSource<bool>> dict, Exception ex)
+        internal void OnAchievementErrorFromJava(string requestId, int errorCode, string errorMessage, string achievementId, int attempts)
         {
-            List<TaskCompletionSource<bool>> pending;
-            lock (dict)
-            {
-                pending = new List<TaskCompletionSource<bool>>(dict.Values);
-                dict.Clear();
-            }
-            foreach (var tcs in pending)
-                tcs.TrySetException(ex);
-        }
+            var error = new GamesAchievementError(errorCode, errorMessage, achievementId) { attempts = attempts };
+            OnAchievementError?.Invoke(error);
 
-        private static void CancelAllPending(Dictionary<string, TaskCompletionSource<bool>> dict)
-        {
-            List<TaskCompletionSource<bool>> pending;
-            lock (dict)
-            {
-                pending = new List<TaskCompletionSource<bool>>(dict.Values);
-                dict.Clear();
-            }
-            foreach (var tcs in pending)
-                tcs.TrySetCanceled();
+            var exception = new GamesAchievementException(error);
+            if (!_unlocks.TryFail(requestId, exception)
+                && !_increments.TryFail(requestId, exception)
+                && !_reveals.TryFail(requestId, exception)
+                && !_showUIRequests.TryFail(requestId, exception)
+                && !_loads.TryFail(requestId, exception)
+                && !_atlases.TryFail(requestId, exception))
+                _unlockMultipleRequests.TryFail(requestId, exception);
         }
 
         #endregion
@@ -333,8 +288,16 @@ namespace BizSim.GPlay.Games
 
         private bool IsAchievementUnlockedInCache(string achievementId)
         {
-            if (_achievementCache.ContainsKey(achievementId))
-                return _achievementCache[achievementId].state == AchievementState.Unlocked;
+            lock (_achievementCache)
+            {
+                if (_achievementCache.TryGetValue(achievementId, out var cached))
+                    return cached.state == AchievementState.Unlocked;
+            }
+
+            // PlayerPrefs is main-thread only. Off it, an uncached ID goes to the bridge, whose
+            // outbox coalesces repeat unlocks.
+            if (!UnityMainThreadDispatcher.IsMainThread)
+                return false;
 
             if (PlayerPrefs.HasKey(CACHE_PREFIX + achievementId))
                 return PlayerPrefs.GetString(CACHE_PREFIX + achievementId) == "unlocked";
@@ -344,11 +307,21 @@ namespace BizSim.GPlay.Games
 
         private bool IsCacheValid()
         {
-            if (_achievementCache.Count == 0)
-                return false;
+            lock (_achievementCache)
+            {
+                if (_achievementCache.Count == 0)
+                    return false;
+
+                var age = DateTime.UtcNow - _cacheTimestamp;
+                return age.TotalHours < CACHE_LIFETIME_HOURS;
+            }
+        }
 
-            var age = DateTime.UtcNow - _cacheTimestamp;
-            return age.TotalHours < CACHE_LIFETIME_HOURS;
+        [Serializable, Preserve]
+        private class StringArrayWrapper : IArrayWrapper<string>
+        {
+            public string[] items;
+            public string[] Items => items;
         }
 
         [Serializable, Preserve]
@@ -376,14 +349,16 @@ namespace BizSim.GPlay.Games
 
         protected override void OnDispose()
         {
-            CancelAllPending(_pendingUnlocks);
-            CancelAllPending(_pendingIncrements);
-            CancelAllPending(_pendingReveals);
-            _showUITcs?.TrySetCanceled();
-            _loadTcs?.TrySetCanceled();
-            _unlockMultipleTcs?.TrySetCanceled();
-
-            _achievementCache?.Clear();
+            _unlocks.CancelAll();
+            _increments.CancelAll();
+            _reveals.CancelAll();
+            _showUIRequests.CancelAll();
+            _loads.CancelAll();
+            _unlockMultipleRequests.CancelAll();
+            _atlases.CancelAll();
+
+            lock (_achievementCache)
+                _achievementCache.Clear();
             _callbackProxy = null;
         }
     }
@@ -25,6 +25,11 @@ namespace BizSim.GPlay.Games
         /// </summary>
         public string achievementId;
 
+        /// <summary>
+        /// SDK attempts made before the bridge gave up, including retries (0 if the request never reached the SDK).
+        /// </summary>
+        public int attempts;
+
         /// <summary>
         /// Type-safe error classification.
         /// </summary>
@@ -37,6 +42,8 @@ namespace BizSim.GPlay.Games
             4 => AchievementErrorType.InvalidSteps,
             5 => AchievementErrorType.AlreadyUnlocked,
             100 => AchievementErrorType.InternalError,
+            408 => AchievementErrorType.Timeout,
+            429 => AchievementErrorType.RateLimited,
             _ => AchievementErrorType.Unknown
         };
 
@@ -97,7 +104,17 @@ namespace BizSim.GPlay.Games
         /// <summary>
         /// Internal error in Google Play Games SDK.
         /// </summary>
-        InternalError = 100
+        InternalError = 100,
+
+        /// <summary>
+        /// Request passed its deadline before Google Play Games answered.
+        /// </summary>
+        Timeout = 408,
+
+        /// <summary>
+        /// Turned away by the bridge rate governor while Play Games calls were queued too deep; retry later.
+        /// </summary>
+        RateLimited = 429
     }
 
     public class GamesAchievementException : GamesException
@@ -62,6 +62,15 @@ namespace BizSim.GPlay.Games
         /// <returns>Task that completes when all unlocks are processed</returns>
         Task UnlockMultipleAsync(List<string> achievementIds, CancellationToken ct = default);
 
+        /// <summary>
+        /// Returns the on-disk atlas of every achievement's revealed and unlocked icons, building it
+        /// first if the catalogue or layout changed. Load a page with LoadPageTextureAsync and draw
+        /// icons from it with GetUvRect.
+        /// </summary>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Atlas index with page files and icon cells</returns>
+        Task<AchievementIconAtlas> LoadIconAtlasAsync(CancellationToken ct = default);
+
         /// <summary>
         /// Event fired when an achievement is successfully unlocked.
         /// </summary>
@@ -81,5 +90,11 @@ namespace BizSim.GPlay.Games
         /// Event fired when an achievement operation fails.
         /// </summary>
         event Action<GamesAchievementError> OnAchievementError;
+
+        /// <summary>
+        /// Event fired whenever an icon atlas is ready, including after the background prefetch
+        /// that follows sign-in when prefetchAchievementIcons is enabled.
+        /// </summary>
+        event Action<AchievementIconAtlas> OnIconAtlasReady;
     }
 }
@@ -59,49 +59,43 @@ namespace BizSim.GPlay.Games
             });
         }
 
-        /// <summary>
-        /// Called from Java when server-side access auth code is retrieved.
-        /// </summary>
-        void onServerSideAccessSuccess(string serverAuthCode)
+        void onProvisionalIdentity(string playerId, string displayName, string avatarUri)
         {
-            BizSimGamesLogger.Verbose($"[Callback] onServerSideAccessSuccess");
+            BizSimGamesLogger.Verbose($"[Callback] onProvisionalIdentity: playerId={playerId}, name={displayName}");
 
             UnityMainThreadDispatcher.Enqueue(() =>
             {
-                _controller.OnServerSideAccessSuccess(serverAuthCode);
+                _controller.OnProvisionalIdentity(playerId, displayName, avatarUri);
             });
         }
 
-        /// <summary>
-        /// Called from Java when server-side access request fails.
-        /// </summary>
-        void onServerSideAccessFailure(int errorCode, string errorMessage)
+        void onProvisionalIdentityRevoked(int errorCode, string errorMessage)
         {
-            BizSimGamesLogger.Verbose($"[Callback] onServerSideAccessFailure: code={errorCode}, message={errorMessage}");
+            BizSimGamesLogger.Verbose($"[Callback] onProvisionalIdentityRevoked: code={errorCode}, message={errorMessage}");
 
             UnityMainThreadDispatcher.Enqueue(() =>
             {
-                _controller.OnServerSideAccessFailure(errorCode, errorMessage);
+                _controller.OnProvisionalIdentityRevoked(errorCode, errorMessage);
             });
         }
 
-        void onServerSideAccessWithScopesSuccess(string authCode, string grantedScopesJson)
+        void onServerAuthCodeReady(string requestId, string authCode, string grantedScopesJson)
         {
-            BizSimGamesLogger.Verbose("[Callback] onServerSideAccessWithScopesSuccess");
+            BizSimGamesLogger.Verbose($"[Callback] onServerAuthCodeReady: requestId={requestId}");
 
             UnityMainThreadDispatcher.Enqueue(() =>
             {
-                _controller.OnScopedAccessSuccess(authCode, grantedScopesJson);
+                _controller.OnServerAuthCodeReady(requestId, authCode, grantedScopesJson);
             });
         }
 
-        void onServerSideAccessWithScopesFailure(int errorCode, string errorMessage)
+        void onServerAuthCodeFailed(string requestId, int errorCode, string errorMessage)
         {
-            BizSimGamesLogger.Verbose($"[Callback] onServerSideAccessWithScopesFailure: code={errorCode}, message={errorMessage}");
+            BizSimGamesLogger.Verbose($"[Callback] onServerAuthCodeFailed: requestId={requestId}, code={errorCode}, message={errorMessage}");
 
             UnityMainThreadDispatcher.Enqueue(() =>
             {
-                _controller.OnScopedAccessFailure(errorCode, errorMessage);
+                _controller.OnServerAuthCodeFailed(requestId, errorCode, errorMessage);
             });
         }
     }
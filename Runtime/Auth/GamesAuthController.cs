@@ -13,8 +13,8 @@ namespace BizSim.GPlay.Games
         private AndroidJavaObject _authBridge;
         private AuthCallbackProxy _callbackProxy;
         private TaskCompletionSource<GamesPlayer> _authTaskSource;
-        private TaskCompletionSource<string> _serverAccessTaskSource;
-        private TaskCompletionSource<GamesAuthResponse> _scopedAccessTaskSource;
+        private readonly Dictionary<string, TaskCompletionSource<GamesAuthResponse>> _authCodeRequests =
+            new Dictionary<string, TaskCompletionSource<GamesAuthResponse>>();
         private CancellationTokenSource _destroyTokenSource;
         private bool _disposed;
 
@@ -23,6 +23,8 @@ namespace BizSim.GPlay.Games
 
         public event Action<GamesPlayer> OnAuthenticationSuccess;
         public event Action<GamesAuthError> OnAuthenticationFailed;
+        public event Action<GamesPlayer> OnProvisionalIdentity;
+        public event Action<GamesAuthError> OnProvisionalIdentityRevoked;
 
         public bool IsAuthenticated => _isAuthenticated;
         public GamesPlayer CurrentPlayer => _currentPlayer;
@@ -48,6 +50,14 @@ namespace BizSim.GPlay.Games
                 _callbackProxy = new AuthCallbackProxy(this);
                 _authBridge.Call("setCallback", _callbackProxy);
 
+                var config = GamesServicesManager.Config;
+                if (config != null && config.optimisticSignIn)
+                    _authBridge.Call("setOptimisticSignIn", true);
+                if (config != null && config.prefetchServerAuthCode && !string.IsNullOrEmpty(config.webClientId))
+                    _authBridge.Call("setAuthCodePrefetch", config.webClientId, null);
+                if (config != null && config.warmUpClientsInBackground)
+                    _authBridge.Call("warmUp");
+
                 BizSimGamesLogger.Info("JNI bridge initialized successfully");
             }
             catch (Exception e)
@@ -81,6 +91,7 @@ namespace BizSim.GPlay.Games
                 try
                 {
                     BizSimGamesLogger.Info("Calling signIn() on Java bridge");
+                    JniBridgeBase.EnsureThreadAttached();
                     _authBridge.Call("signIn");
 
                     return await tcs.Task.WithJniTimeout(tcs, ct: linkedCts.Token);
@@ -125,24 +136,9 @@ namespace BizSim.GPlay.Games
                 });
             }
 
-            var tcs = TcsGuard.Replace(ref _serverAccessTaskSource);
-
-            using (var linkedCts = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken, _destroyTokenSource.Token))
-            using (linkedCts.Token.Register(() => _serverAccessTaskSource?.TrySetCanceled()))
-            {
-                try
-                {
-                    BizSimGamesLogger.Info($"Requesting server-side access (clientId={serverClientId}, forceRefresh={forceRefresh})");
-                    _authBridge.Call("requestServerSideAccess", serverClientId, forceRefresh);
-
-                    return await tcs.Task;
-                }
-                catch (OperationCanceledException)
-                {
-                    BizSimGamesLogger.Warning("Server-side access request cancelled");
-                    throw;
-                }
-            }
+            BizSimGamesLogger.Info($"Requesting server-side access (clientId={serverClientId}, forceRefresh={forceRefresh})");
+            var response = await RequestServerAuthCodeAsync(serverClientId, forceRefresh, null, cancellationToken);
+            return response.AuthCode;
             #else
             await Task.CompletedTask;
             throw new GamesAuthException(new GamesAuthError
@@ -183,23 +179,24 @@ namespace BizSim.GPlay.Games
             _authTaskSource?.TrySetException(new GamesAuthException(error));
         }
 
-        internal void OnServerSideAccessSuccess(string serverAuthCode)
+        internal void OnProvisionalIdentity(string playerId, string displayName, string avatarUri)
         {
-            BizSimGamesLogger.Info("Server-side access granted");
-            _serverAccessTaskSource?.TrySetResult(serverAuthCode);
+            var provisional = new GamesPlayer(playerId, displayName, null, avatarUri);
+            BizSimGamesLogger.Info($"Provisional identity: {provisional}");
+            OnProvisionalIdentity?.Invoke(provisional);
         }
 
-        internal void OnServerSideAccessFailure(int errorCode, string errorMessage)
+        internal void OnProvisionalIdentityRevoked(int errorCode, string errorMessage)
         {
             var error = new GamesAuthError
             {
                 errorCode = errorCode,
                 errorMessage = errorMessage,
-                isRetryable = false
+                isRetryable = errorCode == GamesErrorCodes.NetworkError
             };
 
-            BizSimGamesLogger.Warning($"Server-side access failure: {error}");
-            _serverAccessTaskSource?.TrySetException(new GamesAuthException(error));
+            BizSimGamesLogger.Warning($"Provisional identity revoked: {error}");
+            OnProvisionalIdentityRevoked?.Invoke(error);
         }
 
         public async Task<GamesAuthResponse> RequestServerSideAccessWithScopesAsync(
@@ -229,47 +226,85 @@ namespace BizSim.GPlay.Games
                 });
             }
 
-            var tcs = TcsGuard.Replace(ref _scopedAccessTaskSource);
+            string scopesJson = ScopesToJson(scopes);
+            BizSimGamesLogger.Info($"Requesting server-side access with scopes (clientId={serverClientId}, forceRefresh={forceRefresh}, scopes={scopesJson})");
+            return await RequestServerAuthCodeAsync(serverClientId, forceRefresh, scopesJson, cancellationToken);
+            #else
+            await Task.CompletedTask;
+            throw new GamesAuthException(new GamesAuthError
+            {
+                errorCode = GamesErrorCodes.ApiNotAvailable,
+                errorMessage = "Not available on this platform",
+                isRetryable = false
+            });
+            #endif
+        }
+
+        #if UNITY_ANDROID && !UNITY_EDITOR
+        private async Task<GamesAuthResponse> RequestServerAuthCodeAsync(
+            string serverClientId, bool forceRefresh, string scopesJson, CancellationToken cancellationToken)
+        {
+            // Proxy callbacks run on the main thread and take this lock, so when called from a
+            // worker thread the result still cannot arrive before the request ID is registered.
+            string requestId;
+            var tcs = new TaskCompletionSource<GamesAuthResponse>();
+            JniBridgeBase.EnsureThreadAttached();
+            lock (_authCodeRequests)
+            {
+                requestId = _authBridge.Call<string>("requestServerAuthCode", serverClientId, forceRefresh, scopesJson);
+                _authCodeRequests[requestId] = tcs;
+            }
 
             using (var linkedCts = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken, _destroyTokenSource.Token))
-            using (linkedCts.Token.Register(() => _scopedAccessTaskSource?.TrySetCanceled()))
+            using (linkedCts.Token.Register(() => tcs.TrySetCanceled()))
             {
                 try
                 {
-                    string scopesJson = ScopesToJson(scopes);
-                    BizSimGamesLogger.Info($"Requesting server-side access with scopes (clientId={serverClientId}, forceRefresh={forceRefresh}, scopes={scopesJson})");
-                    _authBridge.Call("requestServerSideAccessWithScopes", serverClientId, forceRefresh, scopesJson);
-
                     return await tcs.Task;
                 }
                 catch (OperationCanceledException)
                 {
-                    BizSimGamesLogger.Warning("Scoped server-side access request cancelled");
+                    BizSimGamesLogger.Warning($"Server auth code request cancelled ({requestId})");
+                    if (!_disposed)
+                    {
+                        JniBridgeBase.EnsureThreadAttached();
+                        _authBridge?.Call("cancel", requestId);
+                    }
                     throw;
                 }
+                finally
+                {
+                    lock (_authCodeRequests)
+                        _authCodeRequests.Remove(requestId);
+                }
             }
-            #else
-            await Task.CompletedTask;
-            throw new GamesAuthException(new GamesAuthError
-            {
-                errorCode = GamesErrorCodes.ApiNotAvailable,
-                errorMessage = "Not available on this platform",
-                isRetryable = false
-            });
-            #endif
         }
+        #endif
 
-        internal void OnScopedAccessSuccess(string authCode, string grantedScopesJson)
+        internal void OnServerAuthCodeReady(string requestId, string authCode, string grantedScopesJson)
         {
-            var grantedScopes = ParseScopesJson(grantedScopesJson);
-            var response = new GamesAuthResponse(authCode, grantedScopes);
+            TaskCompletionSource<GamesAuthResponse> tcs;
+            lock (_authCodeRequests)
+                _authCodeRequests.TryGetValue(requestId, out tcs);
+            if (tcs == null)
+            {
+                BizSimGamesLogger.Warning($"Server auth code for unknown request {requestId} discarded");
+                return;
+            }
 
-            BizSimGamesLogger.Info($"Scoped server-side access granted (scopes={grantedScopesJson})");
-            _scopedAccessTaskSource?.TrySetResult(response);
+            var grantedScopes = ParseScopesJson(grantedScopesJson);
+            BizSimGamesLogger.Info($"Server-side access granted ({requestId}, scopes={grantedScopesJson})");
+            tcs.TrySetResult(new GamesAuthResponse(authCode, grantedScopes));
         }
 
-        internal void OnScopedAccessFailure(int errorCode, string errorMessage)
+        internal void OnServerAuthCodeFailed(string requestId, int errorCode, string errorMessage)
         {
+            TaskCompletionSource<GamesAuthResponse> tcs;
+            lock (_authCodeRequests)
+                _authCodeRequests.TryGetValue(requestId, out tcs);
+            if (tcs == null)
+                return;
+
             var error = new GamesAuthError
             {
                 errorCode = errorCode,
@@ -277,8 +312,8 @@ namespace BizSim.GPlay.Games
                 isRetryable = false
             };
 
-            BizSimGamesLogger.Warning($"Scoped server-side access failure: {error}");
-            _scopedAccessTaskSource?.TrySetException(new GamesAuthException(error));
+            BizSimGamesLogger.Warning($"Server-side access failure ({requestId}): {error}");
+            tcs.TrySetException(new GamesAuthException(error));
         }
 
         private static string ScopesToJson(List<GamesAuthScope> scopes)
@@ -344,8 +379,14 @@ namespace BizSim.GPlay.Games
             _destroyTokenSource?.Dispose();
 
             _authTaskSource?.TrySetCanceled();
-            _serverAccessTaskSource?.TrySetCanceled();
-            _scopedAccessTaskSource?.TrySetCanceled();
+            List<TaskCompletionSource<GamesAuthResponse>> pending;
+            lock (_authCodeRequests)
+            {
+                pending = new List<TaskCompletionSource<GamesAuthResponse>>(_authCodeRequests.Values);
+                _authCodeRequests.Clear();
+            }
+            foreach (var tcs in pending)
+                tcs.TrySetCanceled();
 
             if (_callbackProxy != null)
                 _callbackProxy = null;
@@ -19,6 +19,16 @@ namespace BizSim.GPlay.Games
         /// <summary>Fired when authentication fails (user cancelled, network error, etc.).</summary>
         event Action<GamesAuthError> OnAuthenticationFailed;
 
+        /// <summary>
+        /// Fired at the start of an optimistic sign-in with the last verified identity from local storage.
+        /// Followed by OnAuthenticationSuccess (confirmed) or OnProvisionalIdentityRevoked.
+        /// Requires GamesServicesConfig.optimisticSignIn.
+        /// </summary>
+        event Action<GamesPlayer> OnProvisionalIdentity;
+
+        /// <summary>Fired when a provisional identity is withdrawn (sign-in failed or a different player signed in).</summary>
+        event Action<GamesAuthError> OnProvisionalIdentityRevoked;
+
         /// <summary>True if player is currently signed in to Google Play Games.</summary>
         bool IsAuthenticated { get; }
 
@@ -14,49 +14,78 @@ namespace BizSim.GPlay.Games
             _controller = controller;
         }
 
-        void onSnapshotOpened(string filename, string snapshotJson, bool hasConflict)
+        void onSnapshotOpened(string requestId, string filename, string snapshotJson, bool hasConflict)
         {
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotOpened: filename='{filename}', hasConflict={hasConflict}, json={snapshotJson?.Length ?? 0} chars");
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotOpened raw json: {snapshotJson}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotOpenedFromJava(filename, snapshotJson, hasConflict));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotOpenedFromJava(requestId, filename, snapshotJson, hasConflict));
         }
 
-        void onSnapshotRead(string filename, byte[] data)
+        void onSnapshotRead(string requestId, string filename, byte[] data)
         {
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotRead: filename='{filename}', dataSize={data?.Length ?? 0} bytes");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotReadFromJava(filename, data));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotReadFromJava(requestId, filename, data));
         }
 
-        void onSnapshotCommitted(string filename)
+        void onSnapshotLoaded(string requestId, string filename, string snapshotJson, byte[] data)
+        {
+            BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotLoaded: filename='{filename ?? "(null)"}', dataSize={data?.Length ?? 0} bytes");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotLoadedFromJava(requestId, filename, snapshotJson, data));
+        }
+
+        void onSnapshotCommitted(string requestId, string filename)
         {
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotCommitted: filename='{filename}'");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotCommittedFromJava(filename));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotCommittedFromJava(requestId, filename));
+        }
+
+        void onCommitBegun(string requestId, string filename, string sessionId)
+        {
+            BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onCommitBegun: filename='{filename}', session='{sessionId}'");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnCommitBegunFromJava(requestId, filename, sessionId));
         }
 
-        void onSnapshotDeleted(string filename)
+        void onChunkAppended(string requestId, string sessionId, long bytesWritten)
+        {
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnChunkAppendedFromJava(requestId, sessionId, bytesWritten));
+        }
+
+        void onSnapshotDeleted(string requestId, string filename)
         {
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSnapshotDeleted: filename='{filename}'");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotDeletedFromJava(filename));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSnapshotDeletedFromJava(requestId, filename));
         }
 
-        void onSavedGamesUIResult(string selectedFilename)
+        void onSavedGamesUIResult(string requestId, string selectedFilename)
         {
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onSavedGamesUIResult: selectedFilename='{selectedFilename ?? "(null)"}'");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSavedGamesUIResultFromJava(selectedFilename));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSavedGamesUIResultFromJava(requestId, selectedFilename));
+        }
+
+        void onMirrorSaved(string requestId, string filename)
+        {
+            BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onMirrorSaved: filename='{filename}'");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnMirrorSavedFromJava(requestId, filename));
+        }
+
+        void onMirrorSynced(string requestId, string resultJson)
+        {
+            BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] onMirrorSynced: {resultJson}");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnMirrorSyncedFromJava(requestId, resultJson));
         }
 
-        void onConflictDetected(string localSnapshotJson, string serverSnapshotJson, byte[] localData, byte[] serverData)
+        void onConflictDetected(string requestId, string filename, string localSnapshotJson, string serverSnapshotJson, byte[] localData, byte[] serverData)
         {
-            BizSimGamesLogger.Warning($"[CloudSave][JNI→Unity] onConflictDetected: localJson={localSnapshotJson?.Length ?? 0} chars, serverJson={serverSnapshotJson?.Length ?? 0} chars, localData={localData?.Length ?? 0} bytes, serverData={serverData?.Length ?? 0} bytes");
+            BizSimGamesLogger.Warning($"[CloudSave][JNI→Unity] onConflictDetected: filename='{filename}', localJson={localSnapshotJson?.Length ?? 0} chars, serverJson={serverSnapshotJson?.Length ?? 0} chars, localData={localData?.Length ?? 0} bytes, serverData={serverData?.Length ?? 0} bytes");
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] conflict local: {localSnapshotJson}");
             BizSimGamesLogger.Info($"[CloudSave][JNI→Unity] conflict server: {serverSnapshotJson}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnConflictDetectedFromJava(localSnapshotJson, serverSnapshotJson, localData, serverData));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnConflictDetectedFromJava(requestId, filename, localSnapshotJson, serverSnapshotJson, localData, serverData));
         }
 
-        void onCloudSaveError(int errorCode, string errorMessage, string filename)
+        void onCloudSaveError(string requestId, int errorCode, string errorMessage, string filename, int attempts)
         {
             BizSimGamesLogger.Error($"[CloudSave][JNI→Unity] onCloudSaveError: code={errorCode}, message='{errorMessage}', filename='{filename}'");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnCloudSaveErrorFromJava(errorCode, errorMessage, filename));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnCloudSaveErrorFromJava(requestId, errorCode, errorMessage, filename, attempts));
         }
     }
 }
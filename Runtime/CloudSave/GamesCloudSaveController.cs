@@ -22,19 +22,29 @@ namespace BizSim.GPlay.Games
 
         private CloudSaveCallbackProxy _callbackProxy;
 
-        private TaskCompletionSource<SnapshotHandle> _openTcs;
-        private TaskCompletionSource<byte[]> _readTcs;
-        private TaskCompletionSource<bool> _commitTcs;
-        private TaskCompletionSource<bool> _deleteTcs;
-        private TaskCompletionSource<string> _showUITcs;
-        private TaskCompletionSource<ConflictResolution> _conflictTcs;
-
+        private readonly PendingRequests<SnapshotHandle> _opens = new("open");
+        private readonly PendingRequests<byte[]> _reads = new("read");
+        private readonly PendingRequests<LoadedSnapshot> _loads = new("load");
+        private readonly PendingRequests<bool> _commits = new("commit");
+        private readonly PendingRequests<string> _commitSessions = new("session");
+        private readonly PendingRequests<long> _chunks = new("chunk");
+        private readonly PendingRequests<bool> _deletes = new("delete");
+        private readonly PendingRequests<string> _showUIRequests = new("ui");
+        private readonly PendingRequests<MirrorSyncResult> _syncs = new("sync");
+
+        // Unresolved conflicts and their pending resolutions, keyed by snapshot filename. Both are
+        // guarded by locking _conflictResolutions, since saves may continue on worker threads.
+        private readonly Dictionary<string, SavedGameConflict> _conflicts = new();
+        private readonly Dictionary<string, TaskCompletionSource<ConflictResolution>> _conflictResolutions = new();
+
+        // Cover images are Unity textures, so their download and release stay on the main thread.
         private readonly Dictionary<string, Texture2D> _coverImageCache = new();
 
         public event Action<SnapshotHandle> OnSnapshotOpened;
         public event Action<string> OnSnapshotCommitted;
         public event Action<SavedGameConflict> OnConflictDetected;
         public event Action<GamesCloudSaveError> OnCloudSaveError;
+        public event Action<MirrorSyncResult> OnMirrorSynced;
 
         protected override string JavaClassName => JniConstants.CloudSaveBridge;
 
@@ -47,38 +57,112 @@ namespace BizSim.GPlay.Games
         public GamesCloudSaveController()
         {
             InitializeBridge();
+            _opens.OnAbandoned = CancelRequest;
+            _reads.OnAbandoned = CancelRequest;
+            _loads.OnAbandoned = CancelRequest;
+            _commits.OnAbandoned = CancelRequest;
+            _commitSessions.OnAbandoned = CancelRequest;
+            _chunks.OnAbandoned = CancelRequest;
+            _deletes.OnAbandoned = CancelRequest;
+            _showUIRequests.OnAbandoned = CancelRequest;
+            _syncs.OnAbandoned = CancelRequest;
+
+            var config = GamesServicesManager.Config;
+            if (config != null && config.deltaCommits)
+                CallBridge("setDeltaCommits", config.deltaChainLength);
         }
 
         public async Task<SnapshotHandle> OpenSnapshotAsync(string filename, bool createIfNotFound = true, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
             BizSimGamesLogger.Info($"[CloudSave] OpenSnapshotAsync START: filename='{filename}', createIfNotFound={createIfNotFound}");
-            var tcs = TcsGuard.Replace(ref _openTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
+            var result = await _opens.SendAsync(requestId =>
             {
-                CallBridge("openSnapshot", filename, createIfNotFound);
-                BizSimGamesLogger.Info($"[CloudSave] OpenSnapshotAsync: JNI bridge called, awaiting response...");
-                var result = await tcs.Task.WithJniTimeout(tcs, ct: ct);
-                BizSimGamesLogger.Info($"[CloudSave] OpenSnapshotAsync DONE: filename='{result.filename}', hasConflict={result.hasConflict}, nativeHandle={result.nativeHandle != null}");
-                return result;
-            }
+                CallBridge("openSnapshot", requestId, filename, createIfNotFound);
+                BizSimGamesLogger.Info($"[CloudSave] OpenSnapshotAsync: JNI bridge called ({requestId}), awaiting response...");
+            }, ct, withJniTimeout: true);
+            BizSimGamesLogger.Info($"[CloudSave] OpenSnapshotAsync DONE: filename='{result.filename}', hasConflict={result.hasConflict}, nativeHandle={result.nativeHandle != null}");
+            return result;
         }
 
         public async Task<byte[]> ReadSnapshotAsync(SnapshotHandle handle, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
             BizSimGamesLogger.Info($"[CloudSave] ReadSnapshotAsync START: filename='{handle.filename}'");
-            var tcs = TcsGuard.Replace(ref _readTcs);
+            var data = await _reads.SendAsync(requestId =>
+            {
+                CallBridge("readSnapshot", requestId, handle.nativeHandle);
+                BizSimGamesLogger.Info($"[CloudSave] ReadSnapshotAsync: JNI bridge called ({requestId}), awaiting data...");
+            }, ct);
+            BizSimGamesLogger.Info($"[CloudSave] ReadSnapshotAsync DONE: {data?.Length ?? 0} bytes");
+            return data;
+        }
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
+        public Task<LoadedSnapshot> OpenAndReadAsync(string filename, bool createIfNotFound = false, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            BizSimGamesLogger.Info($"[CloudSave] OpenAndReadAsync START: filename='{filename}', createIfNotFound={createIfNotFound}");
+            return LoadResolvingConflictsAsync(requestId =>
+                CallBridge("openAndRead", requestId, filename, createIfNotFound), true, ct);
+        }
+
+        public Task<LoadedSnapshot> ShowSavedGamesUIAndLoadAsync(string title = "Saved Games", bool allowAddButton = false,
+            bool allowDelete = true, int maxSnapshots = 5, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            BizSimGamesLogger.Info($"[CloudSave] ShowSavedGamesUIAndLoadAsync START: title='{title}'");
+            return LoadResolvingConflictsAsync(requestId =>
+                CallBridge("showSavedGamesUIAndLoad", requestId, title, allowAddButton, allowDelete, maxSnapshots), false, ct);
+        }
+
+        /// <summary>
+        /// Runs a composite load and, while it reports a conflict, resolves it the same way SaveAsync
+        /// does and reads the resolved snapshot in the same bridge call.
+        /// </summary>
+        private async Task<LoadedSnapshot> LoadResolvingConflictsAsync(Action<string> send, bool withJniTimeout, CancellationToken ct)
+        {
+            var loaded = await _loads.SendAsync(send, ct, withJniTimeout);
+
+            while (loaded?.handle != null && loaded.handle.hasConflict)
             {
-                CallBridge("readSnapshot", handle.nativeHandle);
-                BizSimGamesLogger.Info("[CloudSave] ReadSnapshotAsync: JNI bridge called, awaiting data...");
-                var data = await tcs.Task;
-                BizSimGamesLogger.Info($"[CloudSave] ReadSnapshotAsync DONE: {data?.Length ?? 0} bytes");
-                return data;
+                string filename = loaded.handle.filename;
+                var resolution = await AwaitConflictResolution(filename, ct);
+                loaded = await _loads.SendAsync(requestId =>
+                    CallBridge("resolveConflictAndRead", requestId, resolution.ToString(), filename), CancellationToken.None);
             }
+
+            BizSimGamesLogger.Info($"[CloudSave] Load DONE: filename='{loaded?.handle?.filename ?? "(none)"}', {loaded?.data?.Length ?? 0} bytes");
+            return loaded;
+        }
+
+        public Task<LoadedSnapshot> LoadMirroredAsync(string filename, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            BizSimGamesLogger.Info($"[CloudSave] LoadMirroredAsync START: filename='{filename}'");
+            return LoadResolvingConflictsAsync(requestId =>
+                CallBridge("openFromMirror", requestId, filename), true, ct);
+        }
+
+        public async Task SaveMirroredAsync(string filename, byte[] data, SaveGameMetadata metadata = null, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            ValidateMetadata(metadata);
+
+            await _commits.SendAsync(requestId => CallBridge("saveToMirror", requestId, filename, data,
+                metadata?.description ?? "", metadata?.playedTimeMillis ?? 0), ct, withJniTimeout: true);
+        }
+
+        public Task<MirrorSyncResult> SyncMirrorAsync(CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            return _syncs.SendAsync(requestId => CallBridge("syncMirror", requestId), ct);
+        }
+
+        public Task<MirrorSyncResult> ResolveMirrorConflictAsync(string filename, bool keepLocal, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            return _syncs.SendAsync(requestId =>
+                CallBridge("resolveMirrorConflict", requestId, filename, keepLocal), ct);
         }
 
         public async Task CommitSnapshotAsync(SnapshotHandle handle, byte[] data, string description = null,
@@ -95,43 +179,65 @@ namespace BizSim.GPlay.Games
                     BizSimGamesLogger.Warning("[CloudSave] requireCloudSaveMetadata is true but playedTimeMillis is 0.");
             }
 
-            var tcs = TcsGuard.Replace(ref _commitTcs);
+            await _commits.SendAsync(requestId => CallBridge("commitSnapshot", requestId, handle.nativeHandle, data,
+                description ?? "", playedTimeMillis, coverImage), ct, withJniTimeout: true);
+        }
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("commitSnapshot", handle.nativeHandle, data,
-                    description ?? "", playedTimeMillis, coverImage);
-                await tcs.Task.WithJniTimeout(tcs, ct: ct);
-            }
+        public async Task<SnapshotCommitSession> BeginCommitAsync(SnapshotHandle handle, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            string sessionId = await _commitSessions.SendAsync(requestId =>
+                CallBridge("beginCommit", requestId, handle.nativeHandle), ct, withJniTimeout: true);
+            BizSimGamesLogger.Info($"[CloudSave] BeginCommitAsync: session '{sessionId}' open for '{handle.filename}'");
+
+            return new SnapshotCommitSession(handle.filename,
+                (chunk, token) => _chunks.SendAsync(requestId =>
+                    CallBridge("appendChunk", requestId, sessionId, chunk), token, withJniTimeout: true),
+                (metadata, token) => FinishCommitAsync(sessionId, metadata, token),
+                () => AbortCommit(sessionId));
         }
 
-        public async Task DeleteSnapshotAsync(string filename, CancellationToken ct = default)
+        private async Task FinishCommitAsync(string sessionId, SaveGameMetadata metadata, CancellationToken ct)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _deleteTcs);
+            ValidateMetadata(metadata);
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
+            await _commits.SendAsync(requestId => CallBridge("finishCommit", requestId, sessionId,
+                metadata?.description ?? "", metadata?.playedTimeMillis ?? 0, metadata?.coverImage), ct, withJniTimeout: true);
+        }
+
+        private void AbortCommit(string sessionId)
+        {
+            if (Bridge == null) return;
+
+            try
+            {
+                CallBridge("abortCommit", sessionId);
+            }
+            catch (Exception ex)
             {
-                CallBridge("deleteSnapshot", filename);
-                await tcs.Task;
+                BizSimGamesLogger.Warning($"[CloudSave] Failed to abort commit session {sessionId}: {ex.Message}");
             }
         }
 
+        public async Task DeleteSnapshotAsync(string filename, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            await _deletes.SendAsync(requestId => CallBridge("deleteSnapshot", requestId, filename), ct);
+        }
+
         public async Task<string> ShowSavedGamesUIAsync(string title = "Saved Games", bool allowAddButton = false,
             bool allowDelete = true, int maxSnapshots = 5, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
             BizSimGamesLogger.Info($"[CloudSave] ShowSavedGamesUIAsync START: title='{title}', allowAdd={allowAddButton}, allowDelete={allowDelete}, maxSnapshots={maxSnapshots}");
-            var tcs = TcsGuard.Replace(ref _showUITcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
+            var result = await _showUIRequests.SendAsync(requestId =>
             {
-                CallBridge("showSavedGamesUI", title, allowAddButton, allowDelete, maxSnapshots);
+                CallBridge("showSavedGamesUI", requestId, title, allowAddButton, allowDelete, maxSnapshots);
                 BizSimGamesLogger.Info("[CloudSave] ShowSavedGamesUIAsync: JNI bridge called, awaiting UI result...");
-                var result = await tcs.Task;
-                BizSimGamesLogger.Info($"[CloudSave] ShowSavedGamesUIAsync DONE: selectedFilename='{result ?? "(null)"}'");
-                return result;
-            }
+            }, ct);
+            BizSimGamesLogger.Info($"[CloudSave] ShowSavedGamesUIAsync DONE: selectedFilename='{result ?? "(null)"}'");
+            return result;
         }
 
         public async Task SaveAsync(string filename, byte[] data, string description = null, CancellationToken ct = default)
@@ -143,8 +249,8 @@ namespace BizSim.GPlay.Games
 
             var handle = await OpenSnapshotAsync(filename, true, ct);
 
-            if (handle.hasConflict)
-                handle = await HandleConflictWithTimeout(ct);
+            while (handle.hasConflict)
+                handle = await HandleConflictWithTimeout(handle.filename, ct);
 
             await CommitSnapshotAsync(handle, data, description, 0, null, ct);
         }
@@ -155,8 +261,8 @@ namespace BizSim.GPlay.Games
 
             var handle = await OpenSnapshotAsync(filename, true, ct);
 
-            if (handle.hasConflict)
-                handle = await HandleConflictWithTimeout(ct);
+            while (handle.hasConflict)
+                handle = await HandleConflictWithTimeout(handle.filename, ct);
 
             await CommitSnapshotAsync(handle, data, metadata?.description,
                 metadata?.playedTimeMillis ?? 0, metadata?.coverImage, ct);
@@ -245,58 +351,84 @@ namespace BizSim.GPlay.Games
                     "(Google limit: 800KB). Consider resizing to 640x360.");
         }
 
-        private SavedGameConflict _lastConflict;
+        private async Task<SnapshotHandle> HandleConflictWithTimeout(string filename, CancellationToken ct)
+        {
+            var resolution = await AwaitConflictResolution(filename, ct);
+            return await _opens.SendAsync(requestId =>
+                CallBridge("resolveConflict", requestId, resolution.ToString(), filename), CancellationToken.None);
+        }
 
-        private async Task<SnapshotHandle> HandleConflictWithTimeout(CancellationToken ct)
+        /// <summary>
+        /// Waits for the game to resolve a conflict through OnConflictDetected, falling back to the
+        /// newer snapshot after the configured timeout or on cancellation.
+        /// </summary>
+        private async Task<ConflictResolution> AwaitConflictResolution(string filename, CancellationToken ct)
         {
-            _conflictTcs = new TaskCompletionSource<ConflictResolution>();
+            SavedGameConflict conflict;
+            lock (_conflictResolutions)
+                _conflicts.TryGetValue(filename, out conflict);
+            var resolutionTask = GetConflictResolution(filename).Task;
 
             int timeoutSeconds = ConflictTimeoutSeconds;
             ConflictResolution resolution;
 
             if (timeoutSeconds <= 0)
             {
-                resolution = ResolveByTimestamp();
+                resolution = ResolveByTimestamp(conflict);
             }
             else
             {
                 try
                 {
                     var timeoutTask = Task.Delay(TimeSpan.FromSeconds(timeoutSeconds), ct);
-                    var completedTask = await Task.WhenAny(_conflictTcs.Task, timeoutTask);
+                    var completedTask = await Task.WhenAny(resolutionTask, timeoutTask);
 
                     if (completedTask == timeoutTask)
                     {
-                        resolution = ResolveByTimestamp();
+                        resolution = ResolveByTimestamp(conflict);
                         BizSimGamesLogger.Warning($"Conflict resolution timeout ({timeoutSeconds}s) - auto-resolved: {resolution}");
                     }
                     else
                     {
-                        resolution = await _conflictTcs.Task;
+                        resolution = await resolutionTask;
                     }
                 }
                 catch (OperationCanceledException)
                 {
-                    resolution = ResolveByTimestamp();
+                    resolution = ResolveByTimestamp(conflict);
                     BizSimGamesLogger.Warning($"Conflict resolution cancelled - auto-resolved: {resolution}");
                 }
             }
 
-            var tcs = TcsGuard.Replace(ref _openTcs);
+            lock (_conflictResolutions)
+            {
+                _conflicts.Remove(filename);
+                _conflictResolutions.Remove(filename);
+            }
 
-            CallBridge("resolveConflict", resolution.ToString(), "");
+            return resolution;
+        }
 
-            var resolvedHandle = await tcs.Task;
-            return resolvedHandle;
+        private TaskCompletionSource<ConflictResolution> GetConflictResolution(string filename)
+        {
+            lock (_conflictResolutions)
+            {
+                if (!_conflictResolutions.TryGetValue(filename, out var tcs))
+                {
+                    tcs = new TaskCompletionSource<ConflictResolution>();
+                    _conflictResolutions[filename] = tcs;
+                }
+                return tcs;
+            }
         }
 
-        private ConflictResolution ResolveByTimestamp()
+        private static ConflictResolution ResolveByTimestamp(SavedGameConflict conflict)
         {
-            if (_lastConflict == null)
+            if (conflict == null)
                 return ConflictResolution.UseServer;
 
-            long localTime = _lastConflict.localSnapshot?.lastModifiedTimestamp ?? 0;
-            long serverTime = _lastConflict.serverSnapshot?.lastModifiedTimestamp ?? 0;
+            long localTime = conflict.localSnapshot?.lastModifiedTimestamp ?? 0;
+            long serverTime = conflict.serverSnapshot?.lastModifiedTimestamp ?? 0;
 
             if (localTime > serverTime)
             {
@@ -313,11 +445,9 @@ namespace BizSim.GPlay.Games
             BizSimGamesLogger.Info($"[CloudSave] LoadAsync START: filename='{filename}'");
             try
             {
-                var handle = await OpenSnapshotAsync(filename, false, ct);
-                BizSimGamesLogger.Info($"[CloudSave] LoadAsync: snapshot opened, reading data...");
-                var data = await ReadSnapshotAsync(handle, ct);
-                BizSimGamesLogger.Info($"[CloudSave] LoadAsync DONE: {data?.Length ?? 0} bytes loaded");
-                return data;
+                var loaded = await OpenAndReadAsync(filename, false, ct);
+                BizSimGamesLogger.Info($"[CloudSave] LoadAsync DONE: {loaded?.data?.Length ?? 0} bytes loaded");
+                return loaded?.data;
             }
             catch (GamesCloudSaveException ex) when (ex.Error.Type == CloudSaveErrorType.SnapshotNotFound)
             {
@@ -326,53 +456,115 @@ namespace BizSim.GPlay.Games
             }
         }
 
-        internal void OnSnapshotOpenedFromJava(string filename, string snapshotJson, bool hasConflict)
+        internal void OnSnapshotOpenedFromJava(string requestId, string filename, string snapshotJson, bool hasConflict)
         {
             try
             {
-                BizSimGamesLogger.Info($"[CloudSave] OnSnapshotOpenedFromJava: dispatched to main thread, filename='{filename}', openTcs={(_openTcs != null ? "exists" : "NULL")}");
+                BizSimGamesLogger.Info($"[CloudSave] OnSnapshotOpenedFromJava: dispatched to main thread, filename='{filename}', requestId='{requestId}'");
                 var handle = JsonUtility.FromJson<SnapshotHandle>(snapshotJson);
                 handle.hasConflict = hasConflict;
 
                 OnSnapshotOpened?.Invoke(handle);
-                bool wasSet = _openTcs?.TrySetResult(handle) ?? false;
+                bool wasSet = _opens.TryComplete(requestId, handle);
                 BizSimGamesLogger.Info($"[CloudSave] OnSnapshotOpenedFromJava: TrySetResult={wasSet}");
             }
             catch (Exception ex)
             {
                 BizSimGamesLogger.Error($"[CloudSave] OnSnapshotOpenedFromJava ERROR: {ex.Message}");
-                _openTcs?.TrySetException(ex);
+                _opens.TryFail(requestId, ex);
             }
         }
 
-        internal void OnSnapshotReadFromJava(string filename, byte[] data)
+        internal void OnSnapshotReadFromJava(string requestId, string filename, byte[] data)
         {
-            _readTcs?.TrySetResult(data);
+            _reads.TryComplete(requestId, data);
         }
 
-        internal void OnSnapshotCommittedFromJava(string filename)
+        internal void OnSnapshotLoadedFromJava(string requestId, string filename, string snapshotJson, byte[] data)
+        {
+            try
+            {
+                LoadedSnapshot loaded = null;
+                if (!string.IsNullOrEmpty(snapshotJson))
+                {
+                    var handle = JsonUtility.FromJson<SnapshotHandle>(snapshotJson);
+                    OnSnapshotOpened?.Invoke(handle);
+                    loaded = new LoadedSnapshot { handle = handle, data = data };
+                }
+                else if (filename != null)
+                {
+                    // "New save" picked in the saved games UI: nothing was opened.
+                    loaded = new LoadedSnapshot { handle = new SnapshotHandle { filename = filename } };
+                }
+                _loads.TryComplete(requestId, loaded);
+            }
+            catch (Exception ex)
+            {
+                BizSimGamesLogger.Error($"[CloudSave] OnSnapshotLoadedFromJava ERROR: {ex.Message}");
+                _loads.TryFail(requestId, ex);
+            }
+        }
+
+        internal void OnSnapshotCommittedFromJava(string requestId, string filename)
         {
             OnSnapshotCommitted?.Invoke(filename);
-            _commitTcs?.TrySetResult(true);
+            _commits.TryComplete(requestId, true);
         }
 
-        internal void OnSnapshotDeletedFromJava(string filename)
+        internal void OnCommitBegunFromJava(string requestId, string filename, string sessionId)
         {
-            _deleteTcs?.TrySetResult(true);
+            _commitSessions.TryComplete(requestId, sessionId);
         }
 
-        internal void OnSavedGamesUIResultFromJava(string selectedFilename)
+        internal void OnChunkAppendedFromJava(string requestId, string sessionId, long bytesWritten)
         {
-            BizSimGamesLogger.Info($"[CloudSave] OnSavedGamesUIResultFromJava: selectedFilename='{selectedFilename ?? "(null)"}', showUITcs={(_showUITcs != null ? "exists" : "NULL")}");
-            bool wasSet = _showUITcs?.TrySetResult(selectedFilename) ?? false;
+            _chunks.TryComplete(requestId, bytesWritten);
+        }
+
+        internal void OnSnapshotDeletedFromJava(string requestId, string filename)
+        {
+            _deletes.TryComplete(requestId, true);
+        }
+
+        internal void OnSavedGamesUIResultFromJava(string requestId, string selectedFilename)
+        {
+            BizSimGamesLogger.Info($"[CloudSave] OnSavedGamesUIResultFromJava: selectedFilename='{selectedFilename ?? "(null)"}', requestId='{requestId}'");
+            bool wasSet = _showUIRequests.TryComplete(requestId, selectedFilename);
             BizSimGamesLogger.Info($"[CloudSave] OnSavedGamesUIResultFromJava: TrySetResult={wasSet}");
         }
 
-        internal void OnConflictDetectedFromJava(string localSnapshotJson, string serverSnapshotJson,
-            byte[] localData, byte[] serverData)
+        internal void OnMirrorSavedFromJava(string requestId, string filename)
+        {
+            _commits.TryComplete(requestId, true);
+        }
+
+        /// <summary>
+        /// Sync results with no request ID come from background syncs and only raise the event.
+        /// </summary>
+        internal void OnMirrorSyncedFromJava(string requestId, string resultJson)
+        {
+            MirrorSyncResult result;
+            try
+            {
+                result = JsonUtility.FromJson<MirrorSyncResult>(resultJson);
+            }
+            catch (Exception ex)
+            {
+                BizSimGamesLogger.Error($"[CloudSave] OnMirrorSyncedFromJava ERROR: {ex.Message}");
+                if (requestId != null) _syncs.TryFail(requestId, ex);
+                return;
+            }
+
+            OnMirrorSynced?.Invoke(result);
+            if (requestId != null) _syncs.TryComplete(requestId, result);
+        }
+
+        internal void OnConflictDetectedFromJava(string requestId, string filename, string localSnapshotJson,
+            string serverSnapshotJson, byte[] localData, byte[] serverData)
         {
             try
             {
+                var resolutionTcs = GetConflictResolution(filename);
                 var conflict = new SavedGameConflict
                 {
                     localSnapshot = JsonUtility.FromJson<SnapshotHandle>(localSnapshotJson),
@@ -381,41 +573,86 @@ namespace BizSim.GPlay.Games
                     serverData = serverData,
                     ResolveAsync = async (resolution) =>
                     {
-                        _conflictTcs?.TrySetResult(resolution);
+                        resolutionTcs.TrySetResult(resolution);
                         await Task.CompletedTask;
                     }
                 };
 
-                _lastConflict = conflict;
+                lock (_conflictResolutions)
+                    _conflicts[filename] = conflict;
                 OnConflictDetected?.Invoke(conflict);
             }
             catch (Exception ex)
             {
                 BizSimGamesLogger.Error($"Conflict handling error: {ex.Message}");
             }
+
+            // An open or load that hits a conflict completes with hasConflict so SaveAsync and the
+            // composite loads can resolve it; any other operation on the file fails, and the caller
+            // re-opens to resolve.
+            var conflicted = new SnapshotHandle
+            {
+                filename = filename,
+                hasConflict = true,
+                nativeHandle = "snapshot:" + filename
+            };
+            if (_opens.Contains(requestId))
+            {
+                _opens.TryComplete(requestId, conflicted);
+            }
+            else if (_loads.Contains(requestId))
+            {
+                _loads.TryComplete(requestId, new LoadedSnapshot { handle = conflicted });
+            }
+            else
+            {
+                FailRequest(requestId, new GamesCloudSaveError(100, "Snapshot has an unresolved conflict", filename));
+            }
         }
 
-        internal void OnCloudSaveErrorFromJava(int errorCode, string errorMessage, string filename)
+        internal void OnCloudSaveErrorFromJava(string requestId, int errorCode, string errorMessage, string filename, int attempts)
         {
-            BizSimGamesLogger.Error($"[CloudSave] OnCloudSaveErrorFromJava: code={errorCode}, msg='{errorMessage}', file='{filename}', pending TCS: open={_openTcs != null}, read={_readTcs != null}, commit={_commitTcs != null}, delete={_deleteTcs != null}, showUI={_showUITcs != null}");
-            var error = new GamesCloudSaveError(errorCode, errorMessage, filename);
+            BizSimGamesLogger.Error($"[CloudSave] OnCloudSaveErrorFromJava: code={errorCode}, msg='{errorMessage}', file='{filename}', attempts={attempts}, requestId='{requestId}'");
+            var error = new GamesCloudSaveError(errorCode, errorMessage, filename) { attempts = attempts };
             OnCloudSaveError?.Invoke(error);
+            FailRequest(requestId, error);
+        }
 
+        private void FailRequest(string requestId, GamesCloudSaveError error)
+        {
             var exception = new GamesCloudSaveException(error);
-            _openTcs?.TrySetException(exception);
-            _readTcs?.TrySetException(exception);
-            _commitTcs?.TrySetException(exception);
-            _deleteTcs?.TrySetException(exception);
-            _showUITcs?.TrySetException(exception);
+            if (!_opens.TryFail(requestId, exception)
+                && !_reads.TryFail(requestId, exception)
+                && !_loads.TryFail(requestId, exception)
+                && !_commits.TryFail(requestId, exception)
+                && !_commitSessions.TryFail(requestId, exception)
+                && !_chunks.TryFail(requestId, exception)
+                && !_deletes.TryFail(requestId, exception)
+                && !_syncs.TryFail(requestId, exception))
+                _showUIRequests.TryFail(requestId, exception);
         }
 
         protected override void OnDispose()
         {
-            _openTcs?.TrySetCanceled();
-            _readTcs?.TrySetCanceled();
-            _commitTcs?.TrySetCanceled();
-            _deleteTcs?.TrySetCanceled();
-            _showUITcs?.TrySetCanceled();
+            _opens.CancelAll();
+            _reads.CancelAll();
+            _loads.CancelAll();
+            _commits.CancelAll();
+            _commitSessions.CancelAll();
+            _chunks.CancelAll();
+            _deletes.CancelAll();
+            _showUIRequests.CancelAll();
+            _syncs.CancelAll();
+
+            List<TaskCompletionSource<ConflictResolution>> resolutions;
+            lock (_conflictResolutions)
+            {
+                resolutions = new List<TaskCompletionSource<ConflictResolution>>(_conflictResolutions.Values);
+                _conflictResolutions.Clear();
+                _conflicts.Clear();
+            }
+            foreach (var resolution in resolutions)
+                resolution.TrySetCanceled();
 
             ReleaseAllCoverImages();
             _callbackProxy = null;
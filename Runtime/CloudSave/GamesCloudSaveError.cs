@@ -10,6 +10,7 @@ namespace BizSim.GPlay.Games
         public int errorCode;
         public string errorMessage;
         public string filename;
+        public int attempts;
 
         public CloudSaveErrorType Type => errorCode switch
         {
@@ -20,6 +21,8 @@ namespace BizSim.GPlay.Games
             4 => CloudSaveErrorType.ConflictTimeout,
             5 => CloudSaveErrorType.DataTooLarge,
             100 => CloudSaveErrorType.InternalError,
+            408 => CloudSaveErrorType.Timeout,
+            429 => CloudSaveErrorType.RateLimited,
             _ => CloudSaveErrorType.Unknown
         };
 
@@ -62,7 +65,13 @@ namespace BizSim.GPlay.Games
         DataTooLarge = 5,
 
         /// <summary>Internal error in Google Play Games SDK (code 100).</summary>
-        InternalError = 100
+        InternalError = 100,
+
+        /// <summary>Request passed its deadline before Google Play Games answered (code 408).</summary>
+        Timeout = 408,
+
+        /// <summary>Turned away by the bridge rate governor while Play Games calls were queued too deep; retry later (code 429).</summary>
+        RateLimited = 429
     }
 
     public class GamesCloudSaveException : GamesException
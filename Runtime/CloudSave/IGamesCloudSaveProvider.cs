@@ -31,6 +31,17 @@ namespace BizSim.GPlay.Games
         /// <returns>Snapshot data as byte array</returns>
         Task<byte[]> ReadSnapshotAsync(SnapshotHandle handle, CancellationToken ct = default);
 
+        /// <summary>
+        /// Opens and reads a snapshot in a single native round-trip, returning its metadata and data.
+        /// A conflict is resolved as in SaveAsync (OnConflictDetected, then the timeout fallback) and
+        /// the resolved snapshot is read in the same call.
+        /// </summary>
+        /// <param name="filename">Snapshot filename</param>
+        /// <param name="createIfNotFound">Create snapshot if it doesn't exist</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Snapshot metadata and data</returns>
+        Task<LoadedSnapshot> OpenAndReadAsync(string filename, bool createIfNotFound = false, CancellationToken ct = default);
+
         /// <summary>
         /// Commits changes to a snapshot (transaction end).
         /// This writes data to Google Play cloud storage.
@@ -53,6 +64,19 @@ namespace BizSim.GPlay.Games
         Task CommitSnapshotAsync(SnapshotHandle handle, byte[] data, string description = null,
             long playedTimeMillis = 0, byte[] coverImage = null, CancellationToken ct = default);
 
+        /// <summary>
+        /// Starts a streaming commit to an open snapshot, for saves too large to build as one array.
+        /// The snapshot starts empty; append the save with SnapshotCommitSession.AppendAsync over as
+        /// many frames as needed, then commit it with FinishAsync. Awaiting each append keeps only
+        /// one chunk in memory. Disposing an unfinished session discards the snapshot unchanged.
+        /// The metadata passed to FinishAsync carries the same Quality Checklist requirements as
+        /// CommitSnapshotAsync.
+        /// </summary>
+        /// <param name="handle">Snapshot handle from OpenSnapshotAsync</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Session to append chunks to and finish</returns>
+        Task<SnapshotCommitSession> BeginCommitAsync(SnapshotHandle handle, CancellationToken ct = default);
+
         /// <summary>
         /// Deletes a snapshot from cloud storage.
         /// </summary>
@@ -74,6 +98,17 @@ namespace BizSim.GPlay.Games
         Task<string> ShowSavedGamesUIAsync(string title = "Saved Games", bool allowAddButton = false,
             bool allowDelete = true, int maxSnapshots = 5, CancellationToken ct = default);
 
+        /// <summary>
+        /// Shows the saved games UI and loads the snapshot the player picks, without returning to
+        /// managed code in between. Conflicts are resolved as in OpenAndReadAsync.
+        /// </summary>
+        /// <returns>
+        /// The selected snapshot with its data; a LoadedSnapshot whose handle.filename is "__NEW__"
+        /// if the player chose a new save; or null if the UI was dismissed
+        /// </returns>
+        Task<LoadedSnapshot> ShowSavedGamesUIAndLoadAsync(string title = "Saved Games", bool allowAddButton = false,
+            bool allowDelete = true, int maxSnapshots = 5, CancellationToken ct = default);
+
         /// <summary>
         /// Convenience method: Save data in one call (Open → Write → Commit).
         /// Handles conflicts automatically with timeout protection.
@@ -123,6 +158,53 @@ namespace BizSim.GPlay.Games
         /// <returns>Snapshot data (or null if not found)</returns>
         Task<byte[]> LoadAsync(string filename, CancellationToken ct = default);
 
+        /// <summary>
+        /// Loads a save slot from the on-device mirror, with no network round-trip, then syncs the
+        /// mirror with the cloud in the background. A slot that is not mirrored yet is loaded like
+        /// OpenAndReadAsync, and the sync mirrors it for the next launch. The result may be older
+        /// than the cloud until that sync lands; OnMirrorSynced reports what changed.
+        /// </summary>
+        /// <param name="filename">Snapshot filename</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Snapshot metadata and data</returns>
+        Task<LoadedSnapshot> LoadMirroredAsync(string filename, CancellationToken ct = default);
+
+        /// <summary>
+        /// Saves to the on-device mirror and returns once the save is on disk. A background sync
+        /// uploads it a few seconds later, so frequent autosaves upload once per burst. Cover
+        /// images are not mirrored; use CommitSnapshotAsync for a save that needs one.
+        /// </summary>
+        /// <param name="filename">Snapshot filename</param>
+        /// <param name="data">Data to save</param>
+        /// <param name="metadata">Description and played time for the uploaded save</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Task that completes when the save is stored on the device</returns>
+        Task SaveMirroredAsync(string filename, byte[] data, SaveGameMetadata metadata = null, CancellationToken ct = default);
+
+        /// <summary>
+        /// Syncs every save slot between the on-device mirror and the cloud now: slots changed in
+        /// the cloud are pulled, slots saved on this device are pushed, and slots changed on both
+        /// sides are reported as conflicts and left alone.
+        /// </summary>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>What the sync did, by slot</returns>
+        Task<MirrorSyncResult> SyncMirrorAsync(CancellationToken ct = default);
+
+        /// <summary>
+        /// Settles a slot a mirror sync reported in MirrorSyncResult.conflicts, uploading the save
+        /// on this device (keepLocal) or replacing it with the cloud's.
+        /// </summary>
+        /// <param name="filename">Snapshot filename</param>
+        /// <param name="keepLocal">Keep this device's save rather than the cloud's</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>What the resolution did</returns>
+        Task<MirrorSyncResult> ResolveMirrorConflictAsync(string filename, bool keepLocal, CancellationToken ct = default);
+
+        /// <summary>
+        /// Event fired after each mirror sync, including the background ones.
+        /// </summary>
+        event Action<MirrorSyncResult> OnMirrorSynced;
+
         /// <summary>
         /// Event fired when a snapshot is successfully opened.
         /// </summary>
@@ -0,0 +1,22 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// A snapshot's metadata and contents, delivered together by one composite bridge call
+    /// (OpenAndReadAsync, ShowSavedGamesUIAndLoadAsync).
+    /// </summary>
+    public class LoadedSnapshot
+    {
+        /// <summary>
+        /// Snapshot metadata. When the player chose "new save" in the saved games UI, only
+        /// filename is set, to "__NEW__".
+        /// </summary>
+        public SnapshotHandle handle;
+
+        /// <summary>
+        /// Snapshot contents (empty for a newly created snapshot, null for a "new save" selection).
+        /// </summary>
+        public byte[] data;
+    }
+}
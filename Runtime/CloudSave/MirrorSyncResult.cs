@@ -0,0 +1,45 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using UnityEngine.Scripting;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Outcome of a sync between the on-device snapshot mirror and the cloud, by slot filename.
+    /// </summary>
+    [Serializable, Preserve]
+    public class MirrorSyncResult
+    {
+        /// <summary>
+        /// Slots whose cloud version was copied into the mirror.
+        /// </summary>
+        public string[] pulled;
+
+        /// <summary>
+        /// Slots whose mirror save was uploaded.
+        /// </summary>
+        public string[] pushed;
+
+        /// <summary>
+        /// Slots dropped from the mirror because they are no longer in the cloud.
+        /// </summary>
+        public string[] removed;
+
+        /// <summary>
+        /// Slots saved on this device and changed in the cloud since. Both versions are kept
+        /// until ResolveMirrorConflictAsync picks one; LoadMirroredAsync returns the local one.
+        /// </summary>
+        public string[] conflicts;
+
+        /// <summary>
+        /// Slots that could not be synced this time; the next sync tries them again.
+        /// </summary>
+        public string[] failed;
+
+        /// <summary>
+        /// Number of slots already in step.
+        /// </summary>
+        public int unchanged;
+    }
+}
@@ -0,0 +1,89 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Threading;
+using System.Threading.Tasks;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// A streaming commit started by BeginCommitAsync. Append the save in chunks, then call
+    /// FinishAsync to commit it; disposing an unfinished session discards the snapshot unchanged.
+    ///
+    /// Each AppendAsync completes once the chunk has been written on the native IO thread, so
+    /// awaiting it before building the next chunk keeps only one chunk in memory at a time, and
+    /// the chunk array may be reused afterwards. If an append fails, is cancelled or times out,
+    /// the session ends and the save must be started again.
+    /// </summary>
+    public sealed class SnapshotCommitSession : IDisposable
+    {
+        private readonly Func<byte[], CancellationToken, Task<long>> _append;
+        private readonly Func<SaveGameMetadata, CancellationToken, Task> _finish;
+        private readonly Action _abort;
+        private int _ended;
+
+        /// <summary>
+        /// Snapshot filename being written.
+        /// </summary>
+        public string filename { get; }
+
+        /// <summary>
+        /// Bytes written so far, as acknowledged by the native side.
+        /// </summary>
+        public long bytesWritten { get; private set; }
+
+        internal SnapshotCommitSession(string filename, Func<byte[], CancellationToken, Task<long>> append,
+            Func<SaveGameMetadata, CancellationToken, Task> finish, Action abort)
+        {
+            this.filename = filename;
+            _append = append;
+            _finish = finish;
+            _abort = abort;
+        }
+
+        /// <summary>
+        /// Appends a chunk after the previous ones. Empty chunks are ignored.
+        /// </summary>
+        public async Task AppendAsync(byte[] chunk, CancellationToken ct = default)
+        {
+            ThrowIfEnded();
+            if (chunk == null || chunk.Length == 0)
+                return;
+
+            try
+            {
+                bytesWritten = await _append(chunk, ct);
+            }
+            catch
+            {
+                Dispose();
+                throw;
+            }
+        }
+
+        /// <summary>
+        /// Commits everything appended with the save metadata (description, played time, cover image).
+        /// </summary>
+        public Task FinishAsync(SaveGameMetadata metadata = null, CancellationToken ct = default)
+        {
+            if (Interlocked.Exchange(ref _ended, 1) != 0)
+                throw new InvalidOperationException("Commit session has already ended");
+            return _finish(metadata, ct);
+        }
+
+        /// <summary>
+        /// Abandons the session if it has not been finished, discarding the snapshot unchanged.
+        /// </summary>
+        public void Dispose()
+        {
+            if (Interlocked.Exchange(ref _ended, 1) == 0)
+                _abort();
+        }
+
+        private void ThrowIfEnded()
+        {
+            if (Volatile.Read(ref _ended) != 0)
+                throw new InvalidOperationException("Commit session has already ended");
+        }
+    }
+}
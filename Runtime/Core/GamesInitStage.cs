@@ -0,0 +1,29 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using UnityEngine.Scripting;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Timing of one native start-up stage (SDK init, client creation, launcher registration).
+    /// Field names are camelCase to match JSON from GamesInitializer.java.
+    /// </summary>
+    [Serializable, Preserve]
+    public class GamesInitStage
+    {
+        /// <summary>Stage name, e.g. "sdk.initialize" or "achievements.client".</summary>
+        public string stage;
+
+        /// <summary>Java thread the stage ran on. "BizSimGames-Init" marks a background warm-up.</summary>
+        public string thread;
+
+        /// <summary>Start time in milliseconds, relative to the first native bridge use.</summary>
+        public long startMs;
+
+        /// <summary>Wall-clock duration of the stage in milliseconds.</summary>
+        public double durationMs;
+
+        public override string ToString() => $"{stage} [{thread}] +{startMs}ms {durationMs:F2}ms";
+    }
+}
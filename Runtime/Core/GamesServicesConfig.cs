@@ -22,24 +22,104 @@ namespace BizSim.GPlay.Games
         [Tooltip("Enable Play Console Sidekick features. Requires achievements + cloud save at minimum.")]
         public bool sidekickReady = false;
 
+        [Header("Sign-In")]
+        [Tooltip("Report the last verified player identity immediately via OnProvisionalIdentity while Play Games sign-in completes in the background.")]
+        public bool optimisticSignIn = false;
+
         [Header("Server Authentication")]
         [Tooltip("Web Application OAuth 2.0 Client ID from Google Cloud Console. Required for RequestServerSideAccessAsync. Set via BizSim > Google Play > Games Services > Setup > Android Setup.")]
         public string webClientId = "";
 
+        [Tooltip("Fetch one server auth code for webClientId in the background after each sign-in, so the first RequestServerSideAccessAsync call completes without a round-trip.")]
+        public bool prefetchServerAuthCode = false;
+
         [Header("Quality Checklist")]
         public int expectedAchievementCount = 10;
         public bool requireCloudSaveMetadata = true;
 
+        [Header("Achievements")]
+        [Tooltip("Build the achievement icon atlas in the background after each sign-in, so LoadIconAtlasAsync returns without loading any icon.")]
+        public bool prefetchAchievementIcons = false;
+
+        [Tooltip("Size in pixels each achievement icon is downsampled to in the icon atlas.")]
+        [Range(16, 256)]
+        public int achievementIconSize = 96;
+
+        [Tooltip("Maximum width and height in pixels of one icon atlas page. Icons that do not fit on one page spill onto more.")]
+        [Range(512, 4096)]
+        public int achievementIconAtlasPageSize = 2048;
+
         [Header("Cloud Save")]
         [Tooltip("Seconds to wait for user to resolve a cloud save conflict before auto-resolving. Set to 0 to auto-resolve immediately using timestamp comparison.")]
         [Range(0, 300)]
         public int conflictTimeoutSeconds = 60;
 
+        [Tooltip("Commit CommitSnapshotAsync and SaveAsync saves as binary deltas against the last committed save, kept in a companion '<name>~delta' snapshot, so an autosave uploads only what changed. Reads rebuild delta saves whether or not this is on. Costs: each companion is a real snapshot that players see in the saved games UI and that counts toward its maxSnapshots, and deleting it there loses the progress saved since the last full save. Slots saved this way are framed and cannot be read by a build or client without this bridge until a save is made with this off.")]
+        public bool deltaCommits = false;
+
+        [Tooltip("Delta commits allowed between full saves. A full save is also made whenever the deltas would outweigh half of one.")]
+        [Range(1, 32)]
+        public int deltaChainLength = 8;
+
+        [Header("Player Stats")]
+        [Tooltip("Minutes a cached PlayerStats result is served without a network call. Older results are served immediately and refreshed in the background.")]
+        [Range(0, 1440)]
+        public int statsCacheTtlMinutes = 60;
+
+        [Header("Startup")]
+        [Tooltip("Create Play Games clients on a background thread right after their bridge is created. When off, each client is created on first use.")]
+        public bool warmUpClientsInBackground = true;
+
         [Header("JNI Bridge")]
-        [Tooltip("Seconds to wait for a JNI bridge operation before timing out. Increase for slow networks, decrease for auth flows that block UI.")]
+        [Tooltip("Seconds to wait for a JNI bridge operation before timing out. Also the deadline each Java bridge request gets: past it the bridge reports a timeout error and drops the late result. Increase for slow networks, decrease for auth flows that block UI.")]
         [Range(5, 120)]
         public int jniTimeoutSeconds = 30;
 
+        [Tooltip("Queue Java callbacks natively and deliver them in one JNI call per frame instead of one AndroidJavaProxy call each. Helps when many callbacks land in the same frame (batch unlocks, bulk loads).")]
+        public bool batchCallbackDelivery = false;
+
+        [Header("Retries")]
+        [Tooltip("Attempts per idempotent call (loads, snapshot opens, UI intents) before a transient failure is reported. 1 disables retries.")]
+        [Range(1, 6)]
+        public int retryMaxAttempts = 3;
+
+        [Tooltip("Backoff ceiling for the first retry in milliseconds. It doubles per attempt, and the actual delay is a random value up to the ceiling.")]
+        public int retryBaseDelayMs = 500;
+
+        [Tooltip("Upper bound for the retry backoff ceiling in milliseconds.")]
+        public int retryMaxDelayMs = 8000;
+
+        [Tooltip("Consecutive network failures that open a service's circuit breaker. While it is open, calls to that service fail fast.")]
+        [Range(1, 20)]
+        public int circuitBreakerThreshold = 5;
+
+        [Tooltip("Seconds an open circuit waits before letting one probe call through.")]
+        [Range(1, 300)]
+        public int circuitBreakerOpenSeconds = 30;
+
+        [Header("Rate Limits")]
+        [Tooltip("Play Games calls per second across all services (token bucket refill rate). 0 disables the global limit.")]
+        public float rateLimitPerSecond = 10f;
+
+        [Tooltip("Calls allowed in a burst across all services before the global rate applies.")]
+        [Range(1, 100)]
+        public int rateLimitBurst = 20;
+
+        [Tooltip("Calls per second for each service (achievements, leaderboards, cloudsave, ...). 0 disables per-service limits. Override one service with GamesServicesManager.SetServiceRateLimit.")]
+        public float serviceRateLimitPerSecond = 5f;
+
+        [Tooltip("Calls allowed in a burst per service.")]
+        [Range(1, 100)]
+        public int serviceRateLimitBurst = 10;
+
+        [Tooltip("Calls that may wait for a token per priority class (interactive, background). Calls beyond it fail with RateLimited.")]
+        [Range(0, 1000)]
+        public int rateLimitMaxQueued = 64;
+
+        [Tooltip("Seconds a call may wait for a token before it fails with RateLimited.")]
+        [Range(1, 120)]
+        public int rateLimitMaxQueueSeconds = 10;
+
         [Header("Diagnostics")]
         [Tooltip("Enable verbose logging in release builds. Use for Sidekick integration testing on devices.")]
         public bool debugMode = false;
@@ -24,6 +24,7 @@ namespace BizSim.GPlay.Games
         private IGamesCloudSaveProvider _cloudSaveProvider;
         private IGamesStatsProvider _statsProvider;
         private IGamesEventsProvider _eventsProvider;
+        private IGamesSessionProvider _sessionProvider;
 
         public static GamesServicesManager Instance
         {
@@ -69,12 +70,192 @@ namespace BizSim.GPlay.Games
         /// <summary>Events provider — increment events with batching, load event data.</summary>
         public static IGamesEventsProvider Events => Instance?._eventsProvider;
 
+        /// <summary>Session provider — post-sign-in loads across services in one concurrent call.</summary>
+        public static IGamesSessionProvider Session => Instance?._sessionProvider;
+
+        /// <summary>
+        /// Per-stage timings of native start-up (SDK init, client creation, launcher registration).
+        /// Empty outside Android devices.
+        /// </summary>
+        public static GamesInitStage[] GetInitTimings()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var initializer = new AndroidJavaClass(JniConstants.GamesInitializer))
+                {
+                    string json = initializer.CallStatic<string>("getStageTimings");
+                    return JsonArrayParser.Parse<InitStageArrayWrapper, GamesInitStage>(json);
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to read init timings: {e.Message}");
+                return Array.Empty<GamesInitStage>();
+            }
+            #else
+            return Array.Empty<GamesInitStage>();
+            #endif
+        }
+
+        /// <summary>
+        /// Native per-operation metrics as compact JSON: success/failure counts, bytes moved,
+        /// latency percentiles and raw histogram buckets in microseconds. "{}" outside Android devices.
+        /// </summary>
+        public static string GetMetricsSnapshot()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var metrics = new AndroidJavaClass(JniConstants.BridgeMetrics))
+                {
+                    return metrics.CallStatic<string>("getMetricsSnapshot");
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to read bridge metrics: {e.Message}");
+                return "{}";
+            }
+            #else
+            return "{}";
+            #endif
+        }
+
+        /// <summary>
+        /// Rate governor state as JSON: granted, delayed, rejected and expired call counts, queue
+        /// depths per priority and the tokens left per service. Queue waits appear in
+        /// <see cref="GetMetricsSnapshot"/> as governor.interactive and governor.background.
+        /// "{}" outside Android devices.
+        /// </summary>
+        public static string GetRateGovernorStats()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var governor = new AndroidJavaClass(JniConstants.RateGovernor))
+                {
+                    return governor.CallStatic<string>("getStats");
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to read rate governor stats: {e.Message}");
+                return "{}";
+            }
+            #else
+            return "{}";
+            #endif
+        }
+
+        /// <summary>
+        /// Gives one service ("achievements", "leaderboards", "cloudsave", "stats", "events", "auth")
+        /// its own rate instead of the configured per-service default. 0 calls per second removes its limit.
+        /// </summary>
+        public static void SetServiceRateLimit(string service, float callsPerSecond, int burst)
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var governor = new AndroidJavaClass(JniConstants.RateGovernor))
+                {
+                    governor.CallStatic("setServiceRate", service, (double)callsPerSecond, burst);
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to set rate limit for {service}: {e.Message}");
+            }
+            #endif
+        }
+
+        /// <summary>
+        /// Offline outbox counters as JSON: pending unlocks, increments and scores, plus drained,
+        /// failed and dropped totals. "{}" outside Android devices or before the outbox is used.
+        /// </summary>
+        public static string GetOutboxStats()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var outbox = new AndroidJavaClass(JniConstants.Outbox))
+                {
+                    return outbox.CallStatic<string>("getStats");
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to read outbox stats: {e.Message}");
+                return "{}";
+            }
+            #else
+            return "{}";
+            #endif
+        }
+
+        /// <summary>
+        /// Memory governor state as JSON: memory class, current pressure, trim count and bytes
+        /// reclaimed in total and per cache. "{}" outside Android devices.
+        /// </summary>
+        public static string GetMemoryStats()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var governor = new AndroidJavaClass(JniConstants.MemoryGovernor))
+                {
+                    return governor.CallStatic<string>("getStats");
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to read memory stats: {e.Message}");
+                return "{}";
+            }
+            #else
+            return "{}";
+            #endif
+        }
+
+        /// <summary>Clears all native metrics, e.g. after uploading a snapshot.</summary>
+        public static void ResetMetrics()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            try
+            {
+                JniBridgeBase.EnsureThreadAttached();
+                using (var metrics = new AndroidJavaClass(JniConstants.BridgeMetrics))
+                {
+                    metrics.CallStatic("resetMetrics");
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to reset bridge metrics: {e.Message}");
+            }
+            #endif
+        }
+
+        [Serializable]
+        private class InitStageArrayWrapper : IArrayWrapper<GamesInitStage>
+        {
+            public GamesInitStage[] items;
+            public GamesInitStage[] Items => items;
+        }
+
         public IGamesAuthProvider AuthProvider => _authProvider;
         public IGamesAchievementProvider AchievementsProvider => _achievementsProvider;
         public IGamesLeaderboardProvider LeaderboardsProvider => _leaderboardsProvider;
         public IGamesCloudSaveProvider CloudSaveProvider => _cloudSaveProvider;
         public IGamesStatsProvider StatsProvider => _statsProvider;
         public IGamesEventsProvider EventsProvider => _eventsProvider;
+        public IGamesSessionProvider SessionProvider => _sessionProvider;
 
         [RuntimeInitializeOnLoadMethod(RuntimeInitializeLoadType.BeforeSceneLoad)]
         private static void Initialize()
@@ -115,6 +296,7 @@ namespace BizSim.GPlay.Games
 
             #if UNITY_ANDROID && !UNITY_EDITOR
                 BizSimGamesLogger.Info("Platform: Android (JNI Bridge)");
+                ConfigureResilience();
                 if (_config.enableAuth)
                     _authProvider = new GamesAuthController();
                 if (_config.enableAchievements)
@@ -127,6 +309,7 @@ namespace BizSim.GPlay.Games
                     _statsProvider = new GamesStatsController();
                 if (_config.enableEvents)
                     _eventsProvider = new GamesEventsController();
+                _sessionProvider = new GamesSessionController();
             #else
                 BizSimGamesLogger.Info("Platform: Editor (Mock Provider)");
                 var mockData = _config.editorMock;
@@ -142,9 +325,42 @@ namespace BizSim.GPlay.Games
                     _statsProvider = new MockStatsProvider(mockData);
                 if (_config.enableEvents)
                     _eventsProvider = new MockEventsProvider(mockData);
+                _sessionProvider = new MockSessionProvider(_achievementsProvider, _statsProvider, _eventsProvider,
+                    _leaderboardsProvider, _cloudSaveProvider);
             #endif
         }
 
+        #if UNITY_ANDROID && !UNITY_EDITOR
+        private void ConfigureResilience()
+        {
+            try
+            {
+                using (var resilience = new AndroidJavaClass(JniConstants.Resilience))
+                {
+                    resilience.CallStatic("configure", _config.retryMaxAttempts, (long)_config.retryBaseDelayMs,
+                        (long)_config.retryMaxDelayMs, _config.circuitBreakerThreshold,
+                        (long)_config.circuitBreakerOpenSeconds * 1000);
+                }
+
+                using (var deadlines = new AndroidJavaClass(JniConstants.RequestDeadlines))
+                {
+                    deadlines.CallStatic("setDefaultDeadlineMs", (long)_config.jniTimeoutSeconds * 1000);
+                }
+
+                using (var governor = new AndroidJavaClass(JniConstants.RateGovernor))
+                {
+                    governor.CallStatic("configure", (double)_config.rateLimitPerSecond, _config.rateLimitBurst,
+                        (double)_config.serviceRateLimitPerSecond, _config.serviceRateLimitBurst,
+                        _config.rateLimitMaxQueued, (long)_config.rateLimitMaxQueueSeconds * 1000);
+                }
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"Failed to configure retries: {e.Message}");
+            }
+        }
+        #endif
+
         private void ResolveConfig()
         {
             _config = Resources.Load<GamesServicesConfig>("GamesServicesConfig");
@@ -191,6 +407,7 @@ namespace BizSim.GPlay.Games
                 (_cloudSaveProvider as IDisposable)?.Dispose();
                 (_statsProvider as IDisposable)?.Dispose();
                 (_eventsProvider as IDisposable)?.Dispose();
+                (_sessionProvider as IDisposable)?.Dispose();
 
                 _instance = null;
             }
@@ -7,6 +7,8 @@ namespace BizSim.GPlay.Games
 {
     internal abstract class JniBridgeBase : IDisposable
     {
+        [ThreadStatic] private static bool _threadAttached;
+
         private bool _disposed;
 
         protected AndroidJavaObject Bridge { get; private set; }
@@ -26,7 +28,16 @@ namespace BizSim.GPlay.Games
                 using (var activity = unityPlayer.GetStatic<AndroidJavaObject>("currentActivity"))
                 {
                     Bridge = new AndroidJavaObject(JavaClassName, activity);
-                    Bridge.Call("setCallback", CreateCallbackProxy());
+
+                    var config = GamesServicesManager.Config;
+                    if (config != null && config.batchCallbackDelivery)
+                        NativeCallbackQueue.Install(Bridge, JavaClassName, CreateCallbackProxy());
+                    else
+                        Bridge.Call("setCallback", CreateCallbackProxy());
+
+                    if (config != null && config.warmUpClientsInBackground)
+                        Bridge.Call("warmUp");
+
                     BizSimGamesLogger.Info($"{shortName} initialized successfully");
                 }
             }
@@ -38,11 +49,48 @@ namespace BizSim.GPlay.Games
             }
         }
 
+        /// <summary>
+        /// Attaches a worker or job thread to the Java VM before it makes JNI calls, so bridge
+        /// methods can be called from any thread. Each thread is attached at most once and never
+        /// detached here: Unity's own threads and Java-created callback threads are already
+        /// attached, and detaching a thread this code did not attach breaks Unity or aborts ART.
+        /// Attaching an attached thread is a no-op in JNI, and ART detaches a thread that exits
+        /// while still attached. The main thread is attached by Unity and skipped.
+        /// </summary>
+        internal static void EnsureThreadAttached()
+        {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            if (_threadAttached || UnityMainThreadDispatcher.IsMainThread) return;
+            AndroidJNI.AttachCurrentThread();
+            _threadAttached = true;
+            #endif
+        }
+
         protected void CallBridge(string method, params object[] args)
         {
+            EnsureThreadAttached();
             Bridge.Call(method, args);
         }
 
+        /// <summary>
+        /// Tells the Java bridge to drop a request nobody is waiting for any more, releasing the
+        /// snapshots and buffers it holds. Late results for it are discarded on the Java side.
+        /// </summary>
+        protected void CancelRequest(string requestId)
+        {
+            if (_disposed || Bridge == null) return;
+
+            try
+            {
+                EnsureThreadAttached();
+                Bridge.Call("cancel", requestId);
+            }
+            catch (Exception ex)
+            {
+                BizSimGamesLogger.Warning($"Failed to cancel {requestId}: {ex.Message}");
+            }
+        }
+
         public void Dispose()
         {
             if (_disposed) return;
@@ -6,12 +6,21 @@ namespace BizSim.GPlay.Games
     {
         internal const string UnityPlayer = "com.unity3d.player.UnityPlayer";
 
+        internal const string GamesInitializer = "com.bizsim.gplay.games.GamesInitializer";
+        internal const string CallbackQueue = "com.bizsim.gplay.games.CallbackQueue";
+        internal const string BridgeMetrics = "com.bizsim.gplay.games.BridgeMetrics";
+        internal const string Resilience = "com.bizsim.gplay.games.Resilience";
+        internal const string RequestDeadlines = "com.bizsim.gplay.games.RequestDeadlines";
+        internal const string Outbox = "com.bizsim.gplay.games.Outbox";
+        internal const string RateGovernor = "com.bizsim.gplay.games.RateGovernor";
+        internal const string MemoryGovernor = "com.bizsim.gplay.games.MemoryGovernor";
         internal const string AuthBridge = "com.bizsim.gplay.games.AuthBridge";
         internal const string AchievementBridge = "com.bizsim.gplay.games.achievements.AchievementBridge";
         internal const string LeaderboardBridge = "com.bizsim.gplay.games.leaderboards.LeaderboardBridge";
         internal const string CloudSaveBridge = "com.bizsim.gplay.games.cloudsave.CloudSaveBridge";
         internal const string StatsBridge = "com.bizsim.gplay.games.stats.StatsBridge";
         internal const string EventsBridge = "com.bizsim.gplay.games.events.EventsBridge";
+        internal const string SessionBridge = "com.bizsim.gplay.games.session.SessionBridge";
 
         internal const string AuthCallback = "com.bizsim.gplay.games.callbacks.IAuthCallback";
         internal const string AchievementCallback = "com.bizsim.gplay.games.achievements.IAchievementCallback";
@@ -19,5 +28,6 @@ namespace BizSim.GPlay.Games
         internal const string CloudSaveCallback = "com.bizsim.gplay.games.cloudsave.ICloudSaveCallback";
         internal const string StatsCallback = "com.bizsim.gplay.games.stats.IStatsCallback";
         internal const string EventsCallback = "com.bizsim.gplay.games.events.IEventsCallback";
+        internal const string SessionCallback = "com.bizsim.gplay.games.session.ISessionCallback";
     }
 }
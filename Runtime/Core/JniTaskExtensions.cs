@@ -26,7 +26,7 @@ namespace BizSim.GPlay.Games
                 timeoutMs = ResolveTimeoutMs();
 
             var startTime = System.Diagnostics.Stopwatch.StartNew();
-            BizSimGamesLogger.Info($"[JniTimeout] Timer started: {timeoutMs}ms, appFocused={UnityEngine.Application.isFocused}");
+            BizSimGamesLogger.Info($"[JniTimeout] Timer started: {timeoutMs}ms, appFocused={UnityMainThreadDispatcher.IsFocused}");
 
             using var timeoutCts = CancellationTokenSource.CreateLinkedTokenSource(ct);
             var timeoutTask = Task.Delay(timeoutMs, timeoutCts.Token);
@@ -37,9 +37,9 @@ namespace BizSim.GPlay.Games
 
             if (completedTask == timeoutTask)
             {
-                BizSimGamesLogger.Error($"[JniTimeout] TIMED OUT after {startTime.ElapsedMilliseconds}ms (limit={timeoutMs}ms), appFocused={UnityEngine.Application.isFocused}");
+                BizSimGamesLogger.Error($"[JniTimeout] TIMED OUT after {startTime.ElapsedMilliseconds}ms (limit={timeoutMs}ms), appFocused={UnityMainThreadDispatcher.IsFocused}");
                 tcs.TrySetException(new TimeoutException(
-                    $"JNI operation timed out after {timeoutMs}ms (elapsed={startTime.ElapsedMilliseconds}ms, focused={UnityEngine.Application.isFocused})"));
+                    $"JNI operation timed out after {timeoutMs}ms (elapsed={startTime.ElapsedMilliseconds}ms, focused={UnityMainThreadDispatcher.IsFocused})"));
                 throw new TimeoutException($"JNI operation timed out after {timeoutMs}ms");
             }
 
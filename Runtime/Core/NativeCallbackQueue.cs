@@ -0,0 +1,154 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Collections.Generic;
+using System.Globalization;
+using System.Reflection;
+using Unity.Profiling;
+using UnityEngine;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Unity side of batched callback delivery. Bridges installed here record their callbacks in
+    /// the Java <c>CallbackQueue</c>; <see cref="Drain"/> fetches them with one JNI call per frame and
+    /// invokes the matching callback proxy methods directly, skipping one proxy dispatch per callback.
+    /// </summary>
+    internal static class NativeCallbackQueue
+    {
+        private static readonly ProfilerMarker DrainMarker = new("BizSimGames.DrainCallbacks");
+
+        private static readonly Dictionary<string, AndroidJavaProxy> _proxies = new();
+        private static readonly Dictionary<(Type, string), MethodInfo> _methods = new();
+        private static AndroidJavaClass _queueClass;
+
+        internal static bool HasInstalledBridges => _proxies.Count > 0;
+
+        internal static void Install(AndroidJavaObject bridge, string service, AndroidJavaProxy proxy)
+        {
+            _queueClass ??= new AndroidJavaClass(JniConstants.CallbackQueue);
+            _queueClass.CallStatic("install", bridge, service);
+            _proxies[service] = proxy;
+        }
+
+        /// <summary>
+        /// Routes batch records for <paramref name="service"/> to <paramref name="proxy"/> without
+        /// installing a bridge. Used by the delivery benchmarks; pair with <see cref="Unregister"/>.
+        /// </summary>
+        internal static void Register(string service, AndroidJavaProxy proxy)
+        {
+            _proxies[service] = proxy;
+        }
+
+        internal static void Unregister(string service)
+        {
+            _proxies.Remove(service);
+        }
+
+        internal static void Drain()
+        {
+            if (_queueClass == null)
+                return;
+
+            using (DrainMarker.Auto())
+            {
+                string batch;
+                try
+                {
+                    batch = _queueClass.CallStatic<string>("drain");
+                }
+                catch (Exception e)
+                {
+                    BizSimGamesLogger.Error($"Failed to drain callback queue: {e.Message}");
+                    return;
+                }
+
+                DispatchBatch(batch);
+            }
+        }
+
+        /// <summary>
+        /// Decodes a batch returned by <c>CallbackQueue.drain</c> and invokes each record's proxy method.
+        /// </summary>
+        internal static void DispatchBatch(string batch)
+        {
+            if (string.IsNullOrEmpty(batch))
+                return;
+
+            int pos = 0;
+            try
+            {
+                while (pos < batch.Length)
+                {
+                    int argc = int.Parse(ReadField(batch, ref pos, out _), CultureInfo.InvariantCulture);
+                    string service = ReadField(batch, ref pos, out _);
+                    string method = ReadField(batch, ref pos, out _);
+
+                    var args = new object[argc];
+                    for (int i = 0; i < argc; i++)
+                        args[i] = ReadValue(batch, ref pos);
+
+                    Dispatch(service, method, args);
+                }
+            }
+            catch (Exception e) when (e is FormatException || e is ArgumentException)
+            {
+                BizSimGamesLogger.Error($"Malformed callback batch at offset {pos}: {e.Message}");
+            }
+        }
+
+        private static void Dispatch(string service, string method, object[] args)
+        {
+            if (!_proxies.TryGetValue(service, out var proxy))
+            {
+                BizSimGamesLogger.Warning($"Dropping queued callback {method} for unknown service {service}");
+                return;
+            }
+
+            var key = (proxy.GetType(), method);
+            if (!_methods.TryGetValue(key, out var info))
+            {
+                info = key.Item1.GetMethod(method, BindingFlags.Instance | BindingFlags.Public | BindingFlags.NonPublic);
+                _methods[key] = info;
+            }
+
+            if (info == null)
+            {
+                BizSimGamesLogger.Warning($"Callback proxy for {service} has no method {method}");
+                return;
+            }
+
+            try
+            {
+                info.Invoke(proxy, args);
+            }
+            catch (TargetInvocationException e)
+            {
+                BizSimGamesLogger.Error($"Queued callback {method} failed: {e.InnerException}");
+            }
+        }
+
+        private static object ReadValue(string batch, ref int pos)
+        {
+            string payload = ReadField(batch, ref pos, out char type);
+            return type switch
+            {
+                'n' => (object)null,
+                'i' => int.Parse(payload, CultureInfo.InvariantCulture),
+                'l' => long.Parse(payload, CultureInfo.InvariantCulture),
+                'z' => payload == "1",
+                'b' => Convert.FromBase64String(payload),
+                _ => payload
+            };
+        }
+
+        private static string ReadField(string batch, ref int pos, out char type)
+        {
+            type = batch[pos];
+            int colon = batch.IndexOf(':', pos + 1);
+            int length = int.Parse(batch.Substring(pos + 1, colon - pos - 1), CultureInfo.InvariantCulture);
+            pos = colon + 1 + length;
+            return batch.Substring(colon + 1, length);
+        }
+    }
+}
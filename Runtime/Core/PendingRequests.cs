@@ -0,0 +1,125 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Collections.Generic;
+using System.Threading;
+using System.Threading.Tasks;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// In-flight bridge calls of one operation type, keyed by the request ID passed to Java
+    /// and echoed back in its callbacks. Lets any number of calls of the same type overlap.
+    /// </summary>
+    internal sealed class PendingRequests<T>
+    {
+        private readonly string _prefix;
+        private readonly Dictionary<string, TaskCompletionSource<T>> _pending = new();
+        private long _counter;
+
+        /// <summary>
+        /// Called with the request ID when a caller stops waiting (cancellation or managed timeout)
+        /// so the bridge can drop the request and release what it holds.
+        /// </summary>
+        internal Action<string> OnAbandoned { get; set; }
+
+        internal PendingRequests(string prefix)
+        {
+            _prefix = prefix;
+        }
+
+        internal string Register(out TaskCompletionSource<T> tcs)
+        {
+            string requestId = _prefix + "-" + Interlocked.Increment(ref _counter);
+            tcs = new TaskCompletionSource<T>();
+            lock (_pending)
+                _pending[requestId] = tcs;
+            return requestId;
+        }
+
+        /// <summary>
+        /// Registers a request, hands its ID to <paramref name="send"/> (the bridge call) and awaits the
+        /// matching callback. The entry is removed on completion, cancellation, timeout or a throwing send;
+        /// on cancellation or timeout the bridge is told through <see cref="OnAbandoned"/>.
+        /// </summary>
+        internal async Task<T> SendAsync(Action<string> send, CancellationToken ct, bool withJniTimeout = false)
+        {
+            string requestId = Register(out var tcs);
+            try
+            {
+                using (ct.Register(() => tcs.TrySetCanceled()))
+                {
+                    send(requestId);
+                    return withJniTimeout
+                        ? await tcs.Task.WithJniTimeout(tcs, ct: ct)
+                        : await tcs.Task;
+                }
+            }
+            catch (Exception ex) when (ex is OperationCanceledException || ex is TimeoutException)
+            {
+                OnAbandoned?.Invoke(requestId);
+                throw;
+            }
+            finally
+            {
+                Remove(requestId);
+            }
+        }
+
+        internal bool TryTake(string requestId, out TaskCompletionSource<T> tcs)
+        {
+            tcs = null;
+            if (requestId == null)
+                return false;
+
+            lock (_pending)
+            {
+                if (!_pending.TryGetValue(requestId, out tcs))
+                    return false;
+                _pending.Remove(requestId);
+                return true;
+            }
+        }
+
+        internal bool Contains(string requestId)
+        {
+            if (requestId == null)
+                return false;
+
+            lock (_pending)
+                return _pending.ContainsKey(requestId);
+        }
+
+        internal void Remove(string requestId)
+        {
+            lock (_pending)
+                _pending.Remove(requestId);
+        }
+
+        internal bool TryComplete(string requestId, T result)
+        {
+            return TryTake(requestId, out var tcs) && tcs.TrySetResult(result);
+        }
+
+        internal bool TryFail(string requestId, Exception exception)
+        {
+            return TryTake(requestId, out var tcs) && tcs.TrySetException(exception);
+        }
+
+        internal void CancelAll()
+        {
+            foreach (var tcs in TakeAll())
+                tcs.TrySetCanceled();
+        }
+
+        private List<TaskCompletionSource<T>> TakeAll()
+        {
+            lock (_pending)
+            {
+                var all = new List<TaskCompletionSource<T>>(_pending.Values);
+                _pending.Clear();
+                return all;
+            }
+        }
+    }
+}
@@ -14,9 +14,16 @@ namespace BizSim.GPlay.Games
         private static readonly ConcurrentQueue<Action> _executionQueue = new ConcurrentQueue<Action>();
         private static bool _isQuitting;
         private static int _mainThreadId;
+        private static volatile bool _isFocused = true;
 
         public static bool IsMainThread => Thread.CurrentThread.ManagedThreadId == _mainThreadId;
 
+        /// <summary>
+        /// Last known application focus. Unlike <see cref="Application.isFocused"/>, readable from
+        /// any thread.
+        /// </summary>
+        public static bool IsFocused => _isFocused;
+
         public static void Enqueue(Action action)
         {
             if (action == null)
@@ -32,6 +39,7 @@ namespace BizSim.GPlay.Games
             if (_instance != null || _isQuitting) return;
 
             _mainThreadId = Thread.CurrentThread.ManagedThreadId;
+            _isFocused = Application.isFocused;
             _isQuitting = false;
             Application.quitting += () => _isQuitting = true;
 
@@ -40,8 +48,18 @@ namespace BizSim.GPlay.Games
             DontDestroyOnLoad(go);
         }
 
+        private void OnApplicationFocus(bool hasFocus)
+        {
+            _isFocused = hasFocus;
+        }
+
         private void Update()
         {
+            #if UNITY_ANDROID && !UNITY_EDITOR
+            if (NativeCallbackQueue.HasInstalledBridges)
+                NativeCallbackQueue.Drain();
+            #endif
+
             while (_executionQueue.TryDequeue(out var action))
             {
                 try
@@ -14,19 +14,19 @@ namespace BizSim.GPlay.Games
             _controller = controller;
         }
 
-        void onEventsLoaded(string eventsJson)
+        void onEventsLoaded(string requestId, string eventsJson)
         {
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventsLoadedFromJava(eventsJson));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventsLoadedFromJava(requestId, eventsJson));
         }
 
-        void onEventLoaded(string eventJson)
+        void onEventLoaded(string requestId, string eventJson)
         {
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventLoadedFromJava(eventJson));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventLoadedFromJava(requestId, eventJson));
         }
 
-        void onEventsError(int errorCode, string message)
+        void onEventsError(string requestId, int errorCode, string message, int attempts)
         {
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventsErrorFromJava(errorCode, message));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnEventsErrorFromJava(requestId, errorCode, message, attempts));
         }
     }
 }
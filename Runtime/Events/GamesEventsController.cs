@@ -1,7 +1,6 @@
 // Copyright (c) BizSim Game Studios. All rights reserved.
 
 using System;
-using System.Collections.Generic;
 using System.Threading;
 using System.Threading.Tasks;
 using UnityEngine;
@@ -11,15 +10,10 @@ namespace BizSim.GPlay.Games
 {
     internal class GamesEventsController : JniBridgeBase, IGamesEventsProvider
     {
-        private const float FLUSH_INTERVAL_SECONDS = 5f;
-
         private EventsCallbackProxy _callbackProxy;
 
-        private readonly Dictionary<string, int> _pendingIncrements = new();
-        private float _lastFlushTime;
-
-        private TaskCompletionSource<GamesEvent[]> _loadAllTcs;
-        private TaskCompletionSource<GamesEvent> _loadOneTcs;
+        private readonly PendingRequests<GamesEvent[]> _loadAll = new("events");
+        private readonly PendingRequests<GamesEvent> _loadOne = new("event");
 
         public event Action<GamesEventsError> OnEventsError;
 
@@ -34,96 +28,89 @@ namespace BizSim.GPlay.Games
         public GamesEventsController()
         {
             InitializeBridge();
+            _loadAll.OnAbandoned = CancelRequest;
+            _loadOne.OnAbandoned = CancelRequest;
         }
 
         public Task IncrementEventAsync(string eventId, int steps = 1, CancellationToken ct = default)
         {
-            if (!UnityMainThreadDispatcher.IsMainThread)
+            ct.ThrowIfCancellationRequested();
+
+            try
             {
-                var tcs = new TaskCompletionSource<bool>();
-                UnityMainThreadDispatcher.Enqueue(() =>
+                CallBridge("incrementEvent", eventId, steps);
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"[Events] Failed to increment event '{eventId}': {e.Message}");
+                var error = new GamesEventsError
                 {
-                    try
-                    {
-                        IncrementOnMainThread(eventId, steps, ct);
-                        tcs.TrySetResult(true);
-                    }
-                    catch (Exception ex)
-                    {
-                        tcs.TrySetException(ex);
-                    }
-                });
-                return tcs.Task;
+                    eventId = eventId,
+                    errorCode = GamesErrorCodes.ApiNotAvailable,
+                    message = e.Message
+                };
+                if (UnityMainThreadDispatcher.IsMainThread)
+                    OnEventsError?.Invoke(error);
+                else
+                    UnityMainThreadDispatcher.Enqueue(() => OnEventsError?.Invoke(error));
             }
 
-            IncrementOnMainThread(eventId, steps, ct);
             return Task.CompletedTask;
         }
 
-        private void IncrementOnMainThread(string eventId, int steps, CancellationToken ct)
-        {
-            if (!_pendingIncrements.ContainsKey(eventId))
-                _pendingIncrements[eventId] = 0;
-            _pendingIncrements[eventId] += steps;
-
-            if (Time.realtimeSinceStartup - _lastFlushTime >= FLUSH_INTERVAL_SECONDS)
-                FlushPendingIncrements(ct);
-        }
-
         internal Task FlushPendingIncrements(CancellationToken ct = default)
         {
-            if (_pendingIncrements.Count == 0)
-                return Task.CompletedTask;
-
-            var batch = new Dictionary<string, int>(_pendingIncrements);
-            _pendingIncrements.Clear();
-            _lastFlushTime = Time.realtimeSinceStartup;
-
-            foreach (var kvp in batch)
+            try
             {
-                try
-                {
-                    CallBridge("incrementEvent", kvp.Key, kvp.Value);
-                }
-                catch (Exception e)
-                {
-                    BizSimGamesLogger.Error($"[Events] Failed to increment event '{kvp.Key}': {e.Message}");
-                    OnEventsError?.Invoke(new GamesEventsError
-                    {
-                        eventId = kvp.Key,
-                        errorCode = GamesErrorCodes.ApiNotAvailable,
-                        message = e.Message
-                    });
-                }
+                CallBridge("flushEvents");
+            }
+            catch (Exception e)
+            {
+                BizSimGamesLogger.Error($"[Events] Failed to flush pending increments: {e.Message}");
             }
 
             return Task.CompletedTask;
         }
 
-        public async Task<GamesEvent[]> LoadEventsAsync(CancellationToken ct = default)
+        public Task<GamesEvent[]> LoadEventsAsync(CancellationToken ct = default)
         {
-            ct.ThrowIfCancellationRequested();
+            return LoadEventsAsync(false, ct);
+        }
 
-            await FlushPendingIncrements(ct);
+        public async Task<GamesEvent[]> LoadEventsAsync(bool forceReload, CancellationToken ct = default)
+        {
+            ct.ThrowIfCancellationRequested();
+            return await _loadAll.SendAsync(requestId => CallBridge("loadEvents", requestId, forceReload), ct);
+        }
 
-            var tcs = TcsGuard.Replace(ref _loadAllTcs);
+        public async Task<GamesEvent[]> LoadEventsAsync(string[] eventIds, bool forceReload = false, CancellationToken ct = default)
+        {
+            if (eventIds == null)
+                throw new ArgumentNullException(nameof(eventIds));
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("loadEvents");
-                return await tcs.Task;
-            }
+            ct.ThrowIfCancellationRequested();
+            string json = "[\"" + string.Join("\",\"", eventIds) + "\"]";
+            return await _loadAll.SendAsync(requestId => CallBridge("loadEventsByIds", requestId, json, forceReload), ct);
         }
 
         public async Task<GamesEvent> LoadEventAsync(string eventId, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _loadOneTcs);
+            return await _loadOne.SendAsync(requestId => CallBridge("loadEvent", requestId, eventId, false), ct);
+        }
 
-            using (ct.Register(() => tcs.TrySetCanceled()))
+        public int SetAchievementRules(string rulesJson)
+        {
+            try
             {
-                CallBridge("loadEvent", eventId);
-                return await tcs.Task;
+                EnsureThreadAttached();
+                int count = Bridge.Call<int>("setAchievementRules", rulesJson ?? "");
+                BizSimGamesLogger.Info($"[Events] Loaded {count} achievement rules");
+                return count;
+            }
+            catch (AndroidJavaException e)
+            {
+                throw new ArgumentException($"Invalid achievement rules: {e.Message}", nameof(rulesJson), e);
             }
         }
 
@@ -134,53 +121,55 @@ namespace BizSim.GPlay.Games
             public GamesEvent[] Items => items;
         }
 
-        internal void OnEventsLoadedFromJava(string eventsJson)
+        internal void OnEventsLoadedFromJava(string requestId, string eventsJson)
         {
             try
             {
                 var events = JsonArrayParser.Parse<EventArrayWrapper, GamesEvent>(eventsJson);
-                _loadAllTcs?.TrySetResult(events);
+                _loadAll.TryComplete(requestId, events);
             }
             catch (Exception ex)
             {
-                _loadAllTcs?.TrySetException(ex);
+                _loadAll.TryFail(requestId, ex);
             }
         }
 
-        internal void OnEventLoadedFromJava(string eventJson)
+        internal void OnEventLoadedFromJava(string requestId, string eventJson)
         {
             try
             {
                 var ev = JsonUtility.FromJson<GamesEvent>(eventJson);
-                _loadOneTcs?.TrySetResult(ev);
+                _loadOne.TryComplete(requestId, ev);
             }
             catch (Exception ex)
             {
-                _loadOneTcs?.TrySetException(ex);
+                _loadOne.TryFail(requestId, ex);
             }
         }
 
-        internal void OnEventsErrorFromJava(int errorCode, string message)
+        internal void OnEventsErrorFromJava(string requestId, int errorCode, string message, int attempts)
         {
             var error = new GamesEventsError
             {
                 errorCode = errorCode,
-                message = message
+                message = message,
+                attempts = attempts
             };
             OnEventsError?.Invoke(error);
 
             var exception = new GamesEventsException(error);
-            _loadAllTcs?.TrySetException(exception);
-            _loadOneTcs?.TrySetException(exception);
+            if (!_loadAll.TryFail(requestId, exception))
+                _loadOne.TryFail(requestId, exception);
         }
 
         protected override void OnDispose()
         {
-            FlushPendingIncrements();
-
-            _loadAllTcs?.TrySetCanceled();
-            _loadOneTcs?.TrySetCanceled();
+            _loadAll.CancelAll();
+            _loadOne.CancelAll();
             _callbackProxy = null;
+
+            try { Bridge?.Call("shutdown"); }
+            catch (Exception) { }
         }
     }
 }
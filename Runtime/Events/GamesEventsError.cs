@@ -10,6 +10,7 @@ namespace BizSim.GPlay.Games
         public string eventId;
         public int errorCode;
         public string message;
+        public int attempts;
 
         public EventsErrorType Type => errorCode switch
         {
@@ -18,6 +19,8 @@ namespace BizSim.GPlay.Games
             2 => EventsErrorType.NetworkError,
             3 => EventsErrorType.EventNotFound,
             100 => EventsErrorType.InternalError,
+            408 => EventsErrorType.Timeout,
+            429 => EventsErrorType.RateLimited,
             _ => EventsErrorType.Unknown
         };
 
@@ -47,7 +50,13 @@ namespace BizSim.GPlay.Games
         EventNotFound = 3,
 
         /// <summary>Internal error in Google Play Games SDK (code 100).</summary>
-        InternalError = 100
+        InternalError = 100,
+
+        /// <summary>Request passed its deadline before Google Play Games answered (code 408).</summary>
+        Timeout = 408,
+
+        /// <summary>Turned away by the bridge rate governor while Play Games calls were queued too deep; retry later (code 429).</summary>
+        RateLimited = 429
     }
 
     public class GamesEventsException : GamesException
@@ -10,7 +10,20 @@ namespace BizSim.GPlay.Games
     {
         Task IncrementEventAsync(string eventId, int steps = 1, CancellationToken ct = default);
         Task<GamesEvent[]> LoadEventsAsync(CancellationToken ct = default);
+        Task<GamesEvent[]> LoadEventsAsync(bool forceReload, CancellationToken ct = default);
+        Task<GamesEvent[]> LoadEventsAsync(string[] eventIds, bool forceReload = false, CancellationToken ct = default);
         Task<GamesEvent> LoadEventAsync(string eventId, CancellationToken ct = default);
+
+        /// <summary>
+        /// Loads a rule table that links events to achievements, so each IncrementEventAsync also
+        /// drives the linked achievement increments and unlocks natively, batched with the event
+        /// flush. Replaces any previous table; null or empty clears it.
+        /// Format: {"rules":[{"event":"id","achievement":"id","type":"increment","per":1},
+        /// {"event":"id","achievement":"id","type":"unlock","threshold":100}]}.
+        /// </summary>
+        /// <returns>Number of rules loaded</returns>
+        /// <exception cref="ArgumentException">The JSON or one of its rules is invalid; the previous table is kept.</exception>
+        int SetAchievementRules(string rulesJson);
         event Action<GamesEventsError> OnEventsError;
     }
 }
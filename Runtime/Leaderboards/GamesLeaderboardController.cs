@@ -14,9 +14,9 @@ namespace BizSim.GPlay.Games
     {
         private LeaderboardCallbackProxy _callbackProxy;
 
-        private TaskCompletionSource<bool> _submitTcs;
-        private TaskCompletionSource<bool> _showUITcs;
-        private TaskCompletionSource<List<GamesLeaderboardEntry>> _loadTcs;
+        private readonly PendingRequests<bool> _submits = new("submit");
+        private readonly PendingRequests<bool> _showUIRequests = new("ui");
+        private readonly PendingRequests<List<GamesLeaderboardEntry>> _loads = new("scores");
 
         public event Action<string, long> OnScoreSubmitted;
         public event Action<string, List<GamesLeaderboardEntry>> OnScoresLoaded;
@@ -33,42 +33,26 @@ namespace BizSim.GPlay.Games
         public GamesLeaderboardController()
         {
             InitializeBridge();
+            _showUIRequests.OnAbandoned = CancelRequest;
+            _loads.OnAbandoned = CancelRequest;
         }
 
         public async Task SubmitScoreAsync(string leaderboardId, long score, string scoreTag = null, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _submitTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("submitScore", leaderboardId, score, scoreTag ?? "");
-                await tcs.Task;
-            }
+            await _submits.SendAsync(requestId => CallBridge("submitScore", requestId, leaderboardId, score, scoreTag ?? ""), ct);
         }
 
         public async Task ShowLeaderboardUIAsync(string leaderboardId, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _showUITcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("showLeaderboardUI", leaderboardId);
-                await tcs.Task;
-            }
+            await _showUIRequests.SendAsync(requestId => CallBridge("showLeaderboardUI", requestId, leaderboardId), ct);
         }
 
         public async Task ShowAllLeaderboardsUIAsync(CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _showUITcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("showAllLeaderboardsUI");
-                await tcs.Task;
-            }
+            await _showUIRequests.SendAsync(requestId => CallBridge("showAllLeaderboardsUI", requestId), ct);
         }
 
         public async Task<List<GamesLeaderboardEntry>> LoadTopScoresAsync(string leaderboardId,
@@ -77,13 +61,7 @@ namespace BizSim.GPlay.Games
             int maxResults = 25, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _loadTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("loadTopScores", leaderboardId, (int)timeSpan, (int)collection, maxResults);
-                return await tcs.Task;
-            }
+            return await _loads.SendAsync(requestId => CallBridge("loadTopScores", requestId, leaderboardId, (int)timeSpan, (int)collection, maxResults), ct);
         }
 
         public async Task<List<GamesLeaderboardEntry>> LoadPlayerCenteredScoresAsync(string leaderboardId,
@@ -92,50 +70,43 @@ namespace BizSim.GPlay.Games
             int maxResults = 25, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _loadTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("loadPlayerCenteredScores", leaderboardId, (int)timeSpan, (int)collection, maxResults);
-                return await tcs.Task;
-            }
+            return await _loads.SendAsync(requestId => CallBridge("loadPlayerCenteredScores", requestId, leaderboardId, (int)timeSpan, (int)collection, maxResults), ct);
         }
 
-        internal void OnScoreSubmittedFromJava(string leaderboardId, long score)
+        internal void OnScoreSubmittedFromJava(string requestId, string leaderboardId, long score)
         {
             OnScoreSubmitted?.Invoke(leaderboardId, score);
-            _submitTcs?.TrySetResult(true);
+            _submits.TryComplete(requestId, true);
         }
 
-        internal void OnScoresLoadedFromJava(string leaderboardId, string scoresJson)
+        internal void OnScoresLoadedFromJava(string requestId, string leaderboardId, string scoresJson)
         {
             try
             {
                 var items = JsonArrayParser.Parse<LeaderboardScoresList, GamesLeaderboardEntry>(scoresJson);
                 var scores = items.ToList();
                 OnScoresLoaded?.Invoke(leaderboardId, scores);
-                _loadTcs?.TrySetResult(scores);
+                _loads.TryComplete(requestId, scores);
             }
             catch (Exception ex)
             {
-                _loadTcs?.TrySetException(ex);
+                _loads.TryFail(requestId, ex);
             }
         }
 
-        internal void OnLeaderboardUIClosedFromJava()
+        internal void OnLeaderboardUIClosedFromJava(string requestId)
         {
-            _showUITcs?.TrySetResult(true);
+            _showUIRequests.TryComplete(requestId, true);
         }
 
-        internal void OnLeaderboardErrorFromJava(int errorCode, string errorMessage, string leaderboardId)
+        internal void OnLeaderboardErrorFromJava(string requestId, int errorCode, string errorMessage, string leaderboardId, int attempts)
         {
-            var error = new GamesLeaderboardError(errorCode, errorMessage, leaderboardId);
+            var error = new GamesLeaderboardError(errorCode, errorMessage, leaderboardId) { attempts = attempts };
             OnLeaderboardError?.Invoke(error);
 
             var exception = new GamesLeaderboardException(error);
-            _submitTcs?.TrySetException(exception);
-            _showUITcs?.TrySetException(exception);
-            _loadTcs?.TrySetException(exception);
+            if (!_submits.TryFail(requestId, exception) && !_showUIRequests.TryFail(requestId, exception))
+                _loads.TryFail(requestId, exception);
         }
 
         [Serializable, Preserve]
@@ -147,9 +118,9 @@ namespace BizSim.GPlay.Games
 
         protected override void OnDispose()
         {
-            _submitTcs?.TrySetCanceled();
-            _showUITcs?.TrySetCanceled();
-            _loadTcs?.TrySetCanceled();
+            _submits.CancelAll();
+            _showUIRequests.CancelAll();
+            _loads.CancelAll();
             _callbackProxy = null;
         }
     }
@@ -10,6 +10,7 @@ namespace BizSim.GPlay.Games
         public int errorCode;
         public string errorMessage;
         public string leaderboardId;
+        public int attempts;
 
         public LeaderboardErrorType Type => errorCode switch
         {
@@ -18,6 +19,8 @@ namespace BizSim.GPlay.Games
             2 => LeaderboardErrorType.NetworkError,
             3 => LeaderboardErrorType.LeaderboardNotFound,
             100 => LeaderboardErrorType.InternalError,
+            408 => LeaderboardErrorType.Timeout,
+            429 => LeaderboardErrorType.RateLimited,
             _ => LeaderboardErrorType.Unknown
         };
 
@@ -54,7 +57,13 @@ namespace BizSim.GPlay.Games
         LeaderboardNotFound = 3,
 
         /// <summary>Internal error in Google Play Games SDK (code 100).</summary>
-        InternalError = 100
+        InternalError = 100,
+
+        /// <summary>Request passed its deadline before Google Play Games answered (code 408).</summary>
+        Timeout = 408,
+
+        /// <summary>Turned away by the bridge rate governor while Play Games calls were queued too deep; retry later (code 429).</summary>
+        RateLimited = 429
     }
 
     public class GamesLeaderboardException : GamesException
@@ -14,28 +14,28 @@ namespace BizSim.GPlay.Games
             _controller = controller;
         }
 
-        void onScoreSubmitted(string leaderboardId, long score)
+        void onScoreSubmitted(string requestId, string leaderboardId, long score)
         {
             BizSimGamesLogger.Info($"Score submitted: {score} to {leaderboardId}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnScoreSubmittedFromJava(leaderboardId, score));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnScoreSubmittedFromJava(requestId, leaderboardId, score));
         }
 
-        void onScoresLoaded(string leaderboardId, string scoresJson)
+        void onScoresLoaded(string requestId, string leaderboardId, string scoresJson)
         {
             BizSimGamesLogger.Info($"Scores loaded for {leaderboardId}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnScoresLoadedFromJava(leaderboardId, scoresJson));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnScoresLoadedFromJava(requestId, leaderboardId, scoresJson));
         }
 
-        void onLeaderboardUIClosed()
+        void onLeaderboardUIClosed(string requestId)
         {
             BizSimGamesLogger.Info("Leaderboard UI closed");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnLeaderboardUIClosedFromJava());
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnLeaderboardUIClosedFromJava(requestId));
         }
 
-        void onLeaderboardError(int errorCode, string errorMessage, string leaderboardId)
+        void onLeaderboardError(string requestId, int errorCode, string errorMessage, string leaderboardId, int attempts)
         {
             BizSimGamesLogger.Error($"Leaderboard error: {errorCode} - {errorMessage}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnLeaderboardErrorFromJava(errorCode, errorMessage, leaderboardId));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnLeaderboardErrorFromJava(requestId, errorCode, errorMessage, leaderboardId, attempts));
         }
     }
 }
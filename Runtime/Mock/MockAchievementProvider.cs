@@ -19,6 +19,7 @@ namespace BizSim.GPlay.Games
         public event Action<string, int> OnAchievementIncremented;
         public event Action<string> OnAchievementRevealed;
         public event Action<GamesAchievementError> OnAchievementError;
+        public event Action<AchievementIconAtlas> OnIconAtlasReady;
 
         public MockAchievementProvider(GamesServicesConfig.MockSettings mock)
         {
@@ -240,5 +241,32 @@ namespace BizSim.GPlay.Games
 
             BizSimGamesLogger.Info($"[MOCK] Unlocked {achievementIds.Count} achievements in batch");
         }
+
+        public async Task<AchievementIconAtlas> LoadIconAtlasAsync(CancellationToken ct = default)
+        {
+            await Task.Delay(300, ct);
+            ThrowIfSimulatingErrors();
+
+            // Mock achievements have no icons, so every cell is reported as missing.
+            var config = GamesServicesManager.Config;
+            var atlas = new AchievementIconAtlas
+            {
+                version = "mock",
+                iconSize = config != null ? config.achievementIconSize : 96,
+                complete = true,
+                pages = Array.Empty<AtlasPage>(),
+                icons = _achievements.Values.Select(a => new AchievementIconEntry
+                {
+                    achievementId = a.achievementId,
+                    revealed = new AtlasCell { page = -1 },
+                    unlocked = new AtlasCell { page = -1 }
+                }).ToArray(),
+                directory = ""
+            };
+
+            BizSimGamesLogger.Info($"[MOCK] Icon atlas loaded ({atlas.icons.Length} icons, no pages)");
+            OnIconAtlasReady?.Invoke(atlas);
+            return atlas;
+        }
     }
 }
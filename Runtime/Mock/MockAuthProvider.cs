@@ -15,6 +15,8 @@ namespace BizSim.GPlay.Games
 
         public event Action<GamesPlayer> OnAuthenticationSuccess;
         public event Action<GamesAuthError> OnAuthenticationFailed;
+        public event Action<GamesPlayer> OnProvisionalIdentity;
+        public event Action<GamesAuthError> OnProvisionalIdentityRevoked;
 
         public bool IsAuthenticated => _isAuthenticated;
         public GamesPlayer CurrentPlayer => _currentPlayer;
@@ -41,6 +43,13 @@ namespace BizSim.GPlay.Games
                 throw new GamesAuthException(error);
             }
 
+            bool provisional = GamesServicesManager.Config != null && GamesServicesManager.Config.optimisticSignIn;
+            if (provisional)
+            {
+                BizSimGamesLogger.Info("[Mock] Delivering provisional identity");
+                OnProvisionalIdentity?.Invoke(new GamesPlayer(_mock.mockPlayerId, _mock.mockDisplayName));
+            }
+
             if (_mock.authDelaySeconds > 0)
             {
                 await Task.Delay(TimeSpan.FromSeconds(_mock.authDelaySeconds), cancellationToken);
@@ -71,6 +80,8 @@ namespace BizSim.GPlay.Games
                 _currentPlayer = null;
 
                 BizSimGamesLogger.Warning($"[Mock] Auth failed: {error}");
+                if (provisional)
+                    OnProvisionalIdentityRevoked?.Invoke(error);
                 OnAuthenticationFailed?.Invoke(error);
                 throw new GamesAuthException(error);
             }
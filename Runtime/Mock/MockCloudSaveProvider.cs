@@ -2,6 +2,7 @@
 
 using System;
 using System.Collections.Generic;
+using System.IO;
 using System.Threading;
 using System.Threading.Tasks;
 using UnityEngine;
@@ -17,6 +18,7 @@ namespace BizSim.GPlay.Games
         public event Action<string> OnSnapshotCommitted;
         public event Action<SavedGameConflict> OnConflictDetected;
         public event Action<GamesCloudSaveError> OnCloudSaveError;
+        public event Action<MirrorSyncResult> OnMirrorSynced;
 
         public MockCloudSaveProvider(GamesServicesConfig.MockSettings mock)
         {
@@ -63,6 +65,13 @@ namespace BizSim.GPlay.Games
             return _mockSnapshots.ContainsKey(handle.filename) ? _mockSnapshots[handle.filename] : null;
         }
 
+        public async Task<LoadedSnapshot> OpenAndReadAsync(string filename, bool createIfNotFound = false, CancellationToken ct = default)
+        {
+            var handle = await OpenSnapshotAsync(filename, createIfNotFound, ct);
+            _mockSnapshots.TryGetValue(filename, out var data);
+            return new LoadedSnapshot { handle = handle, data = data ?? Array.Empty<byte>() };
+        }
+
         public async Task CommitSnapshotAsync(SnapshotHandle handle, byte[] data, string description = null,
             long playedTimeMillis = 0, byte[] coverImage = null, CancellationToken ct = default)
         {
@@ -74,6 +83,24 @@ namespace BizSim.GPlay.Games
             OnSnapshotCommitted?.Invoke(handle.filename);
         }
 
+        public async Task<SnapshotCommitSession> BeginCommitAsync(SnapshotHandle handle, CancellationToken ct = default)
+        {
+            await Task.Delay(200, ct);
+            ThrowIfSimulatingErrors(handle.filename);
+
+            var buffer = new MemoryStream();
+            return new SnapshotCommitSession(handle.filename,
+                async (chunk, token) =>
+                {
+                    await Task.Delay(20, token);
+                    buffer.Write(chunk, 0, chunk.Length);
+                    return buffer.Length;
+                },
+                (metadata, token) => CommitSnapshotAsync(handle, buffer.ToArray(), metadata?.description,
+                    metadata?.playedTimeMillis ?? 0, metadata?.coverImage, token),
+                () => BizSimGamesLogger.Info($"[MOCK] Commit session for {handle.filename} abandoned"));
+        }
+
         public async Task DeleteSnapshotAsync(string filename, CancellationToken ct = default)
         {
             await Task.Delay(200, ct);
@@ -93,6 +120,17 @@ namespace BizSim.GPlay.Games
             return null;
         }
 
+        public async Task<LoadedSnapshot> ShowSavedGamesUIAndLoadAsync(string title = "Saved Games", bool allowAddButton = false,
+            bool allowDelete = true, int maxSnapshots = 5, CancellationToken ct = default)
+        {
+            var selected = await ShowSavedGamesUIAsync(title, allowAddButton, allowDelete, maxSnapshots, ct);
+            if (selected == null)
+                return null;
+            if (selected == "__NEW__")
+                return new LoadedSnapshot { handle = new SnapshotHandle { filename = selected } };
+            return await OpenAndReadAsync(selected, false, ct);
+        }
+
         public async Task SaveAsync(string filename, byte[] data, string description = null, CancellationToken ct = default)
         {
             var handle = await OpenSnapshotAsync(filename, true, ct);
@@ -155,6 +193,64 @@ namespace BizSim.GPlay.Games
             BizSimGamesLogger.Info("[MOCK] All cover images released");
         }
 
+        // The mock store stands in for both the mirror and the cloud, so they never differ.
+        public Task<LoadedSnapshot> LoadMirroredAsync(string filename, CancellationToken ct = default)
+        {
+            return OpenAndReadAsync(filename, false, ct);
+        }
+
+        public async Task SaveMirroredAsync(string filename, byte[] data, SaveGameMetadata metadata = null, CancellationToken ct = default)
+        {
+            await Task.Delay(20, ct);
+            ThrowIfSimulatingErrors(filename);
+
+            _mockSnapshots[filename] = data;
+            BizSimGamesLogger.Info($"[MOCK] Mirror save: {filename} ({data.Length} bytes)");
+        }
+
+        public async Task<MirrorSyncResult> SyncMirrorAsync(CancellationToken ct = default)
+        {
+            await Task.Delay(200, ct);
+            ThrowIfSimulatingErrors();
+
+            var result = new MirrorSyncResult
+            {
+                pulled = Array.Empty<string>(),
+                pushed = Array.Empty<string>(),
+                removed = Array.Empty<string>(),
+                conflicts = Array.Empty<string>(),
+                failed = Array.Empty<string>(),
+                unchanged = _mockSnapshots.Count
+            };
+            OnMirrorSynced?.Invoke(result);
+            return result;
+        }
+
+        // Slot listing for MockSessionProvider; the public API has no list call.
+        internal async Task<SnapshotHandle[]> ListMockSnapshotsAsync(CancellationToken ct)
+        {
+            await Task.Delay(200, ct);
+            ThrowIfSimulatingErrors();
+
+            var now = DateTimeOffset.UtcNow.ToUnixTimeMilliseconds();
+            var handles = new List<SnapshotHandle>(_mockSnapshots.Count);
+            foreach (var filename in _mockSnapshots.Keys)
+            {
+                handles.Add(new SnapshotHandle
+                {
+                    filename = filename,
+                    nativeHandle = "mock:" + filename,
+                    lastModifiedTimestamp = now
+                });
+            }
+            return handles.ToArray();
+        }
+
+        public Task<MirrorSyncResult> ResolveMirrorConflictAsync(string filename, bool keepLocal, CancellationToken ct = default)
+        {
+            return SyncMirrorAsync(ct);
+        }
+
         public async Task<byte[]> LoadAsync(string filename, CancellationToken ct = default)
         {
             if (!_mockSnapshots.ContainsKey(filename))
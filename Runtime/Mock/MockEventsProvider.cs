@@ -4,6 +4,7 @@ using System;
 using System.Collections.Generic;
 using System.Threading;
 using System.Threading.Tasks;
+using UnityEngine;
 
 namespace BizSim.GPlay.Games
 {
@@ -67,6 +68,69 @@ namespace BizSim.GPlay.Games
             return events.ToArray();
         }
 
+        public Task<GamesEvent[]> LoadEventsAsync(bool forceReload, CancellationToken ct = default)
+        {
+            return LoadEventsAsync(ct);
+        }
+
+        public async Task<GamesEvent[]> LoadEventsAsync(string[] eventIds, bool forceReload = false, CancellationToken ct = default)
+        {
+            if (eventIds == null)
+                throw new ArgumentNullException(nameof(eventIds));
+
+            await Task.Delay(forceReload ? 200 : 50, ct);
+            ThrowIfSimulatingErrors();
+
+            var events = new GamesEvent[eventIds.Length];
+            for (int i = 0; i < eventIds.Length; i++)
+            {
+                string eventId = eventIds[i];
+                events[i] = new GamesEvent
+                {
+                    eventId = eventId,
+                    name = eventId,
+                    description = "Mock event",
+                    value = _eventCounters.ContainsKey(eventId) ? _eventCounters[eventId] : 0,
+                    isVisible = true
+                };
+            }
+
+            return events;
+        }
+
+        [Serializable]
+        private class RuleTable
+        {
+            public RuleEntry[] rules;
+        }
+
+        [Serializable]
+        private class RuleEntry
+        {
+            public string @event;
+            public string achievement;
+        }
+
+        public int SetAchievementRules(string rulesJson)
+        {
+            if (string.IsNullOrEmpty(rulesJson))
+                return 0;
+
+            RuleTable table;
+            try
+            {
+                table = JsonUtility.FromJson<RuleTable>(rulesJson);
+            }
+            catch (Exception e)
+            {
+                throw new ArgumentException($"Invalid achievement rules: {e.Message}", nameof(rulesJson), e);
+            }
+
+            int count = table?.rules?.Length ?? 0;
+            BizSimGamesLogger.Info($"[MOCK] {count} achievement rules accepted; the mock does not apply them to achievements");
+            return count;
+        }
+
         public async Task<GamesEvent> LoadEventAsync(string eventId, CancellationToken ct = default)
         {
             await Task.Delay(100, ct);
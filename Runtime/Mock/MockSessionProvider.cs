@@ -0,0 +1,156 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Collections.Generic;
+using System.Diagnostics;
+using System.Threading;
+using System.Threading.Tasks;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Editor stand-in for SessionBridge: runs the other mock providers' loads concurrently under
+    /// one deadline and packs them the same way.
+    /// </summary>
+    internal class MockSessionProvider : IGamesSessionProvider
+    {
+        private const int TimeoutErrorCode = 408;
+
+        private readonly IGamesAchievementProvider _achievements;
+        private readonly IGamesStatsProvider _stats;
+        private readonly IGamesEventsProvider _events;
+        private readonly IGamesLeaderboardProvider _leaderboards;
+        private readonly MockCloudSaveProvider _cloudSave;
+
+        public MockSessionProvider(IGamesAchievementProvider achievements, IGamesStatsProvider stats,
+            IGamesEventsProvider events, IGamesLeaderboardProvider leaderboards, IGamesCloudSaveProvider cloudSave)
+        {
+            _achievements = achievements;
+            _stats = stats;
+            _events = events;
+            _leaderboards = leaderboards;
+            _cloudSave = cloudSave as MockCloudSaveProvider;
+            BizSimGamesLogger.Info("MockSessionProvider initialized");
+        }
+
+        public async Task<SessionSyncResult> SyncSessionAsync(SessionSyncSpec spec, CancellationToken ct = default)
+        {
+            if (spec == null)
+                throw new ArgumentNullException(nameof(spec));
+
+            ct.ThrowIfCancellationRequested();
+
+            var config = GamesServicesManager.Config;
+            long deadlineMs = spec.deadlineMillis > 0
+                ? spec.deadlineMillis
+                : (config != null ? config.jniTimeoutSeconds : 30) * 1000L;
+
+            var result = new SessionSyncResult
+            {
+                achievements = Array.Empty<GamesAchievement>(),
+                events = Array.Empty<GamesEvent>(),
+                snapshots = Array.Empty<SnapshotHandle>()
+            };
+            var boards = spec.leaderboards ?? Array.Empty<SessionLeaderboardRequest>();
+            var boardScores = new SessionLeaderboardScores[boards.Length];
+            var components = new List<SessionSyncComponent>();
+            var loads = new List<Task>();
+            var stopwatch = Stopwatch.StartNew();
+
+            using (var deadline = CancellationTokenSource.CreateLinkedTokenSource(ct))
+            {
+                deadline.CancelAfter(TimeSpan.FromMilliseconds(deadlineMs));
+                var token = deadline.Token;
+
+                void Start(string name, object provider, Func<Task> load)
+                {
+                    var component = new SessionSyncComponent { name = name, status = "pending" };
+                    components.Add(component);
+                    loads.Add(Run(component, provider, load, stopwatch, deadlineMs, ct));
+                }
+
+                if (spec.achievements)
+                    Start("achievements", _achievements, async () =>
+                        result.achievements = (await _achievements.LoadAchievementsAsync(spec.forceReload, token)).ToArray());
+                if (spec.playerStats)
+                    Start("playerStats", _stats, async () =>
+                        result.playerStats = await _stats.LoadPlayerStatsAsync(spec.forceReload, token));
+                if (spec.events)
+                    Start("events", _events, async () =>
+                        result.events = await _events.LoadEventsAsync(spec.forceReload, token));
+                if (spec.snapshots)
+                    Start("snapshots", _cloudSave, async () =>
+                        result.snapshots = await _cloudSave.ListMockSnapshotsAsync(token));
+
+                for (int i = 0; i < boards.Length; i++)
+                {
+                    var index = i;
+                    var board = boards[i];
+                    Start("leaderboard:" + board.leaderboardId, _leaderboards, async () =>
+                    {
+                        var scores = await _leaderboards.LoadPlayerCenteredScoresAsync(board.leaderboardId,
+                            board.timeSpan, board.collection, board.maxResults, token);
+                        boardScores[index] = new SessionLeaderboardScores
+                        {
+                            leaderboardId = board.leaderboardId,
+                            scores = scores.ToArray()
+                        };
+                    });
+                }
+
+                await Task.WhenAll(loads);
+            }
+
+            ct.ThrowIfCancellationRequested();
+
+            result.leaderboards = Array.FindAll(boardScores, b => b != null);
+            result.components = components.ToArray();
+            result.elapsedMillis = stopwatch.ElapsedMilliseconds;
+            result.complete = components.TrueForAll(c => c.IsOk);
+
+            SessionSyncComponent slowest = null;
+            foreach (var component in components)
+            {
+                if (slowest == null || component.elapsedMillis > slowest.elapsedMillis)
+                    slowest = component;
+            }
+            result.criticalPath = slowest != null ? slowest.name : "";
+
+            BizSimGamesLogger.Info($"[MOCK] Session synced: {components.Count} loads in {result.elapsedMillis} ms");
+            return result;
+        }
+
+        private static async Task Run(SessionSyncComponent component, object provider, Func<Task> load,
+            Stopwatch stopwatch, long deadlineMs, CancellationToken ct)
+        {
+            try
+            {
+                if (provider == null)
+                    throw new InvalidOperationException("Service disabled in GamesServicesConfig");
+
+                await load();
+                component.status = "ok";
+                component.elapsedMillis = stopwatch.ElapsedMilliseconds;
+            }
+            catch (OperationCanceledException) when (!ct.IsCancellationRequested)
+            {
+                component.status = "timedOut";
+                component.elapsedMillis = deadlineMs;
+                component.errorCode = TimeoutErrorCode;
+                component.errorMessage = $"Timed out after {deadlineMs} ms";
+            }
+            catch (OperationCanceledException)
+            {
+                // The whole sync was cancelled; SyncSessionAsync throws.
+            }
+            catch (Exception ex)
+            {
+                component.status = "failed";
+                component.elapsedMillis = stopwatch.ElapsedMilliseconds;
+                component.errorCode = ex is GamesException games ? games.ErrorCode : GamesErrorCodes.InternalError;
+                component.errorMessage = ex.Message;
+                component.attempts = 1;
+            }
+        }
+    }
+}
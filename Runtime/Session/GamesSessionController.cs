@@ -0,0 +1,81 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Threading;
+using System.Threading.Tasks;
+using UnityEngine;
+
+namespace BizSim.GPlay.Games
+{
+    internal class GamesSessionController : JniBridgeBase, IGamesSessionProvider
+    {
+        private SessionCallbackProxy _callbackProxy;
+        private readonly PendingRequests<SessionSyncResult> _syncs = new("session");
+
+        protected override string JavaClassName => JniConstants.SessionBridge;
+
+        protected override AndroidJavaProxy CreateCallbackProxy()
+        {
+            _callbackProxy = new SessionCallbackProxy(this);
+            return _callbackProxy;
+        }
+
+        public GamesSessionController()
+        {
+            InitializeBridge();
+            _syncs.OnAbandoned = CancelRequest;
+        }
+
+        public async Task<SessionSyncResult> SyncSessionAsync(SessionSyncSpec spec, CancellationToken ct = default)
+        {
+            if (spec == null)
+                throw new ArgumentNullException(nameof(spec));
+
+            ct.ThrowIfCancellationRequested();
+            var specJson = JsonUtility.ToJson(spec);
+            return await _syncs.SendAsync(requestId => CallBridge("syncSession", requestId, specJson), ct);
+        }
+
+        internal void OnSessionSyncedFromJava(string requestId, string resultJson)
+        {
+            try
+            {
+                var result = JsonUtility.FromJson<SessionSyncResult>(resultJson);
+                Normalize(result);
+                _syncs.TryComplete(requestId, result);
+            }
+            catch (Exception ex)
+            {
+                BizSimGamesLogger.Error($"[Session] OnSessionSyncedFromJava ERROR: {ex.Message}");
+                _syncs.TryFail(requestId, ex);
+            }
+        }
+
+        internal void OnSessionErrorFromJava(string requestId, int errorCode, string errorMessage)
+        {
+            _syncs.TryFail(requestId, new InvalidOperationException($"Session sync failed ({errorCode}): {errorMessage}"));
+        }
+
+        // JsonUtility fills absent objects with defaults and may leave absent arrays null.
+        private static void Normalize(SessionSyncResult result)
+        {
+            result.achievements = result.achievements ?? Array.Empty<GamesAchievement>();
+            result.events = result.events ?? Array.Empty<GamesEvent>();
+            result.leaderboards = result.leaderboards ?? Array.Empty<SessionLeaderboardScores>();
+            result.snapshots = result.snapshots ?? Array.Empty<SnapshotHandle>();
+            result.components = result.components ?? Array.Empty<SessionSyncComponent>();
+
+            if (!Array.Exists(result.components, c => c.name == "playerStats" && c.IsOk))
+                result.playerStats = null;
+        }
+
+        protected override void OnDispose()
+        {
+            _syncs.CancelAll();
+            _callbackProxy = null;
+
+            try { Bridge?.Call("shutdown"); }
+            catch (Exception) { }
+        }
+    }
+}
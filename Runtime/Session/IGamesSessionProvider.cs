@@ -0,0 +1,24 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System.Threading;
+using System.Threading.Tasks;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// One-shot loading of the data a game needs right after sign-in.
+    /// </summary>
+    public interface IGamesSessionProvider
+    {
+        /// <summary>
+        /// Starts every load named in <paramref name="spec"/> at once and waits for them under one
+        /// shared deadline. Loads that fail or do not finish in time are reported in
+        /// <see cref="SessionSyncResult.components"/> rather than thrown; the task only faults if the
+        /// sync could not start.
+        /// </summary>
+        /// <param name="spec">What to load and how long to wait</param>
+        /// <param name="ct">Cancellation token</param>
+        /// <returns>Everything that loaded, with per-load status and timings</returns>
+        Task<SessionSyncResult> SyncSessionAsync(SessionSyncSpec spec, CancellationToken ct = default);
+    }
+}
@@ -0,0 +1,29 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using UnityEngine;
+
+namespace BizSim.GPlay.Games
+{
+    internal class SessionCallbackProxy : AndroidJavaProxy
+    {
+        private readonly GamesSessionController _controller;
+
+        public SessionCallbackProxy(GamesSessionController controller)
+            : base(JniConstants.SessionCallback)
+        {
+            _controller = controller;
+        }
+
+        void onSessionSynced(string requestId, string resultJson)
+        {
+            BizSimGamesLogger.Info("Session synced");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSessionSyncedFromJava(requestId, resultJson));
+        }
+
+        void onSessionError(string requestId, int errorCode, string errorMessage)
+        {
+            BizSimGamesLogger.Error($"Session error: {errorCode} - {errorMessage}");
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnSessionErrorFromJava(requestId, errorCode, errorMessage));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using UnityEngine.Scripting;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// Packed result of a session sync. Data a load did not deliver is left empty (null for
+    /// <see cref="playerStats"/>); <see cref="components"/> says why.
+    /// </summary>
+    [Serializable, Preserve]
+    public class SessionSyncResult
+    {
+        public GamesAchievement[] achievements;
+        public GamesPlayerStats playerStats;
+        public GamesEvent[] events;
+
+        /// <summary>Scores of each leaderboard that loaded.</summary>
+        public SessionLeaderboardScores[] leaderboards;
+
+        /// <summary>Metadata of each save slot.</summary>
+        public SnapshotHandle[] snapshots;
+
+        /// <summary>One entry per requested load, in request order.</summary>
+        public SessionSyncComponent[] components;
+
+        /// <summary>Wall time of the whole sync.</summary>
+        public long elapsedMillis;
+
+        /// <summary>Name of the slowest load, the one that set <see cref="elapsedMillis"/>.</summary>
+        public string criticalPath;
+
+        /// <summary>True when every requested load succeeded.</summary>
+        public bool complete;
+    }
+
+    /// <summary>
+    /// Player-centered scores of one leaderboard in a <see cref="SessionSyncResult"/>.
+    /// </summary>
+    [Serializable, Preserve]
+    public class SessionLeaderboardScores
+    {
+        public string leaderboardId;
+        public GamesLeaderboardEntry[] scores;
+    }
+
+    /// <summary>
+    /// Outcome and timing of one load in a session sync.
+    /// </summary>
+    [Serializable, Preserve]
+    public class SessionSyncComponent
+    {
+        /// <summary>
+        /// "achievements", "playerStats", "events", "snapshots" or "leaderboard:&lt;id&gt;".
+        /// </summary>
+        public string name;
+
+        /// <summary>"ok", "failed" or "timedOut".</summary>
+        public string status;
+
+        /// <summary>Time from the start of the sync until this load finished or the deadline passed.</summary>
+        public long elapsedMillis;
+
+        /// <summary>Error code when not ok (408 when timed out).</summary>
+        public int errorCode;
+
+        public string errorMessage;
+
+        /// <summary>Attempts made before a failure was reported.</summary>
+        public int attempts;
+
+        public bool IsOk => status == "ok";
+    }
+}
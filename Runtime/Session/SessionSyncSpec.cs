@@ -0,0 +1,52 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using UnityEngine.Scripting;
+
+namespace BizSim.GPlay.Games
+{
+    /// <summary>
+    /// The loads a session sync starts. Field names are camelCase to match SessionBridge.java.
+    /// </summary>
+    [Serializable, Preserve]
+    public class SessionSyncSpec
+    {
+        /// <summary>Load all achievements.</summary>
+        public bool achievements;
+
+        /// <summary>Load player stats.</summary>
+        public bool playerStats;
+
+        /// <summary>Load all events.</summary>
+        public bool events;
+
+        /// <summary>Load the metadata of every save slot.</summary>
+        public bool snapshots;
+
+        /// <summary>Player-centered scores to load, one entry per leaderboard.</summary>
+        public SessionLeaderboardRequest[] leaderboards;
+
+        /// <summary>Bypass the Play Games client caches.</summary>
+        public bool forceReload;
+
+        /// <summary>
+        /// Shared deadline for all loads, in milliseconds. Zero or less uses the configured
+        /// JNI timeout.
+        /// </summary>
+        public long deadlineMillis;
+    }
+
+    /// <summary>
+    /// One leaderboard in a <see cref="SessionSyncSpec"/>.
+    /// </summary>
+    [Serializable, Preserve]
+    public class SessionLeaderboardRequest
+    {
+        public string leaderboardId;
+        public LeaderboardTimeSpan timeSpan = LeaderboardTimeSpan.AllTime;
+        public LeaderboardCollection collection = LeaderboardCollection.Public;
+
+        /// <summary>Maximum number of scores to load (1-25).</summary>
+        public int maxResults = 10;
+    }
+}
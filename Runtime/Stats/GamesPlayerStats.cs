@@ -36,5 +36,11 @@ namespace BizSim.GPlay.Games
 
         /// <summary>Probability (0.0–1.0) that this player is a high spender.</summary>
         public float highSpenderProbability;
+
+        /// <summary>True when served from the bridge's persisted stats cache instead of a fresh load.</summary>
+        public bool fromCache;
+
+        /// <summary>Age of the cached result in milliseconds (0 for fresh loads).</summary>
+        public long cacheAgeMillis;
     }
 }
@@ -10,7 +10,7 @@ namespace BizSim.GPlay.Games
     internal class GamesStatsController : JniBridgeBase, IGamesStatsProvider
     {
         private StatsCallbackProxy _callbackProxy;
-        private TaskCompletionSource<GamesPlayerStats> _loadTcs;
+        private readonly PendingRequests<GamesPlayerStats> _loads = new("stats");
 
         public event Action<GamesPlayerStats> OnStatsLoaded;
         public event Action<GamesStatsError> OnStatsError;
@@ -26,45 +26,47 @@ namespace BizSim.GPlay.Games
         public GamesStatsController()
         {
             InitializeBridge();
+            _loads.OnAbandoned = CancelRequest;
+
+            var config = GamesServicesManager.Config;
+            if (config != null)
+                CallBridge("setCacheTtlMs", (long)config.statsCacheTtlMinutes * 60 * 1000);
         }
 
         public async Task<GamesPlayerStats> LoadPlayerStatsAsync(bool forceReload = false, CancellationToken ct = default)
         {
             ct.ThrowIfCancellationRequested();
-            var tcs = TcsGuard.Replace(ref _loadTcs);
-
-            using (ct.Register(() => tcs.TrySetCanceled()))
-            {
-                CallBridge("loadPlayerStats", forceReload);
-                return await tcs.Task;
-            }
+            return await _loads.SendAsync(requestId => CallBridge("loadPlayerStats", requestId, forceReload), ct);
         }
 
-        internal void OnStatsLoadedFromJava(string statsJson)
+        internal void OnStatsLoadedFromJava(string requestId, string statsJson)
         {
             try
             {
                 var stats = JsonUtility.FromJson<GamesPlayerStats>(statsJson);
                 OnStatsLoaded?.Invoke(stats);
-                _loadTcs?.TrySetResult(stats);
+                _loads.TryComplete(requestId, stats);
             }
             catch (Exception ex)
             {
-                _loadTcs?.TrySetException(ex);
+                _loads.TryFail(requestId, ex);
             }
         }
 
-        internal void OnStatsErrorFromJava(int errorCode, string errorMessage)
+        internal void OnStatsErrorFromJava(string requestId, int errorCode, string errorMessage, int attempts)
         {
-            var error = new GamesStatsError(errorCode, errorMessage);
+            var error = new GamesStatsError(errorCode, errorMessage) { attempts = attempts };
             OnStatsError?.Invoke(error);
-            _loadTcs?.TrySetException(new GamesStatsException(error));
+            _loads.TryFail(requestId, new GamesStatsException(error));
         }
 
         protected override void OnDispose()
         {
-            _loadTcs?.TrySetCanceled();
+            _loads.CancelAll();
             _callbackProxy = null;
+
+            try { Bridge?.Call("shutdown"); }
+            catch (Exception) { }
         }
     }
 }
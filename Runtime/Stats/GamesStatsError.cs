@@ -9,6 +9,7 @@ namespace BizSim.GPlay.Games
     {
         public int errorCode;
         public string errorMessage;
+        public int attempts;
 
         public StatsErrorType Type => errorCode switch
         {
@@ -16,6 +17,8 @@ namespace BizSim.GPlay.Games
             1 => StatsErrorType.UserNotAuthenticated,
             2 => StatsErrorType.NetworkError,
             100 => StatsErrorType.InternalError,
+            408 => StatsErrorType.Timeout,
+            429 => StatsErrorType.RateLimited,
             _ => StatsErrorType.Unknown
         };
 
@@ -46,7 +49,13 @@ namespace BizSim.GPlay.Games
         NetworkError = 2,
 
         /// <summary>Internal error in Google Play Games SDK (code 100).</summary>
-        InternalError = 100
+        InternalError = 100,
+
+        /// <summary>Request passed its deadline before Google Play Games answered (code 408).</summary>
+        Timeout = 408,
+
+        /// <summary>Turned away by the bridge rate governor while Play Games calls were queued too deep; retry later (code 429).</summary>
+        RateLimited = 429
     }
 
     public class GamesStatsException : GamesException
@@ -14,16 +14,16 @@ namespace BizSim.GPlay.Games
             _controller = controller;
         }
 
-        void onStatsLoaded(string statsJson)
+        void onStatsLoaded(string requestId, string statsJson)
         {
             BizSimGamesLogger.Info("Stats loaded");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnStatsLoadedFromJava(statsJson));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnStatsLoadedFromJava(requestId, statsJson));
         }
 
-        void onStatsError(int errorCode, string errorMessage)
+        void onStatsError(string requestId, int errorCode, string errorMessage, int attempts)
         {
             BizSimGamesLogger.Error($"Stats error: {errorCode} - {errorMessage}");
-            UnityMainThreadDispatcher.Enqueue(() => _controller.OnStatsErrorFromJava(errorCode, errorMessage));
+            UnityMainThreadDispatcher.Enqueue(() => _controller.OnStatsErrorFromJava(requestId, errorCode, errorMessage, attempts));
         }
     }
 }
@@ -64,6 +64,12 @@ namespace BizSim.GPlay.Games.UniTask
             return await provider.LoadEventsAsync(ct);
         }
 
+        public static async UniTask<GamesEvent[]> LoadEventsUniTask(
+            this IGamesEventsProvider provider, string[] eventIds, bool forceReload = false, CancellationToken ct = default)
+        {
+            return await provider.LoadEventsAsync(eventIds, forceReload, ct);
+        }
+
         public static async UniTask<GamesPlayerStats> LoadStatsUniTask(
             this IGamesStatsProvider provider, bool forceReload = false, CancellationToken ct = default)
         {
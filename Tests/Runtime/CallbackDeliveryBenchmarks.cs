@@ -0,0 +1,140 @@
+// Copyright (c) BizSim Game Studios. All rights reserved.
+
+using System;
+using System.Globalization;
+using System.Text;
+using NUnit.Framework;
+using Unity.PerformanceTesting;
+using UnityEngine;
+using UnityEngine.TestTools;
+
+namespace BizSim.GPlay.Games.Tests
+{
+    /// <summary>
+    /// Compares the two callback delivery paths at 10, 100 and 1000 callbacks per frame.
+    /// Each measurement is one frame's worth of onEventLoaded callbacks reaching the same C# proxy:
+    /// <list type="bullet">
+    /// <item>PerCallback invokes the proxy's Java object through JNI once per callback, so every
+    /// callback pays one AndroidJavaProxy dispatch, as with setCallback. It also pays one
+    /// C#-to-Java call that a real bridge callback does not.</item>
+    /// <item>Batched fetches a packed batch with one JNI call, as CallbackQueue.drain does, and
+    /// hands it to NativeCallbackQueue.DispatchBatch.</item>
+    /// </list>
+    /// Device only: run from the Test Runner against an Android player with the Performance
+    /// Testing package installed.
+    /// </summary>
+    [UnityPlatform(RuntimePlatform.Android)]
+    public class CallbackDeliveryBenchmarks
+    {
+        private const string Service = "bench";
+        private const string Method = "onEventLoaded";
+        private const string EventJson = "{\"eventId\":\"CgkIq5Tf0ZUeEAIQAQ\",\"name\":\"Enemies Defeated\"," +
+            "\"description\":\"Total number of enemies defeated\",\"value\":12345,\"imageUri\":\"\",\"visible\":true}";
+
+        private sealed class CountingProxy : AndroidJavaProxy
+        {
+            public int Count;
+
+            public CountingProxy() : base(JniConstants.EventsCallback) { }
+
+            void onEventLoaded(string requestId, string eventJson)
+            {
+                Count++;
+            }
+        }
+
+        private CountingProxy _proxy;
+
+        [SetUp]
+        public void SetUp()
+        {
+            _proxy = new CountingProxy();
+        }
+
+        [TearDown]
+        public void TearDown()
+        {
+            NativeCallbackQueue.Unregister(Service);
+            _proxy = null;
+        }
+
+        [Test, Performance]
+        public void PerCallback([Values(10, 100, 1000)] int callbacksPerFrame)
+        {
+            IntPtr callbackClass = AndroidJNI.FindClass(JniConstants.EventsCallback.Replace('.', '/'));
+            IntPtr methodId = AndroidJNI.GetMethodID(callbackClass, Method, "(Ljava/lang/String;Ljava/lang/String;)V");
+            IntPtr requestId = AndroidJNI.NewGlobalRef(AndroidJNI.NewString("req-1"));
+            IntPtr eventJson = AndroidJNI.NewGlobalRef(AndroidJNI.NewString(EventJson));
+            var args = new jvalue[2];
+            args[0].l = requestId;
+            args[1].l = eventJson;
+            IntPtr proxy = _proxy.GetRawProxy();
+
+            try
+            {
+                Measure.Method(() =>
+                    {
+                        for (int i = 0; i < callbacksPerFrame; i++)
+                            AndroidJNI.CallVoidMethod(proxy, methodId, args);
+                    })
+                    .WarmupCount(5)
+                    .MeasurementCount(30)
+                    .SampleGroup(new SampleGroup("Delivery", SampleUnit.Microsecond))
+                    .GC()
+                    .Run();
+            }
+            finally
+            {
+                AndroidJNI.DeleteGlobalRef(requestId);
+                AndroidJNI.DeleteGlobalRef(eventJson);
+                AndroidJNI.DeleteLocalRef(callbackClass);
+            }
+
+            AssertEveryCallbackDelivered(callbacksPerFrame);
+        }
+
+        [Test, Performance]
+        public void Batched([Values(10, 100, 1000)] int callbacksPerFrame)
+        {
+            NativeCallbackQueue.Register(Service, _proxy);
+
+            // A Java-side copy of one frame's batch; toString() returns it the way drain() does.
+            using var batch = new AndroidJavaObject("java.lang.StringBuilder", EncodeBatch(callbacksPerFrame));
+
+            Measure.Method(() => NativeCallbackQueue.DispatchBatch(batch.Call<string>("toString")))
+                .WarmupCount(5)
+                .MeasurementCount(30)
+                .SampleGroup(new SampleGroup("Delivery", SampleUnit.Microsecond))
+                .GC()
+                .Run();
+
+            AssertEveryCallbackDelivered(callbacksPerFrame);
+        }
+
+        private void AssertEveryCallbackDelivered(int callbacksPerFrame)
+        {
+            Assert.Greater(_proxy.Count, 0);
+            Assert.AreEqual(0, _proxy.Count % callbacksPerFrame, "A frame's callbacks were partly delivered");
+        }
+
+        /// <summary>Encodes records the way CallbackQueue.encodeRecord does.</summary>
+        private static string EncodeBatch(int records)
+        {
+            var sb = new StringBuilder();
+            for (int i = 0; i < records; i++)
+            {
+                Field(sb, 'r', "2");
+                Field(sb, 's', Service);
+                Field(sb, 's', Method);
+                Field(sb, 's', "req-" + i.ToString(CultureInfo.InvariantCulture));
+                Field(sb, 's', EventJson);
+            }
+            return sb.ToString();
+        }
+
+        private static void Field(StringBuilder sb, char type, string payload)
+        {
+            sb.Append(type).Append(payload.Length.ToString(CultureInfo.InvariantCulture)).Append(':').Append(payload);
+        }
+    }
+}